@@ -0,0 +1,84 @@
+package com.tosan.tools.lockmanager.benchmark;
+
+import com.tosan.tools.lockmanager.api.LockManagementService;
+import com.tosan.tools.lockmanager.benchmark.backend.LockBackend;
+import com.tosan.tools.lockmanager.exception.LockManagerTimeoutException;
+import com.tosan.tools.lockmanager.impl.coalescing.CoalescingLockManagementService;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Write lock throughput of many threads of one JVM on a single lock name, with every thread requesting the lock at
+ * the backend ({@code PLAIN}) and with threads queued locally by {@link CoalescingLockManagementService}, once
+ * releasing the lock at the backend after every holder ({@code COALESCING_NO_HAND_OFF}) and once handing it off to
+ * queued threads ({@code COALESCING}).
+ * <p>
+ * Only backends with an async lock management service are covered, as coalescing holds backend locks through lock
+ * handles.
+ *
+ * @author mortezaei
+ * @since 10/18/2026
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+@Threads(32)
+@State(Scope.Benchmark)
+public class CoalescingBenchmark {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CoalescingBenchmark.class);
+    private static final String LOCK_NAME = "SHARED";
+    private static final Integer LOCK_TIMEOUT = 60;
+
+    @Param({"HAZELCAST", "ZOOKEEPER", "REDIS"})
+    public String backend;
+
+    @Param({"PLAIN", "COALESCING_NO_HAND_OFF", "COALESCING"})
+    public String variant;
+
+    private LockBackend lockBackend;
+    private LockManagementService lockManagementService;
+    private final AtomicLong timeouts = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void start() throws Exception {
+        lockBackend = LockBackend.start(backend);
+        switch (variant) {
+            case "COALESCING":
+                lockManagementService = new CoalescingLockManagementService(lockBackend.getAsyncLockManagementService());
+                break;
+            case "COALESCING_NO_HAND_OFF":
+                CoalescingLockManagementService coalescingLockManagementService =
+                        new CoalescingLockManagementService(lockBackend.getAsyncLockManagementService());
+                coalescingLockManagementService.setHandOffLimit(0);
+                lockManagementService = coalescingLockManagementService;
+                break;
+            default:
+                lockManagementService = lockBackend.newLockManagementService();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() throws Exception {
+        if (timeouts.get() > 0) {
+            LOGGER.warn("{} acquisitions timed out on {} {}", timeouts.get(), backend, variant);
+        }
+        lockBackend.close();
+    }
+
+    @Benchmark
+    public void write() {
+        try {
+            lockManagementService.requestWriteLock(LockManagementServiceBenchmark.LOCK_NAME_TYPE, LOCK_NAME, LOCK_TIMEOUT, false);
+        } catch (LockManagerTimeoutException e) {
+            timeouts.incrementAndGet();
+            return;
+        }
+        lockManagementService.unlock(LockManagementServiceBenchmark.LOCK_NAME_TYPE, LOCK_NAME);
+    }
+}
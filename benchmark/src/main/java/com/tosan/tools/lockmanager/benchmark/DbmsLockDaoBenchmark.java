@@ -0,0 +1,115 @@
+package com.tosan.tools.lockmanager.benchmark;
+
+import com.tosan.tools.lockmanager.benchmark.backend.PostgresqlLockBackend;
+import com.tosan.tools.lockmanager.exception.LockManagerRunTimeException;
+import com.tosan.tools.lockmanager.impl.dbms.dao.DbmsLockDao;
+import com.tosan.tools.lockmanager.impl.dbms.dao.PostgresqlDbmsLockDao;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.hibernate.Session;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.CallableStatement;
+import java.sql.Types;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-call cost of the {@code dbms_lock} DAO on the {@code POSTGRESQL} backend, a request and a release of an
+ * uncontended lock per operation:
+ * <ul>
+ *     <li>{@code JPA}: the former DAO, building the request call text on every request and releasing through a JPA
+ *     native query</li>
+ *     <li>{@code JDBC}: {@link PostgresqlDbmsLockDao}, calling constant call texts on the JDBC connection</li>
+ * </ul>
+ * The Oracle DAO takes the same paths. Run with {@code -prof gc} for the allocations per operation.
+ *
+ * @author mortezaei
+ * @since 10/18/2026
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DbmsLockDaoBenchmark {
+    private static final String LOCK_NAME = "BENCHMARK-DAO";
+
+    @Param({"JPA", "JDBC"})
+    public String dao;
+
+    private PostgresqlLockBackend lockBackend;
+    private DbmsLockDao dbmsLockDao;
+    private String lockHandle;
+
+    @Setup(Level.Trial)
+    public void start() throws Exception {
+        lockBackend = new PostgresqlLockBackend();
+        EntityManager entityManager = lockBackend.newEntityManager();
+        dbmsLockDao = dao.equals("JPA") ? new JpaDbmsLockDao(entityManager) : new PostgresqlDbmsLockDao(entityManager);
+        lockHandle = dbmsLockDao.allocateLock(LOCK_NAME, 864000);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() throws Exception {
+        lockBackend.close();
+    }
+
+    @Benchmark
+    public void requestRelease() {
+        dbmsLockDao.requestLock(lockHandle, PostgresqlDbmsLockDao.EXCLUSIVE_MODE, 1, false);
+        dbmsLockDao.releaseLock(lockHandle);
+    }
+
+    @Benchmark
+    public void requestOnCommitRelease() {
+        dbmsLockDao.requestLock(lockHandle, PostgresqlDbmsLockDao.EXCLUSIVE_MODE, 1, true);
+        dbmsLockDao.releaseLock(lockHandle);
+    }
+
+    /**
+     * The former request and release of {@link PostgresqlDbmsLockDao}.
+     */
+    static class JpaDbmsLockDao extends PostgresqlDbmsLockDao {
+        private final EntityManager entityManager;
+
+        JpaDbmsLockDao(EntityManager entityManager) {
+            super(entityManager);
+            this.entityManager = entityManager;
+        }
+
+        @Override
+        public void requestLock(String lockHandle, Integer lockMode, Integer timeout, boolean releaseOnCommit) {
+            final int[] callStatus = new int[1];
+            Session session = entityManager.unwrap(Session.class);
+            session.doWork(connection -> {
+                StringBuilder stringBuilder = new StringBuilder();
+                stringBuilder.append("{ ? = call dbms_lock.request(?,?,?");
+                if (releaseOnCommit) {
+                    stringBuilder.append(",true");
+                }
+                stringBuilder.append(") }");
+                try (CallableStatement call = connection.prepareCall(stringBuilder.toString())) {
+                    call.registerOutParameter(1, Types.INTEGER);
+                    call.setString(2, lockHandle);
+                    call.setInt(3, lockMode);
+                    call.setInt(4, timeout);
+                    call.execute();
+                    callStatus[0] = call.getInt(1);
+                }
+            });
+            if (callStatus[0] != 0) {
+                throw new LockManagerRunTimeException("Error occurred in 'DBMS_LOCK' request.");
+            }
+        }
+
+        @Override
+        public void releaseLock(String lockHandle) {
+            Query query = entityManager.createNativeQuery("SELECT dbms_lock.release(:lockHandle)");
+            query.setParameter("lockHandle", lockHandle);
+            if (((Number) query.getSingleResult()).intValue() != 0) {
+                throw new LockManagerRunTimeException("Error occurred in 'DBMS_LOCK' release.");
+            }
+        }
+    }
+}
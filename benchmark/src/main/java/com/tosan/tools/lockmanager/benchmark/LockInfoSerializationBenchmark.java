@@ -0,0 +1,146 @@
+package com.tosan.tools.lockmanager.benchmark;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.spi.impl.SerializationServiceSupport;
+import com.tosan.tools.lockmanager.impl.hazelcast.HazelcastLockInfoSerializers;
+import com.tosan.tools.lockmanager.impl.hazelcast.HazelcastReadLockInfo;
+import com.tosan.tools.lockmanager.impl.hazelcast.HazelcastWriteLockInfo;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization cost of the values of the Hazelcast lock maps, a write lock info and a read lock info of
+ * {@value #READ_SHARES} shares, paid by every lock map operation that does not work on the stored object.
+ * <p>
+ * Formats:
+ * <ul>
+ *     <li>{@code JAVA}: the former {@link Serializable} lock infos, with string member UUIDs and {@link Date} expiry</li>
+ *     <li>{@code COMPACT_REFLECTIVE}: the compact lock infos without registered serializers</li>
+ *     <li>{@code COMPACT}: the compact lock infos with {@link HazelcastLockInfoSerializers} registered</li>
+ * </ul>
+ * The serialized size of each lock info is logged at the start of each trial.
+ *
+ * @author mortezaei
+ * @since 10/18/2026
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LockInfoSerializationBenchmark {
+    private static final Logger LOGGER = LoggerFactory.getLogger(LockInfoSerializationBenchmark.class);
+    private static final int READ_SHARES = 3;
+    private static final String LOCK_HANDLE = "BENCHMARK-SHARED";
+
+    @Param({"JAVA", "COMPACT_REFLECTIVE", "COMPACT"})
+    public String format;
+
+    @Param({"READ", "WRITE"})
+    public String lockMode;
+
+    private HazelcastInstance hazelcastInstance;
+    private SerializationService serializationService;
+    private Object lockInfo;
+    private Data serializedLockInfo;
+
+    @Setup(Level.Trial)
+    public void start() {
+        Config config = new Config();
+        config.setClusterName("lock-manager-serialization-benchmark");
+        config.setProperty("hazelcast.logging.type", "slf4j");
+        config.getNetworkConfig().getJoin().getMulticastConfig().setEnabled(false);
+        config.getNetworkConfig().getJoin().getAutoDetectionConfig().setEnabled(false);
+        if (format.equals("COMPACT")) {
+            HazelcastLockInfoSerializers.register(config.getSerializationConfig().getCompactSerializationConfig());
+        }
+        hazelcastInstance = Hazelcast.newHazelcastInstance(config);
+        serializationService = ((SerializationServiceSupport) hazelcastInstance).getSerializationService();
+        lockInfo = newLockInfo();
+        serializedLockInfo = serializationService.toData(lockInfo);
+        LOGGER.info("{} {} lock info serializes to {} bytes", format, lockMode, serializedLockInfo.totalSize());
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        hazelcastInstance.shutdown();
+    }
+
+    @Benchmark
+    public Data serialize() {
+        return serializationService.toData(lockInfo);
+    }
+
+    @Benchmark
+    public Object deserialize() {
+        return serializationService.toObject(serializedLockInfo);
+    }
+
+    private Object newLockInfo() {
+        long expireTime = System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1);
+        if (format.equals("JAVA")) {
+            if (lockMode.equals("WRITE")) {
+                return new JavaWriteLockInfo(LOCK_HANDLE, UUID.randomUUID().toString(), new Date(expireTime));
+            }
+            JavaReadLockInfo readLockInfo = new JavaReadLockInfo(LOCK_HANDLE, new Date(expireTime));
+            for (int i = 0; i < READ_SHARES; i++) {
+                readLockInfo.addMember(UUID.randomUUID().toString());
+            }
+            return readLockInfo;
+        }
+        if (lockMode.equals("WRITE")) {
+            return new HazelcastWriteLockInfo(UUID.randomUUID(), 1, expireTime);
+        }
+        HazelcastReadLockInfo readLockInfo = new HazelcastReadLockInfo(expireTime);
+        for (int i = 0; i < READ_SHARES; i++) {
+            readLockInfo.addMember(UUID.randomUUID());
+        }
+        return readLockInfo;
+    }
+
+    /**
+     * The former read lock info.
+     */
+    static class JavaReadLockInfo implements Serializable {
+        private final String lockHandle;
+        private final List<String> members = new ArrayList<>();
+        private final Date expireDate;
+
+        JavaReadLockInfo(String lockHandle, Date expireDate) {
+            this.lockHandle = lockHandle;
+            this.expireDate = expireDate;
+        }
+
+        void addMember(String memberId) {
+            members.add(memberId);
+        }
+    }
+
+    /**
+     * The former write lock info.
+     */
+    static class JavaWriteLockInfo implements Serializable {
+        private final String lockHandle;
+        private final String member;
+        private final Date expireDate;
+
+        JavaWriteLockInfo(String lockHandle, String member, Date expireDate) {
+            this.lockHandle = lockHandle;
+            this.member = member;
+            this.expireDate = expireDate;
+        }
+    }
+}
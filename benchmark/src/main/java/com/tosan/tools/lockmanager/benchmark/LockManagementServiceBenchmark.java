@@ -0,0 +1,168 @@
+package com.tosan.tools.lockmanager.benchmark;
+
+import com.tosan.tools.lockmanager.api.LockManagementService;
+import com.tosan.tools.lockmanager.benchmark.backend.LockBackend;
+import com.tosan.tools.lockmanager.exception.LockManagerTimeoutException;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Acquire/release latency and throughput of every {@link LockManagementService} backend.
+ * <p>
+ * Scenarios:
+ * <ul>
+ *     <li>{@code UNCONTENDED}: every thread works on its own lock name</li>
+ *     <li>{@code CONTENDED}: all threads work on the same lock name</li>
+ *     <li>{@code DISTINCT_KEYS}: every operation picks a random lock name out of {@value #DISTINCT_KEY_COUNT}</li>
+ * </ul>
+ * Throughput mode reports ops/s, sample time mode reports the p50/p99/p99.9 latency.
+ * Acquisitions rejected with {@link LockManagerTimeoutException} are counted and logged at the end of each trial.
+ *
+ * @author mortezaei
+ * @since 10/18/2026
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+@Threads(4)
+public class LockManagementServiceBenchmark {
+    static final String LOCK_NAME_TYPE = "BENCHMARK";
+    static final int DISTINCT_KEY_COUNT = 100_000;
+    private static final Integer LOCK_TIMEOUT = 60;
+
+    @State(Scope.Benchmark)
+    public static class BackendState {
+        private static final Logger LOGGER = LoggerFactory.getLogger(BackendState.class);
+
+        @Param({"HAZELCAST", "ZOOKEEPER", "REDIS", "POSTGRESQL", "DB2"})
+        public String backend;
+
+        @Param({"UNCONTENDED", "CONTENDED", "DISTINCT_KEYS"})
+        public String scenario;
+
+        LockBackend lockBackend;
+        final AtomicInteger threadCount = new AtomicInteger();
+        final AtomicLong timeouts = new AtomicLong();
+
+        @Setup(Level.Trial)
+        public void start() throws Exception {
+            lockBackend = LockBackend.start(backend);
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() throws Exception {
+            if (timeouts.get() > 0) {
+                LOGGER.warn("{} acquisitions timed out on {} {}", timeouts.get(), backend, scenario);
+            }
+            lockBackend.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadState {
+        LockManagementService lockManagementService;
+        BackendState backendState;
+        String ownLockName;
+        SplittableRandom random;
+
+        @Setup(Level.Trial)
+        public void init(BackendState backendState) {
+            this.backendState = backendState;
+            int threadIndex = backendState.threadCount.getAndIncrement();
+            lockManagementService = backendState.lockBackend.newLockManagementService();
+            ownLockName = "THREAD" + threadIndex;
+            random = new SplittableRandom(threadIndex);
+        }
+
+        String nextLockName() {
+            switch (backendState.scenario) {
+                case "CONTENDED":
+                    return "SHARED";
+                case "DISTINCT_KEYS":
+                    return "KEY" + random.nextInt(DISTINCT_KEY_COUNT);
+                default:
+                    return ownLockName;
+            }
+        }
+    }
+
+    /**
+     * Thread state holding a write lock acquired outside of the measured region, for benchmarking release and
+     * conversion alone. It carries its own service since JMH hands out a distinct thread state to every fixture
+     * method that asks for one.
+     */
+    @State(Scope.Thread)
+    public static class HeldWriteLock extends ThreadState {
+        String lockName;
+        boolean held;
+
+        @Setup(Level.Invocation)
+        public void acquire() {
+            lockName = nextLockName();
+            held = tryAcquire(this, () -> lockManagementService
+                    .requestWriteLock(LOCK_NAME_TYPE, lockName, LOCK_TIMEOUT, false));
+        }
+
+        @TearDown(Level.Invocation)
+        public void release() {
+            if (held) {
+                lockManagementService.unlock(LOCK_NAME_TYPE, lockName);
+            }
+        }
+    }
+
+    @Benchmark
+    public void read(ThreadState threadState) {
+        String lockName = threadState.nextLockName();
+        LockManagementService lockManagementService = threadState.lockManagementService;
+        if (tryAcquire(threadState, () -> lockManagementService.requestReadLock(LOCK_NAME_TYPE, lockName, LOCK_TIMEOUT, false))) {
+            lockManagementService.unlock(LOCK_NAME_TYPE, lockName);
+        }
+    }
+
+    @Benchmark
+    public void write(ThreadState threadState) {
+        String lockName = threadState.nextLockName();
+        LockManagementService lockManagementService = threadState.lockManagementService;
+        if (tryAcquire(threadState, () -> lockManagementService.requestWriteLock(LOCK_NAME_TYPE, lockName, LOCK_TIMEOUT, false))) {
+            lockManagementService.unlock(LOCK_NAME_TYPE, lockName);
+        }
+    }
+
+    @Benchmark
+    public void convert(HeldWriteLock heldWriteLock) {
+        if (heldWriteLock.held) {
+            LockManagementService lockManagementService = heldWriteLock.lockManagementService;
+            heldWriteLock.held = tryAcquire(heldWriteLock, () -> {
+                lockManagementService.convertToReadLock(LOCK_NAME_TYPE, heldWriteLock.lockName, LOCK_TIMEOUT);
+                lockManagementService.convertToWriteLock(LOCK_NAME_TYPE, heldWriteLock.lockName, LOCK_TIMEOUT);
+            });
+        }
+    }
+
+    @Benchmark
+    public void unlock(HeldWriteLock heldWriteLock) {
+        if (heldWriteLock.held) {
+            heldWriteLock.lockManagementService.unlock(LOCK_NAME_TYPE, heldWriteLock.lockName);
+            heldWriteLock.held = false;
+        }
+    }
+
+    private static boolean tryAcquire(ThreadState threadState, Runnable acquisition) {
+        try {
+            acquisition.run();
+            return true;
+        } catch (LockManagerTimeoutException e) {
+            threadState.backendState.timeouts.incrementAndGet();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.tosan.tools.lockmanager.benchmark;
+
+import com.tosan.tools.lockmanager.api.LockManagementService;
+import com.tosan.tools.lockmanager.benchmark.backend.LockBackend;
+import com.tosan.tools.lockmanager.exception.LockManagerTimeoutException;
+import com.tosan.tools.lockmanager.impl.striped.StripedLockManagementService;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Write lock throughput on a random lock name out of {@value #LOCK_NAME_COUNT} per operation, with every lock name
+ * locked at the backend ({@code PLAIN}) and with the lock names mapped onto {@value #STRIPES} stripes by
+ * {@link StripedLockManagementService} ({@code STRIPED}).
+ * <p>
+ * At the end of each trial the number of lock objects left at the backend and the heap used after a full GC are
+ * logged. The heap covers the in-process servers as well, except the redis server, which is a process of its own.
+ *
+ * @author mortezaei
+ * @since 10/18/2026
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+@Threads(4)
+public class StripedLockBenchmark {
+    static final int LOCK_NAME_COUNT = 1_000_000;
+    static final int STRIPES = 1024;
+    private static final Integer LOCK_TIMEOUT = 60;
+
+    @State(Scope.Benchmark)
+    public static class BackendState {
+        private static final Logger LOGGER = LoggerFactory.getLogger(BackendState.class);
+
+        @Param({"HAZELCAST", "ZOOKEEPER", "REDIS", "POSTGRESQL"})
+        public String backend;
+
+        @Param({"PLAIN", "STRIPED"})
+        public String variant;
+
+        LockBackend lockBackend;
+        final AtomicInteger threadCount = new AtomicInteger();
+        final AtomicLong timeouts = new AtomicLong();
+
+        @Setup(Level.Trial)
+        public void start() throws Exception {
+            lockBackend = LockBackend.start(backend);
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() throws Exception {
+            if (timeouts.get() > 0) {
+                LOGGER.warn("{} acquisitions timed out on {} {}", timeouts.get(), backend, variant);
+            }
+            System.gc();
+            Runtime runtime = Runtime.getRuntime();
+            LOGGER.info("{} {}: {} backend lock objects, {} MB heap used", backend, variant,
+                    lockBackend.countBackendObjects(), (runtime.totalMemory() - runtime.freeMemory()) >> 20);
+            lockBackend.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadState {
+        LockManagementService lockManagementService;
+        BackendState backendState;
+        SplittableRandom random;
+
+        @Setup(Level.Trial)
+        public void init(BackendState backendState) {
+            this.backendState = backendState;
+            int threadIndex = backendState.threadCount.getAndIncrement();
+            lockManagementService = backendState.lockBackend.newLockManagementService();
+            if (backendState.variant.equals("STRIPED")) {
+                StripedLockManagementService stripedLockManagementService =
+                        new StripedLockManagementService(lockManagementService);
+                stripedLockManagementService.setStripes(Map.of(LockManagementServiceBenchmark.LOCK_NAME_TYPE, STRIPES));
+                lockManagementService = stripedLockManagementService;
+            }
+            random = new SplittableRandom(threadIndex);
+        }
+    }
+
+    @Benchmark
+    public void write(ThreadState threadState) {
+        String lockName = "KEY" + threadState.random.nextInt(LOCK_NAME_COUNT);
+        LockManagementService lockManagementService = threadState.lockManagementService;
+        try {
+            lockManagementService.requestWriteLock(LockManagementServiceBenchmark.LOCK_NAME_TYPE, lockName, LOCK_TIMEOUT, false);
+        } catch (LockManagerTimeoutException e) {
+            threadState.backendState.timeouts.incrementAndGet();
+            return;
+        }
+        lockManagementService.unlock(LockManagementServiceBenchmark.LOCK_NAME_TYPE, lockName);
+    }
+}
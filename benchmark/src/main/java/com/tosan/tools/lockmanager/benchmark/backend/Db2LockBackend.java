@@ -0,0 +1,65 @@
+package com.tosan.tools.lockmanager.benchmark.backend;
+
+import com.tosan.tools.lockmanager.api.LockManagementService;
+import com.tosan.tools.lockmanager.impl.dbms.DbmsLockManagementService;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * In-memory H2 database in DB2 mode with the lock functions of the DB2 lock dao emulated by
+ * {@link DbmsLockEmulation}.
+ * Hibernate is forced to the DB2 dialect so the lock manager selects its DB2 implementation, and every benchmark
+ * thread gets an entity manager holding its own connection, as a transactional one would.
+ *
+ * @author mortezaei
+ * @since 10/18/2026
+ */
+public class Db2LockBackend implements LockBackend {
+    private static final String URL = "jdbc:h2:mem:lock-manager-benchmark-db2;MODE=DB2;DB_CLOSE_DELAY=-1";
+    private final DbmsLockDataSource dataSource;
+    private final SessionFactory sessionFactory;
+    private final List<EntityManager> entityManagers = new CopyOnWriteArrayList<>();
+
+    public Db2LockBackend() throws SQLException {
+        dataSource = new DbmsLockDataSource(URL, 256);
+        try (Connection connection = dataSource.getConnection()) {
+            DbmsLockEmulation.installDb2(connection);
+        }
+        Configuration configuration = new Configuration();
+        configuration.getProperties().put(AvailableSettings.JAKARTA_NON_JTA_DATASOURCE, dataSource);
+        sessionFactory = configuration
+                .setProperty("hibernate.connection.handling_mode", "DELAYED_ACQUISITION_AND_HOLD")
+                .setProperty("hibernate.dialect", "org.hibernate.dialect.DB2Dialect")
+                .setProperty("hibernate.boot.allow_jdbc_metadata_access", "false")
+                .buildSessionFactory();
+    }
+
+    @Override
+    public LockManagementService newLockManagementService() {
+        EntityManager entityManager = sessionFactory.createEntityManager();
+        entityManagers.add(entityManager);
+        return new DbmsLockManagementService(entityManager);
+    }
+
+    /**
+     * Counts the lock names ever requested, which the emulation keeps after their locks are released.
+     */
+    @Override
+    public long countBackendObjects() {
+        return DbmsLockEmulation.countLocks();
+    }
+
+    @Override
+    public void close() throws SQLException {
+        entityManagers.forEach(EntityManager::close);
+        sessionFactory.close();
+        dataSource.close();
+    }
+}
@@ -0,0 +1,154 @@
+package com.tosan.tools.lockmanager.benchmark.backend;
+
+import org.h2.jdbcx.JdbcConnectionPool;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.*;
+import java.util.Locale;
+import java.util.logging.Logger;
+
+/**
+ * Pooled H2 data source whose connections route {@code dbms_lock.allocate_unique} calls to
+ * {@link DbmsLockEmulation#allocateHandle(String)}. H2 has no real OUT parameters, so the call is executed as a
+ * query (keeping its database round trip) and the handle is served back through the OUT parameter accessors.
+ *
+ * @author mortezaei
+ * @since 10/18/2026
+ */
+public class DbmsLockDataSource implements DataSource, AutoCloseable {
+    private static final String ALLOCATE_UNIQUE = "dbms_lock.allocate_unique";
+    private static final String ALLOCATE_HANDLE_QUERY = "SELECT dbms_lock.allocate_handle(?)";
+    private final JdbcConnectionPool connectionPool;
+
+    public DbmsLockDataSource(String url, int maxConnections) {
+        connectionPool = JdbcConnectionPool.create(url, "", "");
+        connectionPool.setMaxConnections(maxConnections);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return proxy(connectionPool.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return getConnection();
+    }
+
+    @Override
+    public void close() {
+        connectionPool.dispose();
+    }
+
+    private static Connection proxy(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(DbmsLockDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("prepareCall")
+                            && ((String) args[0]).toLowerCase(Locale.ROOT).contains(ALLOCATE_UNIQUE)) {
+                        return Proxy.newProxyInstance(DbmsLockDataSource.class.getClassLoader(),
+                                new Class<?>[]{CallableStatement.class},
+                                new AllocateUniqueCall(connection.prepareStatement(ALLOCATE_HANDLE_QUERY)));
+                    }
+                    return invoke(connection, method, args);
+                });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * {@code dbms_lock.allocate_unique(lockname IN, lockhandle OUT, expiration_secs IN)}.
+     */
+    private static class AllocateUniqueCall implements InvocationHandler {
+        private final PreparedStatement query;
+        private String lockHandle;
+
+        AllocateUniqueCall(PreparedStatement query) {
+            this.query = query;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "setString":
+                case "setObject":
+                    if (args[0] instanceof Integer && (Integer) args[0] == 1) {
+                        query.setString(1, (String) args[1]);
+                    }
+                    return null;
+                case "execute":
+                    try (ResultSet resultSet = query.executeQuery()) {
+                        resultSet.next();
+                        lockHandle = resultSet.getString(1);
+                    }
+                    return false;
+                case "getString":
+                case "getObject":
+                    return lockHandle;
+                case "getUpdateCount":
+                    return -1;
+                case "close":
+                    query.close();
+                    return null;
+                case "unwrap":
+                    return proxy;
+                case "isWrapperFor":
+                    return true;
+                default:
+                    return defaultValue(method.getReturnType());
+            }
+        }
+
+        private static Object defaultValue(Class<?> type) {
+            if (type == boolean.class) {
+                return false;
+            } else if (type == int.class || type == long.class) {
+                return type == int.class ? (Object) 0 : (Object) 0L;
+            }
+            return null;
+        }
+    }
+
+    @Override
+    public PrintWriter getLogWriter() {
+        return null;
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) {
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) {
+    }
+
+    @Override
+    public int getLoginTimeout() {
+        return 0;
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        throw new SQLException("Not a wrapper for " + iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) {
+        return false;
+    }
+}
@@ -0,0 +1,157 @@
+package com.tosan.tools.lockmanager.benchmark.backend;
+
+import org.h2.jdbc.JdbcConnection;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory emulation of the {@code dbms_lock} package for H2, registered as Java function aliases, also backing
+ * the lock functions of the DB2 lock dao.
+ * Lock owners are H2 sessions, mode 6 is exclusive and every other mode is shared. Status codes follow
+ * {@code DBMS_LOCK}: 0 success, 1 timeout, 4 already own (request) or don't own (convert, release).
+ * Locks requested with {@code release_on_commit} are kept until explicitly released.
+ *
+ * @author mortezaei
+ * @since 10/18/2026
+ */
+public final class DbmsLockEmulation {
+    private static final int EXCLUSIVE_MODE = 6;
+    private static final Map<String, String> LOCK_HANDLES = new ConcurrentHashMap<>();
+    private static final Map<String, EmulatedLock> LOCKS = new ConcurrentHashMap<>();
+    private static final AtomicLong LOCK_IDS = new AtomicLong(1073741824);
+
+    private DbmsLockEmulation() {
+    }
+
+    public static void install(Connection connection) throws SQLException {
+        String className = DbmsLockEmulation.class.getName();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE SCHEMA IF NOT EXISTS dbms_lock");
+            statement.execute("CREATE ALIAS IF NOT EXISTS dbms_lock.allocate_handle FOR '" + className + ".allocateHandle'");
+            statement.execute("CREATE ALIAS IF NOT EXISTS dbms_lock.request FOR '" + className + ".request'");
+            statement.execute("CREATE ALIAS IF NOT EXISTS dbms_lock.convert FOR '" + className + ".convert'");
+            statement.execute("CREATE ALIAS IF NOT EXISTS dbms_lock.release FOR '" + className + ".release'");
+        }
+    }
+
+    /**
+     * Installs the lock functions of the DB2 lock dao in the current schema, taking lock names as lock handles, and
+     * lists {@code REQUEST_LOCK} in a {@code syscat.routines} stand-in for the dao to find it.
+     */
+    public static void installDb2(Connection connection) throws SQLException {
+        String className = DbmsLockEmulation.class.getName();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE SCHEMA IF NOT EXISTS syscat");
+            statement.execute("CREATE TABLE IF NOT EXISTS syscat.routines (routineschema VARCHAR(128), routinename VARCHAR(128))");
+            statement.execute("INSERT INTO syscat.routines SELECT current_schema, 'REQUEST_LOCK' FROM sysibm.sysdummy1");
+            statement.execute("CREATE ALIAS IF NOT EXISTS REQUEST_LOCK FOR '" + className + ".request'");
+            statement.execute("CREATE ALIAS IF NOT EXISTS CONVERT_LOCK FOR '" + className + ".convert'");
+            statement.execute("CREATE ALIAS IF NOT EXISTS RELEASE_LOCK FOR '" + className + ".release'");
+        }
+    }
+
+    /**
+     * Backs {@code dbms_lock.allocate_unique}, see {@link DbmsLockDataSource}.
+     */
+    public static String allocateHandle(String lockName) {
+        return LOCK_HANDLES.computeIfAbsent(lockName, name -> String.valueOf(LOCK_IDS.getAndIncrement()));
+    }
+
+    static int countAllocatedHandles() {
+        return LOCK_HANDLES.size();
+    }
+
+    static int countLocks() {
+        return LOCKS.size();
+    }
+
+    public static int request(Connection connection, String lockHandle, int lockMode, int timeout)
+            throws SQLException, InterruptedException {
+        return lock(lockHandle).request(owner(connection), lockMode == EXCLUSIVE_MODE, timeout);
+    }
+
+    public static int request(Connection connection, String lockHandle, int lockMode, int timeout,
+                              boolean releaseOnCommit) throws SQLException, InterruptedException {
+        return request(connection, lockHandle, lockMode, timeout);
+    }
+
+    public static int convert(Connection connection, String lockHandle, int lockMode, int timeout)
+            throws SQLException, InterruptedException {
+        return lock(lockHandle).convert(owner(connection), lockMode == EXCLUSIVE_MODE, timeout);
+    }
+
+    public static int release(Connection connection, String lockHandle) throws SQLException {
+        return lock(lockHandle).release(owner(connection));
+    }
+
+    private static EmulatedLock lock(String lockHandle) {
+        return LOCKS.computeIfAbsent(lockHandle, handle -> new EmulatedLock());
+    }
+
+    private static Object owner(Connection connection) throws SQLException {
+        return connection.unwrap(JdbcConnection.class).getSession();
+    }
+
+    private static final class EmulatedLock {
+        private final Map<Object, Boolean> owners = new HashMap<>();
+
+        synchronized int request(Object owner, boolean exclusive, int timeout) throws InterruptedException {
+            if (owners.containsKey(owner)) {
+                return 4;
+            }
+            if (!await(owner, exclusive, timeout)) {
+                return 1;
+            }
+            owners.put(owner, exclusive);
+            return 0;
+        }
+
+        synchronized int convert(Object owner, boolean exclusive, int timeout) throws InterruptedException {
+            if (!owners.containsKey(owner)) {
+                return 4;
+            }
+            if (exclusive && !await(owner, true, timeout)) {
+                return 1;
+            }
+            owners.put(owner, exclusive);
+            notifyAll();
+            return 0;
+        }
+
+        synchronized int release(Object owner) {
+            if (owners.remove(owner) == null) {
+                return 4;
+            }
+            notifyAll();
+            return 0;
+        }
+
+        private boolean await(Object owner, boolean exclusive, int timeout) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeout);
+            while (!compatible(owner, exclusive)) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(this, remaining);
+            }
+            return true;
+        }
+
+        private boolean compatible(Object owner, boolean exclusive) {
+            for (Map.Entry<Object, Boolean> entry : owners.entrySet()) {
+                if (!entry.getKey().equals(owner) && (exclusive || entry.getValue())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
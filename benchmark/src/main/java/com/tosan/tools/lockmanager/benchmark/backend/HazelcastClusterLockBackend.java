@@ -0,0 +1,76 @@
+package com.tosan.tools.lockmanager.benchmark.backend;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.tosan.tools.lockmanager.api.LockManagementService;
+import com.tosan.tools.lockmanager.impl.hazelcast.HazelcastCpLockManagementService;
+import com.tosan.tools.lockmanager.impl.hazelcast.HazelcastCpLockService;
+import com.tosan.tools.lockmanager.impl.hazelcast.HazelcastLockManagementService;
+import com.tosan.tools.lockmanager.impl.hazelcast.HazelcastService;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Three embedded Hazelcast members joined over TCP/IP on the loopback address, locking either on the lock maps or on
+ * the CP subsystem with all members as CP members. Threads get the services of the members in turn, as if every
+ * member were a JVM of its own.
+ *
+ * @author mortezaei
+ * @since 10/18/2026
+ */
+public class HazelcastClusterLockBackend implements LockBackend {
+    private static final int MEMBER_COUNT = 3;
+    private final HazelcastInstance[] hazelcastInstances = new HazelcastInstance[MEMBER_COUNT];
+    private final LockManagementService[] lockManagementServices = new LockManagementService[MEMBER_COUNT];
+    private final AtomicInteger nextMember = new AtomicInteger();
+
+    public HazelcastClusterLockBackend(boolean cpSubsystem) {
+        for (int i = 0; i < MEMBER_COUNT; i++) {
+            Config config = new Config();
+            config.setClusterName("lock-manager-cluster-benchmark");
+            config.setProperty("hazelcast.logging.type", "slf4j");
+            config.getNetworkConfig().getJoin().getMulticastConfig().setEnabled(false);
+            config.getNetworkConfig().getJoin().getAutoDetectionConfig().setEnabled(false);
+            config.getNetworkConfig().getJoin().getTcpIpConfig().setEnabled(true).addMember("127.0.0.1");
+            if (cpSubsystem) {
+                config.getCPSubsystemConfig().setCPMemberCount(MEMBER_COUNT);
+            }
+            hazelcastInstances[i] = Hazelcast.newHazelcastInstance(config);
+        }
+        for (int i = 0; i < MEMBER_COUNT; i++) {
+            lockManagementServices[i] = cpSubsystem ? newCpLockManagementService(hazelcastInstances[i]) :
+                    newLockManagementService(hazelcastInstances[i]);
+        }
+    }
+
+    @Override
+    public LockManagementService newLockManagementService() {
+        return lockManagementServices[nextMember.getAndIncrement() % MEMBER_COUNT];
+    }
+
+    /**
+     * Terminates the members, as a graceful shutdown of the CP members one by one stalls once the CP groups lose
+     * their majority.
+     */
+    @Override
+    public void close() {
+        for (HazelcastInstance hazelcastInstance : hazelcastInstances) {
+            hazelcastInstance.getLifecycleService().terminate();
+        }
+    }
+
+    private static LockManagementService newLockManagementService(HazelcastInstance hazelcastInstance) {
+        HazelcastService hazelcastService = new HazelcastService();
+        hazelcastService.setLockExpireSecs("3600");
+        hazelcastService.setLockClusterDownMembersSetName("lockClusterDownMembers");
+        hazelcastService.setHazelcastInstance(hazelcastInstance);
+        return new HazelcastLockManagementService(hazelcastService);
+    }
+
+    private static LockManagementService newCpLockManagementService(HazelcastInstance hazelcastInstance) {
+        HazelcastCpLockService hazelcastCpLockService = new HazelcastCpLockService();
+        hazelcastCpLockService.setHazelcastInstance(hazelcastInstance);
+        return new HazelcastCpLockManagementService(hazelcastCpLockService);
+    }
+}
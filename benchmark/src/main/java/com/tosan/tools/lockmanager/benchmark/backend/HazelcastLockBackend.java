@@ -0,0 +1,64 @@
+package com.tosan.tools.lockmanager.benchmark.backend;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.tosan.tools.lockmanager.api.AsyncLockManagementService;
+import com.tosan.tools.lockmanager.api.LockManagementService;
+import com.tosan.tools.lockmanager.impl.hazelcast.HazelcastAsyncLockManagementService;
+import com.tosan.tools.lockmanager.impl.hazelcast.HazelcastLockManagementService;
+import com.tosan.tools.lockmanager.impl.hazelcast.HazelcastService;
+
+/**
+ * Single embedded Hazelcast member without network discovery.
+ *
+ * @author mortezaei
+ * @since 10/18/2026
+ */
+public class HazelcastLockBackend implements LockBackend {
+    private final HazelcastInstance hazelcastInstance;
+    private final HazelcastLockManagementService lockManagementService;
+    private final HazelcastAsyncLockManagementService asyncLockManagementService;
+
+    public HazelcastLockBackend() {
+        Config config = new Config();
+        config.setClusterName("lock-manager-benchmark");
+        config.setProperty("hazelcast.logging.type", "slf4j");
+        config.getNetworkConfig().getJoin().getMulticastConfig().setEnabled(false);
+        config.getNetworkConfig().getJoin().getAutoDetectionConfig().setEnabled(false);
+        hazelcastInstance = Hazelcast.newHazelcastInstance(config);
+        HazelcastService hazelcastService = new HazelcastService();
+        hazelcastService.setLockExpireSecs("3600");
+        hazelcastService.setLockClusterDownMembersSetName("lockClusterDownMembers");
+        hazelcastService.setHazelcastInstance(hazelcastInstance);
+        lockManagementService = new HazelcastLockManagementService(hazelcastService);
+        asyncLockManagementService = new HazelcastAsyncLockManagementService(hazelcastService);
+    }
+
+    @Override
+    public LockManagementService newLockManagementService() {
+        return lockManagementService;
+    }
+
+    @Override
+    public AsyncLockManagementService getAsyncLockManagementService() {
+        return asyncLockManagementService;
+    }
+
+    /**
+     * Counts the entries of all maps of the member, i.e. the held read and write locks.
+     */
+    @Override
+    public long countBackendObjects() {
+        return hazelcastInstance.getDistributedObjects().stream()
+                .filter(IMap.class::isInstance)
+                .mapToLong(distributedObject -> ((IMap<?, ?>) distributedObject).size())
+                .sum();
+    }
+
+    @Override
+    public void close() {
+        hazelcastInstance.shutdown();
+    }
+}
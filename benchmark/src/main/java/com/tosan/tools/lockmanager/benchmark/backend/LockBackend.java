@@ -0,0 +1,62 @@
+package com.tosan.tools.lockmanager.benchmark.backend;
+
+import com.tosan.tools.lockmanager.api.AsyncLockManagementService;
+import com.tosan.tools.lockmanager.api.LockManagementService;
+
+/**
+ * A lock backend started against a local stand-in (embedded server or emulated database).
+ *
+ * @author mortezaei
+ * @since 10/18/2026
+ */
+public interface LockBackend extends AutoCloseable {
+
+    /**
+     * Returns a lock management service for the calling benchmark thread. Backends whose services are thread-safe
+     * may return the same instance for all threads; database backends return one bound to its own session.
+     *
+     * @return lock management service of this backend
+     */
+    LockManagementService newLockManagementService();
+
+    /**
+     * Returns the non-blocking lock management service of this backend, shared by all threads.
+     *
+     * @return async lock management service of this backend
+     * @throws UnsupportedOperationException if the backend has no non-blocking service
+     */
+    default AsyncLockManagementService getAsyncLockManagementService() {
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " has no async lock management service");
+    }
+
+    /**
+     * Returns the number of lock objects the backend keeps, e.g. znodes or allocated lock handles, including those
+     * left behind by released locks.
+     *
+     * @return number of backend lock objects, or -1 if the backend does not tell
+     */
+    default long countBackendObjects() throws Exception {
+        return -1;
+    }
+
+    static LockBackend start(String name) throws Exception {
+        switch (name) {
+            case "HAZELCAST":
+                return new HazelcastLockBackend();
+            case "HAZELCAST_CLUSTER":
+                return new HazelcastClusterLockBackend(false);
+            case "HAZELCAST_CP":
+                return new HazelcastClusterLockBackend(true);
+            case "ZOOKEEPER":
+                return new ZookeeperLockBackend();
+            case "REDIS":
+                return new RedisLockBackend();
+            case "POSTGRESQL":
+                return new PostgresqlLockBackend();
+            case "DB2":
+                return new Db2LockBackend();
+            default:
+                throw new IllegalArgumentException("Unknown lock backend: " + name);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.tosan.tools.lockmanager.benchmark.backend;
+
+import com.tosan.tools.lockmanager.api.LockManagementService;
+import com.tosan.tools.lockmanager.impl.dbms.DbmsLockManagementService;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * In-memory H2 database in PostgreSQL mode with the {@code dbms_lock} package emulated by {@link DbmsLockEmulation}
+ * and {@link DbmsLockDataSource}.
+ * Hibernate is forced to the PostgreSQL dialect so the lock manager selects its PostgreSQL implementation, and
+ * every benchmark thread gets an entity manager holding its own connection, as a transactional one would.
+ *
+ * @author mortezaei
+ * @since 10/18/2026
+ */
+public class PostgresqlLockBackend implements LockBackend {
+    private static final String URL = "jdbc:h2:mem:lock-manager-benchmark;MODE=PostgreSQL;DB_CLOSE_DELAY=-1";
+    private final DbmsLockDataSource dataSource;
+    private final SessionFactory sessionFactory;
+    private final List<EntityManager> entityManagers = new CopyOnWriteArrayList<>();
+
+    public PostgresqlLockBackend() throws SQLException {
+        dataSource = new DbmsLockDataSource(URL, 256);
+        try (Connection connection = dataSource.getConnection()) {
+            DbmsLockEmulation.install(connection);
+        }
+        Configuration configuration = new Configuration();
+        configuration.getProperties().put(AvailableSettings.JAKARTA_NON_JTA_DATASOURCE, dataSource);
+        sessionFactory = configuration
+                .setProperty("hibernate.connection.handling_mode", "DELAYED_ACQUISITION_AND_HOLD")
+                .setProperty("hibernate.dialect", "org.hibernate.dialect.PostgreSQLDialect")
+                .setProperty("hibernate.boot.allow_jdbc_metadata_access", "false")
+                .buildSessionFactory();
+    }
+
+    @Override
+    public LockManagementService newLockManagementService() {
+        return new DbmsLockManagementService(newEntityManager());
+    }
+
+    /**
+     * Returns an entity manager of its own, closed with the backend.
+     */
+    public EntityManager newEntityManager() {
+        EntityManager entityManager = sessionFactory.createEntityManager();
+        entityManagers.add(entityManager);
+        return entityManager;
+    }
+
+    /**
+     * Counts the allocated lock handles, which {@code dbms_lock} keeps after their locks are released.
+     */
+    @Override
+    public long countBackendObjects() {
+        return DbmsLockEmulation.countAllocatedHandles();
+    }
+
+    @Override
+    public void close() throws SQLException {
+        entityManagers.forEach(EntityManager::close);
+        sessionFactory.close();
+        dataSource.close();
+    }
+}
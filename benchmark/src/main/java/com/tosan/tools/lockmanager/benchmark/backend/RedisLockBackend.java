@@ -0,0 +1,67 @@
+package com.tosan.tools.lockmanager.benchmark.backend;
+
+import com.tosan.tools.lockmanager.api.AsyncLockManagementService;
+import com.tosan.tools.lockmanager.api.LockManagementService;
+import com.tosan.tools.lockmanager.impl.redis.RedisAsyncLockManagementService;
+import com.tosan.tools.lockmanager.impl.redis.RedisLockManagementService;
+import com.tosan.tools.lockmanager.impl.redis.RedisLockService;
+import org.redisson.Redisson;
+import org.redisson.api.RedissonClient;
+import org.redisson.config.Config;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+
+/**
+ * Embedded redis-server process on a free local port.
+ *
+ * @author mortezaei
+ * @since 10/18/2026
+ */
+public class RedisLockBackend implements LockBackend {
+    private final RedisServer redisServer;
+    private final RedissonClient redissonClient;
+    private final RedisLockManagementService lockManagementService;
+    private final RedisAsyncLockManagementService asyncLockManagementService;
+
+    public RedisLockBackend() throws IOException {
+        int port = freePort();
+        redisServer = new RedisServer(port);
+        redisServer.start();
+        Config config = new Config();
+        config.useSingleServer().setAddress("redis://127.0.0.1:" + port);
+        redissonClient = Redisson.create(config);
+        RedisLockService redisLockService = new RedisLockService();
+        redisLockService.setRedisClient(redissonClient);
+        lockManagementService = new RedisLockManagementService(redisLockService);
+        asyncLockManagementService = new RedisAsyncLockManagementService(redisLockService);
+    }
+
+    @Override
+    public LockManagementService newLockManagementService() {
+        return lockManagementService;
+    }
+
+    @Override
+    public AsyncLockManagementService getAsyncLockManagementService() {
+        return asyncLockManagementService;
+    }
+
+    @Override
+    public long countBackendObjects() {
+        return redissonClient.getKeys().count();
+    }
+
+    @Override
+    public void close() throws IOException {
+        redissonClient.shutdown();
+        redisServer.stop();
+    }
+
+    static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.tosan.tools.lockmanager.benchmark.backend;
+
+import com.tosan.tools.lockmanager.api.AsyncLockManagementService;
+import com.tosan.tools.lockmanager.api.LockManagementService;
+import com.tosan.tools.lockmanager.impl.zookeeper.ZookeeperAsyncLockManagementService;
+import com.tosan.tools.lockmanager.impl.zookeeper.ZookeeperLockManagementService;
+import com.tosan.tools.lockmanager.impl.zookeeper.ZookeeperLockService;
+import org.apache.curator.framework.CuratorFramework;
+import org.apache.curator.framework.CuratorFrameworkFactory;
+import org.apache.curator.retry.RetryNTimes;
+import org.apache.curator.test.TestingServer;
+
+/**
+ * Curator {@link TestingServer} on a random port.
+ *
+ * @author mortezaei
+ * @since 10/18/2026
+ */
+public class ZookeeperLockBackend implements LockBackend {
+    private final TestingServer testingServer;
+    private final CuratorFramework curatorFramework;
+    private final ZookeeperLockManagementService lockManagementService;
+    private final ZookeeperAsyncLockManagementService asyncLockManagementService;
+
+    public ZookeeperLockBackend() throws Exception {
+        testingServer = new TestingServer(true);
+        curatorFramework = CuratorFrameworkFactory.newClient(testingServer.getConnectString(), new RetryNTimes(10, 500));
+        curatorFramework.start();
+        curatorFramework.blockUntilConnected();
+        ZookeeperLockService zookeeperLockService = new ZookeeperLockService(curatorFramework);
+        lockManagementService = new ZookeeperLockManagementService(zookeeperLockService);
+        asyncLockManagementService = new ZookeeperAsyncLockManagementService(zookeeperLockService);
+    }
+
+    @Override
+    public LockManagementService newLockManagementService() {
+        return lockManagementService;
+    }
+
+    @Override
+    public AsyncLockManagementService getAsyncLockManagementService() {
+        return asyncLockManagementService;
+    }
+
+    /**
+     * Counts the lock znodes, which are persistent and outlive their locks.
+     */
+    @Override
+    public long countBackendObjects() throws Exception {
+        return curatorFramework.getChildren().forPath("/").size();
+    }
+
+    @Override
+    public void close() throws Exception {
+        curatorFramework.close();
+        testingServer.close();
+    }
+}
@@ -0,0 +1,91 @@
+package com.tosan.tools.lockmanager.api;
+
+import com.tosan.tools.lockmanager.exception.LockManagerRunTimeException;
+
+/**
+ * Base of {@link CloseableLockHandle} implementations, tracking the mode of the lock and whether it is released.
+ * A handle is confined to one thread, so its state is not synchronized.
+ *
+ * @author mortezaei
+ * @since 10/18/2026
+ */
+public abstract class AbstractCloseableLockHandle implements CloseableLockHandle {
+    private final String lockNameType;
+    private final String lockName;
+    private LockMode lockMode;
+    private boolean released;
+
+    protected AbstractCloseableLockHandle(String lockNameType, String lockName, LockMode lockMode) {
+        this.lockNameType = lockNameType;
+        this.lockName = lockName;
+        this.lockMode = lockMode;
+    }
+
+    @Override
+    public String getLockNameType() {
+        return lockNameType;
+    }
+
+    @Override
+    public String getLockName() {
+        return lockName;
+    }
+
+    @Override
+    public LockMode getLockMode() {
+        return lockMode;
+    }
+
+    @Override
+    public boolean isReleased() {
+        return released;
+    }
+
+    @Override
+    public void convertToReadLock(Integer lockTimeout) {
+        convert(LockMode.READ, lockTimeout);
+    }
+
+    @Override
+    public void convertToWriteLock(Integer lockTimeout) {
+        convert(LockMode.WRITE, lockTimeout);
+    }
+
+    @Override
+    public void unlock() {
+        if (released) {
+            return;
+        }
+        released = true;
+        release(lockMode);
+    }
+
+    private void convert(LockMode lockMode, Integer lockTimeout) {
+        if (released) {
+            throw new LockManagerRunTimeException("Lock is already released.");
+        }
+        if (this.lockMode == lockMode) {
+            return;
+        }
+        convert(this.lockMode, lockMode, lockTimeout);
+        this.lockMode = lockMode;
+    }
+
+    /**
+     * Marks the lock as released, e.g. by a conversion that released the lock and could not grant it in the new mode.
+     */
+    protected void markReleased() {
+        released = true;
+    }
+
+    /**
+     * Releases the lock held in the given mode.
+     */
+    protected abstract void release(LockMode lockMode);
+
+    /**
+     * Converts the lock from {@code currentMode} to {@code lockMode}. On failure, implementations that lost the lock
+     * call {@link #markReleased()} before throwing.
+     */
+    protected abstract void convert(LockMode currentMode, LockMode lockMode, Integer lockTimeout);
+}
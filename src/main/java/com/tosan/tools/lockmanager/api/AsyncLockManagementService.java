@@ -0,0 +1,70 @@
+package com.tosan.tools.lockmanager.api;
+
+import com.tosan.tools.lockmanager.exception.LockManagerRunTimeException;
+import com.tosan.tools.lockmanager.exception.LockManagerTimeoutException;
+
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Non-blocking variant of {@link LockManagementService}. Waiting for a lock does not hold a thread; the returned
+ * stage completes when the lock is granted, or exceptionally with {@link LockManagerTimeoutException} when it cannot
+ * be granted within the timeout.
+ * <p>
+ * Locks are owned by the returned {@link LockHandle} instead of the calling thread, so they may be converted and
+ * released from any thread. Cancelling a pending stage (through {@link CompletionStage#toCompletableFuture()})
+ * abandons the wait and releases anything acquired on the way.
+ *
+ * @author mortezaei
+ * @since 10/18/2026
+ */
+public interface AsyncLockManagementService {
+    /**
+     * Acquires the read lock if it is not held by another the given waiting time.
+     *
+     * @param lockNameType lock name type
+     * @param lockName     lock name
+     * @param lockTimeout  Number of seconds to continue trying to grant the lock, backend default if null.
+     * @return stage completed with the granted lock, or exceptionally with {@link LockManagerTimeoutException}
+     * if the read lock cannot be granted within this time period and {@link LockManagerRunTimeException} on
+     * internal errors.
+     */
+    CompletionStage<LockHandle> requestReadLock(String lockNameType, String lockName, Integer lockTimeout);
+
+    /**
+     * Acquires the write lock if it is not held by another the given waiting time.
+     *
+     * @param lockNameType lock name type
+     * @param lockName     lock name
+     * @param lockTimeout  Number of seconds to continue trying to grant the lock, backend default if null.
+     * @return stage completed with the granted lock, or exceptionally with {@link LockManagerTimeoutException}
+     * if the write lock cannot be granted within this time period and {@link LockManagerRunTimeException} on
+     * internal errors.
+     */
+    CompletionStage<LockHandle> requestWriteLock(String lockNameType, String lockName, Integer lockTimeout);
+
+    /**
+     * Converts a granted write lock to a read lock.
+     *
+     * @param lockHandle  write lock acquired from this service
+     * @param lockTimeout Number of seconds to continue trying to grant the lock, backend default if null.
+     * @return stage completed with the read lock that replaces {@code lockHandle}
+     */
+    CompletionStage<LockHandle> convertToReadLock(LockHandle lockHandle, Integer lockTimeout);
+
+    /**
+     * Converts a granted read lock to a write lock.
+     *
+     * @param lockHandle  read lock acquired from this service
+     * @param lockTimeout Number of seconds to continue trying to grant the lock, backend default if null.
+     * @return stage completed with the write lock that replaces {@code lockHandle}
+     */
+    CompletionStage<LockHandle> convertToWriteLock(LockHandle lockHandle, Integer lockTimeout);
+
+    /**
+     * Releases a lock previously acquired from this service.
+     *
+     * @param lockHandle lock to release
+     * @return stage completed when the lock is released
+     */
+    CompletionStage<Void> unlock(LockHandle lockHandle);
+}
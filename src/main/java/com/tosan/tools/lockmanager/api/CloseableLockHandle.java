@@ -0,0 +1,53 @@
+package com.tosan.tools.lockmanager.api;
+
+import com.tosan.tools.lockmanager.exception.LockManagerRunTimeException;
+import com.tosan.tools.lockmanager.exception.LockManagerTimeoutException;
+
+/**
+ * A lock granted by {@link LockManagementService#acquireReadLock} or {@link LockManagementService#acquireWriteLock},
+ * released by {@link #close()} so it can be used in try-with-resources. The handle keeps the resolved backend lock,
+ * so converting or releasing it does not look the lock up again.
+ * <p>
+ * Backends owning locks by thread or by database session require the handle to be used by the thread, or within
+ * the transaction, that acquired it.
+ *
+ * @author mortezaei
+ * @since 10/18/2026
+ */
+public interface CloseableLockHandle extends LockHandle, AutoCloseable {
+
+    /**
+     * Converts the lock to read mode; does nothing if it is already a read lock.
+     *
+     * @param lockTimeout Number of seconds to continue trying to grant the lock, backend default if null.
+     * @throws LockManagerTimeoutException If the lock cannot be granted within this time period.
+     * @throws LockManagerRunTimeException If the lock is already released, or internal exception
+     */
+    void convertToReadLock(Integer lockTimeout) throws LockManagerTimeoutException;
+
+    /**
+     * Converts the lock to write mode; does nothing if it is already a write lock.
+     *
+     * @param lockTimeout Number of seconds to continue trying to grant the lock, backend default if null.
+     * @throws LockManagerTimeoutException If the lock cannot be granted within this time period.
+     * @throws LockManagerRunTimeException If the lock is already released, or internal exception
+     */
+    void convertToWriteLock(Integer lockTimeout) throws LockManagerTimeoutException;
+
+    /**
+     * Releases the lock; does nothing if it is already released.
+     *
+     * @throws LockManagerRunTimeException internal exception
+     */
+    void unlock();
+
+    boolean isReleased();
+
+    /**
+     * Same as {@link #unlock()}.
+     */
+    @Override
+    default void close() {
+        unlock();
+    }
+}
@@ -0,0 +1,17 @@
+package com.tosan.tools.lockmanager.api;
+
+/**
+ * A granted lock. Implementations keep the backend state needed to convert or release the lock,
+ * so a handle can only be used with the service that acquired it.
+ *
+ * @author mortezaei
+ * @since 10/18/2026
+ */
+public interface LockHandle {
+
+    String getLockNameType();
+
+    String getLockName();
+
+    LockMode getLockMode();
+}
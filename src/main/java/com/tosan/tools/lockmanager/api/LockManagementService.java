@@ -3,6 +3,12 @@ package com.tosan.tools.lockmanager.api;
 import com.tosan.tools.lockmanager.exception.LockManagerRunTimeException;
 import com.tosan.tools.lockmanager.exception.LockManagerTimeoutException;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
 /**
  * @author akhbari
  * @since 20/02/2019
@@ -153,4 +159,128 @@ public interface LockManagementService {
      * @throws LockManagerRunTimeException internal exception
      */
     void convertToWriteLock(String lockNameType, String lockName, Integer lockTimeout) throws LockManagerTimeoutException;
+
+    /**
+     * Acquires the read lock and returns its handle, which releases the lock when closed. The lock is not released
+     * on commit.
+     * This default implementation converts and releases the lock by its name; backends able to do so keep the
+     * resolved lock in the handle.
+     *
+     * @param lockNameType lock name type
+     * @param lockName     lock name
+     * @param lockTimeout  Number of seconds to continue trying to grant the lock, backend default if null.
+     * @return handle of the granted lock
+     * @throws LockManagerTimeoutException If the read lock cannot be granted within this time period.
+     * @throws LockManagerRunTimeException internal exception
+     */
+    default CloseableLockHandle acquireReadLock(String lockNameType, String lockName, Integer lockTimeout)
+            throws LockManagerTimeoutException {
+        requestReadLock(lockNameType, lockName, lockTimeout, false);
+        return new NamedLockHandle(this, lockNameType, lockName, LockMode.READ);
+    }
+
+    /**
+     * Acquires the write lock and returns its handle, which releases the lock when closed. The lock is not released
+     * on commit.
+     * This default implementation converts and releases the lock by its name; backends able to do so keep the
+     * resolved lock in the handle.
+     *
+     * @param lockNameType lock name type
+     * @param lockName     lock name
+     * @param lockTimeout  Number of seconds to continue trying to grant the lock, backend default if null.
+     * @return handle of the granted lock
+     * @throws LockManagerTimeoutException If the write lock cannot be granted within this time period.
+     * @throws LockManagerRunTimeException internal exception
+     */
+    default CloseableLockHandle acquireWriteLock(String lockNameType, String lockName, Integer lockTimeout)
+            throws LockManagerTimeoutException {
+        requestWriteLock(lockNameType, lockName, lockTimeout, false);
+        return new NamedLockHandle(this, lockNameType, lockName, LockMode.WRITE);
+    }
+
+    /**
+     * Acquires the read locks of all the given lock names, or none of them. Lock names are acquired in their natural
+     * order, so concurrent batches over overlapping lock names cannot deadlock each other.
+     * This default implementation requests the locks one by one and releases the acquired ones on failure; backends
+     * able to do so acquire them in one batch.
+     *
+     * @param lockNameType lock name type
+     * @param lockNames    lock names, duplicates are acquired once
+     * @param lockTimeout  Number of seconds to continue trying to grant all the locks, backend default if null.
+     * @throws LockManagerTimeoutException If the read locks cannot be granted within this time period.
+     * @throws LockManagerRunTimeException internal exception
+     */
+    default void requestReadLocks(String lockNameType, Collection<String> lockNames, Integer lockTimeout)
+            throws LockManagerTimeoutException {
+        requestLocks(lockNameType, lockNames, lockTimeout, LockMode.READ);
+    }
+
+    /**
+     * Acquires the write locks of all the given lock names, or none of them. Lock names are acquired in their natural
+     * order, so concurrent batches over overlapping lock names cannot deadlock each other.
+     * This default implementation requests the locks one by one and releases the acquired ones on failure; backends
+     * able to do so acquire them in one batch.
+     *
+     * @param lockNameType lock name type
+     * @param lockNames    lock names, duplicates are acquired once
+     * @param lockTimeout  Number of seconds to continue trying to grant all the locks, backend default if null.
+     * @throws LockManagerTimeoutException If the write locks cannot be granted within this time period.
+     * @throws LockManagerRunTimeException internal exception
+     */
+    default void requestWriteLocks(String lockNameType, Collection<String> lockNames, Integer lockTimeout)
+            throws LockManagerTimeoutException {
+        requestLocks(lockNameType, lockNames, lockTimeout, LockMode.WRITE);
+    }
+
+    /**
+     * Releases the locks of the given lock names previously acquired, e.g. by {@link #requestWriteLocks}.
+     *
+     * @param lockNameType lock name type
+     * @param lockNames    lock names
+     * @throws LockManagerRunTimeException internal exception
+     */
+    default void unlockAll(String lockNameType, Collection<String> lockNames) {
+        for (String lockName : lockNames) {
+            unlock(lockNameType, lockName);
+        }
+    }
+
+    /**
+     * Releases all the locks held by the current owner, i.e. the current thread or, on DBMS backends, its database
+     * session, however acquired, in as few round trips as the backend allows. Locks released on commit are left to
+     * the end of the transaction. Typically called at the end of a request instead of one {@code unlock} per lock.
+     * The backends of this library override this default implementation through the holds they track; it is kept,
+     * not supported, for implementations not tracking the locks of the current owner.
+     *
+     * @throws LockManagerRunTimeException internal exception
+     */
+    default void unlockAll() {
+        throw new UnsupportedOperationException("Releasing all locks of the current owner is not supported.");
+    }
+
+    private void requestLocks(String lockNameType, Collection<String> lockNames, Integer lockTimeout, LockMode lockMode) {
+        long deadline = lockTimeout == null ? 0 : System.nanoTime() + TimeUnit.SECONDS.toNanos(lockTimeout);
+        List<String> acquired = new ArrayList<>(lockNames.size());
+        try {
+            for (String lockName : new TreeSet<>(lockNames)) {
+                Integer timeout = lockTimeout == null ? null : (int) ((Math.max(0, deadline - System.nanoTime())
+                        + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+                if (lockMode == LockMode.READ) {
+                    requestReadLock(lockNameType, lockName, timeout, false);
+                } else {
+                    requestWriteLock(lockNameType, lockName, timeout, false);
+                }
+                acquired.add(lockName);
+            }
+        } catch (RuntimeException e) {
+            for (int i = acquired.size() - 1; i >= 0; i--) {
+                try {
+                    unlock(lockNameType, acquired.get(i));
+                } catch (RuntimeException unlockException) {
+                    e.addSuppressed(unlockException);
+                }
+            }
+            throw e;
+        }
+    }
 }
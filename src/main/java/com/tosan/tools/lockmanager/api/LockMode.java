@@ -0,0 +1,10 @@
+package com.tosan.tools.lockmanager.api;
+
+/**
+ * @author mortezaei
+ * @since 10/18/2026
+ */
+public enum LockMode {
+    READ,
+    WRITE
+}
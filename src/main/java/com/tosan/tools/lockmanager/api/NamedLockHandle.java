@@ -0,0 +1,31 @@
+package com.tosan.tools.lockmanager.api;
+
+/**
+ * Handle of services without a resolved backend lock, converting and releasing the lock by its name.
+ *
+ * @author mortezaei
+ * @since 10/18/2026
+ */
+class NamedLockHandle extends AbstractCloseableLockHandle {
+    private final LockManagementService lockManagementService;
+
+    NamedLockHandle(LockManagementService lockManagementService, String lockNameType, String lockName,
+                    LockMode lockMode) {
+        super(lockNameType, lockName, lockMode);
+        this.lockManagementService = lockManagementService;
+    }
+
+    @Override
+    protected void release(LockMode lockMode) {
+        lockManagementService.unlock(getLockNameType(), getLockName());
+    }
+
+    @Override
+    protected void convert(LockMode currentMode, LockMode lockMode, Integer lockTimeout) {
+        if (lockMode == LockMode.READ) {
+            lockManagementService.convertToReadLock(getLockNameType(), getLockName(), lockTimeout);
+        } else {
+            lockManagementService.convertToWriteLock(getLockNameType(), getLockName(), lockTimeout);
+        }
+    }
+}
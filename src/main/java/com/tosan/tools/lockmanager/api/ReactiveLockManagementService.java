@@ -0,0 +1,66 @@
+package com.tosan.tools.lockmanager.api;
+
+import com.tosan.tools.lockmanager.exception.LockManagerRunTimeException;
+import com.tosan.tools.lockmanager.exception.LockManagerTimeoutException;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive variant of {@link AsyncLockManagementService}. Nothing is requested before subscription, and every
+ * subscription requests a lock of its own.
+ * <p>
+ * Locks are owned by the emitted {@link LockHandle} instead of the subscribing thread, so they may be converted and
+ * released on any scheduler. Cancelling the subscription before the lock is emitted abandons the wait and releases
+ * anything acquired on the way; once emitted, the lock is held until released through {@link #unlock}.
+ *
+ * @author mortezaei
+ * @since 10/18/2026
+ */
+public interface ReactiveLockManagementService {
+    /**
+     * Acquires the read lock if it is not held by another the given waiting time.
+     *
+     * @param lockNameType lock name type
+     * @param lockName     lock name
+     * @param lockTimeout  Number of seconds to continue trying to grant the lock, backend default if null.
+     * @return mono of the granted lock, failing with {@link LockManagerTimeoutException} if the read lock cannot be
+     * granted within this time period and {@link LockManagerRunTimeException} on internal errors.
+     */
+    Mono<LockHandle> requestReadLock(String lockNameType, String lockName, Integer lockTimeout);
+
+    /**
+     * Acquires the write lock if it is not held by another the given waiting time.
+     *
+     * @param lockNameType lock name type
+     * @param lockName     lock name
+     * @param lockTimeout  Number of seconds to continue trying to grant the lock, backend default if null.
+     * @return mono of the granted lock, failing with {@link LockManagerTimeoutException} if the write lock cannot be
+     * granted within this time period and {@link LockManagerRunTimeException} on internal errors.
+     */
+    Mono<LockHandle> requestWriteLock(String lockNameType, String lockName, Integer lockTimeout);
+
+    /**
+     * Converts a granted write lock to a read lock.
+     *
+     * @param lockHandle  write lock acquired from this service
+     * @param lockTimeout Number of seconds to continue trying to grant the lock, backend default if null.
+     * @return mono of the read lock that replaces {@code lockHandle}
+     */
+    Mono<LockHandle> convertToReadLock(LockHandle lockHandle, Integer lockTimeout);
+
+    /**
+     * Converts a granted read lock to a write lock.
+     *
+     * @param lockHandle  read lock acquired from this service
+     * @param lockTimeout Number of seconds to continue trying to grant the lock, backend default if null.
+     * @return mono of the write lock that replaces {@code lockHandle}
+     */
+    Mono<LockHandle> convertToWriteLock(LockHandle lockHandle, Integer lockTimeout);
+
+    /**
+     * Releases a lock previously acquired from this service.
+     *
+     * @param lockHandle lock to release
+     * @return mono completing when the lock is released
+     */
+    Mono<Void> unlock(LockHandle lockHandle);
+}
@@ -0,0 +1,421 @@
+package com.tosan.tools.lockmanager.impl.coalescing;
+
+import com.tosan.tools.lockmanager.api.AsyncLockManagementService;
+import com.tosan.tools.lockmanager.api.LockHandle;
+import com.tosan.tools.lockmanager.api.LockManagementService;
+import com.tosan.tools.lockmanager.api.LockMode;
+import com.tosan.tools.lockmanager.exception.LockManagerRunTimeException;
+import com.tosan.tools.lockmanager.exception.LockManagerTimeoutException;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Queues threads of this JVM asking for the same lock on a local fair read/write lock, so that only one request per
+ * JVM waits at the backend instead of every thread polling or subscribing on its own.
+ * <p>
+ * Local writers take turns: the one at the head of the local queue requests the backend lock. Local readers share a
+ * single backend read lock, requested by the first of them and released by the last. When a write lock is released
+ * while other local threads are queued, it is handed off to the next of them without a round trip to the backend, up
+ * to {@code handOffLimit} consecutive times before it is released to give other JVMs a chance; a limit of zero
+ * disables hand-off.
+ * <p>
+ * Backend locks are held through {@link LockHandle}s of the wrapped {@link AsyncLockManagementService} rather than by
+ * the calling thread, which is what allows a lock acquired by one thread to be released by another. Requests with
+ * {@code releaseOnCommit} are treated as plain requests, as by the wrapped backends. A thread holding the read lock
+ * cannot request the write lock; {@link #convertToWriteLock} releases the read lock and requests the write lock.
+ *
+ * @author mortezaei
+ * @since 10/18/2026
+ */
+public class CoalescingLockManagementService implements LockManagementService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CoalescingLockManagementService.class);
+    private static final int DEFAULT_READ_LOCK_TIMEOUT = 60;
+    private static final int DEFAULT_WRITE_LOCK_TIMEOUT = 7200;
+    private static final int DEFAULT_HAND_OFF_LIMIT = 8;
+
+    private final AsyncLockManagementService asyncLockManagementService;
+    private final Map<String, LocalLock> localLocks = new ConcurrentHashMap<>();
+    private volatile int handOffLimit = DEFAULT_HAND_OFF_LIMIT;
+
+    public CoalescingLockManagementService(AsyncLockManagementService asyncLockManagementService) {
+        this.asyncLockManagementService = asyncLockManagementService;
+    }
+
+    /**
+     * @param handOffLimit number of consecutive local hand-offs of a write lock before it is released at the backend,
+     *                     zero to always release it
+     */
+    public void setHandOffLimit(int handOffLimit) {
+        this.handOffLimit = handOffLimit;
+    }
+
+    @Override
+    public void requestReadLock(String lockNameType, boolean releaseOnCommit) {
+        readLock(lockNameType, null, null);
+    }
+
+    @Override
+    public void requestReadLock(String lockNameType, String lockName, boolean releaseOnCommit) {
+        readLock(lockNameType, lockName, null);
+    }
+
+    @Override
+    public void requestReadLock(String lockNameType, String lockName, Integer lockTimeout, boolean releaseOnCommit) {
+        readLock(lockNameType, lockName, lockTimeout);
+    }
+
+    @Override
+    public void requestWriteLock(String lockNameType, boolean releaseOnCommit) {
+        writeLock(lockNameType, null, null);
+    }
+
+    @Override
+    public void requestWriteLock(String lockNameType, String lockName, boolean releaseOnCommit) {
+        writeLock(lockNameType, lockName, null);
+    }
+
+    @Override
+    public void requestWriteLock(String lockNameType, String lockName, Integer lockTimeout, boolean releaseOnCommit) {
+        writeLock(lockNameType, lockName, lockTimeout);
+    }
+
+    @Override
+    public void unlock(String lockNameType) {
+        unlock(lockNameType, null);
+    }
+
+    @Override
+    public void unlock(String lockNameType, String lockName) {
+        unlockLocal(getLockKey(lockNameType, lockName));
+    }
+
+    /**
+     * Releases every hold of the local locks of the current thread, found by their gates, and the backend locks no
+     * longer used. Backend locks are released one by one, as they are held by handles and not by the thread.
+     */
+    @Override
+    public void unlockAll() {
+        for (Map.Entry<String, LocalLock> localLock : localLocks.entrySet()) {
+            ReentrantReadWriteLock gate = localLock.getValue().gate;
+            while (gate.getReadHoldCount() > 0 || gate.isWriteLockedByCurrentThread()) {
+                unlockLocal(localLock.getKey());
+            }
+        }
+    }
+
+    private void unlockLocal(String lockKey) {
+        LocalLock localLock = localLocks.get(lockKey);
+        if (localLock != null && localLock.gate.getReadHoldCount() > 0) {
+            try {
+                releaseRead(localLock);
+            } finally {
+                release(lockKey, localLock);
+            }
+        } else if (localLock != null && localLock.gate.isWriteLockedByCurrentThread()) {
+            try {
+                releaseWrite(localLock);
+            } finally {
+                release(lockKey, localLock);
+            }
+        } else {
+            LOGGER.warn("Lock '{}' is not held by the current thread.", lockKey);
+        }
+    }
+
+    @Override
+    public void convertToReadLock(String lockNameType, String lockName, Integer lockTimeout) {
+        String lockKey = getLockKey(lockNameType, lockName);
+        LocalLock localLock = localLocks.get(lockKey);
+        if (localLock == null || !localLock.gate.isWriteLockedByCurrentThread()) {
+            throw new LockManagerRunTimeException("Write lock '" + lockKey + "' is not held by the current thread.");
+        }
+        long deadline = getDeadline(lockTimeout, DEFAULT_READ_LOCK_TIMEOUT);
+        LockHandle writeLock;
+        synchronized (localLock) {
+            writeLock = localLock.remoteLock;
+        }
+        localLock.gate.readLock().lock();
+        try {
+            LockHandle readLock = await(asyncLockManagementService
+                    .convertToReadLock(writeLock, getRemainingSeconds(deadline)).toCompletableFuture(), deadline, lockKey);
+            synchronized (localLock) {
+                localLock.remoteLock = readLock;
+                localLock.readers++;
+            }
+        } catch (RuntimeException e) {
+            localLock.gate.readLock().unlock();
+            throw e;
+        }
+        localLock.gate.writeLock().unlock();
+    }
+
+    @Override
+    public void convertToWriteLock(String lockNameType, String lockName, Integer lockTimeout) {
+        String lockKey = getLockKey(lockNameType, lockName);
+        LocalLock localLock = localLocks.get(lockKey);
+        if (localLock != null && localLock.gate.isWriteLockedByCurrentThread()) {
+            return;
+        }
+        if (localLock == null || localLock.gate.getReadHoldCount() == 0) {
+            throw new LockManagerRunTimeException("Read lock '" + lockKey + "' is not held by the current thread.");
+        }
+        unlock(lockNameType, lockName);
+        writeLock(lockNameType, lockName, lockTimeout);
+    }
+
+    /**
+     * Returns the number of threads of this JVM waiting in the local queue of the lock.
+     */
+    public int getQueueLength(String lockNameType, String lockName) {
+        LocalLock localLock = localLocks.get(getLockKey(lockNameType, lockName));
+        return localLock == null ? 0 : localLock.gate.getQueueLength();
+    }
+
+    private void readLock(String lockNameType, String lockName, Integer lockTimeout) {
+        long deadline = getDeadline(lockTimeout, DEFAULT_READ_LOCK_TIMEOUT);
+        String lockKey = getLockKey(lockNameType, lockName);
+        LocalLock localLock = acquire(lockKey);
+        lockLocally(lockKey, localLock, localLock.gate.readLock(), deadline);
+        CompletableFuture<LockHandle> pendingReadLock;
+        synchronized (localLock) {
+            localLock.readers++;
+            if (localLock.remoteLock != null) {
+                return;
+            }
+            pendingReadLock = localLock.pendingReadLock;
+            if (pendingReadLock == null) {
+                pendingReadLock = asyncLockManagementService
+                        .requestReadLock(lockNameType, lockName, getRemainingSeconds(deadline)).toCompletableFuture();
+                localLock.pendingReadLock = pendingReadLock;
+                CompletableFuture<LockHandle> requested = pendingReadLock;
+                pendingReadLock.whenComplete((readLock, e) -> readLockCompleted(localLock, requested, readLock));
+            }
+        }
+        try {
+            await(pendingReadLock, deadline, lockKey);
+        } catch (RuntimeException e) {
+            try {
+                releaseRead(localLock);
+            } finally {
+                release(lockKey, localLock);
+            }
+            throw e;
+        }
+    }
+
+    private void writeLock(String lockNameType, String lockName, Integer lockTimeout) {
+        long deadline = getDeadline(lockTimeout, DEFAULT_WRITE_LOCK_TIMEOUT);
+        String lockKey = getLockKey(lockNameType, lockName);
+        LocalLock localLock = acquire(lockKey);
+        lockLocally(lockKey, localLock, localLock.gate.writeLock(), deadline);
+        synchronized (localLock) {
+            if (localLock.remoteLock != null) {
+                return;
+            }
+        }
+        CompletableFuture<LockHandle> pendingWriteLock = asyncLockManagementService
+                .requestWriteLock(lockNameType, lockName, getRemainingSeconds(deadline)).toCompletableFuture();
+        try {
+            LockHandle writeLock = await(pendingWriteLock, deadline, lockKey);
+            synchronized (localLock) {
+                localLock.remoteLock = writeLock;
+                localLock.handOffs = 0;
+            }
+        } catch (RuntimeException e) {
+            pendingWriteLock.cancel(false);
+            localLock.gate.writeLock().unlock();
+            release(lockKey, localLock);
+            throw e;
+        }
+    }
+
+    /**
+     * Waits in the local queue. A thread leaving the queue empty releases a lock handed off to it.
+     */
+    private void lockLocally(String lockKey, LocalLock localLock, Lock gateLock, long deadline) {
+        boolean locked = false;
+        try {
+            locked = gateLock.tryLock(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!locked) {
+            LockHandle abandoned = null;
+            synchronized (localLock) {
+                ReentrantReadWriteLock gate = localLock.gate;
+                if (localLock.remoteLock != null && localLock.readers == 0 && !gate.isWriteLocked()
+                        && !gate.hasQueuedThreads()) {
+                    abandoned = localLock.remoteLock;
+                    localLock.remoteLock = null;
+                }
+            }
+            release(lockKey, localLock);
+            if (abandoned != null) {
+                try {
+                    unlockRemote(abandoned);
+                } catch (RuntimeException e) {
+                    LOGGER.warn("Releasing abandoned lock '{}' failed. {}", lockKey, e.getMessage());
+                }
+            }
+            throw new LockManagerTimeoutException("Timeout error occurred in local queue of lock '" + lockKey + "'.");
+        }
+    }
+
+    private void readLockCompleted(LocalLock localLock, CompletableFuture<LockHandle> requested, LockHandle readLock) {
+        synchronized (localLock) {
+            if (localLock.pendingReadLock == requested) {
+                localLock.pendingReadLock = null;
+            }
+            if (readLock == null) {
+                return;
+            }
+            if (localLock.readers > 0) {
+                localLock.remoteLock = readLock;
+                localLock.handOffs = 0;
+                return;
+            }
+        }
+        try {
+            unlockRemote(readLock);
+        } catch (RuntimeException e) {
+            LOGGER.warn("Releasing abandoned read lock '{}' failed. {}", readLock.getLockName(), e.getMessage());
+        }
+    }
+
+    /**
+     * A lock kept for other local threads, e.g. handed off, is unlocked locally under the monitor, so that a queued
+     * thread giving up right after sees the gate free in {@link #lockLocally} and releases the abandoned lock.
+     */
+    private void releaseRead(LocalLock localLock) {
+        LockHandle released = null;
+        synchronized (localLock) {
+            if (--localLock.readers == 0 && !localLock.gate.isWriteLockedByCurrentThread()) {
+                if (localLock.pendingReadLock != null) {
+                    localLock.pendingReadLock.cancel(false);
+                }
+                if (localLock.remoteLock != null
+                        && (localLock.remoteLock.getLockMode() == LockMode.READ || !handOff(localLock))) {
+                    released = localLock.remoteLock;
+                    localLock.remoteLock = null;
+                }
+            }
+            if (released == null) {
+                localLock.gate.readLock().unlock();
+                return;
+            }
+        }
+        try {
+            unlockRemote(released);
+        } finally {
+            localLock.gate.readLock().unlock();
+        }
+    }
+
+    /**
+     * See {@link #releaseRead} for a lock kept for other local threads.
+     */
+    private void releaseWrite(LocalLock localLock) {
+        LockHandle released = null;
+        synchronized (localLock) {
+            if (localLock.gate.getWriteHoldCount() == 1 && localLock.readers == 0 && !handOff(localLock)) {
+                released = localLock.remoteLock;
+                localLock.remoteLock = null;
+            }
+            if (released == null) {
+                localLock.gate.writeLock().unlock();
+                return;
+            }
+        }
+        try {
+            unlockRemote(released);
+        } finally {
+            localLock.gate.writeLock().unlock();
+        }
+    }
+
+    private boolean handOff(LocalLock localLock) {
+        if (localLock.handOffs < handOffLimit && localLock.gate.hasQueuedThreads()) {
+            localLock.handOffs++;
+            return true;
+        }
+        return false;
+    }
+
+    private LocalLock acquire(String lockKey) {
+        return localLocks.compute(lockKey, (key, localLock) -> {
+            LocalLock acquired = localLock == null ? new LocalLock() : localLock;
+            acquired.users++;
+            return acquired;
+        });
+    }
+
+    private void release(String lockKey, LocalLock localLock) {
+        localLocks.computeIfPresent(lockKey, (key, current) ->
+                current == localLock && --current.users == 0 ? null : current);
+    }
+
+    private void unlockRemote(LockHandle lockHandle) {
+        await(asyncLockManagementService.unlock(lockHandle).toCompletableFuture(), Long.MAX_VALUE, lockHandle.getLockName());
+    }
+
+    /**
+     * Waits for a backend request without cancelling it, as a pending read lock may be shared by other readers.
+     */
+    private static <T> T await(CompletableFuture<T> future, long deadline, String lockKey) {
+        try {
+            if (deadline == Long.MAX_VALUE) {
+                return future.get();
+            }
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new LockManagerTimeoutException("Timeout error occurred in request of lock '" + lockKey + "'.", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LockManagerTimeoutException("Timeout error occurred in request of lock '" + lockKey + "'.", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() instanceof CompletionException && e.getCause().getCause() != null
+                    ? e.getCause().getCause() : e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new LockManagerRunTimeException(e.getMessage(), e);
+        }
+    }
+
+    private static long getDeadline(Integer lockTimeout, int defaultTimeout) {
+        return System.nanoTime() + TimeUnit.SECONDS.toNanos(lockTimeout == null ? defaultTimeout : lockTimeout);
+    }
+
+    private static Integer getRemainingSeconds(long deadline) {
+        long remaining = Math.max(0, deadline - System.nanoTime());
+        return (int) ((remaining + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    private static String getLockKey(String lockNameType, String lockName) {
+        return lockNameType + (StringUtils.isNotEmpty(lockName) ? "-" + lockName : "");
+    }
+
+    /**
+     * Local queue of a lock and the backend lock it holds. Fields other than {@code gate} and {@code users} are
+     * guarded by the instance, {@code users} by the map entry.
+     */
+    private static class LocalLock {
+        private final ReentrantReadWriteLock gate = new ReentrantReadWriteLock(true);
+        private LockHandle remoteLock;
+        private CompletableFuture<LockHandle> pendingReadLock;
+        private int readers;
+        private int handOffs;
+        private int users;
+    }
+}
@@ -0,0 +1,31 @@
+package com.tosan.tools.lockmanager.impl.dbms;
+
+import com.tosan.tools.lockmanager.api.AbstractCloseableLockHandle;
+import com.tosan.tools.lockmanager.api.LockMode;
+import com.tosan.tools.lockmanager.impl.dbms.service.ResolvedDbmsLock;
+
+/**
+ * Database lock owned by the session that acquired it. It is converted and released through the current
+ * transaction, so it must be used within the transaction that acquired it.
+ *
+ * @author mortezaei
+ * @since 10/18/2026
+ */
+public class DbmsLockHandle extends AbstractCloseableLockHandle {
+    private final ResolvedDbmsLock resolvedDbmsLock;
+
+    DbmsLockHandle(String lockNameType, String lockName, LockMode lockMode, ResolvedDbmsLock resolvedDbmsLock) {
+        super(lockNameType, lockName, lockMode);
+        this.resolvedDbmsLock = resolvedDbmsLock;
+    }
+
+    @Override
+    protected void release(LockMode lockMode) {
+        resolvedDbmsLock.release();
+    }
+
+    @Override
+    protected void convert(LockMode currentMode, LockMode lockMode, Integer lockTimeout) {
+        resolvedDbmsLock.convert(lockMode, lockTimeout);
+    }
+}
@@ -1,16 +1,23 @@
 package com.tosan.tools.lockmanager.impl.dbms;
 
+import com.tosan.tools.lockmanager.api.CloseableLockHandle;
 import com.tosan.tools.lockmanager.api.LockManagementService;
+import com.tosan.tools.lockmanager.api.LockMode;
 import com.tosan.tools.lockmanager.exception.LockManagerRunTimeException;
 import com.tosan.tools.lockmanager.exception.LockManagerTimeoutException;
 import com.tosan.tools.lockmanager.impl.dbms.dao.DbmsLockServiceFactory;
 import com.tosan.tools.lockmanager.impl.dbms.service.DbmsLockService;
+import com.tosan.tools.lockmanager.impl.dbms.service.ResolvedDbmsLock;
 import jakarta.persistence.EntityManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.TreeSet;
+
 /**
  * @author akhbari
  * @since 23/02/2019
@@ -23,6 +30,21 @@ public class DbmsLockManagementService implements LockManagementService {
         dbmsLockService = DbmsLockServiceFactory.getDbmsLockService(entityManager);
     }
 
+    /**
+     * @param lockNamespace namespace prefixed to lock names instead of the current schema of the database
+     */
+    public DbmsLockManagementService(EntityManager entityManager, String lockNamespace) {
+        dbmsLockService = DbmsLockServiceFactory.getDbmsLockService(entityManager, lockNamespace);
+    }
+
+    /**
+     * @param dbmsLockService lock service used instead of the one selected by the database dialect,
+     *                        e.g. {@link com.tosan.tools.lockmanager.impl.dbms.service.PostgresqlAdvisoryLockService}
+     */
+    public DbmsLockManagementService(DbmsLockService dbmsLockService) {
+        this.dbmsLockService = dbmsLockService;
+    }
+
     @Transactional(propagation = Propagation.REQUIRED)
     @Override
     public void requestReadLock(String lockNameType, boolean releaseOnCommit) throws LockManagerTimeoutException {
@@ -91,6 +113,60 @@ public class DbmsLockManagementService implements LockManagementService {
         }
     }
 
+    @Transactional(propagation = Propagation.REQUIRED)
+    @Override
+    public CloseableLockHandle acquireReadLock(String lockNameType, String lockName, Integer lockTimeout)
+            throws LockManagerTimeoutException {
+        try {
+            return acquireLock(lockNameType, lockName, LockMode.READ, lockTimeout);
+        } catch (LockManagerTimeoutException e) {
+            LOGGER.warn("Write lock '{}' held by another method. {}", lockName, e.getMessage());
+            throw e;
+        }
+    }
+
+    @Transactional(propagation = Propagation.REQUIRED)
+    @Override
+    public CloseableLockHandle acquireWriteLock(String lockNameType, String lockName, Integer lockTimeout)
+            throws LockManagerTimeoutException {
+        try {
+            return acquireLock(lockNameType, lockName, LockMode.WRITE, lockTimeout);
+        } catch (LockManagerTimeoutException e) {
+            LOGGER.warn("Write or read lock '{}' held by another method. {}", lockName, e.getMessage());
+            throw e;
+        }
+    }
+
+    private CloseableLockHandle acquireLock(String lockNameType, String lockName, LockMode lockMode, Integer lockTimeout) {
+        ResolvedDbmsLock resolvedDbmsLock = dbmsLockService.resolveLock(lockNameType, lockName);
+        resolvedDbmsLock.request(lockMode, lockTimeout, false);
+        return new DbmsLockHandle(lockNameType, lockName, lockMode, resolvedDbmsLock);
+    }
+
+    @Transactional(propagation = Propagation.REQUIRED)
+    @Override
+    public void requestReadLocks(String lockNameType, Collection<String> lockNames, Integer lockTimeout)
+            throws LockManagerTimeoutException {
+        try {
+            dbmsLockService.requestReadLocks(lockNameType, new ArrayList<>(new TreeSet<>(lockNames)), lockTimeout, false);
+        } catch (LockManagerTimeoutException e) {
+            LOGGER.warn("Write lock of one of '{}' held by another method. {}", lockNames, e.getMessage());
+            throw e;
+        }
+    }
+
+    @Transactional(propagation = Propagation.REQUIRED)
+    @Override
+    public void requestWriteLocks(String lockNameType, Collection<String> lockNames, Integer lockTimeout)
+            throws LockManagerTimeoutException {
+        try {
+            dbmsLockService.requestWriteLocks(lockNameType, new ArrayList<>(new TreeSet<>(lockNames)), lockTimeout, false);
+        } catch (LockManagerTimeoutException e) {
+            LOGGER.warn("Write or read lock of one of '{}' held by another method. {}", lockNames, e.getMessage());
+            throw e;
+        }
+    }
+
     @Transactional(propagation = Propagation.REQUIRED)
     @Override
     public void unlock(String lockNameType) {
@@ -103,6 +179,24 @@ public class DbmsLockManagementService implements LockManagementService {
         dbmsLockService.unLock(lockNameType, lockName);
     }
 
+    @Transactional(propagation = Propagation.REQUIRED)
+    @Override
+    public void unlockAll(String lockNameType, Collection<String> lockNames) {
+        for (String lockName : lockNames) {
+            dbmsLockService.unLock(lockNameType, lockName);
+        }
+    }
+
+    /**
+     * Releases the locks of the session of the current transaction, so it must run in the transaction the locks were
+     * requested in.
+     */
+    @Transactional(propagation = Propagation.REQUIRED)
+    @Override
+    public void unlockAll() {
+        dbmsLockService.unLockAll();
+    }
+
     /**
      * Converts a lock from one mode to another mode according to parameters
      * طول نام lock دیتابیسی حداکثر ۱۲۸ کاراکتر است. برای یکتاسازی این مقدار نام schema به ابتدای نام lock افزوده می‌شود.
@@ -5,27 +5,87 @@ import com.tosan.tools.lockmanager.exception.LockManagerTimeoutException;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import jakarta.persistence.Query;
+import org.hibernate.Session;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
 /**
+ * DB2 has no {@code DBMS_LOCK} module, so locks are requested through functions of the current schema following
+ * {@code DBMS_LOCK} by lock name instead of lock handle:
+ * <ul>
+ *     <li>{@code REQUEST_LOCK(lock_name, lock_mode, timeout, release_on_commit)} with release on commit as 1 or 0,
+ *     returning 0 success, 1 timeout, 2 deadlock, 3 parameter error or 4 already own</li>
+ *     <li>{@code CONVERT_LOCK(lock_name, lock_mode, timeout)} returning 0 success, 1 timeout, 2 deadlock,
+ *     3 parameter error or 4 don't own</li>
+ *     <li>{@code RELEASE_LOCK(lock_name)} returning 0 success, 3 parameter error or 4 don't own</li>
+ * </ul>
+ * Lock modes are {@value #SHARED_MODE} for shared and {@value #EXCLUSIVE_MODE} for exclusive, locks are owned by the
+ * connection and timeouts are in seconds. The functions are shipped as {@code db2/lock-functions.sql}.
+ * <p>
+ * Schemas without {@code REQUEST_LOCK} keep the former {@code REQUEST_WRITE_LOCK(lock_name)} function: write locks
+ * are requested with it and held until the transaction ends, while read locks, converts and releases do nothing.
+ *
  * @author akhbari
  * @since 10/03/2019
  */
 public class Db2DbmsLockDao implements DbmsLockDao {
     private static final Logger LOGGER = LoggerFactory.getLogger(Db2DbmsLockDao.class);
     public static final String GET_SCHEMA_NAME_QUERY = "SELECT current_schema FROM sysibm.sysdummy1";
+    public static final String COUNT_LOCK_FUNCTIONS_QUERY =
+            "SELECT COUNT(*) FROM syscat.routines WHERE routineschema = ? AND routinename = 'REQUEST_LOCK'";
+    public static final Integer SHARED_MODE = 4;
+    public static final Integer EXCLUSIVE_MODE = 6;
+    private static final int DEFAULT_READ_LOCK_TIMEOUT = 60;
+    private static final int DEFAULT_WRIT_LOCK_TIMEOUT = 7200;
     @PersistenceContext
     private final jakarta.persistence.EntityManager entityManager;
+    private final String currentSchema;
+    private final boolean lockFunctions;
+    private final String requestWriteLockQuery;
+    private final String requestLockQuery;
+    private final String convertLockQuery;
+    private final String releaseLockQuery;
+    private final ThreadLocal<Set<String>> threadLockNames = ThreadLocal.withInitial(HashSet::new);
 
+    /**
+     * Queries the current schema once, as the schema of the lock functions, whether the lock functions are deployed
+     * in it, and builds the lock statements with it.
+     */
     public Db2DbmsLockDao(EntityManager entityManager) {
         this.entityManager = entityManager;
+        try {
+            Query query = entityManager.createNativeQuery(GET_SCHEMA_NAME_QUERY);
+            this.currentSchema = (String) query.getSingleResult();
+            Query countQuery = entityManager.createNativeQuery(COUNT_LOCK_FUNCTIONS_QUERY)
+                    .setParameter(1, currentSchema);
+            this.lockFunctions = ((Number) countQuery.getSingleResult()).intValue() > 0;
+        } catch (Exception e) {
+            throw new LockManagerRunTimeException(e.getMessage(), e);
+        }
+        if (!lockFunctions) {
+            LOGGER.warn("REQUEST_LOCK is not deployed in schema {}, only write locks are requested, through "
+                    + "REQUEST_WRITE_LOCK, and held until the transaction ends", currentSchema);
+        }
+        this.requestWriteLockQuery = "SELECT " + currentSchema + ".REQUEST_WRITE_LOCK(?)";
+        this.requestLockQuery = "SELECT " + currentSchema + ".REQUEST_LOCK(?,?,?,?) FROM sysibm.sysdummy1";
+        this.convertLockQuery = "SELECT " + currentSchema + ".CONVERT_LOCK(?,?,?) FROM sysibm.sysdummy1";
+        this.releaseLockQuery = "SELECT " + currentSchema + ".RELEASE_LOCK(?) FROM sysibm.sysdummy1";
     }
 
+    /**
+     * @return the current schema when this dao was created
+     */
     @Override
     public String currentSchema() {
-        Query query = entityManager.createNativeQuery(GET_SCHEMA_NAME_QUERY);
-        return (String) query.getSingleResult();
+        return currentSchema;
     }
 
     @Override
@@ -35,17 +95,44 @@ public class Db2DbmsLockDao implements DbmsLockDao {
 
     @Override
     public void requestLock(String lockHandle, Integer lockMode, Integer timeout, boolean releaseOnCommit) {
-        LOGGER.debug("Requesting write lock with lock name {}", lockHandle);
-        final Number callStatus;
-        try {
-            callStatus = (Number) entityManager
-                    .createNativeQuery("SELECT " + currentSchema() + ".REQUEST_WRITE_LOCK(:lockName)")
-                    .setParameter("lockName", lockHandle)
-                    .getSingleResult();
-        } catch (Exception e) {
-            throw new LockManagerRunTimeException(e.getMessage(), e);
+        if (!lockFunctions) {
+            if (EXCLUSIVE_MODE.equals(lockMode)) {
+                requestWriteLock(lockHandle);
+            }
+            return;
         }
-        switch (callStatus.intValue()) {
+        LOGGER.debug("Requesting lock with lock name {}", lockHandle);
+        int callStatus = callLockFunction(requestLockQuery, lockHandle, lockMode, getTimeout(lockMode, timeout),
+                releaseOnCommit ? 1 : 0);
+        switch (callStatus) {
+            case 0:
+                if (!releaseOnCommit) {
+                    threadLockNames.get().add(lockHandle);
+                }
+                LOGGER.debug("Acquired lock with lock name {}", lockHandle);
+                return;
+            case 4:
+                convertLock(lockHandle, lockMode, timeout);
+                LOGGER.debug("Convert lock. lock mode:{} ", lockMode);
+                return;
+            case 1:
+                throw new LockManagerTimeoutException("Timeout error occurred in 'REQUEST_LOCK' function.");
+            case 2:
+                throw new LockManagerRunTimeException("deadlock error occurred in 'REQUEST_LOCK' function.");
+            case 3:
+                throw new LockManagerRunTimeException("Parameter error occurred in 'REQUEST_LOCK' function.");
+            default:
+                throw new LockManagerRunTimeException("Error occurred in 'REQUEST_LOCK' function.");
+        }
+    }
+
+    /**
+     * Requests a write lock through the former {@code REQUEST_WRITE_LOCK} function, returning 0 success or 1 timeout.
+     */
+    private void requestWriteLock(String lockHandle) {
+        LOGGER.debug("Requesting write lock with lock name {}", lockHandle);
+        int callStatus = callLockFunction(requestWriteLockQuery, lockHandle);
+        switch (callStatus) {
             case 0:
                 LOGGER.debug("Acquired write lock with lock name {}", lockHandle);
                 return;
@@ -58,9 +145,119 @@ public class Db2DbmsLockDao implements DbmsLockDao {
 
     @Override
     public void convertLock(String lockHandle, Integer lockMode, Integer timeout) {
+        if (!lockFunctions) {
+            return;
+        }
+        LOGGER.debug("Requesting convert lock with lock name {}", lockHandle);
+        int callStatus = callLockFunction(convertLockQuery, lockHandle, lockMode, getTimeout(lockMode, timeout));
+        switch (callStatus) {
+            case 0:
+                LOGGER.debug("Converted lock with lock name {}", lockHandle);
+                return;
+            case 1:
+                throw new LockManagerTimeoutException("Timeout error occurred in 'CONVERT_LOCK' function.");
+            case 2:
+                throw new LockManagerRunTimeException("deadlock error occurred in 'CONVERT_LOCK' function.");
+            case 3:
+                throw new LockManagerRunTimeException("Parameter error occurred in 'CONVERT_LOCK' function.");
+            case 4:
+                throw new LockManagerRunTimeException("Don't own lock specified by lock name occurred in 'CONVERT_LOCK' function.");
+            default:
+                throw new LockManagerRunTimeException("Error occurred in 'CONVERT_LOCK' function.");
+        }
     }
 
     @Override
     public void releaseLock(String lockHandle) {
+        if (!lockFunctions) {
+            return;
+        }
+        LOGGER.debug("Requesting release lock with lock name {}", lockHandle);
+        int callStatus = callLockFunction(releaseLockQuery, lockHandle);
+        threadLockNames.get().remove(lockHandle);
+        checkReleaseStatus(callStatus);
+        LOGGER.debug("Released lock with lock name {}", lockHandle);
+    }
+
+    private static void checkReleaseStatus(int callStatus) {
+        switch (callStatus) {
+            case 0:
+            case 4:
+                return;
+            case 3:
+                throw new LockManagerRunTimeException("Parameter error occurred in 'RELEASE_LOCK' function.");
+            default:
+                throw new LockManagerRunTimeException("Error occurred in 'RELEASE_LOCK' function.");
+        }
+    }
+
+    /**
+     * Releases the locks requested by the current thread and not released on commit, calling {@code RELEASE_LOCK}
+     * for all of them in one statement. The first failed release is thrown once all the locks are released.
+     */
+    public void releaseLocks() {
+        Set<String> lockNameSet = threadLockNames.get();
+        if (lockNameSet.isEmpty()) {
+            return;
+        }
+        List<String> lockNames = new ArrayList<>(lockNameSet);
+        lockNameSet.clear();
+        LOGGER.debug("Requesting release locks with lock names {}", lockNames);
+        String query = "SELECT " + currentSchema + ".RELEASE_LOCK(lock_name) FROM (VALUES "
+                + String.join(", ", Collections.nCopies(lockNames.size(), "(?)")) + ") AS released (lock_name)";
+        List<Integer> callStatuses;
+        try {
+            callStatuses = entityManager.unwrap(Session.class).doReturningWork(connection -> {
+                try (PreparedStatement statement = connection.prepareStatement(query)) {
+                    for (int i = 0; i < lockNames.size(); i++) {
+                        statement.setString(i + 1, lockNames.get(i));
+                    }
+                    List<Integer> statuses = new ArrayList<>();
+                    try (ResultSet resultSet = statement.executeQuery()) {
+                        while (resultSet.next()) {
+                            statuses.add(resultSet.getInt(1));
+                        }
+                    }
+                    return statuses;
+                }
+            });
+        } catch (Exception e) {
+            throw new LockManagerRunTimeException(e.getMessage(), e);
+        }
+        for (int callStatus : callStatuses) {
+            checkReleaseStatus(callStatus);
+        }
+        LOGGER.debug("Released locks with lock names {}", lockNames);
+    }
+
+    /**
+     * Runs a lock function query on the connection of the session, the lock name being its first parameter.
+     *
+     * @return status returned by the function
+     */
+    private int callLockFunction(final String query, final String lockName, final int... parameters) {
+        try {
+            return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+                try (PreparedStatement statement = connection.prepareStatement(query)) {
+                    statement.setString(1, lockName);
+                    for (int i = 0; i < parameters.length; i++) {
+                        statement.setInt(i + 2, parameters[i]);
+                    }
+                    try (ResultSet resultSet = statement.executeQuery()) {
+                        resultSet.next();
+                        return resultSet.getInt(1);
+                    }
+                }
+            });
+        } catch (Exception e) {
+            throw new LockManagerRunTimeException(e.getMessage(), e);
+        }
+    }
+
+    private static int getTimeout(final Integer lockMode, final Integer timeout) {
+        if (timeout != null) {
+            return timeout;
+        }
+        return lockMode.equals(SHARED_MODE) ? DEFAULT_READ_LOCK_TIMEOUT : DEFAULT_WRIT_LOCK_TIMEOUT;
     }
 }
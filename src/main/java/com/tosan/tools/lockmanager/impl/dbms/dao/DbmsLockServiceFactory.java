@@ -19,14 +19,23 @@ import org.hibernate.internal.SessionFactoryImpl;
 public abstract class DbmsLockServiceFactory {
 
     public static DbmsLockService getDbmsLockService(EntityManager entityManager) {
+        return getDbmsLockService(entityManager, null);
+    }
+
+    /**
+     * Creates the lock service of the database dialect, resolving its lock namespace once here.
+     *
+     * @param lockNamespace namespace prefixed to lock names, or null to use the current schema of the database
+     */
+    public static DbmsLockService getDbmsLockService(EntityManager entityManager, String lockNamespace) {
         SessionFactoryImpl sessionFactory = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImpl.class);
         Dialect dialect = sessionFactory.getJdbcServices().getDialect();
         if (dialect instanceof OracleDialect) {
-            return new OracleDbmsLockService(entityManager);
+            return new OracleDbmsLockService(entityManager, lockNamespace);
         } else if (dialect instanceof DB2Dialect) {
-            return new Db2DbmsLockService(entityManager);
+            return new Db2DbmsLockService(entityManager, lockNamespace);
         } else if (dialect instanceof PostgreSQLDialect) {
-            return new PostgresqlDbmsLockService(entityManager);
+            return new PostgresqlDbmsLockService(entityManager, lockNamespace);
         }
         throw new LockManagerRunTimeException("the database dialect is not supported: " + dialect.getClass());
     }
@@ -10,6 +10,12 @@ import org.slf4j.LoggerFactory;
 
 import java.sql.CallableStatement;
 import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * @author akhbari
@@ -18,15 +24,29 @@ import java.sql.Types;
 public class OracleDbmsLockDao implements DbmsLockDao {
     public static final String CURRENT_SCHEMA_QUERY = "SELECT SYS_CONTEXT('userenv','CURRENT_SCHEMA') FROM DUAL";
     public static final String ALLOCATE_LOCK_QUERY = "DBMS_LOCK.ALLOCATE_UNIQUE";
-    public static final String RELEASE_LOCK_QUERY = "SELECT DBMS_LOCK.RELEASE(:lockHandle) FROM DUAL";
-    public static final String CONVERT_LOCK_QUERY = "SELECT DBMS_LOCK.CONVERT(:lockHandle, :lockMode, :timeout) FROM DUAL";
+    public static final String REQUEST_LOCK_CALL = "{ ? = call DBMS_LOCK.REQUEST(?,?,?) }";
+    public static final String REQUEST_LOCK_ON_COMMIT_CALL = "{ ? = call DBMS_LOCK.REQUEST(?,?,?,TRUE) }";
+    public static final String CONVERT_LOCK_CALL = "{ ? = call DBMS_LOCK.CONVERT(?,?,?) }";
+    public static final String RELEASE_LOCK_CALL = "{ ? = call DBMS_LOCK.RELEASE(?) }";
+    public static final String ALLOCATE_AND_REQUEST_LOCK_BLOCK = allocateAndRequestLockBlock(false);
+    public static final String ALLOCATE_AND_REQUEST_LOCK_ON_COMMIT_BLOCK = allocateAndRequestLockBlock(true);
+    public static final String ALLOCATE_AND_RELEASE_LOCK_BLOCK = "DECLARE handle VARCHAR2(128); BEGIN " +
+            "DBMS_LOCK.ALLOCATE_UNIQUE(?, handle, ?); " +
+            "? := DBMS_LOCK.RELEASE(handle); " +
+            "? := handle; " +
+            "END;";
     public static final Integer SUB_SHARED_MODE = 2;
     public static final Integer EXCLUSIVE_MODE = 6;
     private static final Logger LOGGER = LoggerFactory.getLogger(OracleDbmsLockDao.class);
     private static final int DEFAULT_READ_LOCK_TIMEOUT = 60;
     private static final int DEFAULT_WRIT_LOCK_TIMEOUT = 7200;
+    private static final int ALLOCATE_LOCKS_BATCH_SIZE = 100;
     @PersistenceContext
     private final jakarta.persistence.EntityManager entityManager;
+    /**
+     * Handles of the locks requested by the current thread, and so by its session, not to be released on commit.
+     */
+    private final ThreadLocal<Set<String>> threadLockHandles = ThreadLocal.withInitial(HashSet::new);
 
     public OracleDbmsLockDao(EntityManager entityManager) {
         this.entityManager = entityManager;
@@ -42,26 +62,87 @@ public class OracleDbmsLockDao implements DbmsLockDao {
     public void requestLock(final String lockHandle, final Integer lockMode,
                             final Integer timeout, final boolean releaseOnCommit) {
         LOGGER.debug("Requesting lock with handle {}", lockHandle);
-        final int[] callStatus = new int[1];
         //As DBMS_LOCK.REQUEST has boolean input param,
         //can't use entityManager.createNativeQuery because select does not support boolean value
+        int callStatus = callLockFunction(releaseOnCommit ? REQUEST_LOCK_ON_COMMIT_CALL : REQUEST_LOCK_CALL,
+                lockHandle, lockMode, getTimeout(lockMode, timeout));
+        switch (callStatus) {
+            case 0:
+                if (!releaseOnCommit) {
+                    threadLockHandles.get().add(lockHandle);
+                }
+                LOGGER.debug("Acquired lock with handle {}.", lockHandle);
+                return;
+            case 4:
+                convertLock(lockHandle, lockMode, timeout);
+                LOGGER.debug("Convert lock. lock mode:{} ", lockMode);
+                return;
+            case 1:
+                throw new LockManagerTimeoutException("Timeout error occurred in 'DBMS_LOCK' request.");
+            case 2:
+                throw new LockManagerRunTimeException("deadlock error occurred in 'DBMS_LOCK' request.");
+            case 3:
+                throw new LockManagerRunTimeException("Parameter error occurred in 'DBMS_LOCK' request.");
+            case 5:
+                throw new LockManagerRunTimeException("Illegal lock handle error occurred in 'DBMS_LOCK' request.");
+            default:
+                throw new LockManagerRunTimeException("Error occurred in 'DBMS_LOCK' request.");
+        }
+    }
+
+    /**
+     * Requests the locks of the given handles in order in one PL/SQL block, with {@code timeout} as the time left for
+     * the whole block. A lock already owned is converted. When a lock cannot be granted, the locks granted by the
+     * block are released before it returns.
+     */
+    public void requestLocks(final List<String> lockHandles, final Integer lockMode,
+                             final Integer timeout, final boolean releaseOnCommit) {
+        LOGGER.debug("Requesting locks with handles {}", lockHandles);
+        final int[] callStatus = new int[1];
         Session session = entityManager.unwrap(Session.class);
         try {
             session.doWork(connection -> {
-                StringBuilder stringBuilder = new StringBuilder();
-                stringBuilder.append("{ ? = call DBMS_LOCK.REQUEST(?,?,?");
-                if (releaseOnCommit) {
-                    stringBuilder.append(",TRUE");
+                StringBuilder stringBuilder = new StringBuilder("DECLARE ")
+                        .append("TYPE handle_table IS TABLE OF VARCHAR2(128); ")
+                        .append("handles handle_table := handle_table(");
+                for (int i = 0; i < lockHandles.size(); i++) {
+                    stringBuilder.append(i == 0 ? "?" : ",?");
                 }
-                stringBuilder.append(") }");
+                stringBuilder.append("); ")
+                        .append("granted handle_table := handle_table(); ")
+                        .append("deadline NUMBER := DBMS_UTILITY.GET_TIME + ? * 100; ")
+                        .append("status INTEGER := 0; ")
+                        .append("released INTEGER; ")
+                        .append("BEGIN ")
+                        .append("FOR i IN 1 .. handles.COUNT LOOP ")
+                        .append("status := DBMS_LOCK.REQUEST(handles(i), ?, ")
+                        .append("GREATEST(0, CEIL((deadline - DBMS_UTILITY.GET_TIME) / 100)), ")
+                        .append(releaseOnCommit ? "TRUE); " : "FALSE); ")
+                        .append("IF status = 4 THEN ")
+                        .append("status := DBMS_LOCK.CONVERT(handles(i), ?, ")
+                        .append("GREATEST(0, CEIL((deadline - DBMS_UTILITY.GET_TIME) / 100))); ")
+                        .append("ELSIF status = 0 THEN ")
+                        .append("granted.EXTEND; granted(granted.COUNT) := handles(i); ")
+                        .append("END IF; ")
+                        .append("EXIT WHEN status <> 0; ")
+                        .append("END LOOP; ")
+                        .append("IF status <> 0 THEN ")
+                        .append("FOR i IN 1 .. granted.COUNT LOOP released := DBMS_LOCK.RELEASE(granted(i)); END LOOP; ")
+                        .append("END IF; ")
+                        .append("? := status; ")
+                        .append("END;");
                 try (CallableStatement call = connection.prepareCall(stringBuilder.toString())) {
-                    call.registerOutParameter(1, Types.INTEGER);
-                    call.setString(2, lockHandle);
-                    call.setInt(3, lockMode);
-                    call.setInt(4, timeout == null ? lockMode.equals(SUB_SHARED_MODE) ?
+                    int parameterIndex = 1;
+                    for (String lockHandle : lockHandles) {
+                        call.setString(parameterIndex++, lockHandle);
+                    }
+                    call.setInt(parameterIndex++, timeout == null ? lockMode.equals(SUB_SHARED_MODE) ?
                             DEFAULT_READ_LOCK_TIMEOUT : DEFAULT_WRIT_LOCK_TIMEOUT : timeout);
+                    call.setInt(parameterIndex++, lockMode);
+                    call.setInt(parameterIndex++, lockMode);
+                    call.registerOutParameter(parameterIndex, Types.INTEGER);
                     call.execute();
-                    callStatus[0] = call.getInt(1);
+                    callStatus[0] = call.getInt(parameterIndex);
                 }
             });
         } catch (Exception e) {
@@ -69,11 +150,10 @@ public class OracleDbmsLockDao implements DbmsLockDao {
         }
         switch (callStatus[0]) {
             case 0:
-                LOGGER.debug("Acquired lock with handle {}.", lockHandle);
-                return;
-            case 4:
-                convertLock(lockHandle, lockMode, timeout);
-                LOGGER.debug("Convert lock. lock mode:{} ", lockMode);
+                if (!releaseOnCommit) {
+                    threadLockHandles.get().addAll(lockHandles);
+                }
+                LOGGER.debug("Acquired locks with handles {}.", lockHandles);
                 return;
             case 1:
                 throw new LockManagerTimeoutException("Timeout error occurred in 'DBMS_LOCK' request.");
@@ -91,20 +171,8 @@ public class OracleDbmsLockDao implements DbmsLockDao {
     @Override
     public void convertLock(final String lockHandle, final Integer lockMode, final Integer timeout) {
         LOGGER.debug("Requesting convert lock with handle {}", lockHandle);
-        final Number callStatus;
-        try {
-            callStatus = (Number) entityManager
-                    .createNativeQuery(CONVERT_LOCK_QUERY)
-                    .setParameter("lockHandle", lockHandle)
-                    .setParameter("lockMode", lockMode)
-                    .setParameter("timeout", timeout == null ? lockMode.equals(SUB_SHARED_MODE) ?
-                            DEFAULT_READ_LOCK_TIMEOUT : DEFAULT_WRIT_LOCK_TIMEOUT : timeout)
-                    .getSingleResult();
-        } catch (Exception e) {
-            throw new LockManagerRunTimeException(e.getMessage(), e);
-        }
-
-        switch (callStatus.intValue()) {
+        int callStatus = callLockFunction(CONVERT_LOCK_CALL, lockHandle, lockMode, getTimeout(lockMode, timeout));
+        switch (callStatus) {
             case 0:
                 LOGGER.debug("Converted lock with handle {}", lockHandle);
                 return;
@@ -126,9 +194,8 @@ public class OracleDbmsLockDao implements DbmsLockDao {
     @Override
     public void releaseLock(final String lockHandle) {
         LOGGER.debug("Requesting release lock with handle {}", lockHandle);
-        Query query = entityManager.createNativeQuery(RELEASE_LOCK_QUERY);
-        query.setParameter("lockHandle", lockHandle);
-        int result = ((Number) query.getSingleResult()).intValue();
+        int result = callLockFunction(RELEASE_LOCK_CALL, lockHandle, null, null);
+        threadLockHandles.get().remove(lockHandle);
 
         switch (result) {
             case 0:
@@ -144,6 +211,210 @@ public class OracleDbmsLockDao implements DbmsLockDao {
         }
     }
 
+    /**
+     * Releases the locks requested by the current thread without release on commit in one PL/SQL block. Locks are
+     * owned by the session, so the block must run in the session they were requested in, e.g. within the same
+     * transaction; locks the session does not own are skipped.
+     */
+    public void releaseLocks() {
+        Set<String> lockHandleSet = threadLockHandles.get();
+        if (lockHandleSet.isEmpty()) {
+            return;
+        }
+        List<String> lockHandles = new ArrayList<>(lockHandleSet);
+        lockHandleSet.clear();
+        LOGGER.debug("Requesting release locks with handles {}", lockHandles);
+        final int[] callStatus = new int[1];
+        Session session = entityManager.unwrap(Session.class);
+        try {
+            session.doWork(connection -> {
+                StringBuilder stringBuilder = new StringBuilder("DECLARE ")
+                        .append("TYPE handle_table IS TABLE OF VARCHAR2(128); ")
+                        .append("handles handle_table := handle_table(");
+                for (int i = 0; i < lockHandles.size(); i++) {
+                    stringBuilder.append(i == 0 ? "?" : ",?");
+                }
+                stringBuilder.append("); ")
+                        .append("status INTEGER := 0; ")
+                        .append("released INTEGER; ")
+                        .append("BEGIN ")
+                        .append("FOR i IN 1 .. handles.COUNT LOOP ")
+                        .append("released := DBMS_LOCK.RELEASE(handles(i)); ")
+                        .append("IF status = 0 AND released NOT IN (0, 4) THEN status := released; END IF; ")
+                        .append("END LOOP; ")
+                        .append("? := status; ")
+                        .append("END;");
+                try (CallableStatement call = connection.prepareCall(stringBuilder.toString())) {
+                    int parameterIndex = 1;
+                    for (String lockHandle : lockHandles) {
+                        call.setString(parameterIndex++, lockHandle);
+                    }
+                    call.registerOutParameter(parameterIndex, Types.INTEGER);
+                    call.execute();
+                    callStatus[0] = call.getInt(parameterIndex);
+                }
+            });
+        } catch (Exception e) {
+            throw new LockManagerRunTimeException(e.getMessage(), e);
+        }
+        switch (callStatus[0]) {
+            case 0:
+                LOGGER.debug("Released locks with handles {}", lockHandles);
+                return;
+            case 3:
+                throw new LockManagerRunTimeException("Parameter error occurred in 'DBMS_LOCK' release.");
+            case 5:
+                throw new LockManagerRunTimeException("Illegal lock handle error occurred in 'DBMS_LOCK' release.");
+            default:
+                throw new LockManagerRunTimeException("Error occurred in 'DBMS_LOCK' release.");
+        }
+    }
+
+    /**
+     * Allocates the handle of the lock name and requests the lock in one PL/SQL block, so a lock name without a known
+     * handle costs a single round trip. A lock already owned is converted. As {@code ALLOCATE_UNIQUE}, it commits the
+     * current transaction.
+     *
+     * @param lockName         Name of the lock for which you want to generate a unique ID.
+     * @param expirationSecond Length of time to leave lock allocated
+     * @return The handle allocated for the lock name, also when the lock cannot be granted.
+     */
+    public String allocateAndRequestLock(final String lockName, final int expirationSecond, final Integer lockMode,
+                                         final Integer timeout, final boolean releaseOnCommit) {
+        LOGGER.debug("Allocating and requesting lock with name '{}'", lockName);
+        final int lockTimeout = getTimeout(lockMode, timeout);
+        final String[] lockHandle = new String[1];
+        final int[] callStatus = new int[1];
+        try {
+            entityManager.unwrap(Session.class).doWork(connection -> {
+                try (CallableStatement call = connection.prepareCall(releaseOnCommit ?
+                        ALLOCATE_AND_REQUEST_LOCK_ON_COMMIT_BLOCK : ALLOCATE_AND_REQUEST_LOCK_BLOCK)) {
+                    call.setString(1, lockName);
+                    call.setInt(2, expirationSecond);
+                    call.setInt(3, lockMode);
+                    call.setInt(4, lockTimeout);
+                    call.setInt(5, lockMode);
+                    call.setInt(6, lockTimeout);
+                    call.registerOutParameter(7, Types.INTEGER);
+                    call.registerOutParameter(8, Types.VARCHAR);
+                    call.execute();
+                    callStatus[0] = call.getInt(7);
+                    lockHandle[0] = call.getString(8);
+                }
+            });
+        } catch (Exception e) {
+            throw new LockManagerRunTimeException(e.getMessage(), e);
+        }
+        switch (callStatus[0]) {
+            case 0:
+                if (!releaseOnCommit) {
+                    threadLockHandles.get().add(lockHandle[0]);
+                }
+                LOGGER.debug("Acquired lock with handle {} for lock with name '{}'.", lockHandle[0], lockName);
+                return lockHandle[0];
+            case 1:
+                throw new LockManagerTimeoutException("Timeout error occurred in 'DBMS_LOCK' request.");
+            case 2:
+                throw new LockManagerRunTimeException("deadlock error occurred in 'DBMS_LOCK' request.");
+            case 3:
+                throw new LockManagerRunTimeException("Parameter error occurred in 'DBMS_LOCK' request.");
+            case 4:
+                throw new LockManagerRunTimeException("Don't own lock specified by lock handle occurred in 'DBMS_LOCK' convert.");
+            case 5:
+                throw new LockManagerRunTimeException("Illegal lock handle error occurred in 'DBMS_LOCK' request.");
+            default:
+                throw new LockManagerRunTimeException("Error occurred in 'DBMS_LOCK' request.");
+        }
+    }
+
+    /**
+     * Allocates the handle of the lock name and releases the lock in one PL/SQL block. As {@code ALLOCATE_UNIQUE}, it
+     * commits the current transaction.
+     *
+     * @param lockName         Name of the lock for which you want to generate a unique ID.
+     * @param expirationSecond Length of time to leave lock allocated
+     * @return The handle allocated for the lock name.
+     */
+    public String allocateAndReleaseLock(final String lockName, final int expirationSecond) {
+        LOGGER.debug("Allocating and releasing lock with name '{}'", lockName);
+        final String[] lockHandle = new String[1];
+        final int[] callStatus = new int[1];
+        try {
+            entityManager.unwrap(Session.class).doWork(connection -> {
+                try (CallableStatement call = connection.prepareCall(ALLOCATE_AND_RELEASE_LOCK_BLOCK)) {
+                    call.setString(1, lockName);
+                    call.setInt(2, expirationSecond);
+                    call.registerOutParameter(3, Types.INTEGER);
+                    call.registerOutParameter(4, Types.VARCHAR);
+                    call.execute();
+                    callStatus[0] = call.getInt(3);
+                    lockHandle[0] = call.getString(4);
+                }
+            });
+        } catch (Exception e) {
+            throw new LockManagerRunTimeException(e.getMessage(), e);
+        }
+        threadLockHandles.get().remove(lockHandle[0]);
+
+        switch (callStatus[0]) {
+            case 0:
+            case 4:
+                LOGGER.debug("Released lock with handle {}", lockHandle[0]);
+                return lockHandle[0];
+            case 3:
+                throw new LockManagerRunTimeException("Parameter error occurred in 'DBMS_LOCK' release.");
+            case 5:
+                throw new LockManagerRunTimeException("Illegal lock handle error occurred in 'DBMS_LOCK' release.");
+            default:
+                throw new LockManagerRunTimeException("Error occurred in 'DBMS_LOCK' release.");
+        }
+    }
+
+    private static String allocateAndRequestLockBlock(final boolean releaseOnCommit) {
+        return "DECLARE handle VARCHAR2(128); status INTEGER; BEGIN " +
+                "DBMS_LOCK.ALLOCATE_UNIQUE(?, handle, ?); " +
+                "status := DBMS_LOCK.REQUEST(handle, ?, ?, " + (releaseOnCommit ? "TRUE" : "FALSE") + "); " +
+                "IF status = 4 THEN status := DBMS_LOCK.CONVERT(handle, ?, ?); END IF; " +
+                "? := status; " +
+                "? := handle; " +
+                "END;";
+    }
+
+    /**
+     * Calls a {@code DBMS_LOCK} function on the connection of the session without JPA query objects. Call texts are
+     * constants, so a driver caching statements by text, e.g. with Oracle implicit statement caching, parses each of
+     * them once per connection.
+     *
+     * @param lockMode lock mode and timeout parameters are set only if not null
+     * @return status returned by the function
+     */
+    private int callLockFunction(final String callText, final String lockHandle, final Integer lockMode,
+                                 final Integer timeout) {
+        try {
+            return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+                try (CallableStatement call = connection.prepareCall(callText)) {
+                    call.registerOutParameter(1, Types.INTEGER);
+                    call.setString(2, lockHandle);
+                    if (lockMode != null) {
+                        call.setInt(3, lockMode);
+                        call.setInt(4, timeout);
+                    }
+                    call.execute();
+                    return call.getInt(1);
+                }
+            });
+        } catch (Exception e) {
+            throw new LockManagerRunTimeException(e.getMessage(), e);
+        }
+    }
+
+    private static int getTimeout(final Integer lockMode, final Integer timeout) {
+        if (timeout != null) {
+            return timeout;
+        }
+        return lockMode.equals(SUB_SHARED_MODE) ? DEFAULT_READ_LOCK_TIMEOUT : DEFAULT_WRIT_LOCK_TIMEOUT;
+    }
+
     /**
      * 'allocateLock' using ALLOCATE_UNIQUE procedure in DBMS_LOCK package that allocates a unique lock identifier
      * (in the range of 1073741824 to 1999999999) given a lock name.
@@ -174,4 +445,45 @@ public class OracleDbmsLockDao implements DbmsLockDao {
             query.unwrap(ProcedureOutputs.class).release();
         }
     }
+
+    /**
+     * Allocates lock handles of the given lock names by calling {@code DBMS_LOCK.ALLOCATE_UNIQUE} for each name
+     * in a PL/SQL block, executing one block per {@value #ALLOCATE_LOCKS_BATCH_SIZE} names.
+     * As {@code ALLOCATE_UNIQUE}, it commits the current transaction.
+     *
+     * @param lockNames        Names of the locks for which you want to generate unique IDs.
+     * @param expirationSecond Length of time to leave locks allocated
+     * @return The handles of the lock names.
+     */
+    public Map<String, String> allocateLocks(final List<String> lockNames, final int expirationSecond) {
+        Map<String, String> lockHandles = new HashMap<>();
+        Session session = entityManager.unwrap(Session.class);
+        try {
+            for (int from = 0; from < lockNames.size(); from += ALLOCATE_LOCKS_BATCH_SIZE) {
+                List<String> batch = lockNames.subList(from, Math.min(from + ALLOCATE_LOCKS_BATCH_SIZE, lockNames.size()));
+                session.doWork(connection -> {
+                    StringBuilder stringBuilder = new StringBuilder("BEGIN ");
+                    for (int i = 0; i < batch.size(); i++) {
+                        stringBuilder.append("DBMS_LOCK.ALLOCATE_UNIQUE(?,?,?); ");
+                    }
+                    stringBuilder.append("END;");
+                    try (CallableStatement call = connection.prepareCall(stringBuilder.toString())) {
+                        for (int i = 0; i < batch.size(); i++) {
+                            call.setString(3 * i + 1, batch.get(i));
+                            call.registerOutParameter(3 * i + 2, Types.VARCHAR);
+                            call.setInt(3 * i + 3, expirationSecond);
+                        }
+                        call.execute();
+                        for (int i = 0; i < batch.size(); i++) {
+                            lockHandles.put(batch.get(i), call.getString(3 * i + 2));
+                        }
+                    }
+                });
+            }
+        } catch (Exception e) {
+            throw new LockManagerRunTimeException(e.getMessage(), e);
+        }
+        LOGGER.debug("Acquired {} lock handles.", lockHandles.size());
+        return lockHandles;
+    }
 }
@@ -0,0 +1,189 @@
+package com.tosan.tools.lockmanager.impl.dbms.dao;
+
+import com.tosan.tools.lockmanager.exception.LockManagerRunTimeException;
+import com.tosan.tools.lockmanager.exception.LockManagerTimeoutException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+
+/**
+ * Uses PostgreSQL advisory locks on 64-bit keys, so no lock handle has to be allocated.
+ * <p>
+ * Waiting requests are bounded by {@code lock_timeout}, set for the lock statement only. Inside a transaction the
+ * statement runs in a savepoint, so a timed out request does not abort the caller's transaction.
+ * A lock already held by the session in the requested mode is not requested again, as advisory locks would
+ * otherwise stack and need one release per request.
+ *
+ * @author mortezaei
+ * @since 10/18/2026
+ */
+public class PostgresqlAdvisoryLockDao {
+    private static final Logger LOGGER = LoggerFactory.getLogger(PostgresqlAdvisoryLockDao.class);
+    public static final String CURRENT_SCHEMA_QUERY = "SELECT current_schema()";
+    public static final String SHARED_MODE = "ShareLock";
+    public static final String EXCLUSIVE_MODE = "ExclusiveLock";
+    /**
+     * A bigint key is shown in pg_locks by its high half in classid and its low half in objid, with objsubid 1.
+     */
+    private static final String HELD_LOCK_CONDITION = "locktype = 'advisory' AND pid = pg_backend_pid() " +
+            "AND classid::bigint = ? AND objid::bigint = ? AND objsubid = 1 AND granted";
+    /**
+     * The previous lock_timeout is materialized before the select list, which is evaluated in order: set the
+     * timeout, lock, then restore the timeout.
+     */
+    private static final String REQUEST_LOCK_QUERY = "WITH previous AS MATERIALIZED " +
+            "(SELECT current_setting('lock_timeout') AS lock_timeout) " +
+            "SELECT set_config('lock_timeout', ?, true), %s(?), set_config('lock_timeout', previous.lock_timeout, true) " +
+            "FROM previous WHERE NOT EXISTS (SELECT 1 FROM pg_locks WHERE " + HELD_LOCK_CONDITION + " AND mode = ?)";
+    private static final String TRY_LOCK_QUERY = "SELECT %s(?) " +
+            "WHERE NOT EXISTS (SELECT 1 FROM pg_locks WHERE " + HELD_LOCK_CONDITION + " AND mode = ?)";
+    private static final String RELEASE_LOCK_QUERY = "SELECT CASE WHEN mode = '" + EXCLUSIVE_MODE + "' " +
+            "THEN pg_advisory_unlock(:lockKey) ELSE pg_advisory_unlock_shared(:lockKey) END FROM pg_locks " +
+            "WHERE locktype = 'advisory' AND pid = pg_backend_pid() " +
+            "AND classid::bigint = :classId AND objid::bigint = :objId AND objsubid = 1 AND granted";
+    private static final String RELEASE_ALL_LOCKS_QUERY = "SELECT pg_advisory_unlock_all()";
+    private static final String LOCK_NOT_AVAILABLE_STATE = "55P03";
+    private static final String DEADLOCK_DETECTED_STATE = "40P01";
+    private static final int DEFAULT_READ_LOCK_TIMEOUT = 60;
+    private static final int DEFAULT_WRIT_LOCK_TIMEOUT = 7200;
+    @PersistenceContext
+    private final jakarta.persistence.EntityManager entityManager;
+
+    public PostgresqlAdvisoryLockDao(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    public String currentSchema() {
+        Query query = entityManager.createNativeQuery(CURRENT_SCHEMA_QUERY);
+        return (String) query.getSingleResult();
+    }
+
+    /**
+     * @param lockKey         advisory lock key
+     * @param lockMode        {@link #SHARED_MODE} or {@link #EXCLUSIVE_MODE}
+     * @param timeout         seconds to wait for the lock, zero to fail at once
+     * @param releaseOnCommit transaction level lock if true, otherwise session level lock
+     * @throws LockManagerTimeoutException If the lock cannot be granted within this time period.
+     */
+    public void requestLock(final long lockKey, final String lockMode,
+                            final Integer timeout, final boolean releaseOnCommit) {
+        LOGGER.debug("Requesting lock with key {}", lockKey);
+        int lockTimeout = timeout == null ? SHARED_MODE.equals(lockMode) ?
+                DEFAULT_READ_LOCK_TIMEOUT : DEFAULT_WRIT_LOCK_TIMEOUT : timeout;
+        String lockFunction = "pg_" + (lockTimeout == 0 ? "try_" : "") + "advisory_" +
+                (releaseOnCommit ? "xact_" : "") + "lock" + (SHARED_MODE.equals(lockMode) ? "_shared" : "");
+        final Object[] result = new Object[1];
+        Session session = entityManager.unwrap(Session.class);
+        try {
+            session.doWork(connection -> {
+                Savepoint savepoint = connection.getAutoCommit() || lockTimeout == 0 ? null : connection.setSavepoint();
+                int index = 1;
+                try (PreparedStatement statement = connection.prepareStatement(
+                        String.format(lockTimeout == 0 ? TRY_LOCK_QUERY : REQUEST_LOCK_QUERY, lockFunction))) {
+                    if (lockTimeout > 0) {
+                        statement.setString(index++, String.valueOf(lockTimeout * 1000L));
+                    }
+                    statement.setLong(index++, lockKey);
+                    statement.setLong(index++, lockKey >>> 32);
+                    statement.setLong(index++, lockKey & 0xFFFFFFFFL);
+                    statement.setString(index, lockMode);
+                    try (ResultSet resultSet = statement.executeQuery()) {
+                        result[0] = !resultSet.next() || lockTimeout > 0 || resultSet.getBoolean(1);
+                    }
+                } catch (SQLException e) {
+                    if (savepoint == null) {
+                        throw e;
+                    }
+                    connection.rollback(savepoint);
+                    result[0] = e;
+                    return;
+                }
+                if (savepoint != null) {
+                    connection.releaseSavepoint(savepoint);
+                }
+            });
+        } catch (Exception e) {
+            throw getLockException(e);
+        }
+        if (result[0] instanceof SQLException) {
+            throw getLockException((SQLException) result[0]);
+        }
+        if (!(Boolean) result[0]) {
+            throw new LockManagerTimeoutException("Advisory lock is held by another session.");
+        }
+        LOGGER.debug("Acquired lock with key {}.", lockKey);
+    }
+
+    /**
+     * Converts a session level lock by acquiring the new mode and then releasing the other mode.
+     * A session does not conflict with its own locks, so only locks of other sessions are waited for.
+     */
+    public void convertLock(final long lockKey, final String lockMode, final Integer timeout) {
+        LOGGER.debug("Requesting convert lock with key {}", lockKey);
+        requestLock(lockKey, lockMode, timeout, false);
+        releaseLock(lockKey, SHARED_MODE.equals(lockMode) ? EXCLUSIVE_MODE : SHARED_MODE);
+        LOGGER.debug("Converted lock with key {}", lockKey);
+    }
+
+    /**
+     * Releases session level locks of the key held in any mode. Transaction level locks are held until the end of
+     * the transaction.
+     */
+    public void releaseLock(final long lockKey) {
+        releaseLock(lockKey, null);
+    }
+
+    /**
+     * Releases all session level locks of the session in one statement. Transaction level locks are held until the
+     * end of the transaction.
+     */
+    public void releaseAllLocks() {
+        LOGGER.debug("Requesting release all locks of session");
+        try {
+            entityManager.createNativeQuery(RELEASE_ALL_LOCKS_QUERY).getResultList();
+        } catch (Exception e) {
+            throw new LockManagerRunTimeException(e.getMessage(), e);
+        }
+        LOGGER.debug("Released all locks of session");
+    }
+
+    private void releaseLock(final long lockKey, final String lockMode) {
+        LOGGER.debug("Requesting release lock with key {}", lockKey);
+        Query query = entityManager.createNativeQuery(lockMode == null ? RELEASE_LOCK_QUERY :
+                RELEASE_LOCK_QUERY + " AND mode = :lockMode");
+        query.setParameter("lockKey", lockKey);
+        query.setParameter("classId", lockKey >>> 32);
+        query.setParameter("objId", lockKey & 0xFFFFFFFFL);
+        if (lockMode != null) {
+            query.setParameter("lockMode", lockMode);
+        }
+        try {
+            query.getResultList();
+        } catch (Exception e) {
+            throw new LockManagerRunTimeException(e.getMessage(), e);
+        }
+        LOGGER.debug("Released lock with key {}", lockKey);
+    }
+
+    private static RuntimeException getLockException(Exception exception) {
+        Throwable cause = exception;
+        while (cause != null && !(cause instanceof SQLException)) {
+            cause = cause.getCause();
+        }
+        String sqlState = cause == null ? null : ((SQLException) cause).getSQLState();
+        if (LOCK_NOT_AVAILABLE_STATE.equals(sqlState)) {
+            return new LockManagerTimeoutException("Timeout error occurred in advisory lock request.", exception);
+        } else if (DEADLOCK_DETECTED_STATE.equals(sqlState)) {
+            return new LockManagerRunTimeException("deadlock error occurred in advisory lock request.", exception);
+        }
+        return new LockManagerRunTimeException(exception.getMessage(), exception);
+    }
+}
@@ -9,7 +9,13 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 /**
  * @author mortezaei
@@ -21,13 +27,18 @@ public class PostgresqlDbmsLockDao implements DbmsLockDao {
     private static final Logger LOGGER = LoggerFactory.getLogger(PostgresqlDbmsLockDao.class);
     public static final String CURRENT_SCHEMA_QUERY = "SELECT current_schema()";
     public static final String ALLOCATE_LOCK_QUERY = "dbms_lock.allocate_unique";
-    public static final String RELEASE_LOCK_QUERY = "SELECT dbms_lock.release(:lockHandle)";
+    public static final String REQUEST_LOCK_CALL = "{ ? = call dbms_lock.request(?,?,?) }";
+    public static final String REQUEST_LOCK_ON_COMMIT_CALL = "{ ? = call dbms_lock.request(?,?,?,true) }";
+    public static final String RELEASE_LOCK_CALL = "{ ? = call dbms_lock.release(?) }";
+    public static final String RELEASE_LOCKS_QUERY =
+            "SELECT dbms_lock.release(lock_handle) FROM unnest(?) AS released (lock_handle)";
     public static final Integer SHARED_MODE = 4;
     public static final Integer EXCLUSIVE_MODE = 6;
     private static final int DEFAULT_READ_LOCK_TIMEOUT = 60;
     private static final int DEFAULT_WRIT_LOCK_TIMEOUT = 7200;
     @PersistenceContext
     private final jakarta.persistence.EntityManager entityManager;
+    private final ThreadLocal<Set<String>> threadLockHandles = ThreadLocal.withInitial(HashSet::new);
 
     public PostgresqlDbmsLockDao(EntityManager entityManager) {
         this.entityManager = entityManager;
@@ -43,34 +54,16 @@ public class PostgresqlDbmsLockDao implements DbmsLockDao {
     public void requestLock(final String lockHandle, final Integer lockMode,
                             final Integer timeout, final boolean releaseOnCommit) {
         LOGGER.debug("Requesting lock with handle {}", lockHandle);
-        final int[] callStatus = new int[1];
         //As DBMS_LOCK.REQUEST has boolean input param, cant use entityManager
         //                    .createNativeQuery because select does not support boolean value
-        Session session = entityManager.unwrap(Session.class);
-        try {
-            session.doWork(connection -> {
-                StringBuilder stringBuilder = new StringBuilder();
-                stringBuilder.append("{ ? = call dbms_lock.request(?,?,?");
-                if (releaseOnCommit) {
-                    stringBuilder.append(",true");
-                }
-                stringBuilder.append(") }");
-                try (CallableStatement call = connection.prepareCall(stringBuilder.toString())) {
-                    call.registerOutParameter(1, Types.INTEGER);
-                    call.setString(2, lockHandle);
-                    call.setInt(3, lockMode);
-                    call.setInt(4, timeout == null ? lockMode.equals(SHARED_MODE) ?
-                            DEFAULT_READ_LOCK_TIMEOUT : DEFAULT_WRIT_LOCK_TIMEOUT : timeout);
-                    call.execute();
-                    callStatus[0] = call.getInt(1);
-                }
-            });
-        } catch (Exception e) {
-            throw new LockManagerRunTimeException(e.getMessage(), e);
-        }
-
-        switch (callStatus[0]) {
+        int callStatus = callLockFunction(releaseOnCommit ? REQUEST_LOCK_ON_COMMIT_CALL : REQUEST_LOCK_CALL,
+                lockHandle, lockMode, timeout == null ? lockMode.equals(SHARED_MODE) ?
+                        DEFAULT_READ_LOCK_TIMEOUT : DEFAULT_WRIT_LOCK_TIMEOUT : timeout);
+        switch (callStatus) {
             case 0:
+                if (!releaseOnCommit) {
+                    threadLockHandles.get().add(lockHandle);
+                }
                 LOGGER.debug("Acquired lock with handle {}.", lockHandle);
                 return;
             case 4:
@@ -95,9 +88,8 @@ public class PostgresqlDbmsLockDao implements DbmsLockDao {
     @Override
     public void releaseLock(final String lockHandle) {
         LOGGER.debug("Requesting release lock with handle {}", lockHandle);
-        Query query = entityManager.createNativeQuery(RELEASE_LOCK_QUERY);
-        query.setParameter("lockHandle", lockHandle);
-        int result = ((Number) query.getSingleResult()).intValue();
+        int result = callLockFunction(RELEASE_LOCK_CALL, lockHandle, null, null);
+        threadLockHandles.get().remove(lockHandle);
 
         switch (result) {
             case 0:
@@ -113,6 +105,80 @@ public class PostgresqlDbmsLockDao implements DbmsLockDao {
         }
     }
 
+    /**
+     * Releases the locks requested by the current thread and not released on commit, calling {@code dbms_lock.release}
+     * for all of them in one statement over an array of the handles. The first failed release is thrown once all the
+     * locks are released.
+     */
+    public void releaseLocks() {
+        Set<String> lockHandleSet = threadLockHandles.get();
+        if (lockHandleSet.isEmpty()) {
+            return;
+        }
+        List<String> lockHandles = new ArrayList<>(lockHandleSet);
+        lockHandleSet.clear();
+        LOGGER.debug("Requesting release locks with handles {}", lockHandles);
+        List<Integer> results;
+        try {
+            results = entityManager.unwrap(Session.class).doReturningWork(connection -> {
+                try (PreparedStatement statement = connection.prepareStatement(RELEASE_LOCKS_QUERY)) {
+                    statement.setArray(1, connection.createArrayOf("varchar", lockHandles.toArray()));
+                    List<Integer> statuses = new ArrayList<>();
+                    try (ResultSet resultSet = statement.executeQuery()) {
+                        while (resultSet.next()) {
+                            statuses.add(resultSet.getInt(1));
+                        }
+                    }
+                    return statuses;
+                }
+            });
+        } catch (Exception e) {
+            throw new LockManagerRunTimeException(e.getMessage(), e);
+        }
+        for (int result : results) {
+            switch (result) {
+                case 0:
+                case 4:
+                    break;
+                case 3:
+                    throw new LockManagerRunTimeException("Parameter error occurred in 'DBMS_LOCK' release.");
+                case 5:
+                    throw new LockManagerRunTimeException("Illegal lock handle error occurred in 'DBMS_LOCK' release.");
+                default:
+                    throw new LockManagerRunTimeException("Error occurred in 'DBMS_LOCK' release.");
+            }
+        }
+        LOGGER.debug("Released locks with handles {}", lockHandles);
+    }
+
+    /**
+     * Calls a {@code dbms_lock} function on the connection of the session without JPA query objects. Call texts are
+     * constants, so the driver reuses their server side prepared statements, see {@code preparedStatementCacheQueries}
+     * of pgjdbc.
+     *
+     * @param lockMode lock mode and timeout parameters are set only if not null
+     * @return status returned by the function
+     */
+    private int callLockFunction(final String callText, final String lockHandle, final Integer lockMode,
+                                 final Integer timeout) {
+        try {
+            return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+                try (CallableStatement call = connection.prepareCall(callText)) {
+                    call.registerOutParameter(1, Types.INTEGER);
+                    call.setString(2, lockHandle);
+                    if (lockMode != null) {
+                        call.setInt(3, lockMode);
+                        call.setInt(4, timeout);
+                    }
+                    call.execute();
+                    return call.getInt(1);
+                }
+            });
+        } catch (Exception e) {
+            throw new LockManagerRunTimeException(e.getMessage(), e);
+        }
+    }
+
     /**
      * 'allocateLock' using ALLOCATE_UNIQUE procedure in DBMS_LOCK package that allocates a unique lock identifier
      * (in the range of 1073741824 to 1999999999) given a lock name.
@@ -0,0 +1,39 @@
+package com.tosan.tools.lockmanager.impl.dbms.service;
+
+import com.tosan.tools.lockmanager.api.LockMode;
+import com.tosan.tools.lockmanager.impl.dbms.dao.DbmsLockDao;
+
+/**
+ * Lock identified by an allocated {@code DBMS_LOCK} handle.
+ *
+ * @author mortezaei
+ * @since 10/18/2026
+ */
+class AllocatedDbmsLock implements ResolvedDbmsLock {
+    private final DbmsLockDao dbmsLockDao;
+    private final String lockHandle;
+    private final Integer readMode;
+    private final Integer writeMode;
+
+    AllocatedDbmsLock(DbmsLockDao dbmsLockDao, String lockHandle, Integer readMode, Integer writeMode) {
+        this.dbmsLockDao = dbmsLockDao;
+        this.lockHandle = lockHandle;
+        this.readMode = readMode;
+        this.writeMode = writeMode;
+    }
+
+    @Override
+    public void request(LockMode lockMode, Integer timeout, boolean releaseOnCommit) {
+        dbmsLockDao.requestLock(lockHandle, lockMode == LockMode.READ ? readMode : writeMode, timeout, releaseOnCommit);
+    }
+
+    @Override
+    public void convert(LockMode lockMode, Integer timeout) {
+        dbmsLockDao.convertLock(lockHandle, lockMode == LockMode.READ ? readMode : writeMode, timeout);
+    }
+
+    @Override
+    public void release() {
+        dbmsLockDao.releaseLock(lockHandle);
+    }
+}
@@ -1,6 +1,5 @@
 package com.tosan.tools.lockmanager.impl.dbms.service;
 
-import com.tosan.tools.lockmanager.exception.LockManagerRunTimeException;
 import com.tosan.tools.lockmanager.impl.dbms.dao.Db2DbmsLockDao;
 import jakarta.persistence.EntityManager;
 import org.apache.commons.lang3.StringUtils;
@@ -11,49 +10,62 @@ import org.apache.commons.lang3.StringUtils;
  */
 public class Db2DbmsLockService implements DbmsLockService {
     private final Db2DbmsLockDao db2DbmsLockDao;
-    private String schemaName = null;
+    private final String schemaName;
 
     public Db2DbmsLockService(EntityManager entityManager) {
+        this(entityManager, null);
+    }
+
+    /**
+     * @param schemaName lock namespace prefixed to lock names, or null to use the current schema, queried once here
+     */
+    public Db2DbmsLockService(EntityManager entityManager, String schemaName) {
         this.db2DbmsLockDao = new Db2DbmsLockDao(entityManager);
+        this.schemaName = schemaName != null ? schemaName : db2DbmsLockDao.currentSchema();
     }
 
     @Override
     public String getSchemaName() {
-        try {
-            if (schemaName == null) {
-                synchronized (Db2DbmsLockService.class) {
-                    if (schemaName == null) {
-                        schemaName = db2DbmsLockDao.currentSchema();
-                    }
-                }
-            }
-            return schemaName;
-        } catch (Exception e) {
-            throw new LockManagerRunTimeException(e.getMessage(), e);
-        }
+        return schemaName;
     }
 
     @Override
-    public void requestWriteLock(String lockNameType, String lockName, Integer timeout, boolean releaseOnCommit) {
+    public void requestReadLock(String lockNameType, String lockName, Integer timeout, boolean releaseOnCommit) {
         db2DbmsLockDao.requestLock(
                 getLockHandle(getSchemaName(), lockNameType, lockName),
-                null, timeout, releaseOnCommit);
+                Db2DbmsLockDao.SHARED_MODE, timeout, releaseOnCommit);
     }
 
     @Override
-    public void requestReadLock(String lockNameType, String lockName, Integer timeout, boolean releaseOnCommit) {
+    public void requestWriteLock(String lockNameType, String lockName, Integer timeout, boolean releaseOnCommit) {
+        db2DbmsLockDao.requestLock(
+                getLockHandle(getSchemaName(), lockNameType, lockName),
+                Db2DbmsLockDao.EXCLUSIVE_MODE, timeout, releaseOnCommit);
     }
 
     @Override
     public void convertToReadLock(String lockNameType, String lockName, Integer timeout) {
+        db2DbmsLockDao.convertLock(
+                getLockHandle(getSchemaName(), lockNameType, lockName),
+                Db2DbmsLockDao.SHARED_MODE, timeout);
     }
 
     @Override
     public void convertToWriteLock(String lockNameType, String lockName, Integer timeout) {
+        db2DbmsLockDao.convertLock(
+                getLockHandle(getSchemaName(), lockNameType, lockName),
+                Db2DbmsLockDao.EXCLUSIVE_MODE, timeout);
     }
 
     @Override
     public void unLock(String lockNameType, String lockName) {
+        db2DbmsLockDao.releaseLock(
+                getLockHandle(getSchemaName(), lockNameType, lockName));
+    }
+
+    @Override
+    public void unLockAll() {
+        db2DbmsLockDao.releaseLocks();
     }
 
     public String getLockHandle(String schemaName, String lockNameType, String lockName) {
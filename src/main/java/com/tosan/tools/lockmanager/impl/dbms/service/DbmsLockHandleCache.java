@@ -0,0 +1,259 @@
+package com.tosan.tools.lockmanager.impl.dbms.service;
+
+import com.tosan.tools.lockmanager.exception.LockManagerRunTimeException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded cache of {@code DBMS_LOCK} lock handles by unique lock name.
+ * <p>
+ * Threads missing the same name share one allocation. Once half of the time to live of a handle has passed, the
+ * first thread getting it allocates it again, as {@code ALLOCATE_UNIQUE} returns the same handle and only extends its
+ * expiration, while other threads keep being served the cached one. Allocations always run on the calling thread, as
+ * the allocator uses its entity manager. Handles past their time to live are allocated again as misses.
+ * The least recently used handles are evicted when the cache grows beyond {@code maximumSize}, down to nine tenths of
+ * it so that the next eviction is some misses away.
+ *
+ * @author mortezaei
+ * @since 10/18/2026
+ */
+public class DbmsLockHandleCache {
+    private static final Logger LOGGER = LoggerFactory.getLogger(DbmsLockHandleCache.class);
+    private static final int DEFAULT_MAXIMUM_SIZE = 10000;
+
+    private final Function<String, String> allocator;
+    private final LongSupplier ticker;
+    private final Map<String, CompletableFuture<CachedHandle>> handles = new ConcurrentHashMap<>();
+    private final AtomicBoolean cleaningUp = new AtomicBoolean();
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder refreshCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+    private volatile int maximumSize = DEFAULT_MAXIMUM_SIZE;
+    private volatile int cleanUpSize = DEFAULT_MAXIMUM_SIZE;
+    private volatile long timeToLiveNanos;
+
+    /**
+     * @param allocator          allocates the handle of a unique lock name, called from the thread getting the handle
+     * @param timeToLiveInSecond time the allocated handle is kept by the database
+     */
+    public DbmsLockHandleCache(Function<String, String> allocator, int timeToLiveInSecond) {
+        this(allocator, timeToLiveInSecond, System::nanoTime);
+    }
+
+    DbmsLockHandleCache(Function<String, String> allocator, int timeToLiveInSecond, LongSupplier ticker) {
+        this.allocator = allocator;
+        this.ticker = ticker;
+        setTimeToLiveInSecond(timeToLiveInSecond);
+    }
+
+    public void setMaximumSize(int maximumSize) {
+        this.maximumSize = maximumSize;
+        this.cleanUpSize = maximumSize;
+    }
+
+    public void setTimeToLiveInSecond(int timeToLiveInSecond) {
+        this.timeToLiveNanos = TimeUnit.SECONDS.toNanos(timeToLiveInSecond);
+    }
+
+    public String getLockHandle(String lockName) {
+        long now = ticker.getAsLong();
+        String cachedLockHandle = getCachedLockHandle(lockName, now);
+        if (cachedLockHandle != null) {
+            return cachedLockHandle;
+        }
+        missCount.increment();
+        CompletableFuture<CachedHandle> allocation = new CompletableFuture<>();
+        CompletableFuture<CachedHandle> current = handles.putIfAbsent(lockName, allocation);
+        if (current != null) {
+            return join(current).lockHandle;
+        }
+        if (handles.size() > cleanUpSize) {
+            cleanUp();
+        }
+        try {
+            CachedHandle cachedHandle = new CachedHandle(allocator.apply(lockName), now);
+            allocation.complete(cachedHandle);
+            return cachedHandle.lockHandle;
+        } catch (RuntimeException e) {
+            handles.remove(lockName, allocation);
+            allocation.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the cached handle of the lock name without allocating it, e.g. to allocate it together with a lock
+     * request. An allocation in progress is waited for.
+     *
+     * @return the cached handle, or null if it is not cached or past its time to live
+     */
+    public String getCachedLockHandle(String lockName) {
+        String cachedLockHandle = getCachedLockHandle(lockName, ticker.getAsLong());
+        if (cachedLockHandle == null) {
+            missCount.increment();
+        }
+        return cachedLockHandle;
+    }
+
+    private String getCachedLockHandle(String lockName, long now) {
+        CompletableFuture<CachedHandle> cached = handles.get(lockName);
+        if (cached == null) {
+            return null;
+        }
+        CachedHandle cachedHandle = cached.getNow(null);
+        if (cachedHandle == null) {
+            hitCount.increment();
+            return join(cached).lockHandle;
+        }
+        long age = now - cachedHandle.allocatedTime;
+        if (age < timeToLiveNanos) {
+            hitCount.increment();
+            cachedHandle.lastAccess = now;
+            if (age >= timeToLiveNanos / 2) {
+                refresh(lockName, cached, cachedHandle);
+            }
+            return cachedHandle.lockHandle;
+        }
+        handles.remove(lockName, cached);
+        return null;
+    }
+
+    /**
+     * Caches handles allocated outside of the cache, e.g. by a bulk allocation.
+     */
+    public void putAll(Map<String, String> lockHandles) {
+        long now = ticker.getAsLong();
+        lockHandles.forEach((lockName, lockHandle) ->
+                handles.put(lockName, CompletableFuture.completedFuture(new CachedHandle(lockHandle, now))));
+        if (handles.size() > cleanUpSize) {
+            cleanUp();
+        }
+    }
+
+    /**
+     * Allocates the handle again on the calling thread, unless another thread already does. A failed refresh is
+     * logged, the cached handle being still valid, and retried by the next thread getting it.
+     */
+    private void refresh(String lockName, CompletableFuture<CachedHandle> cached, CachedHandle cachedHandle) {
+        if (!cachedHandle.refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            CachedHandle refreshed = new CachedHandle(allocator.apply(lockName), ticker.getAsLong());
+            refreshed.lastAccess = cachedHandle.lastAccess;
+            handles.replace(lockName, cached, CompletableFuture.completedFuture(refreshed));
+            refreshCount.increment();
+        } catch (RuntimeException e) {
+            LOGGER.warn("Refreshing lock handle of '{}' failed. {}", lockName, e.getMessage());
+            cachedHandle.refreshing.set(false);
+        }
+    }
+
+    /**
+     * Evicts the least recently used handles down to nine tenths of the maximum size if the cache is larger than its
+     * maximum size. Only one thread cleans up at a time, others skip.
+     */
+    public void cleanUp() {
+        if (!cleaningUp.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            int size = maximumSize;
+            if (handles.size() > size) {
+                List<EvictionCandidate> candidates = new ArrayList<>();
+                handles.forEach((lockName, cached) -> {
+                    CachedHandle cachedHandle = cached.getNow(null);
+                    if (cachedHandle != null) {
+                        candidates.add(new EvictionCandidate(lockName, cached, cachedHandle.lastAccess));
+                    }
+                });
+                candidates.sort(Comparator.comparingLong(candidate -> candidate.lastAccess));
+                int targetSize = size - size / 10;
+                for (EvictionCandidate candidate : candidates) {
+                    if (handles.size() <= targetSize) {
+                        break;
+                    }
+                    if (handles.remove(candidate.lockName, candidate.cached)) {
+                        evictionCount.increment();
+                    }
+                }
+            }
+            cleanUpSize = handles.size() > size ? handles.size() + Math.max(1, size / 10) : size;
+        } finally {
+            cleaningUp.set(false);
+        }
+    }
+
+    private static CachedHandle join(CompletableFuture<CachedHandle> allocation) {
+        try {
+            return allocation.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new LockManagerRunTimeException(e.getMessage(), e);
+        }
+    }
+
+    public int size() {
+        return handles.size();
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public long getRefreshCount() {
+        return refreshCount.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    /**
+     * Snapshot of the last access time, as sorting by the live value could see it change.
+     */
+    private static class EvictionCandidate {
+        private final String lockName;
+        private final CompletableFuture<CachedHandle> cached;
+        private final long lastAccess;
+
+        EvictionCandidate(String lockName, CompletableFuture<CachedHandle> cached, long lastAccess) {
+            this.lockName = lockName;
+            this.cached = cached;
+            this.lastAccess = lastAccess;
+        }
+    }
+
+    private static class CachedHandle {
+        private final String lockHandle;
+        private final long allocatedTime;
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+        private volatile long lastAccess;
+
+        CachedHandle(String lockHandle, long allocatedTime) {
+            this.lockHandle = lockHandle;
+            this.allocatedTime = allocatedTime;
+            this.lastAccess = allocatedTime;
+        }
+    }
+}
@@ -2,6 +2,10 @@ package com.tosan.tools.lockmanager.impl.dbms.service;
 
 import com.tosan.tools.lockmanager.exception.LockManagerTimeoutException;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
 /**
  * @author akhbari
  * @since 23/02/2019
@@ -9,8 +13,9 @@ import com.tosan.tools.lockmanager.exception.LockManagerTimeoutException;
 public interface DbmsLockService {
     /**
      * This method returns schema name. Schema name is used in lock requests to make them unique in DBMS level.
+     * It is resolved once when the service is created.
      *
-     * @return the current schema name
+     * @return the configured lock namespace, or else the current schema name
      */
     String getSchemaName();
 
@@ -68,4 +73,79 @@ public interface DbmsLockService {
      * @param lockName     lock name
      */
     void unLock(String lockNameType, String lockName);
+
+    /**
+     * Releases all locks of the current session not released on commit, as requested by this service or its
+     * resolved locks. The services of this library override this default implementation, which is not supported.
+     */
+    default void unLockAll() {
+        throw new UnsupportedOperationException("Releasing all locks of the session is not supported.");
+    }
+
+    /**
+     * Resolves the database identifier of a lock, so the returned lock is requested, converted and released without
+     * resolving it again. This default implementation resolves nothing and uses the lock name.
+     *
+     * @param lockNameType lock name type
+     * @param lockName     lock name
+     * @return the resolved lock, not yet requested
+     */
+    default ResolvedDbmsLock resolveLock(String lockNameType, String lockName) {
+        return new NamedDbmsLock(this, lockNameType, lockName);
+    }
+
+    /**
+     * Acquires the read locks of all the lock names in the given order, or none of them.
+     * This default implementation requests the locks one by one and releases the acquired ones on failure.
+     *
+     * @param lockNameType    lock name type
+     * @param lockNames       lock names, in the order to acquire them
+     * @param timeout         Number of seconds to continue trying to grant all the read locks.
+     * @param releaseOnCommit If it is true, release the locks on commit or roll-back.
+     * @throws LockManagerTimeoutException If the read locks cannot be granted within this time period.
+     */
+    default void requestReadLocks(String lockNameType, List<String> lockNames, Integer timeout, boolean releaseOnCommit) {
+        requestLocks(lockNameType, lockNames, timeout, releaseOnCommit, false);
+    }
+
+    /**
+     * Acquires the write locks of all the lock names in the given order, or none of them.
+     * This default implementation requests the locks one by one and releases the acquired ones on failure.
+     *
+     * @param lockNameType    lock name type
+     * @param lockNames       lock names, in the order to acquire them
+     * @param timeout         Number of seconds to continue trying to grant all the write locks.
+     * @param releaseOnCommit If it is true, release the locks on commit or roll-back.
+     * @throws LockManagerTimeoutException If the write locks cannot be granted within this time period.
+     */
+    default void requestWriteLocks(String lockNameType, List<String> lockNames, Integer timeout, boolean releaseOnCommit) {
+        requestLocks(lockNameType, lockNames, timeout, releaseOnCommit, true);
+    }
+
+    private void requestLocks(String lockNameType, List<String> lockNames, Integer timeout, boolean releaseOnCommit,
+                              boolean write) {
+        long deadline = timeout == null ? 0 : System.nanoTime() + TimeUnit.SECONDS.toNanos(timeout);
+        List<String> acquired = new ArrayList<>(lockNames.size());
+        try {
+            for (String lockName : lockNames) {
+                Integer remainingTimeout = timeout == null ? null : (int) ((Math.max(0, deadline - System.nanoTime())
+                        + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+                if (write) {
+                    requestWriteLock(lockNameType, lockName, remainingTimeout, releaseOnCommit);
+                } else {
+                    requestReadLock(lockNameType, lockName, remainingTimeout, releaseOnCommit);
+                }
+                acquired.add(lockName);
+            }
+        } catch (RuntimeException e) {
+            for (int i = acquired.size() - 1; i >= 0; i--) {
+                try {
+                    unLock(lockNameType, acquired.get(i));
+                } catch (RuntimeException unlockException) {
+                    e.addSuppressed(unlockException);
+                }
+            }
+            throw e;
+        }
+    }
 }
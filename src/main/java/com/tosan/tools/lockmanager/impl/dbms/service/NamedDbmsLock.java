@@ -0,0 +1,44 @@
+package com.tosan.tools.lockmanager.impl.dbms.service;
+
+import com.tosan.tools.lockmanager.api.LockMode;
+
+/**
+ * Lock of services without a lock identifier worth resolving, requested by its name.
+ *
+ * @author mortezaei
+ * @since 10/18/2026
+ */
+class NamedDbmsLock implements ResolvedDbmsLock {
+    private final DbmsLockService dbmsLockService;
+    private final String lockNameType;
+    private final String lockName;
+
+    NamedDbmsLock(DbmsLockService dbmsLockService, String lockNameType, String lockName) {
+        this.dbmsLockService = dbmsLockService;
+        this.lockNameType = lockNameType;
+        this.lockName = lockName;
+    }
+
+    @Override
+    public void request(LockMode lockMode, Integer timeout, boolean releaseOnCommit) {
+        if (lockMode == LockMode.READ) {
+            dbmsLockService.requestReadLock(lockNameType, lockName, timeout, releaseOnCommit);
+        } else {
+            dbmsLockService.requestWriteLock(lockNameType, lockName, timeout, releaseOnCommit);
+        }
+    }
+
+    @Override
+    public void convert(LockMode lockMode, Integer timeout) {
+        if (lockMode == LockMode.READ) {
+            dbmsLockService.convertToReadLock(lockNameType, lockName, timeout);
+        } else {
+            dbmsLockService.convertToWriteLock(lockNameType, lockName, timeout);
+        }
+    }
+
+    @Override
+    public void release() {
+        dbmsLockService.unLock(lockNameType, lockName);
+    }
+}
@@ -7,10 +7,10 @@ import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.Calendar;
-import java.util.Date;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * @author akhbari
@@ -19,36 +19,99 @@ import java.util.concurrent.ConcurrentHashMap;
 public class OracleDbmsLockService implements DbmsLockService {
     private static final Logger logger = LoggerFactory.getLogger(OracleDbmsLockService.class);
     private static final short DBMS_LOCK_NAME_MAX_LENGTH = 128;
-    private static final Map<String, DbmsLockInfo> dbmsLockHandle = new ConcurrentHashMap<>();
     private final OracleDbmsLockDao oracleDbmsLockDao;
+    private final DbmsLockHandleCache lockHandleCache;
     private boolean lockIdentifiersCache = false;
+    private boolean allocateOnRequest = false;
     private int allocatedLockTimeToLiveInSecond = 864000;
-    private String schemaName = null;
-
+    private final String schemaName;
 
     public OracleDbmsLockService(EntityManager entityManager) {
+        this(entityManager, null);
+    }
+
+    /**
+     * @param schemaName lock namespace prefixed to lock names, or null to use the current schema, queried once here
+     */
+    public OracleDbmsLockService(EntityManager entityManager, String schemaName) {
         this.oracleDbmsLockDao = new OracleDbmsLockDao(entityManager);
+        try {
+            this.schemaName = schemaName != null ? schemaName : oracleDbmsLockDao.currentSchema();
+        } catch (Exception e) {
+            throw new LockManagerRunTimeException(e.getMessage(), e);
+        }
+        this.lockHandleCache = new DbmsLockHandleCache(
+                lockName -> oracleDbmsLockDao.allocateLock(lockName, allocatedLockTimeToLiveInSecond),
+                allocatedLockTimeToLiveInSecond);
     }
 
     public void setLockIdentifiersCache(boolean lockIdentifiersCache) {
         this.lockIdentifiersCache = lockIdentifiersCache;
     }
 
+    /**
+     * Allocates the handle of a lock name in the same PL/SQL block as the request or release of the lock, instead of
+     * a separate round trip. With lock identifiers cache, only handles not cached are allocated this way and the
+     * allocated handles are cached.
+     */
+    public void setAllocateOnRequest(boolean allocateOnRequest) {
+        this.allocateOnRequest = allocateOnRequest;
+    }
+
     public void setAllocatedLockTimeToLiveInSecond(int allocatedLockTimeToLiveInSecond) {
         this.allocatedLockTimeToLiveInSecond = allocatedLockTimeToLiveInSecond;
+        lockHandleCache.setTimeToLiveInSecond(allocatedLockTimeToLiveInSecond);
+    }
+
+    public void setLockIdentifiersCacheMaximumSize(int lockIdentifiersCacheMaximumSize) {
+        lockHandleCache.setMaximumSize(lockIdentifiersCacheMaximumSize);
+    }
+
+    public DbmsLockHandleCache getLockHandleCache() {
+        return lockHandleCache;
     }
 
     @Override
     public void requestReadLock(String lockNameType, String lockName, Integer timeout, boolean releaseOnCommit) {
-        oracleDbmsLockDao.requestLock(
-                getLockHandle(getSchemaName(), lockNameType, lockName),
-                OracleDbmsLockDao.SUB_SHARED_MODE, timeout, releaseOnCommit);
+        requestLock(lockNameType, lockName, OracleDbmsLockDao.SUB_SHARED_MODE, timeout, releaseOnCommit);
     }
 
     @Override
     public void requestWriteLock(String lockNameType, String lockName, Integer timeout, boolean releaseOnCommit) {
-        oracleDbmsLockDao.requestLock(
-                getLockHandle(getSchemaName(), lockNameType, lockName),
+        requestLock(lockNameType, lockName, OracleDbmsLockDao.EXCLUSIVE_MODE, timeout, releaseOnCommit);
+    }
+
+    private void requestLock(String lockNameType, String lockName, Integer lockMode, Integer timeout,
+                             boolean releaseOnCommit) {
+        if (!allocateOnRequest) {
+            oracleDbmsLockDao.requestLock(
+                    getLockHandle(getSchemaName(), lockNameType, lockName), lockMode, timeout, releaseOnCommit);
+            return;
+        }
+        String uniqueLockName = getUniqueLockName(getSchemaName(), lockNameType, lockName);
+        String lockHandle = lockIdentifiersCache ? lockHandleCache.getCachedLockHandle(uniqueLockName) : null;
+        if (lockHandle != null) {
+            oracleDbmsLockDao.requestLock(lockHandle, lockMode, timeout, releaseOnCommit);
+            return;
+        }
+        lockHandle = oracleDbmsLockDao.allocateAndRequestLock(
+                uniqueLockName, allocatedLockTimeToLiveInSecond, lockMode, timeout, releaseOnCommit);
+        if (lockIdentifiersCache) {
+            lockHandleCache.putAll(Map.of(uniqueLockName, lockHandle));
+        }
+    }
+
+    @Override
+    public void requestReadLocks(String lockNameType, List<String> lockNames, Integer timeout, boolean releaseOnCommit) {
+        oracleDbmsLockDao.requestLocks(
+                getLockHandles(getSchemaName(), lockNameType, lockNames),
+                OracleDbmsLockDao.SUB_SHARED_MODE, timeout, releaseOnCommit);
+    }
+
+    @Override
+    public void requestWriteLocks(String lockNameType, List<String> lockNames, Integer timeout, boolean releaseOnCommit) {
+        oracleDbmsLockDao.requestLocks(
+                getLockHandles(getSchemaName(), lockNameType, lockNames),
                 OracleDbmsLockDao.EXCLUSIVE_MODE, timeout, releaseOnCommit);
     }
 
@@ -66,50 +129,99 @@ public class OracleDbmsLockService implements DbmsLockService {
                 OracleDbmsLockDao.EXCLUSIVE_MODE, timeout);
     }
 
+    @Override
+    public ResolvedDbmsLock resolveLock(String lockNameType, String lockName) {
+        return new AllocatedDbmsLock(oracleDbmsLockDao, getLockHandle(getSchemaName(), lockNameType, lockName),
+                OracleDbmsLockDao.SUB_SHARED_MODE, OracleDbmsLockDao.EXCLUSIVE_MODE);
+    }
+
     @Override
     public void unLock(String lockNameType, String lockName) {
-        oracleDbmsLockDao.releaseLock(
-                getLockHandle(getSchemaName(), lockNameType, lockName));
+        if (!allocateOnRequest) {
+            oracleDbmsLockDao.releaseLock(
+                    getLockHandle(getSchemaName(), lockNameType, lockName));
+            return;
+        }
+        String uniqueLockName = getUniqueLockName(getSchemaName(), lockNameType, lockName);
+        String lockHandle = lockIdentifiersCache ? lockHandleCache.getCachedLockHandle(uniqueLockName) : null;
+        if (lockHandle != null) {
+            oracleDbmsLockDao.releaseLock(lockHandle);
+            return;
+        }
+        lockHandle = oracleDbmsLockDao.allocateAndReleaseLock(uniqueLockName, allocatedLockTimeToLiveInSecond);
+        if (lockIdentifiersCache) {
+            lockHandleCache.putAll(Map.of(uniqueLockName, lockHandle));
+        }
+    }
+
+    @Override
+    public void unLockAll() {
+        oracleDbmsLockDao.releaseLocks();
     }
 
     @Override
     public String getSchemaName() {
-        try {
-            if (schemaName == null) {
-                synchronized (OracleDbmsLockService.class) {
-                    if (schemaName == null) {
-                        schemaName = oracleDbmsLockDao.currentSchema();
-                    }
-                }
-            }
-            return schemaName;
-        } catch (Exception e) {
-            throw new LockManagerRunTimeException(e.getMessage(), e);
-        }
+        return schemaName;
     }
 
     public String getLockHandle(String schemaName, String lockNameType, String lockName) {
         logger.debug("Requesting lock handle for lock with name '{}'.", lockName);
-        String uniqueLockName =
-                schemaName + "-" + lockNameType + (StringUtils.isNotEmpty(lockName) ? "-" + lockName : "");
+        String uniqueLockName = getUniqueLockName(schemaName, lockNameType, lockName);
         if (!lockIdentifiersCache) {
             return oracleDbmsLockDao.allocateLock(uniqueLockName, allocatedLockTimeToLiveInSecond);
         }
-        DbmsLockInfo dbmsLockDto = dbmsLockHandle.get(uniqueLockName);
-        if (dbmsLockDto == null || dbmsLockDto.getLockExpireTime().compareTo(new Date()) <= 0) {
-            if (uniqueLockName.length() > DBMS_LOCK_NAME_MAX_LENGTH) {
-                logger.error("Dbms lock name '{}' cannot be more than {} characters.",
-                        uniqueLockName, DBMS_LOCK_NAME_MAX_LENGTH);
-                throw new LockManagerRunTimeException("Dbms lock name cannot be more than " +
-                        DBMS_LOCK_NAME_MAX_LENGTH + " characters.");
+        return lockHandleCache.getLockHandle(uniqueLockName);
+    }
+
+    /**
+     * Returns the lock handles of the given lock names in the same order. Without lock identifiers cache, the
+     * handles are allocated in bulk.
+     */
+    private List<String> getLockHandles(String schemaName, String lockNameType, List<String> lockNames) {
+        List<String> lockHandles = new ArrayList<>(lockNames.size());
+        if (lockIdentifiersCache) {
+            for (String lockName : lockNames) {
+                lockHandles.add(lockHandleCache.getLockHandle(getUniqueLockName(schemaName, lockNameType, lockName)));
             }
-            Calendar expireDate = Calendar.getInstance();
-            expireDate.set(Calendar.SECOND, expireDate.get(Calendar.SECOND) + allocatedLockTimeToLiveInSecond);
-            dbmsLockDto = new DbmsLockInfo(
-                    uniqueLockName, oracleDbmsLockDao.allocateLock(uniqueLockName, allocatedLockTimeToLiveInSecond),
-                    expireDate.getTime());
-            dbmsLockHandle.put(uniqueLockName, dbmsLockDto);
+            return lockHandles;
+        }
+        List<String> uniqueLockNames = new ArrayList<>(lockNames.size());
+        for (String lockName : lockNames) {
+            uniqueLockNames.add(getUniqueLockName(schemaName, lockNameType, lockName));
+        }
+        Map<String, String> allocatedLockHandles =
+                oracleDbmsLockDao.allocateLocks(uniqueLockNames, allocatedLockTimeToLiveInSecond);
+        for (String uniqueLockName : uniqueLockNames) {
+            lockHandles.add(allocatedLockHandles.get(uniqueLockName));
+        }
+        return lockHandles;
+    }
+
+    /**
+     * Allocates and caches lock handles of the given lock names in bulk, e.g. at startup, so first requests of
+     * these locks do not allocate their handles. Has effect only if lock identifiers cache is enabled.
+     * As {@code DBMS_LOCK.ALLOCATE_UNIQUE}, it commits the current transaction.
+     *
+     * @param lockNameType lock name type
+     * @param lockNames    lock names
+     */
+    public void prewarmLockHandles(String lockNameType, Collection<String> lockNames) {
+        List<String> uniqueLockNames = new ArrayList<>(lockNames.size());
+        for (String lockName : lockNames) {
+            uniqueLockNames.add(getUniqueLockName(getSchemaName(), lockNameType, lockName));
+        }
+        lockHandleCache.putAll(oracleDbmsLockDao.allocateLocks(uniqueLockNames, allocatedLockTimeToLiveInSecond));
+    }
+
+    private static String getUniqueLockName(String schemaName, String lockNameType, String lockName) {
+        String uniqueLockName =
+                schemaName + "-" + lockNameType + (StringUtils.isNotEmpty(lockName) ? "-" + lockName : "");
+        if (uniqueLockName.length() > DBMS_LOCK_NAME_MAX_LENGTH) {
+            logger.error("Dbms lock name '{}' cannot be more than {} characters.",
+                    uniqueLockName, DBMS_LOCK_NAME_MAX_LENGTH);
+            throw new LockManagerRunTimeException("Dbms lock name cannot be more than " +
+                    DBMS_LOCK_NAME_MAX_LENGTH + " characters.");
         }
-        return dbmsLockDto.getLockHandel();
+        return uniqueLockName;
     }
 }
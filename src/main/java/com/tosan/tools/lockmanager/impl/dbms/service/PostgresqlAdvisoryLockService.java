@@ -0,0 +1,101 @@
+package com.tosan.tools.lockmanager.impl.dbms.service;
+
+import com.tosan.tools.lockmanager.exception.LockManagerRunTimeException;
+import com.tosan.tools.lockmanager.impl.dbms.dao.PostgresqlAdvisoryLockDao;
+import jakarta.persistence.EntityManager;
+import org.apache.commons.lang3.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * PostgreSQL lock service built on native advisory locks, needing no {@code dbms_lock} extension.
+ * Lock names are mapped to advisory lock keys by a 64-bit FNV-1a hash of {@code schema-lockNameType-lockName}.
+ * Locks requested with {@code releaseOnCommit} are transaction level locks and are released only at the end of the
+ * transaction; other locks are session level locks and converting a lock always results in a session level lock.
+ * <p>
+ * It is not selected by {@link com.tosan.tools.lockmanager.impl.dbms.dao.DbmsLockServiceFactory}; pass it to
+ * {@link com.tosan.tools.lockmanager.impl.dbms.DbmsLockManagementService#DbmsLockManagementService(DbmsLockService)}.
+ *
+ * @author mortezaei
+ * @since 10/18/2026
+ */
+public class PostgresqlAdvisoryLockService implements DbmsLockService {
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private final PostgresqlAdvisoryLockDao postgresqlAdvisoryLockDao;
+    private final String schemaName;
+
+    public PostgresqlAdvisoryLockService(EntityManager entityManager) {
+        this(entityManager, null);
+    }
+
+    /**
+     * @param schemaName lock namespace prefixed to lock names, or null to use the current schema, queried once here
+     */
+    public PostgresqlAdvisoryLockService(EntityManager entityManager, String schemaName) {
+        this.postgresqlAdvisoryLockDao = new PostgresqlAdvisoryLockDao(entityManager);
+        try {
+            this.schemaName = schemaName != null ? schemaName : postgresqlAdvisoryLockDao.currentSchema();
+        } catch (Exception e) {
+            throw new LockManagerRunTimeException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void requestReadLock(String lockNameType, String lockName, Integer timeout, boolean releaseOnCommit) {
+        postgresqlAdvisoryLockDao.requestLock(
+                getLockKey(getSchemaName(), lockNameType, lockName),
+                PostgresqlAdvisoryLockDao.SHARED_MODE, timeout, releaseOnCommit);
+    }
+
+    @Override
+    public void requestWriteLock(String lockNameType, String lockName, Integer timeout, boolean releaseOnCommit) {
+        postgresqlAdvisoryLockDao.requestLock(
+                getLockKey(getSchemaName(), lockNameType, lockName),
+                PostgresqlAdvisoryLockDao.EXCLUSIVE_MODE, timeout, releaseOnCommit);
+    }
+
+    @Override
+    public void convertToReadLock(String lockNameType, String lockName, Integer timeout) {
+        postgresqlAdvisoryLockDao.convertLock(
+                getLockKey(getSchemaName(), lockNameType, lockName),
+                PostgresqlAdvisoryLockDao.SHARED_MODE, timeout);
+    }
+
+    @Override
+    public void convertToWriteLock(String lockNameType, String lockName, Integer timeout) {
+        postgresqlAdvisoryLockDao.convertLock(
+                getLockKey(getSchemaName(), lockNameType, lockName),
+                PostgresqlAdvisoryLockDao.EXCLUSIVE_MODE, timeout);
+    }
+
+    @Override
+    public void unLock(String lockNameType, String lockName) {
+        postgresqlAdvisoryLockDao.releaseLock(
+                getLockKey(getSchemaName(), lockNameType, lockName));
+    }
+
+    /**
+     * Releases all session level advisory locks of the session, including ones not requested by this service.
+     */
+    @Override
+    public void unLockAll() {
+        postgresqlAdvisoryLockDao.releaseAllLocks();
+    }
+
+    @Override
+    public String getSchemaName() {
+        return schemaName;
+    }
+
+    public static long getLockKey(String schemaName, String lockNameType, String lockName) {
+        String uniqueLockName =
+                schemaName + "-" + lockNameType + (StringUtils.isNotEmpty(lockName) ? "-" + lockName : "");
+        long hash = FNV_OFFSET_BASIS;
+        for (byte b : uniqueLockName.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+}
@@ -7,11 +7,6 @@ import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.Calendar;
-import java.util.Date;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-
 /**
  * @author mortezaei
  * @since 11/19/2024
@@ -19,14 +14,29 @@ import java.util.concurrent.ConcurrentHashMap;
 public class PostgresqlDbmsLockService implements DbmsLockService {
     private static final Logger logger = LoggerFactory.getLogger(PostgresqlDbmsLockService.class);
     private static final short DBMS_LOCK_NAME_MAX_LENGTH = 128;
-    private static final Map<String, DbmsLockInfo> dbmsLockHandle = new ConcurrentHashMap<>();
     private final PostgresqlDbmsLockDao postgresqlDbmsLockDao;
+    private final DbmsLockHandleCache lockHandleCache;
     private boolean lockIdentifiersCache = false;
     private int allocatedLockTimeToLiveInSecond = 864000;
-    private String schemaName = null;
+    private final String schemaName;
 
     public PostgresqlDbmsLockService(EntityManager entityManager) {
+        this(entityManager, null);
+    }
+
+    /**
+     * @param schemaName lock namespace prefixed to lock names, or null to use the current schema, queried once here
+     */
+    public PostgresqlDbmsLockService(EntityManager entityManager, String schemaName) {
         this.postgresqlDbmsLockDao = new PostgresqlDbmsLockDao(entityManager);
+        try {
+            this.schemaName = schemaName != null ? schemaName : postgresqlDbmsLockDao.currentSchema();
+        } catch (Exception e) {
+            throw new LockManagerRunTimeException(e.getMessage(), e);
+        }
+        this.lockHandleCache = new DbmsLockHandleCache(
+                lockName -> postgresqlDbmsLockDao.allocateLock(lockName, allocatedLockTimeToLiveInSecond),
+                allocatedLockTimeToLiveInSecond);
     }
 
     public void setLockIdentifiersCache(boolean lockIdentifiersCache) {
@@ -35,6 +45,15 @@ public class PostgresqlDbmsLockService implements DbmsLockService {
 
     public void setAllocatedLockTimeToLiveInSecond(int allocatedLockTimeToLiveInSecond) {
         this.allocatedLockTimeToLiveInSecond = allocatedLockTimeToLiveInSecond;
+        lockHandleCache.setTimeToLiveInSecond(allocatedLockTimeToLiveInSecond);
+    }
+
+    public void setLockIdentifiersCacheMaximumSize(int lockIdentifiersCacheMaximumSize) {
+        lockHandleCache.setMaximumSize(lockIdentifiersCacheMaximumSize);
+    }
+
+    public DbmsLockHandleCache getLockHandleCache() {
+        return lockHandleCache;
     }
 
     @Override
@@ -59,50 +78,46 @@ public class PostgresqlDbmsLockService implements DbmsLockService {
     public void convertToWriteLock(String lockNameType, String lockName, Integer timeout) {
     }
 
+    @Override
+    public ResolvedDbmsLock resolveLock(String lockNameType, String lockName) {
+        return new AllocatedDbmsLock(postgresqlDbmsLockDao, getLockHandle(getSchemaName(), lockNameType, lockName),
+                PostgresqlDbmsLockDao.SHARED_MODE, PostgresqlDbmsLockDao.EXCLUSIVE_MODE);
+    }
+
     @Override
     public void unLock(String lockNameType, String lockName) {
         postgresqlDbmsLockDao.releaseLock(
                 getLockHandle(getSchemaName(), lockNameType, lockName));
     }
 
+    @Override
+    public void unLockAll() {
+        postgresqlDbmsLockDao.releaseLocks();
+    }
+
     @Override
     public String getSchemaName() {
-        try {
-            if (schemaName == null) {
-                synchronized (PostgresqlDbmsLockService.class) {
-                    if (schemaName == null) {
-                        schemaName = postgresqlDbmsLockDao.currentSchema();
-                    }
-                }
-            }
-            return schemaName;
-        } catch (Exception e) {
-            throw new LockManagerRunTimeException(e.getMessage(), e);
-        }
+        return schemaName;
     }
 
     public String getLockHandle(String schemaName, String lockNameType, String lockName) {
         logger.debug("Requesting lock handle for lock with name '{}'.", lockName);
-        String uniqueLockName =
-                schemaName + "-" + lockNameType + (StringUtils.isNotEmpty(lockName) ? "-" + lockName : "");
+        String uniqueLockName = getUniqueLockName(schemaName, lockNameType, lockName);
         if (!lockIdentifiersCache) {
             return postgresqlDbmsLockDao.allocateLock(uniqueLockName, allocatedLockTimeToLiveInSecond);
         }
-        DbmsLockInfo dbmsLockDto = dbmsLockHandle.get(uniqueLockName);
-        if (dbmsLockDto == null || dbmsLockDto.getLockExpireTime().compareTo(new Date()) <= 0) {
-            if (uniqueLockName.length() > DBMS_LOCK_NAME_MAX_LENGTH) {
-                logger.error("Dbms lock name '{}' cannot be more than {} characters.",
-                        uniqueLockName, DBMS_LOCK_NAME_MAX_LENGTH);
-                throw new LockManagerRunTimeException("Dbms lock name cannot be more than " +
-                        DBMS_LOCK_NAME_MAX_LENGTH + " characters.");
-            }
-            Calendar expireDate = Calendar.getInstance();
-            expireDate.set(Calendar.SECOND, expireDate.get(Calendar.SECOND) + allocatedLockTimeToLiveInSecond);
-            dbmsLockDto = new DbmsLockInfo(
-                    uniqueLockName, postgresqlDbmsLockDao.allocateLock(uniqueLockName, allocatedLockTimeToLiveInSecond),
-                    expireDate.getTime());
-            dbmsLockHandle.put(uniqueLockName, dbmsLockDto);
+        return lockHandleCache.getLockHandle(uniqueLockName);
+    }
+
+    private static String getUniqueLockName(String schemaName, String lockNameType, String lockName) {
+        String uniqueLockName =
+                schemaName + "-" + lockNameType + (StringUtils.isNotEmpty(lockName) ? "-" + lockName : "");
+        if (uniqueLockName.length() > DBMS_LOCK_NAME_MAX_LENGTH) {
+            logger.error("Dbms lock name '{}' cannot be more than {} characters.",
+                    uniqueLockName, DBMS_LOCK_NAME_MAX_LENGTH);
+            throw new LockManagerRunTimeException("Dbms lock name cannot be more than " +
+                    DBMS_LOCK_NAME_MAX_LENGTH + " characters.");
         }
-        return dbmsLockDto.getLockHandel();
+        return uniqueLockName;
     }
 }
@@ -0,0 +1,26 @@
+package com.tosan.tools.lockmanager.impl.dbms.service;
+
+import com.tosan.tools.lockmanager.api.LockMode;
+import com.tosan.tools.lockmanager.exception.LockManagerTimeoutException;
+
+/**
+ * A lock of {@link DbmsLockService} with its database identifier resolved once, e.g. the {@code DBMS_LOCK} handle,
+ * so requesting, converting and releasing it do not resolve the identifier again.
+ *
+ * @author mortezaei
+ * @since 10/18/2026
+ */
+public interface ResolvedDbmsLock {
+
+    /**
+     * @throws LockManagerTimeoutException If the lock cannot be granted within this time period.
+     */
+    void request(LockMode lockMode, Integer timeout, boolean releaseOnCommit);
+
+    /**
+     * @throws LockManagerTimeoutException If the lock cannot be granted within this time period.
+     */
+    void convert(LockMode lockMode, Integer timeout);
+
+    void release();
+}
@@ -0,0 +1,37 @@
+package com.tosan.tools.lockmanager.impl.hazelcast;
+
+import com.hazelcast.map.EntryProcessor;
+import com.hazelcast.map.ExtendedMapEntry;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Adds a member to the read lock of an entry, starting a new read lock if there is none or it is expired. The entry
+ * lives until the read lock expires.
+ *
+ * @author mortezaei
+ * @since 10/18/2026
+ */
+public class AddReadLockMemberProcessor implements EntryProcessor<String, HazelcastReadLockInfo, Void> {
+    private final UUID memberId;
+    private final long expireTime;
+
+    public AddReadLockMemberProcessor(UUID memberId, long expireTime) {
+        this.memberId = memberId;
+        this.expireTime = expireTime;
+    }
+
+    @Override
+    public Void process(Map.Entry<String, HazelcastReadLockInfo> entry) {
+        HazelcastReadLockInfo readLockInfo = entry.getValue();
+        if (readLockInfo == null || readLockInfo.isExpire()) {
+            readLockInfo = new HazelcastReadLockInfo(expireTime);
+        }
+        readLockInfo.addMember(memberId);
+        ((ExtendedMapEntry<String, HazelcastReadLockInfo>) entry).setValue(readLockInfo, readLockInfo.getTimeToLive(),
+                TimeUnit.MILLISECONDS);
+        return null;
+    }
+}
@@ -0,0 +1,41 @@
+package com.tosan.tools.lockmanager.impl.hazelcast;
+
+import com.hazelcast.map.EntryProcessor;
+import com.hazelcast.map.ExtendedMapEntry;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sets the write lock of an entry if it is free, expired or already held by the same owner, so that one processor can
+ * claim many entries. The entry lives until the write lock expires. Returns null when the lock is claimed, otherwise
+ * the write lock currently holding the entry.
+ *
+ * @author mortezaei
+ * @since 10/18/2026
+ */
+public class ClaimWriteLockProcessor implements EntryProcessor<String, HazelcastWriteLockInfo, HazelcastWriteLockInfo> {
+    private final UUID memberId;
+    private final long owner;
+    private final long expireTime;
+
+    public ClaimWriteLockProcessor(UUID memberId, long owner, long expireTime) {
+        this.memberId = memberId;
+        this.owner = owner;
+        this.expireTime = expireTime;
+    }
+
+    @Override
+    public HazelcastWriteLockInfo process(Map.Entry<String, HazelcastWriteLockInfo> entry) {
+        HazelcastWriteLockInfo currentWriteLockInfo = entry.getValue();
+        if (currentWriteLockInfo != null && !currentWriteLockInfo.isExpire()
+                && !currentWriteLockInfo.isHeldBy(memberId, owner)) {
+            return currentWriteLockInfo;
+        }
+        HazelcastWriteLockInfo writeLockInfo = new HazelcastWriteLockInfo(memberId, owner, expireTime);
+        ((ExtendedMapEntry<String, HazelcastWriteLockInfo>) entry).setValue(writeLockInfo, writeLockInfo.getTimeToLive(),
+                TimeUnit.MILLISECONDS);
+        return null;
+    }
+}
@@ -0,0 +1,77 @@
+package com.tosan.tools.lockmanager.impl.hazelcast;
+
+import com.tosan.tools.lockmanager.api.AsyncLockManagementService;
+import com.tosan.tools.lockmanager.api.LockHandle;
+import com.tosan.tools.lockmanager.exception.LockManagerTimeoutException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * @author mortezaei
+ * @since 10/18/2026
+ */
+public class HazelcastAsyncLockManagementService implements AsyncLockManagementService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(HazelcastAsyncLockManagementService.class);
+    private final HazelcastService hazelcastLock;
+
+    public HazelcastAsyncLockManagementService(HazelcastService hazelcastLock) {
+        this.hazelcastLock = hazelcastLock;
+    }
+
+    @Override
+    public CompletionStage<LockHandle> requestReadLock(String lockNameType, String lockName, Integer lockTimeout) {
+        CompletionStage<LockHandle> readLock = hazelcastLock.requestReadLockAsync(lockNameType, lockName, lockTimeout);
+        readLock.whenComplete((lockHandle, e) -> {
+            if (isTimeout(e)) {
+                LOGGER.warn("Write lock '{}' held by another method: " + e.getMessage(), lockName);
+            }
+        });
+        return readLock;
+    }
+
+    @Override
+    public CompletionStage<LockHandle> requestWriteLock(String lockNameType, String lockName, Integer lockTimeout) {
+        CompletionStage<LockHandle> writeLock = hazelcastLock.requestWriteLockAsync(lockNameType, lockName, lockTimeout);
+        writeLock.whenComplete((lockHandle, e) -> {
+            if (isTimeout(e)) {
+                LOGGER.warn("Write or read lock '{}' held by another method: " + e.getMessage(), lockName);
+            }
+        });
+        return writeLock;
+    }
+
+    @Override
+    public CompletionStage<LockHandle> convertToReadLock(LockHandle lockHandle, Integer lockTimeout) {
+        CompletionStage<LockHandle> readLock = hazelcastLock.convertToReadLockAsync(lockHandle, lockTimeout);
+        readLock.whenComplete((convertedLockHandle, e) -> {
+            if (isTimeout(e)) {
+                LOGGER.warn("Write lock '{}' held by another method: " + e.getMessage(), lockHandle.getLockName());
+            }
+        });
+        return readLock;
+    }
+
+    @Override
+    public CompletionStage<LockHandle> convertToWriteLock(LockHandle lockHandle, Integer lockTimeout) {
+        CompletionStage<LockHandle> writeLock = hazelcastLock.convertToWriteLockAsync(lockHandle, lockTimeout);
+        writeLock.whenComplete((convertedLockHandle, e) -> {
+            if (isTimeout(e)) {
+                LOGGER.warn("Write or read lock '{}' held by another method: " + e.getMessage(), lockHandle.getLockName());
+            }
+        });
+        return writeLock;
+    }
+
+    @Override
+    public CompletionStage<Void> unlock(LockHandle lockHandle) {
+        return hazelcastLock.unlockAsync(lockHandle);
+    }
+
+    private static boolean isTimeout(Throwable e) {
+        return e instanceof LockManagerTimeoutException
+                || e instanceof CompletionException && e.getCause() instanceof LockManagerTimeoutException;
+    }
+}
@@ -0,0 +1,49 @@
+package com.tosan.tools.lockmanager.impl.hazelcast;
+
+import com.tosan.tools.lockmanager.api.AbstractCloseableLockHandle;
+import com.tosan.tools.lockmanager.api.LockMode;
+
+/**
+ * Hazelcast CP lock owned by the thread that acquired it, with the fencing token of its acquisition.
+ *
+ * @author mortezaei
+ * @since 10/18/2026
+ */
+public class HazelcastCpLockHandle extends AbstractCloseableLockHandle {
+    private final HazelcastCpLockService hazelcastCpLockService;
+    private final String lockKey;
+    private long fence;
+
+    HazelcastCpLockHandle(HazelcastCpLockService hazelcastCpLockService, String lockNameType, String lockName,
+                          LockMode lockMode, String lockKey, long fence) {
+        super(lockNameType, lockName, lockMode);
+        this.hazelcastCpLockService = hazelcastCpLockService;
+        this.lockKey = lockKey;
+        this.fence = fence;
+    }
+
+    /**
+     * Returns the fencing token of the lock, increasing with every acquisition of the lock in either mode. Resources
+     * guarded by the lock reject writes carrying a lower token than one already seen, e.g. of a holder paused past
+     * the expiry of its session.
+     *
+     * @return fencing token of the lock
+     */
+    public long getFence() {
+        return fence;
+    }
+
+    String getLockKey() {
+        return lockKey;
+    }
+
+    @Override
+    protected void release(LockMode lockMode) {
+        hazelcastCpLockService.releaseLock(this, lockMode);
+    }
+
+    @Override
+    protected void convert(LockMode currentMode, LockMode lockMode, Integer lockTimeout) {
+        fence = hazelcastCpLockService.convertLock(this, lockMode, lockTimeout);
+    }
+}
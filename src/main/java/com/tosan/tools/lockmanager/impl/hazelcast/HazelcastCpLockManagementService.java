@@ -0,0 +1,115 @@
+package com.tosan.tools.lockmanager.impl.hazelcast;
+
+import com.tosan.tools.lockmanager.api.LockManagementService;
+import com.tosan.tools.lockmanager.api.LockMode;
+import com.tosan.tools.lockmanager.exception.LockManagerTimeoutException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Lock management on the Hazelcast CP subsystem. Handles returned by {@link #acquireReadLock} and
+ * {@link #acquireWriteLock} carry the fencing token of the acquisition.
+ *
+ * @author mortezaei
+ * @since 10/18/2026
+ */
+public class HazelcastCpLockManagementService implements LockManagementService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(HazelcastCpLockManagementService.class);
+    private final HazelcastCpLockService hazelcastCpLockService;
+
+    public HazelcastCpLockManagementService(HazelcastCpLockService hazelcastCpLockService) {
+        this.hazelcastCpLockService = hazelcastCpLockService;
+    }
+
+    @Override
+    public void requestReadLock(String lockNameType, boolean releaseOnCommit) throws LockManagerTimeoutException {
+        requestReadLock(lockNameType, null, null, releaseOnCommit);
+    }
+
+    @Override
+    public void requestReadLock(String lockNameType, String lockName, boolean releaseOnCommit) throws LockManagerTimeoutException {
+        requestReadLock(lockNameType, lockName, null, releaseOnCommit);
+    }
+
+    @Override
+    public void requestReadLock(String lockNameType, String lockName, Integer lockTimeout, boolean releaseOnCommit) throws LockManagerTimeoutException {
+        try {
+            hazelcastCpLockService.requestReadLock(lockNameType, lockName, lockTimeout);
+        } catch (LockManagerTimeoutException e) {
+            LOGGER.warn("Write lock '{}' held by another method: " + e.getMessage(), lockName);
+            throw e;
+        }
+    }
+
+    @Override
+    public void requestWriteLock(String lockNameType, boolean releaseOnCommit) throws LockManagerTimeoutException {
+        requestWriteLock(lockNameType, null, null, releaseOnCommit);
+    }
+
+    @Override
+    public void requestWriteLock(String lockNameType, String lockName, boolean releaseOnCommit) throws LockManagerTimeoutException {
+        requestWriteLock(lockNameType, lockName, null, releaseOnCommit);
+    }
+
+    @Override
+    public void requestWriteLock(String lockNameType, String lockName, Integer lockTimeout, boolean releaseOnCommit) throws LockManagerTimeoutException {
+        try {
+            hazelcastCpLockService.requestWriteLock(lockNameType, lockName, lockTimeout);
+        } catch (LockManagerTimeoutException e) {
+            LOGGER.warn("Write or read lock '{}' held by another method: " + e.getMessage(), lockName);
+            throw e;
+        }
+    }
+
+    @Override
+    public HazelcastCpLockHandle acquireReadLock(String lockNameType, String lockName, Integer lockTimeout)
+            throws LockManagerTimeoutException {
+        try {
+            return hazelcastCpLockService.acquireLock(lockNameType, lockName, LockMode.READ, lockTimeout);
+        } catch (LockManagerTimeoutException e) {
+            LOGGER.warn("Write lock '{}' held by another method: " + e.getMessage(), lockName);
+            throw e;
+        }
+    }
+
+    @Override
+    public HazelcastCpLockHandle acquireWriteLock(String lockNameType, String lockName, Integer lockTimeout)
+            throws LockManagerTimeoutException {
+        try {
+            return hazelcastCpLockService.acquireLock(lockNameType, lockName, LockMode.WRITE, lockTimeout);
+        } catch (LockManagerTimeoutException e) {
+            LOGGER.warn("Write or read lock '{}' held by another method: " + e.getMessage(), lockName);
+            throw e;
+        }
+    }
+
+    @Override
+    public void unlock(String lockNameType) {
+        unlock(lockNameType, null);
+    }
+
+    @Override
+    public void unlock(String lockNameType, String lockName) {
+        hazelcastCpLockService.unLock(lockNameType, lockName);
+    }
+
+    @Override
+    public void unlockAll() {
+        hazelcastCpLockService.unLockAll();
+    }
+
+    @Override
+    public void convertToReadLock(String lockNameType, String lockName, Integer lockTimeout) throws LockManagerTimeoutException {
+        hazelcastCpLockService.convertToReadLock(lockNameType, lockName);
+    }
+
+    @Override
+    public void convertToWriteLock(String lockNameType, String lockName, Integer lockTimeout) throws LockManagerTimeoutException {
+        try {
+            hazelcastCpLockService.convertToWriteLock(lockNameType, lockName, lockTimeout);
+        } catch (LockManagerTimeoutException e) {
+            LOGGER.warn("Write or read lock '{}' held by another method: " + e.getMessage(), lockName);
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,432 @@
+package com.tosan.tools.lockmanager.impl.hazelcast;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.HazelcastInstanceNotActiveException;
+import com.hazelcast.cp.CPSubsystem;
+import com.hazelcast.cp.ISemaphore;
+import com.hazelcast.cp.lock.FencedLock;
+import com.tosan.tools.lockmanager.api.LockMode;
+import com.tosan.tools.lockmanager.exception.LockManagerRunTimeException;
+import com.tosan.tools.lockmanager.exception.LockManagerTimeoutException;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hazelcast locks on the CP subsystem, linearizable through Raft instead of the AP lock maps of
+ * {@link HazelcastService}, with a fencing token returned by each acquisition.
+ * <p>
+ * Every lock is a {@link FencedLock} gate and an {@link ISemaphore} of {@code maxReaders} permits of the same name:
+ * a reader passes the gate and takes one permit, a writer holds the gate and takes all of them, so waiting writers
+ * hold off new readers. A writer requesting a read lock is lent one of its permits, kept as a read share once the
+ * write lock is released. Fences of the gate increase with every acquisition in either mode. CP objects are bound to
+ * the CP session of the member, so locks of a crashed member are released when its session expires.
+ * <p>
+ * CP objects are created per lock name and live until their CP group is destroyed, so this service suits a bounded
+ * set of lock names. Lock names must not contain {@code '@'}, the CP group separator. The CP subsystem needs at least
+ * three CP members; it is open source up to Hazelcast 5.4 and an Enterprise feature since 5.5, so without an
+ * Enterprise license this service needs Hazelcast 5.4, which the {@code hazelcast-cp} build profile tests against.
+ *
+ * @author mortezaei
+ * @since 10/18/2026
+ */
+public class HazelcastCpLockService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(HazelcastCpLockService.class);
+    private static final int DEFAULT_READ_LOCK_TIMEOUT = 60;
+    private static final int DEFAULT_WRITE_LOCK_TIMEOUT = 7200;
+    private static final int DEFAULT_MAX_READERS = 1024;
+    private HazelcastInstance hazelcastInstance;
+    private String cpGroupName;
+    private int maxReaders = DEFAULT_MAX_READERS;
+    private final Set<String> initializedSemaphores = ConcurrentHashMap.newKeySet();
+    private final ThreadLocal<Map<String, WriteLockHold>> writeLockHolds = ThreadLocal.withInitial(HashMap::new);
+    private final ThreadLocal<Map<String, Integer>> readLockHolds = ThreadLocal.withInitial(HashMap::new);
+
+    public void setHazelcastInstance(HazelcastInstance hazelcastInstance) {
+        this.hazelcastInstance = hazelcastInstance;
+    }
+
+    /**
+     * Sets the CP group of the locks, the default CP group if not set.
+     */
+    public void setCpGroupName(String cpGroupName) {
+        this.cpGroupName = cpGroupName;
+    }
+
+    /**
+     * Sets the maximum number of concurrent read shares of a lock. All services of the cluster must use the same value.
+     */
+    public void setMaxReaders(int maxReaders) {
+        this.maxReaders = maxReaders;
+    }
+
+    /**
+     * @return fencing token of the acquisition
+     */
+    public long requestReadLock(String lockNameType, String lockName, Integer lockTimeout) {
+        Integer timeout = lockTimeout;
+        if (timeout == null) {
+            timeout = DEFAULT_READ_LOCK_TIMEOUT;
+        }
+        String lockKey = getLockKey(lockNameType, lockName);
+        LOGGER.debug("Requesting read lock with key {}", lockKey);
+        long fence;
+        try {
+            fence = lockRead(lockKey, getDeadline(timeout));
+        } catch (RuntimeException e) {
+            throw getLockException(e);
+        }
+        LOGGER.debug("Acquired read lock with key {} and fence {}.", lockKey, fence);
+        return fence;
+    }
+
+    /**
+     * @return fencing token of the acquisition
+     */
+    public long requestWriteLock(String lockNameType, String lockName, Integer lockTimeout) {
+        Integer timeout = lockTimeout;
+        if (timeout == null) {
+            timeout = DEFAULT_WRITE_LOCK_TIMEOUT;
+        }
+        String lockKey = getLockKey(lockNameType, lockName);
+        LOGGER.debug("Requesting write lock with key {}", lockKey);
+        long fence;
+        try {
+            fence = lockWrite(lockKey, getDeadline(timeout));
+        } catch (RuntimeException e) {
+            throw getLockException(e);
+        }
+        LOGGER.debug("Acquired write lock with key {} and fence {}.", lockKey, fence);
+        return fence;
+    }
+
+    public HazelcastCpLockHandle acquireLock(String lockNameType, String lockName, LockMode lockMode, Integer lockTimeout) {
+        long fence = lockMode == LockMode.READ ? requestReadLock(lockNameType, lockName, lockTimeout) :
+                requestWriteLock(lockNameType, lockName, lockTimeout);
+        return new HazelcastCpLockHandle(this, lockNameType, lockName, lockMode, getLockKey(lockNameType, lockName), fence);
+    }
+
+    /**
+     * Converts the write lock of the current thread; if it holds no write lock, nothing is changed.
+     */
+    public void convertToReadLock(String lockNameType, String lockName) {
+        String lockKey = getLockKey(lockNameType, lockName);
+        LOGGER.debug("Requesting convert to read lock with key {}", lockKey);
+        try {
+            if (downgrade(lockKey)) {
+                LOGGER.debug("Converted to read lock with key {}", lockKey);
+            } else {
+                LOGGER.debug("Already granted a read lock with key {}", lockKey);
+            }
+        } catch (RuntimeException e) {
+            throw getLockException(e);
+        }
+    }
+
+    /**
+     * Converts a read lock of the current thread, waiting until its read shares are the only ones left. New readers
+     * are held off meanwhile; on timeout the read shares are still held. Other read shares of the thread are kept
+     * under the write lock.
+     *
+     * @return fencing token of the write lock
+     */
+    public long convertToWriteLock(String lockNameType, String lockName, Integer lockTimeout) {
+        Integer timeout = lockTimeout;
+        if (timeout == null) {
+            timeout = DEFAULT_WRITE_LOCK_TIMEOUT;
+        }
+        String lockKey = getLockKey(lockNameType, lockName);
+        LOGGER.debug("Requesting convert to write lock with key {}", lockKey);
+        long fence;
+        try {
+            fence = upgrade(lockKey, getDeadline(timeout));
+        } catch (RuntimeException e) {
+            throw getLockException(e);
+        }
+        LOGGER.debug("Converted to write lock with key {} and fence {}", lockKey, fence);
+        return fence;
+    }
+
+    /**
+     * Releases the write lock of the current thread, or else one read share of the current thread.
+     */
+    public void unLock(String lockNameType, String lockName) {
+        String lockKey = getLockKey(lockNameType, lockName);
+        LOGGER.debug("Requesting release lock with key {}", lockKey);
+        try {
+            LockMode lockMode = writeLockHolds.get().containsKey(lockKey) ? LockMode.WRITE : LockMode.READ;
+            release(lockKey, lockMode);
+        } catch (RuntimeException e) {
+            throw getLockException(e);
+        }
+        LOGGER.debug("Released lock with key {}", lockKey);
+    }
+
+    /**
+     * Releases every write lock and read share held by the current thread, however acquired. All the locks are
+     * released even if some releases fail, the first failure being thrown. Handles of released locks are left to be
+     * closed, which then releases nothing.
+     */
+    public void unLockAll() {
+        Map<String, WriteLockHold> writeHolds = writeLockHolds.get();
+        Map<String, Integer> readHolds = readLockHolds.get();
+        if (writeHolds.isEmpty() && readHolds.isEmpty()) {
+            return;
+        }
+        Map<String, WriteLockHold> writeLocks = new HashMap<>(writeHolds);
+        Map<String, Integer> readShares = new HashMap<>(readHolds);
+        writeHolds.clear();
+        readHolds.clear();
+        LOGGER.debug("Requesting release of write locks with keys {} and read locks with keys {}", writeLocks.keySet(),
+                readShares.keySet());
+        RuntimeException exception = null;
+        for (Map.Entry<String, WriteLockHold> writeLock : writeLocks.entrySet()) {
+            try {
+                getPermits(writeLock.getKey()).release(maxReaders - writeLock.getValue().lentPermits);
+                getGate(writeLock.getKey()).unlock();
+            } catch (RuntimeException e) {
+                exception = addException(exception, e);
+            }
+        }
+        for (Map.Entry<String, Integer> readShare : readShares.entrySet()) {
+            try {
+                getPermits(readShare.getKey()).release(readShare.getValue());
+            } catch (RuntimeException e) {
+                exception = addException(exception, e);
+            }
+        }
+        if (exception != null) {
+            throw exception;
+        }
+    }
+
+    /**
+     * Releases the lock of a handle unless {@link #unLockAll()} already released it.
+     */
+    void releaseLock(HazelcastCpLockHandle lockHandle, LockMode lockMode) {
+        String lockKey = lockHandle.getLockKey();
+        if (lockMode == LockMode.READ ? !readLockHolds.get().containsKey(lockKey) :
+                !writeLockHolds.get().containsKey(lockKey)) {
+            LOGGER.debug("Lock with key {} is already released", lockKey);
+            return;
+        }
+        try {
+            release(lockKey, lockMode);
+        } catch (RuntimeException e) {
+            throw getLockException(e);
+        }
+        LOGGER.debug("Released lock with key {}", lockHandle.getLockKey());
+    }
+
+    /**
+     * @return fencing token of the lock in the new mode
+     */
+    long convertLock(HazelcastCpLockHandle lockHandle, LockMode lockMode, Integer lockTimeout) {
+        if (lockMode == LockMode.READ) {
+            convertToReadLock(lockHandle.getLockNameType(), lockHandle.getLockName());
+            return lockHandle.getFence();
+        }
+        return convertToWriteLock(lockHandle.getLockNameType(), lockHandle.getLockName(), lockTimeout);
+    }
+
+    private long lockRead(String lockKey, long deadline) {
+        WriteLockHold writeHold = writeLockHolds.get().get(lockKey);
+        if (writeHold != null) {
+            writeHold.lentPermits++;
+            readLockHolds.get().merge(lockKey, 1, Integer::sum);
+            return writeHold.fence;
+        }
+        FencedLock gate = getGate(lockKey);
+        ISemaphore permits = getPermits(lockKey);
+        long fence = gate.tryLockAndGetFence(getRemainingNanos(deadline), TimeUnit.NANOSECONDS);
+        if (fence == FencedLock.INVALID_FENCE) {
+            throw new LockManagerTimeoutException("Write lock is held by another process.");
+        }
+        try {
+            if (!tryAcquire(permits, 1, deadline)) {
+                throw new LockManagerTimeoutException("Write lock is held by another process.");
+            }
+        } finally {
+            gate.unlock();
+        }
+        readLockHolds.get().merge(lockKey, 1, Integer::sum);
+        return fence;
+    }
+
+    private long lockWrite(String lockKey, long deadline) {
+        Map<String, WriteLockHold> holds = writeLockHolds.get();
+        WriteLockHold hold = holds.get(lockKey);
+        if (hold != null) {
+            hold.count++;
+            return hold.fence;
+        }
+        FencedLock gate = getGate(lockKey);
+        long fence = gate.tryLockAndGetFence(getRemainingNanos(deadline), TimeUnit.NANOSECONDS);
+        if (fence == FencedLock.INVALID_FENCE) {
+            throw new LockManagerTimeoutException("Write lock is held by another process.");
+        }
+        acquirePermits(gate, lockKey, maxReaders, deadline);
+        holds.put(lockKey, new WriteLockHold(fence));
+        return fence;
+    }
+
+    private boolean downgrade(String lockKey) {
+        WriteLockHold hold = writeLockHolds.get().remove(lockKey);
+        if (hold == null) {
+            return false;
+        }
+        getPermits(lockKey).release(maxReaders - 1 - hold.lentPermits);
+        getGate(lockKey).unlock();
+        readLockHolds.get().merge(lockKey, 1, Integer::sum);
+        return true;
+    }
+
+    private long upgrade(String lockKey, long deadline) {
+        Map<String, WriteLockHold> holds = writeLockHolds.get();
+        WriteLockHold hold = holds.get(lockKey);
+        if (hold != null) {
+            return hold.fence;
+        }
+        int readShares = readLockHolds.get().getOrDefault(lockKey, 0);
+        if (readShares == 0) {
+            throw new LockManagerRunTimeException("Thread does not own read lock to convert.");
+        }
+        FencedLock gate = getGate(lockKey);
+        long fence = gate.tryLockAndGetFence(getRemainingNanos(deadline), TimeUnit.NANOSECONDS);
+        if (fence == FencedLock.INVALID_FENCE) {
+            throw new LockManagerTimeoutException("Write lock is held by another process.");
+        }
+        acquirePermits(gate, lockKey, maxReaders - readShares, deadline);
+        releaseReadHold(lockKey);
+        hold = new WriteLockHold(fence);
+        hold.lentPermits = readShares - 1;
+        holds.put(lockKey, hold);
+        return fence;
+    }
+
+    private void acquirePermits(FencedLock gate, String lockKey, int permitCount, long deadline) {
+        boolean acquired = false;
+        try {
+            acquired = tryAcquire(getPermits(lockKey), permitCount, deadline);
+        } finally {
+            if (!acquired) {
+                gate.unlock();
+            }
+        }
+        if (!acquired) {
+            throw new LockManagerTimeoutException("Read lock is held by another process.");
+        }
+    }
+
+    private boolean tryAcquire(ISemaphore permits, int permitCount, long deadline) {
+        try {
+            return permits.tryAcquire(permitCount, getRemainingNanos(deadline), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LockManagerTimeoutException("Timeout error occurred in 'HAZELCAST_CP_LOCK' request.");
+        }
+    }
+
+    private void release(String lockKey, LockMode lockMode) {
+        if (lockMode == LockMode.READ) {
+            if (!readLockHolds.get().containsKey(lockKey)) {
+                throw new LockManagerRunTimeException("Thread does not own read lock to release.");
+            }
+            getPermits(lockKey).release();
+            releaseReadHold(lockKey);
+            return;
+        }
+        Map<String, WriteLockHold> holds = writeLockHolds.get();
+        WriteLockHold hold = holds.get(lockKey);
+        if (hold == null) {
+            throw new LockManagerRunTimeException("Thread does not own write lock to release.");
+        }
+        if (--hold.count > 0) {
+            return;
+        }
+        holds.remove(lockKey);
+        getPermits(lockKey).release(maxReaders - hold.lentPermits);
+        getGate(lockKey).unlock();
+    }
+
+    /**
+     * Forgets one read share of the current thread, the one converted or released.
+     */
+    private void releaseReadHold(String lockKey) {
+        readLockHolds.get().computeIfPresent(lockKey, (key, count) -> count > 1 ? count - 1 : null);
+    }
+
+    private FencedLock getGate(String lockKey) {
+        return getCpSubsystem().getLock(getCpObjectName(lockKey));
+    }
+
+    private ISemaphore getPermits(String lockKey) {
+        String name = getCpObjectName(lockKey);
+        ISemaphore permits = getCpSubsystem().getSemaphore(name);
+        if (!initializedSemaphores.contains(name)) {
+            permits.init(maxReaders);
+            initializedSemaphores.add(name);
+        }
+        return permits;
+    }
+
+    private CPSubsystem getCpSubsystem() {
+        if (hazelcastInstance == null) {
+            throw new LockManagerRunTimeException("Hazelcast instance is not set.");
+        }
+        return hazelcastInstance.getCPSubsystem();
+    }
+
+    private String getCpObjectName(String lockKey) {
+        return StringUtils.isNotEmpty(cpGroupName) ? lockKey + "@" + cpGroupName : lockKey;
+    }
+
+    private RuntimeException addException(RuntimeException exception, RuntimeException e) {
+        RuntimeException lockException = getLockException(e);
+        if (exception == null) {
+            return lockException;
+        }
+        exception.addSuppressed(lockException);
+        return exception;
+    }
+
+    private RuntimeException getLockException(RuntimeException e) {
+        if (e instanceof LockManagerRunTimeException) {
+            return e;
+        } else if (e instanceof HazelcastInstanceNotActiveException) {
+            return new LockManagerRunTimeException("Hazelcast instance is not active");
+        }
+        return new LockManagerRunTimeException("Error occurred in 'HAZELCAST_CP_LOCK' request.", e);
+    }
+
+    private long getDeadline(int timeout) {
+        return System.nanoTime() + TimeUnit.SECONDS.toNanos(timeout);
+    }
+
+    private long getRemainingNanos(long deadline) {
+        return Math.max(0, deadline - System.nanoTime());
+    }
+
+    private String getLockKey(String lockNameType, String lockName) {
+        return lockNameType + (StringUtils.isNotEmpty(lockName) ? "-" + lockName : "");
+    }
+
+    private static class WriteLockHold {
+        private final long fence;
+        private int count = 1;
+        /**
+         * Permits handed over to read shares of the thread, which release them on their own.
+         */
+        private int lentPermits;
+
+        WriteLockHold(long fence) {
+            this.fence = fence;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.tosan.tools.lockmanager.impl.hazelcast;
+
+import com.tosan.tools.lockmanager.api.LockHandle;
+import com.tosan.tools.lockmanager.api.LockMode;
+
+/**
+ * @author mortezaei
+ * @since 10/18/2026
+ */
+public class HazelcastLockHandle implements LockHandle {
+    private final String lockNameType;
+    private final String lockName;
+    private final LockMode lockMode;
+    private final String lockHandle;
+    private final long owner;
+
+    HazelcastLockHandle(String lockNameType, String lockName, LockMode lockMode, String lockHandle, long owner) {
+        this.lockNameType = lockNameType;
+        this.lockName = lockName;
+        this.lockMode = lockMode;
+        this.lockHandle = lockHandle;
+        this.owner = owner;
+    }
+
+    @Override
+    public String getLockNameType() {
+        return lockNameType;
+    }
+
+    @Override
+    public String getLockName() {
+        return lockName;
+    }
+
+    @Override
+    public LockMode getLockMode() {
+        return lockMode;
+    }
+
+    String getLockHandle() {
+        return lockHandle;
+    }
+
+    /**
+     * @return negative owner id of the write lock of the asynchronous request, unique on this member
+     */
+    long getOwner() {
+        return owner;
+    }
+
+    HazelcastLockHandle withLockMode(LockMode lockMode) {
+        return new HazelcastLockHandle(lockNameType, lockName, lockMode, lockHandle, owner);
+    }
+}
@@ -6,6 +6,8 @@ import com.tosan.tools.lockmanager.exception.LockManagerRunTimeException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Collection;
+
 /**
  * @author R.Mehri
  * @since 29/09/2020
@@ -78,6 +80,28 @@ public class HazelcastLockManagementService implements LockManagementService {
         }
     }
 
+    @Override
+    public void requestReadLocks(String lockNameType, Collection<String> lockNames, Integer lockTimeout)
+            throws LockManagerTimeoutException {
+        try {
+            hazelcastLock.requestReadLocks(lockNameType, lockNames, lockTimeout);
+        } catch (LockManagerTimeoutException e) {
+            LOGGER.warn("Write lock of one of '{}' held by another method: " + e.getMessage(), lockNames);
+            throw e;
+        }
+    }
+
+    @Override
+    public void requestWriteLocks(String lockNameType, Collection<String> lockNames, Integer lockTimeout)
+            throws LockManagerTimeoutException {
+        try {
+            hazelcastLock.requestWriteLocks(lockNameType, lockNames, lockTimeout);
+        } catch (LockManagerTimeoutException e) {
+            LOGGER.warn("Write or read lock of one of '{}' held by another method: " + e.getMessage(), lockNames);
+            throw e;
+        }
+    }
+
     @Override
     public void unlock(String lockNameType) throws LockManagerTimeoutException {
         try {
@@ -96,6 +120,23 @@ public class HazelcastLockManagementService implements LockManagementService {
         }
     }
 
+    @Override
+    public void unlockAll(String lockNameType, Collection<String> lockNames) {
+        try {
+            hazelcastLock.unLockAll(lockNameType, lockNames);
+        } catch (LockManagerTimeoutException e) {
+            LOGGER.warn("Could not unlock! {} " + e.getMessage(), lockNames);
+        }
+    }
+
+    /**
+     * Releases the locks held by the current thread, as lock owners are members and not threads.
+     */
+    @Override
+    public void unlockAll() {
+        hazelcastLock.unLockAll();
+    }
+
     /**
      * Converts a lock from one mode to another mode according to parameters
      *
@@ -0,0 +1,90 @@
+package com.tosan.tools.lockmanager.impl.hazelcast;
+
+import com.hazelcast.cluster.Member;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.LifecycleEvent;
+import com.hazelcast.map.IMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Purges the locks of members that left the cluster from the lock maps, with entry processors run by the partition
+ * owners, so lock requests never check for left members. Expired locks are removed by the time to live of their
+ * entries.
+ * <p>
+ * Every service records a left member in the down members set; the oldest member purges right away and removes it
+ * from the set. Every service also purges the members left in the set periodically, covering an oldest member
+ * without a lock service or leaving during a purge, so the set only holds members not purged yet.
+ *
+ * @author mortezaei
+ * @since 10/18/2026
+ */
+class HazelcastLockReaper {
+    private static final Logger LOGGER = LoggerFactory.getLogger(HazelcastLockReaper.class);
+    private static final long PURGE_INTERVAL_SECONDS = 60;
+    private final HazelcastInstance hazelcastInstance;
+    private final IMap<String, HazelcastWriteLockInfo> writeLocks;
+    private final IMap<String, HazelcastReadLockInfo> readLocks;
+    private final Set<UUID> downMembers;
+    private final ScheduledExecutorService scheduler;
+
+    HazelcastLockReaper(HazelcastInstance hazelcastInstance, IMap<String, HazelcastWriteLockInfo> writeLocks,
+                        IMap<String, HazelcastReadLockInfo> readLocks, Set<UUID> downMembers) {
+        this.hazelcastInstance = hazelcastInstance;
+        this.writeLocks = writeLocks;
+        this.readLocks = readLocks;
+        this.downMembers = downMembers;
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "hazelcast-lock-reaper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::purge, 0, PURGE_INTERVAL_SECONDS, TimeUnit.SECONDS);
+        hazelcastInstance.getLifecycleService().addLifecycleListener(event -> {
+            if (event.getState() == LifecycleEvent.LifecycleState.SHUTTING_DOWN) {
+                scheduler.shutdownNow();
+            }
+        });
+    }
+
+    void memberRemoved(UUID memberId) {
+        scheduler.execute(() -> {
+            try {
+                downMembers.add(memberId);
+                if (isOldestMember()) {
+                    purge();
+                }
+            } catch (RuntimeException e) {
+                LOGGER.warn("Could not record left member {} of lock cluster.", memberId, e);
+            }
+        });
+    }
+
+    void purge() {
+        try {
+            Set<UUID> memberIds = new HashSet<>(downMembers);
+            if (memberIds.isEmpty()) {
+                return;
+            }
+            writeLocks.executeOnEntries(new PurgeMembersProcessor<>(memberIds));
+            readLocks.executeOnEntries(new PurgeMembersProcessor<>(memberIds));
+            downMembers.removeAll(memberIds);
+            LOGGER.debug("Purged locks of left members {}", memberIds);
+        } catch (RuntimeException e) {
+            LOGGER.warn("Could not purge locks of left members of lock cluster.", e);
+        }
+    }
+
+    private boolean isOldestMember() {
+        Iterator<Member> members = hazelcastInstance.getCluster().getMembers().iterator();
+        return members.hasNext() && members.next().localMember();
+    }
+}
@@ -0,0 +1,195 @@
+package com.tosan.tools.lockmanager.impl.hazelcast;
+
+import com.hazelcast.core.EntryEvent;
+import com.hazelcast.map.IMap;
+import com.hazelcast.map.listener.EntryEvictedListener;
+import com.hazelcast.map.listener.EntryExpiredListener;
+import com.hazelcast.map.listener.EntryRemovedListener;
+import com.hazelcast.map.listener.EntryUpdatedListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Waiters of this member for changes of entries of a lock map. An entry listener is registered on a key only while
+ * local waiters wait on it, shared by all of them, so idle locks and waiters cause no cluster traffic. Listeners are
+ * added and removed outside the monitor of their key, so waiters of a key never wait for a cluster call to register
+ * or unregister, only for the listener they share to be added.
+ *
+ * @author mortezaei
+ * @since 10/18/2026
+ */
+class HazelcastLockWaiters {
+    private static final Logger LOGGER = LoggerFactory.getLogger(HazelcastLockWaiters.class);
+    private final IMap<String, ?> locks;
+    private final Map<String, KeyWaiters> keyWaiters = new ConcurrentHashMap<>();
+    private final WakeUpListener wakeUpListener = new WakeUpListener();
+
+    HazelcastLockWaiters(IMap<String, ?> locks) {
+        this.locks = locks;
+    }
+
+    /**
+     * Registers a waiter on the given keys, adding entry listeners to the keys without local waiters. Returns once
+     * the listeners of all the keys are added; if adding one fails, the waiter is unregistered.
+     */
+    Waiter register(Collection<String> lockHandles) {
+        Waiter waiter = new Waiter();
+        List<String> registeredHandles = new ArrayList<>(lockHandles.size());
+        try {
+            for (String lockHandle : lockHandles) {
+                CompletableFuture<UUID> listenerId = add(waiter, lockHandle);
+                registeredHandles.add(lockHandle);
+                listenerId.join();
+            }
+        } catch (CompletionException e) {
+            unregister(waiter, registeredHandles);
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        } catch (RuntimeException e) {
+            unregister(waiter, registeredHandles);
+            throw e;
+        }
+        return waiter;
+    }
+
+    /**
+     * Adds the waiter to the waiters of the key, and the entry listener of the key if it is the first waiter.
+     *
+     * @return identifier of the entry listener of the key, completed once the listener is added
+     */
+    private CompletableFuture<UUID> add(Waiter waiter, String lockHandle) {
+        while (true) {
+            KeyWaiters waiters = keyWaiters.computeIfAbsent(lockHandle, key -> new KeyWaiters());
+            CompletableFuture<UUID> listenerId;
+            boolean adding = false;
+            synchronized (waiters) {
+                if (waiters.removed) {
+                    continue;
+                }
+                if (waiters.listenerId == null) {
+                    waiters.listenerId = new CompletableFuture<>();
+                    adding = true;
+                }
+                listenerId = waiters.listenerId;
+                waiters.waiters.add(waiter);
+            }
+            if (adding) {
+                try {
+                    listenerId.complete(locks.addEntryListener(wakeUpListener, lockHandle, false));
+                } catch (RuntimeException e) {
+                    listenerId.completeExceptionally(e);
+                }
+            }
+            return listenerId;
+        }
+    }
+
+    /**
+     * Unregisters the waiter, removing entry listeners of the keys without local waiters left.
+     */
+    void unregister(Waiter waiter, Collection<String> lockHandles) {
+        for (String lockHandle : lockHandles) {
+            KeyWaiters waiters = keyWaiters.get(lockHandle);
+            if (waiters == null) {
+                continue;
+            }
+            CompletableFuture<UUID> listenerId;
+            synchronized (waiters) {
+                if (!waiters.waiters.remove(waiter) || !waiters.waiters.isEmpty()) {
+                    continue;
+                }
+                waiters.removed = true;
+                keyWaiters.remove(lockHandle, waiters);
+                listenerId = waiters.listenerId;
+            }
+            if (listenerId != null) {
+                listenerId.thenAccept(locks::removeEntryListener).exceptionally(e -> {
+                    LOGGER.debug("Could not remove entry listener of lock handle {}", lockHandle, e);
+                    return null;
+                });
+            }
+        }
+    }
+
+    /**
+     * Wakes up all waiters, e.g. when a member holding locks leaves the cluster.
+     */
+    void signalAll() {
+        for (KeyWaiters waiters : keyWaiters.values()) {
+            waiters.signal();
+        }
+    }
+
+    private void signal(String lockHandle) {
+        KeyWaiters waiters = keyWaiters.get(lockHandle);
+        if (waiters != null) {
+            waiters.signal();
+        }
+    }
+
+    /**
+     * A thread or an asynchronous request waiting for lock entries to change. {@link #arm()} is called before each
+     * attempt, so a change during the attempt completes the returned signal and is never missed.
+     */
+    static class Waiter {
+        private volatile CompletableFuture<Void> signal = new CompletableFuture<>();
+
+        CompletableFuture<Void> arm() {
+            CompletableFuture<Void> nextSignal = new CompletableFuture<>();
+            signal = nextSignal;
+            return nextSignal;
+        }
+
+        void signal() {
+            signal.complete(null);
+        }
+    }
+
+    /**
+     * The listener identifier is set by the first waiter, and completed by it once the listener is added.
+     */
+    private static class KeyWaiters {
+        private final Set<Waiter> waiters = ConcurrentHashMap.newKeySet();
+        private CompletableFuture<UUID> listenerId;
+        private boolean removed;
+
+        void signal() {
+            for (Waiter waiter : waiters) {
+                waiter.signal();
+            }
+        }
+    }
+
+    private class WakeUpListener implements EntryRemovedListener<String, Object>, EntryUpdatedListener<String, Object>,
+            EntryEvictedListener<String, Object>, EntryExpiredListener<String, Object> {
+
+        @Override
+        public void entryRemoved(EntryEvent<String, Object> event) {
+            signal(event.getKey());
+        }
+
+        @Override
+        public void entryUpdated(EntryEvent<String, Object> event) {
+            signal(event.getKey());
+        }
+
+        @Override
+        public void entryEvicted(EntryEvent<String, Object> event) {
+            signal(event.getKey());
+        }
+
+        @Override
+        public void entryExpired(EntryEvent<String, Object> event) {
+            signal(event.getKey());
+        }
+    }
+}
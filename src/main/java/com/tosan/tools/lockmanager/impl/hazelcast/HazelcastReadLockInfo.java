@@ -1,65 +1,101 @@
 package com.tosan.tools.lockmanager.impl.hazelcast;
 
-import java.io.Serializable;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.Date;
-import java.util.List;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
 
 /**
+ * Read shares of an entry, one per share of a member, stored with compact serialization: the member UUIDs as pairs of
+ * longs in one array and the expiry as epoch millis. The lock handle is the map key and not repeated in the value.
+ *
  * @author R.Mehri
  * @since 29/09/2020
  */
-public class HazelcastReadLockInfo implements Serializable {
-    private String lockHandle;
-    private List<String> members;
-    private Date expireDate;
+public class HazelcastReadLockInfo {
+    private static final long[] NO_MEMBERS = new long[0];
+    private long[] members;
+    private long expireTime;
 
-    public HazelcastReadLockInfo(String lockHandle, Date expireDate) {
-        this.lockHandle = lockHandle;
-        this.expireDate = expireDate;
+    public HazelcastReadLockInfo(long expireTime) {
+        this(NO_MEMBERS, expireTime);
+    }
+
+    HazelcastReadLockInfo(long[] members, long expireTime) {
+        this.members = members;
+        this.expireTime = expireTime;
     }
 
     public int getSize() {
-        return members.size();
+        return members.length / 2;
     }
 
-    public void removeMembers(Collection<String> memberIds) {
-        if (members == null) {
-            members = new ArrayList<>();
+    /**
+     * Removes all shares of the members, iterating them once as they may be a distributed collection.
+     */
+    public void removeMembers(Collection<UUID> memberIds) {
+        Set<UUID> removedMembers = new HashSet<>(memberIds);
+        if (removedMembers.isEmpty()) {
+            return;
+        }
+        long[] remainingMembers = new long[members.length];
+        int length = 0;
+        for (int i = 0; i < members.length; i += 2) {
+            if (!removedMembers.contains(new UUID(members[i], members[i + 1]))) {
+                remainingMembers[length++] = members[i];
+                remainingMembers[length++] = members[i + 1];
+            }
         }
-        for (String memberId : memberIds) {
-            removeMember(memberId);
+        if (length < members.length) {
+            members = Arrays.copyOf(remainingMembers, length);
         }
     }
 
-    public void removeMember(String memberId) {
-        members.remove(memberId);
+    /**
+     * Removes one share of the member.
+     *
+     * @return true if the member had a share
+     */
+    public boolean removeMember(UUID memberId) {
+        for (int i = 0; i < members.length; i += 2) {
+            if (members[i] == memberId.getMostSignificantBits() && members[i + 1] == memberId.getLeastSignificantBits()) {
+                long[] remainingMembers = new long[members.length - 2];
+                System.arraycopy(members, 0, remainingMembers, 0, i);
+                System.arraycopy(members, i + 2, remainingMembers, i, members.length - i - 2);
+                members = remainingMembers;
+                return true;
+            }
+        }
+        return false;
     }
 
-    public void addMember(String memberId) {
-        if (members == null) {
-            members = new ArrayList<>();
-        }
-        members.add(memberId);
+    public void addMember(UUID memberId) {
+        members = Arrays.copyOf(members, members.length + 2);
+        members[members.length - 2] = memberId.getMostSignificantBits();
+        members[members.length - 1] = memberId.getLeastSignificantBits();
     }
 
     public void removeAllMembers() {
-        if (members == null) {
-            members = new ArrayList<>();
-        }
-        members.clear();
+        members = NO_MEMBERS;
     }
 
-    public String getLockHandle() {
-        return lockHandle;
+    public boolean isExpire() {
+        return expireTime <= System.currentTimeMillis();
     }
 
-    public void setLockHandle(String lockHandle) {
-        this.lockHandle = lockHandle;
+    /**
+     * @return milliseconds left until the expiry, at least 1 as a time to live of 0 means no expiry
+     */
+    public long getTimeToLive() {
+        return Math.max(1, expireTime - System.currentTimeMillis());
     }
 
-    public boolean isExpire() {
-        return expireDate.compareTo(new Date()) <= 0;
+    long[] getMembers() {
+        return members;
+    }
+
+    long getExpireTime() {
+        return expireTime;
     }
 }
@@ -2,20 +2,42 @@ package com.tosan.tools.lockmanager.impl.hazelcast;
 
 import com.hazelcast.cluster.MembershipEvent;
 import com.hazelcast.cluster.MembershipListener;
+import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.config.MapConfig;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.core.HazelcastInstanceNotActiveException;
+import com.hazelcast.core.LifecycleEvent;
 import com.hazelcast.map.IMap;
 import com.hazelcast.splitbrainprotection.SplitBrainProtectionException;
+import com.tosan.tools.lockmanager.api.LockHandle;
+import com.tosan.tools.lockmanager.api.LockMode;
 import com.tosan.tools.lockmanager.exception.LockManagerRunTimeException;
 import com.tosan.tools.lockmanager.exception.LockManagerTimeoutException;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.Calendar;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
 
 import static java.lang.Integer.parseInt;
 
@@ -29,20 +51,36 @@ public class HazelcastService {
     private static final int DEFAULT_WRITE_LOCK_TIMEOUT = 7200;
     private static final String READ_LOCKS_MAP_NAME = "readLocks";
     private static final String WRITE_LOCKS_MAP_NAME = "writeLocks";
-    private static final String DOWN_MEMBERS_MAP_NAME = "downMembers";
-    private static final String READ_LOCK_ACCESS_MAP_NAME = "readLockAccess";
-    private static final String WRITE_LOCK_ACCESS_MAP_NAME = "writeLockAccess";
+    /**
+     * Longest wait without an entry event before a waiter tries again, covering locks whose holder expires.
+     */
+    private static final long LOCK_RECHECK_INTERVAL_MILLIS = 5000;
 
     private HazelcastInstance hazelcastInstance;
     private IMap<String, HazelcastWriteLockInfo> writeLocks;
     private IMap<String, HazelcastReadLockInfo> readLocks;
-    private IMap<String, Boolean> readLockAccess;
-    private IMap<String, Boolean> writeLockAccess;
+    private HazelcastLockWaiters writeLockWaiters;
+    private HazelcastLockWaiters readLockWaiters;
+    /**
+     * Runs the steps of asynchronous requests between attempts, which add and remove entry listeners through blocking
+     * cluster calls, so they never run on the common pool.
+     */
+    private ExecutorService waiterExecutor;
 
     private int lockExpireSecs;
+    private InMemoryFormat inMemoryFormat = InMemoryFormat.OBJECT;
     private String splitBrainConfigName;
     private String lockClusterDownMembersSetName;
-    private Set<String> downMembers;
+    private HazelcastLockReaper lockReaper;
+    /**
+     * Read share and write lock counts, indexed by {@link LockMode#ordinal()}, of the locks held by the current
+     * thread, as read shares are owned by members and write locks are reentrant for their owning thread.
+     */
+    private final ThreadLocal<Map<String, int[]>> threadHolds = ThreadLocal.withInitial(HashMap::new);
+    /**
+     * Source of the negative owner ids of asynchronous requests, whose write locks are not owned by a thread.
+     */
+    private final AtomicLong asyncOwners = new AtomicLong();
 
     public void setLockClusterDownMembersSetName(String lockClusterDownMembersSetName) {
         this.lockClusterDownMembersSetName = lockClusterDownMembersSetName;
@@ -59,29 +97,33 @@ public class HazelcastService {
         MapConfig readLockConfig = new MapConfig();
         readLockConfig.setSplitBrainProtectionName(splitBrainConfigName);
         readLockConfig.setName(READ_LOCKS_MAP_NAME);
-        hazelcastInstance.getConfig().addMapConfig(readLockConfig);
+        readLockConfig.setInMemoryFormat(inMemoryFormat);
         MapConfig writeLockConfig = new MapConfig();
         writeLockConfig.setSplitBrainProtectionName(splitBrainConfigName);
         writeLockConfig.setName(WRITE_LOCKS_MAP_NAME);
-        MapConfig readLockAccessLockConfig = new MapConfig();
-        readLockAccessLockConfig.setSplitBrainProtectionName(splitBrainConfigName);
-        readLockAccessLockConfig.setName(READ_LOCK_ACCESS_MAP_NAME);
-        MapConfig writeLockAccessLockConfig = new MapConfig();
-        writeLockAccessLockConfig.setSplitBrainProtectionName(splitBrainConfigName);
-        writeLockAccessLockConfig.setName(WRITE_LOCKS_MAP_NAME);
+        writeLockConfig.setInMemoryFormat(inMemoryFormat);
         hazelcastInstance.getConfig().addMapConfig(readLockConfig);
         hazelcastInstance.getConfig().addMapConfig(writeLockConfig);
-        hazelcastInstance.getConfig().addMapConfig(readLockAccessLockConfig);
-        hazelcastInstance.getConfig().addMapConfig(writeLockAccessLockConfig);
     }
 
     private void getSharedMaps() {
         writeLocks = hazelcastInstance.getMap(WRITE_LOCKS_MAP_NAME);
         readLocks = hazelcastInstance.getMap(READ_LOCKS_MAP_NAME);
-        //downMembers = hazelcastInstance.getSet(DOWN_MEMBERS_MAP_NAME);
-        readLockAccess = hazelcastInstance.getMap(READ_LOCK_ACCESS_MAP_NAME);
-        writeLockAccess = hazelcastInstance.getMap(WRITE_LOCK_ACCESS_MAP_NAME);
-        downMembers = hazelcastInstance.getSet(lockClusterDownMembersSetName);
+        writeLockWaiters = new HazelcastLockWaiters(writeLocks);
+        readLockWaiters = new HazelcastLockWaiters(readLocks);
+        waiterExecutor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "hazelcast-lock-waiter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ExecutorService executor = waiterExecutor;
+        hazelcastInstance.getLifecycleService().addLifecycleListener(event -> {
+            if (event.getState() == LifecycleEvent.LifecycleState.SHUTTING_DOWN) {
+                executor.shutdownNow();
+            }
+        });
+        Set<UUID> downMembers = hazelcastInstance.getSet(lockClusterDownMembersSetName);
+        lockReaper = new HazelcastLockReaper(hazelcastInstance, writeLocks, readLocks, downMembers);
     }
 
     public void setSplitBrainConfigName(String splitBrainConfigName) {
@@ -92,6 +134,15 @@ public class HazelcastService {
         this.lockExpireSecs = parseInt(lockExpireSecs);
     }
 
+    /**
+     * Sets the in-memory format of the lock maps, {@code OBJECT} by default, so that entry processors, which make up
+     * most lock operations, work on the stored lock infos without deserializing and serializing them again. Must be
+     * set before the Hazelcast instance.
+     */
+    public void setInMemoryFormat(String inMemoryFormat) {
+        this.inMemoryFormat = InMemoryFormat.valueOf(inMemoryFormat);
+    }
+
     public void requestReadLock(String lockNameType, String lockName, Integer lockTimeout, boolean releaseOnCommit) {
         Integer timeout = lockTimeout;
         if (timeout == null) {
@@ -100,21 +151,13 @@ public class HazelcastService {
         String lockHandle = getLockHandle(lockNameType, lockName);
         LOGGER.debug("Requesting read lock with handle {}", lockHandle);
         try {
-            if (writeLockAccess.tryLock(lockHandle, timeout, TimeUnit.SECONDS)) {
-                getReadLock(lockHandle);
-                writeLockAccess.unlock(lockHandle);
-                LOGGER.debug("Acquired read lock with handle {}.", lockHandle);
-            } else {
-                throw new LockManagerTimeoutException("Timeout error occurred in 'HAZELCAST_LOCK' request.");
-            }
-        } catch (InterruptedException e) {
-            throw new LockManagerTimeoutException("Timeout error occurred in 'HAZELCAST_LOCK' request.");
-        } catch (SplitBrainProtectionException e) {
-            LOGGER.debug("Minimum number of cluster nodes is required for using lock services!");
-            throw new LockManagerRunTimeException("Minimum number of cluster nodes is required for using lock services!");
-        } catch (HazelcastInstanceNotActiveException e) {
-            throw new LockManagerRunTimeException("Hazelcast instance is not active");
+            UUID memberId = getMemberId();
+            retry(() -> tryReadLock(lockHandle, memberId), writeLockWaiters, Set.of(lockHandle), getDeadline(timeout));
+        } catch (RuntimeException e) {
+            throw getLockException(e);
         }
+        held(lockHandle, LockMode.READ);
+        LOGGER.debug("Acquired read lock with handle {}.", lockHandle);
     }
 
     public void requestWriteLock(String lockNameType, String lockName, Integer lockTimeout, boolean releaseOnCommit) {
@@ -125,164 +168,631 @@ public class HazelcastService {
         String lockHandle = getLockHandle(lockNameType, lockName);
         LOGGER.debug("Requesting write lock with handle {}", lockHandle);
         try {
-            if (writeLockAccess.tryLock(lockHandle, timeout, TimeUnit.SECONDS)) {
-                if (readLockAccess.tryLock(lockHandle, timeout, TimeUnit.SECONDS)) {
-                    getWriteLock(lockHandle);
-                    LOGGER.debug("Acquired write lock with handle {}.", lockHandle);
-                    writeLockAccess.put(lockHandle, true);
-                } else {
-                    writeLockAccess.unlock(lockHandle);
-                    throw new LockManagerTimeoutException("Timeout error occurred in 'HAZELCAST_LOCK' request.");
-                }
-            } else {
-                throw new LockManagerTimeoutException("Timeout error occurred in 'HAZELCAST_LOCK' request.");
-            }
-        } catch (InterruptedException e) {
-            throw new LockManagerTimeoutException("Timeout error occurred in 'HAZELCAST_LOCK' request.");
-        } catch (SplitBrainProtectionException e) {
-            LOGGER.debug("Minimum number of cluster nodes is required for using lock services!");
-            throw new LockManagerRunTimeException("Minimum number of cluster nodes is required for using lock services!");
-        } catch (HazelcastInstanceNotActiveException e) {
-            throw new LockManagerRunTimeException("Hazelcast instance is not active");
+            getWriteLock(lockHandle, 0, getDeadline(timeout));
+        } catch (RuntimeException e) {
+            throw getLockException(e);
         }
+        held(lockHandle, LockMode.WRITE);
+        LOGGER.debug("Acquired write lock with handle {}.", lockHandle);
     }
 
+    /**
+     * Converts the write lock of the current thread; if it holds no write lock, e.g. the lock is already converted,
+     * nothing is changed.
+     */
     public void convertToReadLock(String lockNameType, String lockName, Integer timeout) {
         String lockHandle = getLockHandle(lockNameType, lockName);
         LOGGER.debug("Requesting convert to read lock with handle {}", lockHandle);
-        if (writeLockAccess.tryLock(lockHandle) && readLockAccess.tryLock(lockHandle)) {
-            HazelcastReadLockInfo readLockInfo = readLocks.get(lockHandle);
-            if (readLockInfo != null) {
-                LOGGER.debug("Allready granted a read lock with handle {}", lockHandle);
-            } else {
-                unLockWriteLock(lockHandle);
-                getReadLock(lockHandle);
+        try {
+            UUID memberId = getMemberId();
+            readLocks.executeOnKey(lockHandle, new AddReadLockMemberProcessor(memberId, getExpireTime()));
+            if (writeLocks.executeOnKey(lockHandle, new ReleaseWriteLockProcessor(memberId, getThreadOwner()))) {
+                released(lockHandle, LockMode.WRITE);
+                held(lockHandle, LockMode.READ);
                 LOGGER.debug("Converted to read lock with handle {}", lockHandle);
+            } else {
+                readLocks.executeOnKey(lockHandle, new RemoveReadLockMemberProcessor(memberId));
+                LOGGER.debug("Already granted a read lock with handle {}", lockHandle);
             }
-            writeLockAccess.forceUnlock(lockHandle);
-        } else {
-            throw new LockManagerTimeoutException("Timeout error occurred in 'HAZELCAST_LOCK' request.");
+        } catch (RuntimeException e) {
+            throw getLockException(e);
         }
     }
 
-    public void convertToWriteLock(String lockNameType, String lockName, Integer timeout) {
+    /**
+     * Converts a read lock of this member, waiting until the read share of this member is the only one left.
+     */
+    public void convertToWriteLock(String lockNameType, String lockName, Integer lockTimeout) {
+        Integer timeout = lockTimeout;
+        if (timeout == null) {
+            timeout = DEFAULT_WRITE_LOCK_TIMEOUT;
+        }
         String lockHandle = getLockHandle(lockNameType, lockName);
         LOGGER.debug("Requesting convert to write lock with handle {}", lockHandle);
-        if (writeLockAccess.tryLock(lockHandle) && readLockAccess.tryLock(lockHandle)) {
-            HazelcastWriteLockInfo writeLockInfo = writeLocks.get(lockHandle);
-            if (writeLockInfo != null) {
-                LOGGER.debug("Allready granted a read lock with handle {}", lockHandle);
+        try {
+            getWriteLock(lockHandle, 1, getDeadline(timeout));
+            readLocks.executeOnKey(lockHandle, new RemoveReadLockMemberProcessor(getMemberId()));
+        } catch (RuntimeException e) {
+            throw getLockException(e);
+        }
+        released(lockHandle, LockMode.READ);
+        held(lockHandle, LockMode.WRITE);
+        LOGGER.debug("Converted to write lock with handle {}", lockHandle);
+    }
+
+    /**
+     * Releases one hold of the write lock of the current thread, or else one read share of this member. The write
+     * lock is released at the cluster with the last hold of the thread; other threads cannot release it. A write lock
+     * already lost, e.g. expired, only loses its hold, so that no read share of another thread is released instead.
+     */
+    public void unLock(String lockNameType, String lockName) {
+        String lockHandle = getLockHandle(lockNameType, lockName);
+        LOGGER.debug("Requesting release lock with handle {}", lockHandle);
+        int writeHolds = getWriteHolds(lockHandle);
+        if (writeHolds > 1) {
+            released(lockHandle, LockMode.WRITE);
+            LOGGER.debug("Released nested write lock with handle {}", lockHandle);
+            return;
+        }
+        try {
+            UUID memberId = getMemberId();
+            if (writeHolds == 1) {
+                released(lockHandle, LockMode.WRITE);
+                if (!writeLocks.executeOnKey(lockHandle, new ReleaseWriteLockProcessor(memberId, getThreadOwner()))) {
+                    LOGGER.debug("Write lock with handle {} was already lost", lockHandle);
+                }
             } else {
-                HazelcastReadLockInfo readLockInfo = readLocks.get(lockHandle);
-                if (readLockInfo.getSize() == 1) {
-                    unLockReadLock(lockHandle);
-                    getWriteLock(lockHandle);
-                    LOGGER.debug("Converted to write lock with handle {}", lockHandle);
-                } else {
-                    writeLockAccess.forceUnlock(lockHandle);
+                released(lockHandle, LockMode.READ);
+                readLocks.executeOnKey(lockHandle, new RemoveReadLockMemberProcessor(memberId));
+            }
+        } catch (RuntimeException e) {
+            throw getLockException(e);
+        }
+        LOGGER.debug("Released lock with handle {}", lockHandle);
+    }
+
+    /**
+     * Adds read shares of this member to all the locks at once; if one of them is write locked, the added read shares
+     * are removed and the batch is tried again.
+     */
+    public void requestReadLocks(String lockNameType, Collection<String> lockNames, Integer lockTimeout) {
+        Integer timeout = lockTimeout;
+        if (timeout == null) {
+            timeout = DEFAULT_READ_LOCK_TIMEOUT;
+        }
+        Set<String> lockHandles = getLockHandles(lockNameType, lockNames);
+        LOGGER.debug("Requesting read locks with handles {}", lockHandles);
+        try {
+            UUID memberId = getMemberId();
+            retry(() -> tryReadLocks(lockHandles, memberId), writeLockWaiters, lockHandles, getDeadline(timeout));
+        } catch (RuntimeException e) {
+            throw getLockException(e);
+        }
+        lockHandles.forEach(lockHandle -> held(lockHandle, LockMode.READ));
+        LOGGER.debug("Acquired read locks with handles {}.", lockHandles);
+    }
+
+    /**
+     * Sets the write locks of all the locks at once, then waits until none of them has read shares. If one of them
+     * is held by another write lock, the claimed ones are released and the batch is tried again, so a batch never
+     * holds some locks while waiting for others. Write locks the current thread already holds are held once more.
+     */
+    public void requestWriteLocks(String lockNameType, Collection<String> lockNames, Integer lockTimeout) {
+        Integer timeout = lockTimeout;
+        if (timeout == null) {
+            timeout = DEFAULT_WRITE_LOCK_TIMEOUT;
+        }
+        Set<String> lockHandles = getLockHandles(lockNameType, lockNames);
+        LOGGER.debug("Requesting write locks with handles {}", lockHandles);
+        try {
+            UUID memberId = getMemberId();
+            long deadline = getDeadline(timeout);
+            Set<String> newLockHandles = new HashSet<>();
+            for (String lockHandle : lockHandles) {
+                if (getWriteHolds(lockHandle) == 0) {
+                    newLockHandles.add(lockHandle);
                 }
             }
+            retry(() -> tryClaimWriteLocks(lockHandles, newLockHandles, memberId), writeLockWaiters, lockHandles,
+                    deadline);
+            try {
+                retry(() -> hasNoReadShares(lockHandles), readLockWaiters, lockHandles, deadline);
+            } catch (RuntimeException e) {
+                if (!newLockHandles.isEmpty()) {
+                    writeLocks.executeOnKeys(newLockHandles, new ReleaseWriteLockProcessor(memberId, getThreadOwner()));
+                }
+                throw e;
+            }
+        } catch (RuntimeException e) {
+            throw getLockException(e);
         }
+        lockHandles.forEach(lockHandle -> held(lockHandle, LockMode.WRITE));
+        LOGGER.debug("Acquired write locks with handles {}.", lockHandles);
     }
 
-    public void unLock(String lockNameType, String lockName) {
+    /**
+     * Releases one hold of the write locks of the current thread, and one read share of this member of the locks the
+     * thread holds no write lock of. Write locks already lost only lose their hold, as in {@link #unLock}.
+     */
+    public void unLockAll(String lockNameType, Collection<String> lockNames) {
+        Set<String> lockHandles = getLockHandles(lockNameType, lockNames);
+        LOGGER.debug("Requesting release locks with handles {}", lockHandles);
+        Set<String> writeLockHandles = new HashSet<>();
+        Set<String> readLockHandles = new HashSet<>();
+        for (String lockHandle : lockHandles) {
+            int writeHolds = getWriteHolds(lockHandle);
+            if (writeHolds > 0) {
+                released(lockHandle, LockMode.WRITE);
+                if (writeHolds == 1) {
+                    writeLockHandles.add(lockHandle);
+                }
+            } else {
+                released(lockHandle, LockMode.READ);
+                readLockHandles.add(lockHandle);
+            }
+        }
         try {
-            String lockHandle = getLockHandle(lockNameType, lockName);
-            LOGGER.debug("Requesting release lock with handle {}", lockHandle);
-            if (writeLockAccess.tryLock(lockHandle) && readLockAccess.tryLock(lockHandle)) {
-                if (writeLocks.get(lockHandle) != null && writeLockAccess.get(lockHandle)) {
-                    unLockWriteLock(lockHandle);
+            UUID memberId = getMemberId();
+            if (!writeLockHandles.isEmpty()) {
+                writeLocks.executeOnKeys(writeLockHandles, new ReleaseWriteLockProcessor(memberId, getThreadOwner()));
+            }
+            if (!readLockHandles.isEmpty()) {
+                readLocks.executeOnKeys(readLockHandles, new RemoveReadLockMemberProcessor(memberId));
+            }
+        } catch (RuntimeException e) {
+            throw getLockException(e);
+        }
+        LOGGER.debug("Released locks with handles {}", lockHandles);
+    }
+
+    /**
+     * Releases the write locks and read shares held by the current thread. The write locks and each level of read
+     * shares are released by one entry processor call each, all submitted at once, so the release usually takes one
+     * round trip per partition owner. Locks of handles of asynchronous requests are not held by a thread.
+     */
+    public void unLockAll() {
+        Map<String, int[]> holds = threadHolds.get();
+        if (holds.isEmpty()) {
+            return;
+        }
+        Set<String> writeLockHandles = new HashSet<>();
+        List<Set<String>> readShareLevels = new ArrayList<>();
+        for (Map.Entry<String, int[]> lockHolds : holds.entrySet()) {
+            if (lockHolds.getValue()[LockMode.WRITE.ordinal()] > 0) {
+                writeLockHandles.add(lockHolds.getKey());
+            }
+            for (int level = 0; level < lockHolds.getValue()[LockMode.READ.ordinal()]; level++) {
+                if (level == readShareLevels.size()) {
+                    readShareLevels.add(new HashSet<>());
                 }
-                if (readLocks.get(lockHandle) != null && readLocks.get(lockHandle).getSize() != 0) {
-                    unLockReadLock(lockHandle);
+                readShareLevels.get(level).add(lockHolds.getKey());
+            }
+        }
+        holds.clear();
+        LOGGER.debug("Requesting release of write locks with handles {} and read locks with handles {}",
+                writeLockHandles, readShareLevels.isEmpty() ? Set.of() : readShareLevels.get(0));
+        try {
+            UUID memberId = getMemberId();
+            List<CompletableFuture<?>> releases = new ArrayList<>();
+            if (!writeLockHandles.isEmpty()) {
+                releases.add(writeLocks.submitToKeys(writeLockHandles,
+                                new ReleaseWriteLockProcessor(memberId, getThreadOwner()))
+                        .toCompletableFuture());
+            }
+            for (Set<String> readLockHandles : readShareLevels) {
+                releases.add(readLocks.submitToKeys(readLockHandles, new RemoveReadLockMemberProcessor(memberId))
+                        .toCompletableFuture());
+            }
+            CompletableFuture.allOf(releases.toArray(new CompletableFuture<?>[0])).join();
+        } catch (RuntimeException e) {
+            throw getLockException(e);
+        }
+        LOGGER.debug("Released locks of current thread");
+    }
+
+    public CompletionStage<LockHandle> requestReadLockAsync(String lockNameType, String lockName, Integer lockTimeout) {
+        Integer timeout = lockTimeout;
+        if (timeout == null) {
+            timeout = DEFAULT_READ_LOCK_TIMEOUT;
+        }
+        String lockHandle = getLockHandle(lockNameType, lockName);
+        LOGGER.debug("Requesting async read lock with handle {}", lockHandle);
+        CompletableFuture<LockHandle> result = new CompletableFuture<>();
+        completeAsync(result, new HazelcastLockHandle(lockNameType, lockName, LockMode.READ, lockHandle,
+                        asyncOwners.decrementAndGet()),
+                retryAsync(() -> tryReadLockAsync(lockHandle), writeLockWaiters, lockHandle, getDeadline(timeout), result));
+        return result;
+    }
+
+    public CompletionStage<LockHandle> requestWriteLockAsync(String lockNameType, String lockName, Integer lockTimeout) {
+        Integer timeout = lockTimeout;
+        if (timeout == null) {
+            timeout = DEFAULT_WRITE_LOCK_TIMEOUT;
+        }
+        String lockHandle = getLockHandle(lockNameType, lockName);
+        LOGGER.debug("Requesting async write lock with handle {}", lockHandle);
+        CompletableFuture<LockHandle> result = new CompletableFuture<>();
+        long owner = asyncOwners.decrementAndGet();
+        completeAsync(result, new HazelcastLockHandle(lockNameType, lockName, LockMode.WRITE, lockHandle, owner),
+                getWriteLockAsync(lockHandle, owner, 0, getDeadline(timeout), result));
+        return result;
+    }
+
+    /**
+     * The read share is added while the write lock is still held, so exclusivity is never given up in between.
+     */
+    public CompletionStage<LockHandle> convertToReadLockAsync(LockHandle lockHandle, Integer timeout) {
+        HazelcastLockHandle writeLock = getHazelcastLockHandle(lockHandle);
+        if (writeLock.getLockMode() == LockMode.READ) {
+            LOGGER.debug("Already granted a read lock with handle {}", writeLock.getLockHandle());
+            return CompletableFuture.completedFuture(writeLock);
+        }
+        LOGGER.debug("Requesting async convert to read lock with handle {}", writeLock.getLockHandle());
+        CompletableFuture<LockHandle> result = new CompletableFuture<>();
+        convertToReadLockAsync(writeLock.getLockHandle(), getMemberId(), writeLock.getOwner()).whenComplete((converted, e) -> {
+            if (e != null) {
+                result.completeExceptionally(getLockException(e));
+            } else {
+                result.complete(writeLock.withLockMode(LockMode.READ));
+            }
+        });
+        return result;
+    }
+
+    /**
+     * The write lock is set first and granted once the read share of this handle is the only one left; on timeout
+     * the read share is kept.
+     */
+    public CompletionStage<LockHandle> convertToWriteLockAsync(LockHandle lockHandle, Integer lockTimeout) {
+        HazelcastLockHandle readLock = getHazelcastLockHandle(lockHandle);
+        if (readLock.getLockMode() == LockMode.WRITE) {
+            LOGGER.debug("Already granted a write lock with handle {}", readLock.getLockHandle());
+            return CompletableFuture.completedFuture(readLock);
+        }
+        Integer timeout = lockTimeout;
+        if (timeout == null) {
+            timeout = DEFAULT_WRITE_LOCK_TIMEOUT;
+        }
+        LOGGER.debug("Requesting async convert to write lock with handle {}", readLock.getLockHandle());
+        CompletableFuture<LockHandle> result = new CompletableFuture<>();
+        completeAsync(result, readLock.withLockMode(LockMode.WRITE),
+                convertToWriteLockAsync(readLock.getLockHandle(), readLock.getOwner(), getDeadline(timeout), result));
+        return result;
+    }
+
+    public CompletionStage<Void> unlockAsync(LockHandle lockHandle) {
+        HazelcastLockHandle hazelcastLockHandle = getHazelcastLockHandle(lockHandle);
+        LOGGER.debug("Requesting async release lock with handle {}", hazelcastLockHandle.getLockHandle());
+        CompletionStage<?> release = hazelcastLockHandle.getLockMode() == LockMode.READ ?
+                readLocks.submitToKey(hazelcastLockHandle.getLockHandle(), new RemoveReadLockMemberProcessor(getMemberId())) :
+                writeLocks.submitToKey(hazelcastLockHandle.getLockHandle(),
+                        new ReleaseWriteLockProcessor(getMemberId(), hazelcastLockHandle.getOwner()));
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        release.whenComplete((released, e) -> {
+            if (e != null) {
+                result.completeExceptionally(getLockException(e));
+            } else {
+                result.complete(null);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * @return whether this member and owner held the write lock
+     */
+    private CompletionStage<Boolean> convertToReadLockAsync(String lockHandle, UUID memberId, long owner) {
+        return readLocks.submitToKey(lockHandle, new AddReadLockMemberProcessor(memberId, getExpireTime()))
+                .thenCompose(added -> writeLocks.submitToKey(lockHandle, new ReleaseWriteLockProcessor(memberId, owner)));
+    }
+
+    private CompletionStage<Boolean> convertToWriteLockAsync(String lockHandle, long owner, long deadline,
+                                                             CompletableFuture<?> request) {
+        return getWriteLockAsync(lockHandle, owner, 1, deadline, request)
+                .thenCompose(granted -> !granted ? CompletableFuture.completedFuture(false) :
+                        readLocks.submitToKey(lockHandle, new RemoveReadLockMemberProcessor(getMemberId()))
+                                .thenApply(removed -> true));
+    }
+
+    private CompletionStage<Boolean> tryReadLockAsync(String lockHandle) {
+        UUID memberId = getMemberId();
+        return readLocks.submitToKey(lockHandle, new AddReadLockMemberProcessor(memberId, getExpireTime()))
+                .thenCompose(added -> writeLocks.getAsync(lockHandle))
+                .thenComposeAsync(writeLockInfo -> {
+                    if (writeLockInfo == null || writeLockInfo.isExpire()) {
+                        return CompletableFuture.completedFuture(true);
+                    }
+                    return readLocks.submitToKey(lockHandle, new RemoveReadLockMemberProcessor(memberId))
+                            .thenApply(removed -> false);
+                });
+    }
+
+    /**
+     * Sets the write lock, then waits until at most {@code readShares} read shares are left.
+     */
+    private CompletionStage<Boolean> getWriteLockAsync(String lockHandle, long owner, int readShares, long deadline,
+                                                       CompletableFuture<?> request) {
+        return retryAsync(() -> tryClaimWriteLockAsync(lockHandle, owner), writeLockWaiters, lockHandle, deadline, request)
+                .thenCompose(claimed -> !claimed ? CompletableFuture.completedFuture(false) :
+                        retryAsync(() -> hasReadSharesAtMostAsync(lockHandle, readShares), readLockWaiters, lockHandle, deadline, request)
+                                .thenCompose(granted -> granted ? CompletableFuture.completedFuture(true) :
+                                        writeLocks.submitToKey(lockHandle, new ReleaseWriteLockProcessor(getMemberId(), owner))
+                                                .thenApply(released -> false)));
+    }
+
+    private CompletionStage<Boolean> tryClaimWriteLockAsync(String lockHandle, long owner) {
+        return writeLocks.submitToKey(lockHandle, new ClaimWriteLockProcessor(getMemberId(), owner, getExpireTime()))
+                .thenApply(currentWriteLockInfo -> currentWriteLockInfo == null);
+    }
+
+    private CompletionStage<Boolean> hasReadSharesAtMostAsync(String lockHandle, int readShares) {
+        return readLocks.getAsync(lockHandle).thenApply(readLockInfo ->
+                readLockInfo == null || readLockInfo.isExpire() || readLockInfo.getSize() <= readShares);
+    }
+
+    /**
+     * Repeats {@code attempt} until it succeeds, the deadline passes or {@code request} is completed elsewhere
+     * (e.g. cancelled). After a failed attempt, a waiter is registered on the lock handle and each next attempt
+     * is made once the entry changes; no thread is held in between.
+     */
+    private CompletableFuture<Boolean> retryAsync(Supplier<CompletionStage<Boolean>> attempt,
+                                                  HazelcastLockWaiters lockWaiters, String lockHandle, long deadline,
+                                                  CompletableFuture<?> request) {
+        CompletableFuture<Boolean> granted = new CompletableFuture<>();
+        retryAsync(attempt, lockWaiters, lockHandle, deadline, request, granted, null);
+        return granted;
+    }
+
+    private void retryAsync(Supplier<CompletionStage<Boolean>> attempt, HazelcastLockWaiters lockWaiters,
+                            String lockHandle, long deadline, CompletableFuture<?> request,
+                            CompletableFuture<Boolean> granted, HazelcastLockWaiters.Waiter waiter) {
+        if (request.isDone()) {
+            granted.complete(false);
+            return;
+        }
+        try {
+            CompletableFuture<Void> signal = waiter != null ? waiter.arm() : null;
+            attempt.get().whenComplete((succeeded, e) -> {
+                long remaining = deadline - System.nanoTime();
+                if (e != null) {
+                    granted.completeExceptionally(e);
+                } else if (succeeded) {
+                    granted.complete(true);
+                } else if (remaining <= 0) {
+                    granted.complete(false);
+                } else if (signal == null) {
+                    try {
+                        CompletableFuture.runAsync(() -> {
+                            HazelcastLockWaiters.Waiter registered = lockWaiters.register(Set.of(lockHandle));
+                            granted.whenCompleteAsync((result, failure) ->
+                                    lockWaiters.unregister(registered, Set.of(lockHandle)), waiterExecutor);
+                            request.whenComplete((result, failure) -> registered.signal());
+                            retryAsync(attempt, lockWaiters, lockHandle, deadline, request, granted, registered);
+                        }, waiterExecutor).exceptionally(failure -> {
+                            granted.completeExceptionally(failure);
+                            return null;
+                        });
+                    } catch (RejectedExecutionException rejected) {
+                        granted.completeExceptionally(rejected);
+                    }
+                } else {
+                    signal.completeOnTimeout(null, Math.min(remaining,
+                                    TimeUnit.MILLISECONDS.toNanos(LOCK_RECHECK_INTERVAL_MILLIS)), TimeUnit.NANOSECONDS)
+                            .thenRunAsync(() -> retryAsync(attempt, lockWaiters, lockHandle, deadline, request, granted,
+                                    waiter), waiterExecutor)
+                            .exceptionally(failure -> {
+                                granted.completeExceptionally(failure);
+                                return null;
+                            });
                 }
-                readLockAccess.forceUnlock(lockHandle);
-                writeLockAccess.forceUnlock(lockHandle);
+            });
+        } catch (RuntimeException e) {
+            granted.completeExceptionally(e);
+        }
+    }
+
+    private void completeAsync(CompletableFuture<LockHandle> result, HazelcastLockHandle lockHandle,
+                               CompletionStage<Boolean> acquisition) {
+        acquisition.whenComplete((granted, e) -> {
+            if (e != null) {
+                result.completeExceptionally(getLockException(e));
+            } else if (!granted) {
+                result.completeExceptionally(new LockManagerTimeoutException("Timeout error occurred in 'HAZELCAST_LOCK' request."));
+            } else if (result.complete(lockHandle)) {
+                LOGGER.debug("Acquired async {} lock with handle {}.", lockHandle.getLockMode(), lockHandle.getLockHandle());
+            } else {
+                unlockAsync(lockHandle);
             }
-            LOGGER.debug("Released lock with handle {}", lockHandle);
-        } catch (IllegalMonitorStateException e) {
-            LOGGER.debug("Current thread is not owner of lock");
-        } catch (SplitBrainProtectionException e) {
+        });
+    }
+
+    private RuntimeException getLockException(Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        if (cause instanceof SplitBrainProtectionException) {
             LOGGER.debug("Minimum number of cluster nodes is required for using lock services!");
-            throw new LockManagerRunTimeException("Minimum number of cluster nodes is required for using lock services!");
-        } catch (HazelcastInstanceNotActiveException e) {
-            throw new LockManagerRunTimeException("Hazelcast instance is not active");
+            return new LockManagerRunTimeException("Minimum number of cluster nodes is required for using lock services!");
+        } else if (cause instanceof HazelcastInstanceNotActiveException) {
+            return new LockManagerRunTimeException("Hazelcast instance is not active");
+        } else if (cause instanceof LockManagerRunTimeException) {
+            return (LockManagerRunTimeException) cause;
         }
+        return new LockManagerRunTimeException("Error occurred in 'HAZELCAST_LOCK' request.", cause);
     }
 
-    private void unLockWriteLock(String lockHandle) {
-        writeLocks.remove(lockHandle);
-        writeLockAccess.remove(lockHandle);
+    private HazelcastLockHandle getHazelcastLockHandle(LockHandle lockHandle) {
+        if (!(lockHandle instanceof HazelcastLockHandle)) {
+            throw new LockManagerRunTimeException("Lock handle is not acquired from 'HAZELCAST_LOCK'.");
+        }
+        return (HazelcastLockHandle) lockHandle;
     }
 
-    private void unLockReadLock(String lockHandle) {
-        HazelcastReadLockInfo readLockInfo = readLocks.get(lockHandle);
-        readLockInfo.removeMember(getMemberId());
-        readLocks.replace(lockHandle, readLockInfo);
+    private long getDeadline(int timeout) {
+        return System.nanoTime() + TimeUnit.SECONDS.toNanos(timeout);
     }
 
-    private void getReadLock(String lockHandle) {
-        HazelcastReadLockInfo readLockInfo = readLocks.get(lockHandle);
-        checkWriteLockAccess(lockHandle);
-        boolean isReadLockInfoNull = true;
-        if (readLockInfo != null) {
-            isReadLockInfoNull = false;
-        } else {
-            Calendar expireDate = Calendar.getInstance();
-            expireDate.set(Calendar.SECOND, expireDate.get(Calendar.SECOND) + lockExpireSecs);
-            readLockInfo = new HazelcastReadLockInfo(lockHandle, expireDate.getTime());
-        }
-        readLockInfo.addMember(getMemberId());
-        if (isReadLockInfoNull) {
-            readLocks.put(lockHandle, readLockInfo);
-        } else {
-            readLocks.replace(lockHandle, readLockInfo);
-        }
-        readLockAccess.tryLock(lockHandle);
-    }
-
-    private void getWriteLock(String lockHandle) {
-        checkWriteLockAccess(lockHandle);
-        checkReadLockAccess(lockHandle);
-        Calendar expireDate = Calendar.getInstance();
-        expireDate.set(Calendar.SECOND, expireDate.get(Calendar.SECOND) + lockExpireSecs);
-        HazelcastWriteLockInfo writeLockInfo = new HazelcastWriteLockInfo(lockHandle, getMemberId(), expireDate.getTime());
-        writeLocks.put(lockHandle, writeLockInfo);
-    }
-
-    private void checkWriteLockAccess(String lockHandle) {
+    private long getExpireTime() {
+        return System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(lockExpireSecs);
+    }
+
+    /**
+     * The read share is added before the write lock is checked, and a writer sets its write lock before checking
+     * read shares, so concurrent readers and writers always see each other.
+     */
+    private boolean tryReadLock(String lockHandle, UUID memberId) {
+        readLocks.executeOnKey(lockHandle, new AddReadLockMemberProcessor(memberId, getExpireTime()));
         HazelcastWriteLockInfo writeLockInfo = writeLocks.get(lockHandle);
-        if (writeLockInfo != null) {
-            if (!removeDownMembersWriteLocks(writeLockInfo)) {
-                throw new LockManagerTimeoutException("Timeout error occurred in 'DBMS_LOCK' request.");
+        if (writeLockInfo == null || writeLockInfo.isExpire()) {
+            return true;
+        }
+        readLocks.executeOnKey(lockHandle, new RemoveReadLockMemberProcessor(memberId));
+        return false;
+    }
+
+    /**
+     * Sets the write lock of the current thread, then waits until at most {@code readShares} read shares are left. A
+     * write lock the thread already holds is claimed again, renewing its expiry, and kept on failure.
+     */
+    private void getWriteLock(String lockHandle, int readShares, long deadline) {
+        UUID memberId = getMemberId();
+        long owner = getThreadOwner();
+        boolean reentered = getWriteHolds(lockHandle) > 0;
+        retry(() -> tryClaimWriteLock(lockHandle, memberId, owner), writeLockWaiters, Set.of(lockHandle), deadline);
+        try {
+            retry(() -> hasReadSharesAtMost(lockHandle, readShares), readLockWaiters, Set.of(lockHandle), deadline);
+        } catch (RuntimeException e) {
+            if (!reentered) {
+                writeLocks.executeOnKey(lockHandle, new ReleaseWriteLockProcessor(memberId, owner));
             }
+            throw e;
         }
     }
 
-    private void checkReadLockAccess(String lockHandle) {
+    /**
+     * The expiry is computed per attempt, so a lock claimed after a long wait still lives for the lock expiry.
+     */
+    private boolean tryClaimWriteLock(String lockHandle, UUID memberId, long owner) {
+        return writeLocks.executeOnKey(lockHandle, new ClaimWriteLockProcessor(memberId, owner, getExpireTime())) == null;
+    }
+
+    private boolean hasReadSharesAtMost(String lockHandle, int readShares) {
         HazelcastReadLockInfo readLockInfo = readLocks.get(lockHandle);
-        if (readLockInfo != null) {
-            if (!removeDownMembersReadLocks(readLockInfo)) {
-                throw new LockManagerTimeoutException("Timeout error occurred in 'DBMS_LOCK' request.");
+        return readLockInfo == null || readLockInfo.isExpire() || readLockInfo.getSize() <= readShares;
+    }
+
+    private boolean tryReadLocks(Set<String> lockHandles, UUID memberId) {
+        readLocks.executeOnKeys(lockHandles, new AddReadLockMemberProcessor(memberId, getExpireTime()));
+        boolean granted = true;
+        for (HazelcastWriteLockInfo writeLockInfo : writeLocks.getAll(lockHandles).values()) {
+            if (!writeLockInfo.isExpire()) {
+                granted = false;
+                break;
             }
         }
+        if (!granted) {
+            readLocks.executeOnKeys(lockHandles, new RemoveReadLockMemberProcessor(memberId));
+        }
+        return granted;
     }
 
-    private boolean removeDownMembersReadLocks(HazelcastReadLockInfo readLockInfo) {
-        readLockInfo.removeMembers(downMembers);
-        if (readLockInfo.getSize() == 0 || readLockInfo.isExpire()) {
-            readLocks.remove(readLockInfo.getLockHandle());
+    /**
+     * @param newLockHandles lock handles the current thread holds no write lock of, released if the batch fails
+     */
+    private boolean tryClaimWriteLocks(Set<String> lockHandles, Set<String> newLockHandles, UUID memberId) {
+        long owner = getThreadOwner();
+        Map<String, HazelcastWriteLockInfo> currentWriteLocks = writeLocks.executeOnKeys(lockHandles,
+                new ClaimWriteLockProcessor(memberId, owner, getExpireTime()));
+        Set<String> claimed = new HashSet<>();
+        for (String lockHandle : newLockHandles) {
+            if (currentWriteLocks.get(lockHandle) == null) {
+                claimed.add(lockHandle);
+            }
+        }
+        boolean granted = true;
+        for (String lockHandle : lockHandles) {
+            if (currentWriteLocks.get(lockHandle) != null) {
+                granted = false;
+                break;
+            }
+        }
+        if (granted) {
             return true;
         }
+        if (!claimed.isEmpty()) {
+            writeLocks.executeOnKeys(claimed, new ReleaseWriteLockProcessor(memberId, owner));
+        }
         return false;
     }
 
-    private boolean removeDownMembersWriteLocks(HazelcastWriteLockInfo writeLockInfo) {
-        if (downMembers.contains(writeLockInfo.getMember()) || writeLockInfo.isExpire()) {
-            writeLocks.remove(writeLockInfo.getLockHandle());
-            return true;
+    private boolean hasNoReadShares(Set<String> lockHandles) {
+        for (HazelcastReadLockInfo readLockInfo : readLocks.getAll(lockHandles).values()) {
+            if (!readLockInfo.isExpire() && readLockInfo.getSize() > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Repeats {@code attempt} until it succeeds or the deadline passes. After a failed attempt, a waiter is registered
+     * on the lock handles and the thread blocks until one of their entries changes before attempting again.
+     *
+     * @throws LockManagerTimeoutException if the deadline passes or the thread is interrupted
+     */
+    private void retry(BooleanSupplier attempt, HazelcastLockWaiters lockWaiters, Collection<String> lockHandles,
+                       long deadline) {
+        if (attempt.getAsBoolean()) {
+            return;
+        }
+        HazelcastLockWaiters.Waiter waiter = lockWaiters.register(lockHandles);
+        try {
+            while (true) {
+                CompletableFuture<Void> signal = waiter.arm();
+                if (attempt.getAsBoolean()) {
+                    return;
+                }
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    throw new LockManagerTimeoutException("Timeout error occurred in 'HAZELCAST_LOCK' request.");
+                }
+                try {
+                    signal.get(Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(LOCK_RECHECK_INTERVAL_MILLIS)),
+                            TimeUnit.NANOSECONDS);
+                } catch (TimeoutException e) {
+                    LOGGER.debug("No change of lock handles {} within recheck interval", lockHandles);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LockManagerTimeoutException("Timeout error occurred in 'HAZELCAST_LOCK' request.");
+        } catch (ExecutionException e) {
+            throw new LockManagerRunTimeException("Error occurred in 'HAZELCAST_LOCK' request.", e.getCause());
+        } finally {
+            lockWaiters.unregister(waiter, lockHandles);
+        }
+    }
+
+    private static long getThreadOwner() {
+        return Thread.currentThread().getId();
+    }
+
+    private int getWriteHolds(String lockHandle) {
+        int[] lockHolds = threadHolds.get().get(lockHandle);
+        return lockHolds == null ? 0 : lockHolds[LockMode.WRITE.ordinal()];
+    }
+
+    private void held(String lockHandle, LockMode lockMode) {
+        threadHolds.get().computeIfAbsent(lockHandle, key -> new int[LockMode.values().length])[lockMode.ordinal()]++;
+    }
+
+    private void released(String lockHandle, LockMode lockMode) {
+        Map<String, int[]> holds = threadHolds.get();
+        int[] lockHolds = holds.get(lockHandle);
+        if (lockHolds != null && lockHolds[lockMode.ordinal()] > 0) {
+            lockHolds[lockMode.ordinal()]--;
+            if (lockHolds[LockMode.READ.ordinal()] == 0 && lockHolds[LockMode.WRITE.ordinal()] == 0) {
+                holds.remove(lockHandle);
+            }
         }
-        return false;
     }
 
     private String getLockHandle(String lockNameType, String lockName) {
@@ -290,8 +800,16 @@ public class HazelcastService {
         return lockNameType + (StringUtils.isNotEmpty(lockName) ? "-" + lockName : "");
     }
 
-    private String getMemberId() {
-        return hazelcastInstance.getLocalEndpoint().getUuid().toString();
+    private Set<String> getLockHandles(String lockNameType, Collection<String> lockNames) {
+        Set<String> lockHandles = new TreeSet<>();
+        for (String lockName : lockNames) {
+            lockHandles.add(getLockHandle(lockNameType, lockName));
+        }
+        return lockHandles;
+    }
+
+    private UUID getMemberId() {
+        return hazelcastInstance.getLocalEndpoint().getUuid();
     }
 
     private class ClusterMembershipListener implements MembershipListener {
@@ -303,7 +821,9 @@ public class HazelcastService {
 
         @Override
         public void memberRemoved(MembershipEvent membershipEvent) {
-            downMembers.add(membershipEvent.getMember().getUuid().toString());
+            lockReaper.memberRemoved(membershipEvent.getMember().getUuid());
+            writeLockWaiters.signalAll();
+            readLockWaiters.signalAll();
         }
     }
 }
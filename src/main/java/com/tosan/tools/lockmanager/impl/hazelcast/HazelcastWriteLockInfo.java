@@ -1,48 +1,65 @@
 package com.tosan.tools.lockmanager.impl.hazelcast;
 
-import java.io.Serializable;
-import java.util.Date;
+import java.util.UUID;
 
 /**
+ * Write lock of an entry, stored with compact serialization: the member UUID as two longs, the owner on the member and
+ * the expiry as epoch millis. The owner is the id of the thread holding the lock, or a negative id of an asynchronous
+ * request. The lock handle is the map key and not repeated in the value.
+ *
  * @author R.Mehri
  * @since 29/09/2020
  */
-public class HazelcastWriteLockInfo implements Serializable {
-    private String lockHandle;
-    private String member;
-    private Date expireDate;
+public class HazelcastWriteLockInfo {
+    private long memberMostSigBits;
+    private long memberLeastSigBits;
+    private long owner;
+    private long expireTime;
 
-    public HazelcastWriteLockInfo(String lockHandle, String members, Date expireDate) {
-        this.lockHandle = lockHandle;
-        this.member = members;
-        this.expireDate = expireDate;
+    public HazelcastWriteLockInfo(UUID member, long owner, long expireTime) {
+        this(member.getMostSignificantBits(), member.getLeastSignificantBits(), owner, expireTime);
     }
 
-    public String getLockHandle() {
-        return lockHandle;
+    HazelcastWriteLockInfo(long memberMostSigBits, long memberLeastSigBits, long owner, long expireTime) {
+        this.memberMostSigBits = memberMostSigBits;
+        this.memberLeastSigBits = memberLeastSigBits;
+        this.owner = owner;
+        this.expireTime = expireTime;
     }
 
-    public void setLockHandle(String lockHandle) {
-        this.lockHandle = lockHandle;
+    public UUID getMember() {
+        return new UUID(memberMostSigBits, memberLeastSigBits);
     }
 
-    public void setMember(String members) {
-        this.member = members;
+    public long getOwner() {
+        return owner;
     }
 
-    public void setExpireDate(Date expireDate) {
-        this.expireDate = expireDate;
+    public boolean isHeldBy(UUID member, long owner) {
+        return memberMostSigBits == member.getMostSignificantBits()
+                && memberLeastSigBits == member.getLeastSignificantBits() && this.owner == owner;
     }
 
-    public String getMember() {
-        return member;
+    public long getExpireTime() {
+        return expireTime;
     }
 
-    public Date getExpireDate() {
-        return expireDate;
+    public boolean isExpire() {
+        return expireTime <= System.currentTimeMillis();
     }
 
-    public boolean isExpire() {
-        return expireDate.compareTo(new Date()) <= 0;
+    /**
+     * @return milliseconds left until the expiry, at least 1 as a time to live of 0 means no expiry
+     */
+    public long getTimeToLive() {
+        return Math.max(1, expireTime - System.currentTimeMillis());
+    }
+
+    long getMemberMostSigBits() {
+        return memberMostSigBits;
+    }
+
+    long getMemberLeastSigBits() {
+        return memberLeastSigBits;
     }
 }
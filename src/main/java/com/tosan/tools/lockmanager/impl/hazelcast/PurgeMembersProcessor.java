@@ -0,0 +1,44 @@
+package com.tosan.tools.lockmanager.impl.hazelcast;
+
+import com.hazelcast.map.EntryProcessor;
+import com.hazelcast.map.ExtendedMapEntry;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Removes the write lock and all read shares of the given members from an entry of either lock map, dropping the
+ * entry when no share is left.
+ *
+ * @author mortezaei
+ * @since 10/18/2026
+ */
+public class PurgeMembersProcessor<V> implements EntryProcessor<String, V, Void> {
+    private final Set<UUID> memberIds;
+
+    public PurgeMembersProcessor(Set<UUID> memberIds) {
+        this.memberIds = memberIds;
+    }
+
+    @Override
+    public Void process(Map.Entry<String, V> entry) {
+        V value = entry.getValue();
+        if (value instanceof HazelcastWriteLockInfo) {
+            if (memberIds.contains(((HazelcastWriteLockInfo) value).getMember())) {
+                entry.setValue(null);
+            }
+        } else if (value instanceof HazelcastReadLockInfo) {
+            HazelcastReadLockInfo readLockInfo = (HazelcastReadLockInfo) value;
+            int size = readLockInfo.getSize();
+            readLockInfo.removeMembers(memberIds);
+            if (readLockInfo.getSize() == 0) {
+                entry.setValue(null);
+            } else if (readLockInfo.getSize() < size) {
+                ((ExtendedMapEntry<String, V>) entry).setValue(value, readLockInfo.getTimeToLive(), TimeUnit.MILLISECONDS);
+            }
+        }
+        return null;
+    }
+}
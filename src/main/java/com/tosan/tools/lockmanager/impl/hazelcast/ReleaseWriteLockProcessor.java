@@ -0,0 +1,32 @@
+package com.tosan.tools.lockmanager.impl.hazelcast;
+
+import com.hazelcast.map.EntryProcessor;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Removes the write lock of an entry if it is held by the given owner of the given member.
+ *
+ * @author mortezaei
+ * @since 10/18/2026
+ */
+public class ReleaseWriteLockProcessor implements EntryProcessor<String, HazelcastWriteLockInfo, Boolean> {
+    private final UUID memberId;
+    private final long owner;
+
+    public ReleaseWriteLockProcessor(UUID memberId, long owner) {
+        this.memberId = memberId;
+        this.owner = owner;
+    }
+
+    @Override
+    public Boolean process(Map.Entry<String, HazelcastWriteLockInfo> entry) {
+        HazelcastWriteLockInfo writeLockInfo = entry.getValue();
+        if (writeLockInfo == null || !writeLockInfo.isHeldBy(memberId, owner)) {
+            return false;
+        }
+        entry.setValue(null);
+        return true;
+    }
+}
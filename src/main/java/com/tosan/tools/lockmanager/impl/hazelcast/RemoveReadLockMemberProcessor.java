@@ -0,0 +1,37 @@
+package com.tosan.tools.lockmanager.impl.hazelcast;
+
+import com.hazelcast.map.EntryProcessor;
+import com.hazelcast.map.ExtendedMapEntry;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Removes one share of a member from the read lock of an entry and drops the entry when no share is left.
+ *
+ * @author mortezaei
+ * @since 10/18/2026
+ */
+public class RemoveReadLockMemberProcessor implements EntryProcessor<String, HazelcastReadLockInfo, Void> {
+    private final UUID memberId;
+
+    public RemoveReadLockMemberProcessor(UUID memberId) {
+        this.memberId = memberId;
+    }
+
+    @Override
+    public Void process(Map.Entry<String, HazelcastReadLockInfo> entry) {
+        HazelcastReadLockInfo readLockInfo = entry.getValue();
+        if (readLockInfo != null) {
+            readLockInfo.removeMember(memberId);
+            if (readLockInfo.getSize() == 0) {
+                entry.setValue(null);
+            } else {
+                ((ExtendedMapEntry<String, HazelcastReadLockInfo>) entry).setValue(readLockInfo,
+                        readLockInfo.getTimeToLive(), TimeUnit.MILLISECONDS);
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,11 @@
+package com.tosan.tools.lockmanager.impl.metrics;
+
+/**
+ * @author mortezaei
+ * @since 10/18/2026
+ */
+enum LockOperation {
+    READ,
+    WRITE,
+    CONVERT
+}
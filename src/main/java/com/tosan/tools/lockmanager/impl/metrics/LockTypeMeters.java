@@ -0,0 +1,92 @@
+package com.tosan.tools.lockmanager.impl.metrics;
+
+import com.tosan.tools.lockmanager.api.LockMode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Meters of one lock name type, registered once and looked up per call.
+ *
+ * @author mortezaei
+ * @since 10/18/2026
+ */
+class LockTypeMeters {
+    static final String WAIT_TIMER = "lock.manager.wait";
+    static final String HOLD_TIMER = "lock.manager.hold";
+    static final String ACQUISITIONS_COUNTER = "lock.manager.acquisitions";
+    static final String TIMEOUTS_COUNTER = "lock.manager.timeouts";
+    static final String ERRORS_COUNTER = "lock.manager.errors";
+    static final String HELD_GAUGE = "lock.manager.held";
+    static final String BACKEND_TAG = "backend";
+    static final String MODE_TAG = "mode";
+    static final String LOCK_NAME_TYPE_TAG = "lockNameType";
+
+    private final Map<LockOperation, Timer> waitTimers = new EnumMap<>(LockOperation.class);
+    private final Map<LockOperation, Counter> acquisitionCounters = new EnumMap<>(LockOperation.class);
+    private final Map<LockOperation, Counter> timeoutCounters = new EnumMap<>(LockOperation.class);
+    private final Map<LockOperation, Counter> errorCounters = new EnumMap<>(LockOperation.class);
+    private final Map<LockMode, Timer> holdTimers = new EnumMap<>(LockMode.class);
+    private final Map<LockMode, AtomicInteger> heldLocks = new EnumMap<>(LockMode.class);
+
+    LockTypeMeters(MeterRegistry meterRegistry, String backend, String lockNameType) {
+        for (LockOperation lockOperation : LockOperation.values()) {
+            Tags tags = Tags.of(BACKEND_TAG, backend, MODE_TAG, lockOperation.name().toLowerCase(Locale.ROOT),
+                    LOCK_NAME_TYPE_TAG, lockNameType);
+            waitTimers.put(lockOperation, Timer.builder(WAIT_TIMER)
+                    .description("Time waited for granted locks")
+                    .tags(tags)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+            acquisitionCounters.put(lockOperation, Counter.builder(ACQUISITIONS_COUNTER).tags(tags).register(meterRegistry));
+            timeoutCounters.put(lockOperation, Counter.builder(TIMEOUTS_COUNTER).tags(tags).register(meterRegistry));
+            errorCounters.put(lockOperation, Counter.builder(ERRORS_COUNTER).tags(tags).register(meterRegistry));
+        }
+        for (LockMode lockMode : LockMode.values()) {
+            Tags tags = Tags.of(BACKEND_TAG, backend, MODE_TAG, lockMode.name().toLowerCase(Locale.ROOT),
+                    LOCK_NAME_TYPE_TAG, lockNameType);
+            holdTimers.put(lockMode, Timer.builder(HOLD_TIMER)
+                    .description("Time locks were held until released")
+                    .tags(tags)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+            AtomicInteger held = new AtomicInteger();
+            Gauge.builder(HELD_GAUGE, held, AtomicInteger::get)
+                    .description("Locks currently held by this process")
+                    .tags(tags)
+                    .register(meterRegistry);
+            heldLocks.put(lockMode, held);
+        }
+    }
+
+    Timer getWaitTimer(LockOperation lockOperation) {
+        return waitTimers.get(lockOperation);
+    }
+
+    Counter getAcquisitionCounter(LockOperation lockOperation) {
+        return acquisitionCounters.get(lockOperation);
+    }
+
+    Counter getTimeoutCounter(LockOperation lockOperation) {
+        return timeoutCounters.get(lockOperation);
+    }
+
+    Counter getErrorCounter(LockOperation lockOperation) {
+        return errorCounters.get(lockOperation);
+    }
+
+    Timer getHoldTimer(LockMode lockMode) {
+        return holdTimers.get(lockMode);
+    }
+
+    AtomicInteger getHeldLocks(LockMode lockMode) {
+        return heldLocks.get(lockMode);
+    }
+}
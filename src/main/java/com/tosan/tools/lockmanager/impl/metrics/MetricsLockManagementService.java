@@ -0,0 +1,253 @@
+package com.tosan.tools.lockmanager.impl.metrics;
+
+import com.tosan.tools.lockmanager.api.LockManagementService;
+import com.tosan.tools.lockmanager.api.LockMode;
+import com.tosan.tools.lockmanager.exception.LockManagerTimeoutException;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records Micrometer metrics of a {@link LockManagementService}:
+ * <ul>
+ *     <li>{@code lock.manager.wait}: wait time of granted read, write and convert requests</li>
+ *     <li>{@code lock.manager.hold}: time from acquisition to release of read and write locks</li>
+ *     <li>{@code lock.manager.acquisitions}, {@code lock.manager.timeouts}, {@code lock.manager.errors}:
+ *     outcome of read, write and convert requests</li>
+ *     <li>{@code lock.manager.held}: read and write locks currently held by this process</li>
+ * </ul>
+ * Meters are tagged by {@code backend}, {@code mode} and {@code lockNameType}; lock names are never used as tags.
+ * Metrics are disabled by not wrapping the service, which leaves no overhead at all.
+ * <p>
+ * Hold time is tracked per thread, as the backends own locks by thread; a lock released by another thread is not
+ * recorded, nor a lock requested with {@code releaseOnCommit}, which the transaction releases.
+ *
+ * @author mortezaei
+ * @since 10/18/2026
+ */
+public class MetricsLockManagementService implements LockManagementService {
+    private final LockManagementService lockManagementService;
+    private final MeterRegistry meterRegistry;
+    private final String backend;
+    private final Map<String, LockTypeMeters> lockTypeMeters = new ConcurrentHashMap<>();
+    private final ThreadLocal<Map<String, HeldLock>> heldLocks = ThreadLocal.withInitial(HashMap::new);
+
+    /**
+     * @param lockManagementService instrumented service
+     * @param meterRegistry         registry of the meters
+     * @param backend               value of the {@code backend} tag, e.g. redis
+     */
+    public MetricsLockManagementService(LockManagementService lockManagementService, MeterRegistry meterRegistry,
+                                        String backend) {
+        this.lockManagementService = lockManagementService;
+        this.meterRegistry = meterRegistry;
+        this.backend = backend;
+    }
+
+    @Override
+    public void requestReadLock(String lockNameType, boolean releaseOnCommit) {
+        acquire(lockNameType, null, LockOperation.READ, releaseOnCommit,
+                () -> lockManagementService.requestReadLock(lockNameType, releaseOnCommit));
+    }
+
+    @Override
+    public void requestReadLock(String lockNameType, String lockName, boolean releaseOnCommit) {
+        acquire(lockNameType, lockName, LockOperation.READ, releaseOnCommit,
+                () -> lockManagementService.requestReadLock(lockNameType, lockName, releaseOnCommit));
+    }
+
+    @Override
+    public void requestReadLock(String lockNameType, String lockName, Integer lockTimeout, boolean releaseOnCommit) {
+        acquire(lockNameType, lockName, LockOperation.READ, releaseOnCommit,
+                () -> lockManagementService.requestReadLock(lockNameType, lockName, lockTimeout, releaseOnCommit));
+    }
+
+    @Override
+    public void requestWriteLock(String lockNameType, boolean releaseOnCommit) {
+        acquire(lockNameType, null, LockOperation.WRITE, releaseOnCommit,
+                () -> lockManagementService.requestWriteLock(lockNameType, releaseOnCommit));
+    }
+
+    @Override
+    public void requestWriteLock(String lockNameType, String lockName, boolean releaseOnCommit) {
+        acquire(lockNameType, lockName, LockOperation.WRITE, releaseOnCommit,
+                () -> lockManagementService.requestWriteLock(lockNameType, lockName, releaseOnCommit));
+    }
+
+    @Override
+    public void requestWriteLock(String lockNameType, String lockName, Integer lockTimeout, boolean releaseOnCommit) {
+        acquire(lockNameType, lockName, LockOperation.WRITE, releaseOnCommit,
+                () -> lockManagementService.requestWriteLock(lockNameType, lockName, lockTimeout, releaseOnCommit));
+    }
+
+    /**
+     * The batch is recorded as one request, and each of its locks as held.
+     */
+    @Override
+    public void requestReadLocks(String lockNameType, Collection<String> lockNames, Integer lockTimeout) {
+        long acquiredTime = request(lockNameType, LockOperation.READ,
+                () -> lockManagementService.requestReadLocks(lockNameType, lockNames, lockTimeout));
+        for (String lockName : new HashSet<>(lockNames)) {
+            held(lockNameType, lockName, LockMode.READ, acquiredTime);
+        }
+    }
+
+    /**
+     * The batch is recorded as one request, and each of its locks as held.
+     */
+    @Override
+    public void requestWriteLocks(String lockNameType, Collection<String> lockNames, Integer lockTimeout) {
+        long acquiredTime = request(lockNameType, LockOperation.WRITE,
+                () -> lockManagementService.requestWriteLocks(lockNameType, lockNames, lockTimeout));
+        for (String lockName : new HashSet<>(lockNames)) {
+            held(lockNameType, lockName, LockMode.WRITE, acquiredTime);
+        }
+    }
+
+    @Override
+    public void unlock(String lockNameType) {
+        lockManagementService.unlock(lockNameType);
+        released(lockNameType, null);
+    }
+
+    @Override
+    public void unlock(String lockNameType, String lockName) {
+        lockManagementService.unlock(lockNameType, lockName);
+        released(lockNameType, lockName);
+    }
+
+    @Override
+    public void unlockAll(String lockNameType, Collection<String> lockNames) {
+        lockManagementService.unlockAll(lockNameType, lockNames);
+        for (String lockName : lockNames) {
+            released(lockNameType, lockName);
+        }
+    }
+
+    /**
+     * Records every lock held by the current thread as released.
+     */
+    @Override
+    public void unlockAll() {
+        lockManagementService.unlockAll();
+        Map<String, HeldLock> threadHeldLocks = heldLocks.get();
+        long releasedTime = System.nanoTime();
+        for (HeldLock heldLock : threadHeldLocks.values()) {
+            LockTypeMeters meters = getLockTypeMeters(heldLock.lockNameType);
+            meters.getHoldTimer(heldLock.lockMode).record(releasedTime - heldLock.acquiredTime, TimeUnit.NANOSECONDS);
+            meters.getHeldLocks(heldLock.lockMode).decrementAndGet();
+        }
+        threadHeldLocks.clear();
+    }
+
+    @Override
+    public void convertToReadLock(String lockNameType, String lockName, Integer lockTimeout) {
+        convert(lockNameType, lockName, LockMode.READ,
+                () -> lockManagementService.convertToReadLock(lockNameType, lockName, lockTimeout));
+    }
+
+    @Override
+    public void convertToWriteLock(String lockNameType, String lockName, Integer lockTimeout) {
+        convert(lockNameType, lockName, LockMode.WRITE,
+                () -> lockManagementService.convertToWriteLock(lockNameType, lockName, lockTimeout));
+    }
+
+    /**
+     * Locks released on commit are released by the transaction rather than by unlock, so they are not tracked as held.
+     */
+    private void acquire(String lockNameType, String lockName, LockOperation lockOperation, boolean releaseOnCommit,
+                         Runnable acquisition) {
+        long acquiredTime = request(lockNameType, lockOperation, acquisition);
+        if (releaseOnCommit) {
+            return;
+        }
+        held(lockNameType, lockName, lockOperation == LockOperation.READ ? LockMode.READ : LockMode.WRITE, acquiredTime);
+    }
+
+    private void held(String lockNameType, String lockName, LockMode lockMode, long acquiredTime) {
+        HeldLock heldLock = heldLocks.get().get(getLockKey(lockNameType, lockName));
+        if (heldLock != null) {
+            heldLock.count++;
+        } else {
+            heldLocks.get().put(getLockKey(lockNameType, lockName), new HeldLock(lockNameType, lockMode, acquiredTime));
+            getLockTypeMeters(lockNameType).getHeldLocks(lockMode).incrementAndGet();
+        }
+    }
+
+    private void convert(String lockNameType, String lockName, LockMode lockMode, Runnable conversion) {
+        request(lockNameType, LockOperation.CONVERT, conversion);
+        HeldLock heldLock = heldLocks.get().get(getLockKey(lockNameType, lockName));
+        if (heldLock != null && heldLock.lockMode != lockMode) {
+            LockTypeMeters meters = getLockTypeMeters(lockNameType);
+            meters.getHeldLocks(heldLock.lockMode).decrementAndGet();
+            meters.getHeldLocks(lockMode).incrementAndGet();
+            heldLock.lockMode = lockMode;
+        }
+    }
+
+    /**
+     * @return time the request was granted
+     */
+    private long request(String lockNameType, LockOperation lockOperation, Runnable request) {
+        LockTypeMeters meters = getLockTypeMeters(lockNameType);
+        long startTime = System.nanoTime();
+        try {
+            request.run();
+        } catch (LockManagerTimeoutException e) {
+            meters.getTimeoutCounter(lockOperation).increment();
+            throw e;
+        } catch (RuntimeException e) {
+            meters.getErrorCounter(lockOperation).increment();
+            throw e;
+        }
+        long grantedTime = System.nanoTime();
+        meters.getWaitTimer(lockOperation).record(grantedTime - startTime, TimeUnit.NANOSECONDS);
+        meters.getAcquisitionCounter(lockOperation).increment();
+        return grantedTime;
+    }
+
+    private void released(String lockNameType, String lockName) {
+        Map<String, HeldLock> threadHeldLocks = heldLocks.get();
+        String lockKey = getLockKey(lockNameType, lockName);
+        HeldLock heldLock = threadHeldLocks.get(lockKey);
+        if (heldLock == null || --heldLock.count > 0) {
+            return;
+        }
+        threadHeldLocks.remove(lockKey);
+        LockTypeMeters meters = getLockTypeMeters(lockNameType);
+        meters.getHoldTimer(heldLock.lockMode).record(System.nanoTime() - heldLock.acquiredTime, TimeUnit.NANOSECONDS);
+        meters.getHeldLocks(heldLock.lockMode).decrementAndGet();
+    }
+
+    private LockTypeMeters getLockTypeMeters(String lockNameType) {
+        LockTypeMeters meters = lockTypeMeters.get(lockNameType);
+        if (meters == null) {
+            meters = lockTypeMeters.computeIfAbsent(lockNameType,
+                    nameType -> new LockTypeMeters(meterRegistry, backend, nameType));
+        }
+        return meters;
+    }
+
+    private static String getLockKey(String lockNameType, String lockName) {
+        return lockNameType + (StringUtils.isNotEmpty(lockName) ? "-" + lockName : "");
+    }
+
+    private static class HeldLock {
+        private final String lockNameType;
+        private final long acquiredTime;
+        private LockMode lockMode;
+        private int count = 1;
+
+        HeldLock(String lockNameType, LockMode lockMode, long acquiredTime) {
+            this.lockNameType = lockNameType;
+            this.lockMode = lockMode;
+            this.acquiredTime = acquiredTime;
+        }
+    }
+}
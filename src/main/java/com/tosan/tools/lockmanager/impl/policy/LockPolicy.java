@@ -0,0 +1,51 @@
+package com.tosan.tools.lockmanager.impl.policy;
+
+import com.tosan.tools.lockmanager.api.LockManagementService;
+
+/**
+ * Policy of a lock name type for {@link PolicyLockManagementService}: the service serving its locks and the
+ * timeouts of requests giving none. Properties left null fall back to the default service and the default timeouts
+ * of the backend.
+ *
+ * @author mortezaei
+ * @since 10/18/2026
+ */
+public class LockPolicy {
+    private LockManagementService lockManagementService;
+    private Integer readLockTimeout;
+    private Integer writeLockTimeout;
+
+    public LockManagementService getLockManagementService() {
+        return lockManagementService;
+    }
+
+    /**
+     * Sets the service serving the locks of the lock name type, e.g. a Redis service with a short lock expiration
+     * for hot, short-lived locks, or a striped or coalescing service wrapping a backend.
+     */
+    public void setLockManagementService(LockManagementService lockManagementService) {
+        this.lockManagementService = lockManagementService;
+    }
+
+    public Integer getReadLockTimeout() {
+        return readLockTimeout;
+    }
+
+    /**
+     * Sets the number of seconds to continue trying to grant read locks, also used to convert locks to read mode.
+     */
+    public void setReadLockTimeout(Integer readLockTimeout) {
+        this.readLockTimeout = readLockTimeout;
+    }
+
+    public Integer getWriteLockTimeout() {
+        return writeLockTimeout;
+    }
+
+    /**
+     * Sets the number of seconds to continue trying to grant write locks, also used to convert locks to write mode.
+     */
+    public void setWriteLockTimeout(Integer writeLockTimeout) {
+        this.writeLockTimeout = writeLockTimeout;
+    }
+}
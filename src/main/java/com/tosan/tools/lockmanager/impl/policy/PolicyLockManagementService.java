@@ -0,0 +1,232 @@
+package com.tosan.tools.lockmanager.impl.policy;
+
+import com.tosan.tools.lockmanager.api.CloseableLockHandle;
+import com.tosan.tools.lockmanager.api.LockManagementService;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Applies a {@link LockPolicy} per lock name type: requests of a lock name type are passed to the service of its
+ * policy, with the timeout of its policy when the request gives none. Lock name types without policy are passed to
+ * the default service unchanged.
+ * <p>
+ * Policies are resolved once when set into an immutable map, so each request costs one map lookup. Lock expiration,
+ * fairness and striping of a lock name type are those of the service of its policy, e.g. a Redis service with its
+ * own lock expiration, or a {@link com.tosan.tools.lockmanager.impl.striped.StripedLockManagementService} or
+ * {@link com.tosan.tools.lockmanager.impl.coalescing.CoalescingLockManagementService} wrapping a backend.
+ *
+ * @author mortezaei
+ * @since 10/18/2026
+ */
+public class PolicyLockManagementService implements LockManagementService {
+    private final ResolvedPolicy defaultPolicy;
+    private Map<String, ResolvedPolicy> policies = Map.of();
+    private List<LockManagementService> lockManagementServices;
+
+    public PolicyLockManagementService(LockManagementService lockManagementService) {
+        this.defaultPolicy = new ResolvedPolicy(lockManagementService, null, null);
+        this.lockManagementServices = List.of(lockManagementService);
+    }
+
+    /**
+     * Sets the policies by lock name type. Later changes to the given policies have no effect.
+     */
+    public void setPolicies(Map<String, LockPolicy> policies) {
+        Map<String, ResolvedPolicy> resolvedPolicies = new HashMap<>();
+        Set<LockManagementService> services = Collections.newSetFromMap(new IdentityHashMap<>());
+        services.add(defaultPolicy.lockManagementService);
+        for (Map.Entry<String, LockPolicy> typePolicy : policies.entrySet()) {
+            LockPolicy policy = typePolicy.getValue();
+            checkTimeout(typePolicy.getKey(), policy.getReadLockTimeout());
+            checkTimeout(typePolicy.getKey(), policy.getWriteLockTimeout());
+            LockManagementService lockManagementService = policy.getLockManagementService() == null ?
+                    defaultPolicy.lockManagementService : policy.getLockManagementService();
+            resolvedPolicies.put(typePolicy.getKey(), new ResolvedPolicy(lockManagementService,
+                    policy.getReadLockTimeout(), policy.getWriteLockTimeout()));
+            services.add(lockManagementService);
+        }
+        this.policies = Map.copyOf(resolvedPolicies);
+        this.lockManagementServices = List.copyOf(services);
+    }
+
+    /**
+     * Returns the service serving the locks of the lock name type.
+     *
+     * @param lockNameType lock name type
+     * @return service of its policy, or the default service
+     */
+    public LockManagementService getLockManagementService(String lockNameType) {
+        return getPolicy(lockNameType).lockManagementService;
+    }
+
+    @Override
+    public void requestReadLock(String lockNameType, boolean releaseOnCommit) {
+        ResolvedPolicy policy = getPolicy(lockNameType);
+        if (policy.readLockTimeout == null) {
+            policy.lockManagementService.requestReadLock(lockNameType, releaseOnCommit);
+        } else {
+            policy.lockManagementService.requestReadLock(lockNameType, null, policy.readLockTimeout, releaseOnCommit);
+        }
+    }
+
+    @Override
+    public void requestReadLock(String lockNameType, String lockName, boolean releaseOnCommit) {
+        ResolvedPolicy policy = getPolicy(lockNameType);
+        if (policy.readLockTimeout == null) {
+            policy.lockManagementService.requestReadLock(lockNameType, lockName, releaseOnCommit);
+        } else {
+            policy.lockManagementService.requestReadLock(lockNameType, lockName, policy.readLockTimeout,
+                    releaseOnCommit);
+        }
+    }
+
+    @Override
+    public void requestReadLock(String lockNameType, String lockName, Integer lockTimeout, boolean releaseOnCommit) {
+        ResolvedPolicy policy = getPolicy(lockNameType);
+        policy.lockManagementService.requestReadLock(lockNameType, lockName, policy.readLockTimeout(lockTimeout),
+                releaseOnCommit);
+    }
+
+    @Override
+    public void requestWriteLock(String lockNameType, boolean releaseOnCommit) {
+        ResolvedPolicy policy = getPolicy(lockNameType);
+        if (policy.writeLockTimeout == null) {
+            policy.lockManagementService.requestWriteLock(lockNameType, releaseOnCommit);
+        } else {
+            policy.lockManagementService.requestWriteLock(lockNameType, null, policy.writeLockTimeout,
+                    releaseOnCommit);
+        }
+    }
+
+    @Override
+    public void requestWriteLock(String lockNameType, String lockName, boolean releaseOnCommit) {
+        ResolvedPolicy policy = getPolicy(lockNameType);
+        if (policy.writeLockTimeout == null) {
+            policy.lockManagementService.requestWriteLock(lockNameType, lockName, releaseOnCommit);
+        } else {
+            policy.lockManagementService.requestWriteLock(lockNameType, lockName, policy.writeLockTimeout,
+                    releaseOnCommit);
+        }
+    }
+
+    @Override
+    public void requestWriteLock(String lockNameType, String lockName, Integer lockTimeout, boolean releaseOnCommit) {
+        ResolvedPolicy policy = getPolicy(lockNameType);
+        policy.lockManagementService.requestWriteLock(lockNameType, lockName, policy.writeLockTimeout(lockTimeout),
+                releaseOnCommit);
+    }
+
+    @Override
+    public void unlock(String lockNameType) {
+        getPolicy(lockNameType).lockManagementService.unlock(lockNameType);
+    }
+
+    @Override
+    public void unlock(String lockNameType, String lockName) {
+        getPolicy(lockNameType).lockManagementService.unlock(lockNameType, lockName);
+    }
+
+    @Override
+    public void convertToReadLock(String lockNameType, String lockName, Integer lockTimeout) {
+        ResolvedPolicy policy = getPolicy(lockNameType);
+        policy.lockManagementService.convertToReadLock(lockNameType, lockName, policy.readLockTimeout(lockTimeout));
+    }
+
+    @Override
+    public void convertToWriteLock(String lockNameType, String lockName, Integer lockTimeout) {
+        ResolvedPolicy policy = getPolicy(lockNameType);
+        policy.lockManagementService.convertToWriteLock(lockNameType, lockName, policy.writeLockTimeout(lockTimeout));
+    }
+
+    @Override
+    public CloseableLockHandle acquireReadLock(String lockNameType, String lockName, Integer lockTimeout) {
+        ResolvedPolicy policy = getPolicy(lockNameType);
+        return policy.lockManagementService.acquireReadLock(lockNameType, lockName, policy.readLockTimeout(lockTimeout));
+    }
+
+    @Override
+    public CloseableLockHandle acquireWriteLock(String lockNameType, String lockName, Integer lockTimeout) {
+        ResolvedPolicy policy = getPolicy(lockNameType);
+        return policy.lockManagementService.acquireWriteLock(lockNameType, lockName,
+                policy.writeLockTimeout(lockTimeout));
+    }
+
+    @Override
+    public void requestReadLocks(String lockNameType, Collection<String> lockNames, Integer lockTimeout) {
+        ResolvedPolicy policy = getPolicy(lockNameType);
+        policy.lockManagementService.requestReadLocks(lockNameType, lockNames, policy.readLockTimeout(lockTimeout));
+    }
+
+    @Override
+    public void requestWriteLocks(String lockNameType, Collection<String> lockNames, Integer lockTimeout) {
+        ResolvedPolicy policy = getPolicy(lockNameType);
+        policy.lockManagementService.requestWriteLocks(lockNameType, lockNames, policy.writeLockTimeout(lockTimeout));
+    }
+
+    @Override
+    public void unlockAll(String lockNameType, Collection<String> lockNames) {
+        getPolicy(lockNameType).lockManagementService.unlockAll(lockNameType, lockNames);
+    }
+
+    /**
+     * Releases all locks of the current owner at the default service and at each service of the policies. When a
+     * service fails, the others are still called and its exception is thrown with the later ones suppressed.
+     */
+    @Override
+    public void unlockAll() {
+        List<RuntimeException> exceptions = new ArrayList<>();
+        for (LockManagementService lockManagementService : lockManagementServices) {
+            try {
+                lockManagementService.unlockAll();
+            } catch (RuntimeException e) {
+                exceptions.add(e);
+            }
+        }
+        if (!exceptions.isEmpty()) {
+            RuntimeException exception = exceptions.get(0);
+            for (int i = 1; i < exceptions.size(); i++) {
+                exception.addSuppressed(exceptions.get(i));
+            }
+            throw exception;
+        }
+    }
+
+    private ResolvedPolicy getPolicy(String lockNameType) {
+        ResolvedPolicy policy = policies.get(lockNameType);
+        return policy == null ? defaultPolicy : policy;
+    }
+
+    private static void checkTimeout(String lockNameType, Integer lockTimeout) {
+        if (lockTimeout != null && lockTimeout < 0) {
+            throw new IllegalArgumentException("Lock timeouts of '" + lockNameType + "' must not be negative.");
+        }
+    }
+
+    private static class ResolvedPolicy {
+        private final LockManagementService lockManagementService;
+        private final Integer readLockTimeout;
+        private final Integer writeLockTimeout;
+
+        ResolvedPolicy(LockManagementService lockManagementService, Integer readLockTimeout,
+                       Integer writeLockTimeout) {
+            this.lockManagementService = lockManagementService;
+            this.readLockTimeout = readLockTimeout;
+            this.writeLockTimeout = writeLockTimeout;
+        }
+
+        Integer readLockTimeout(Integer lockTimeout) {
+            return lockTimeout == null ? readLockTimeout : lockTimeout;
+        }
+
+        Integer writeLockTimeout(Integer lockTimeout) {
+            return lockTimeout == null ? writeLockTimeout : lockTimeout;
+        }
+    }
+}
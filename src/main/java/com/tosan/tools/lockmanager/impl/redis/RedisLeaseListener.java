@@ -0,0 +1,22 @@
+package com.tosan.tools.lockmanager.impl.redis;
+
+import com.tosan.tools.lockmanager.api.LockMode;
+
+/**
+ * Notified when a Redis lock held by this JVM is found lost before it was released, e.g. because its lease expired
+ * after renewals failed. Called on the lease monitor thread, so implementations must not block.
+ *
+ * @author mortezaei
+ * @since 10/18/2026
+ */
+@FunctionalInterface
+public interface RedisLeaseListener {
+
+    /**
+     * @param lockNameType lock name type
+     * @param lockName     lock name
+     * @param lockMode     mode of the lost lock
+     * @param ownerId      id of the owner thread, or the synthetic owner id of an asynchronous lock
+     */
+    void leaseLost(String lockNameType, String lockName, LockMode lockMode, long ownerId);
+}
@@ -0,0 +1,150 @@
+package com.tosan.tools.lockmanager.impl.redis;
+
+import com.tosan.tools.lockmanager.api.LockMode;
+import org.redisson.api.BatchOptions;
+import org.redisson.api.RBatch;
+import org.redisson.api.RFuture;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Tracks the Redis locks held by this JVM and checks them on one shared thread, all of them in a single pipelined
+ * batch per run. A lock is reported to the {@link RedisLeaseListener} once, and then forgotten, when its owner is no
+ * longer in the lock hash, or when no check confirmed it for a whole lease time, e.g. while Redis is unreachable.
+ * <p>
+ * Lock hash fields follow Redisson: {@code <client id>:<owner id>} for read locks and
+ * {@code <client id>:<owner id>:write} for write locks.
+ *
+ * @author mortezaei
+ * @since 10/18/2026
+ */
+class RedisLeaseMonitor {
+    private static final Logger LOGGER = LoggerFactory.getLogger(RedisLeaseMonitor.class);
+
+    private final RedissonClient redisClient;
+    private final RedisLeaseListener leaseListener;
+    private final LongSupplier leaseMillis;
+    private final Map<String, Lease> leases = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler;
+
+    RedisLeaseMonitor(RedissonClient redisClient, RedisLeaseListener leaseListener, LongSupplier leaseMillis,
+                      long checkIntervalMillis) {
+        this.redisClient = redisClient;
+        this.leaseListener = leaseListener;
+        this.leaseMillis = leaseMillis;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "redis-lease-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::check, checkIntervalMillis, checkIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    void held(String lockNameType, String lockName, String lockKey, LockMode lockMode, long ownerId) {
+        long now = System.nanoTime();
+        leases.compute(getLeaseKey(lockKey, lockMode, ownerId), (leaseKey, lease) -> {
+            if (lease == null) {
+                return new Lease(lockNameType, lockName, lockKey, lockMode, ownerId, now);
+            }
+            lease.holdCount++;
+            return lease;
+        });
+    }
+
+    /**
+     * Called before the lock is released, so a check never sees an unlocked lease still tracked.
+     */
+    void released(String lockKey, LockMode lockMode, long ownerId) {
+        leases.computeIfPresent(getLeaseKey(lockKey, lockMode, ownerId),
+                (leaseKey, lease) -> --lease.holdCount > 0 ? lease : null);
+    }
+
+    int size() {
+        return leases.size();
+    }
+
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    private void check() {
+        List<Map.Entry<String, Lease>> checked = new ArrayList<>(leases.entrySet());
+        if (checked.isEmpty()) {
+            return;
+        }
+        long now = System.nanoTime();
+        List<RFuture<Boolean>> results = new ArrayList<>(checked.size());
+        try {
+            RBatch batch = redisClient.createBatch(BatchOptions.defaults());
+            String clientId = redisClient.getId();
+            for (Map.Entry<String, Lease> entry : checked) {
+                Lease lease = entry.getValue();
+                String field = clientId + ":" + lease.ownerId + (lease.lockMode == LockMode.WRITE ? ":write" : "");
+                results.add(batch.getMap(lease.lockKey, StringCodec.INSTANCE).containsKeyAsync(field));
+            }
+            batch.execute();
+        } catch (RuntimeException e) {
+            LOGGER.warn("Could not check leases of {} Redis locks: {}", checked.size(), e.getMessage());
+        }
+        long leaseNanos = TimeUnit.MILLISECONDS.toNanos(leaseMillis.getAsLong());
+        for (int i = 0; i < checked.size(); i++) {
+            Lease lease = checked.get(i).getValue();
+            CompletableFuture<Boolean> result = i < results.size() ? results.get(i).toCompletableFuture() : null;
+            if (result != null && result.isDone() && !result.isCompletedExceptionally()) {
+                if (result.join()) {
+                    lease.confirmedTime = now;
+                    continue;
+                }
+            } else if (now - lease.confirmedTime < leaseNanos) {
+                continue;
+            }
+            if (leases.remove(checked.get(i).getKey(), lease)) {
+                LOGGER.warn("Lease of {} lock {} is lost", lease.lockMode, lease.lockKey);
+                notifyLost(lease);
+            }
+        }
+    }
+
+    private void notifyLost(Lease lease) {
+        try {
+            leaseListener.leaseLost(lease.lockNameType, lease.lockName, lease.lockMode, lease.ownerId);
+        } catch (RuntimeException e) {
+            LOGGER.error("Lease listener failed for lock {}", lease.lockKey, e);
+        }
+    }
+
+    private static String getLeaseKey(String lockKey, LockMode lockMode, long ownerId) {
+        return ownerId + ":" + lockMode + ":" + lockKey;
+    }
+
+    private static class Lease {
+        private final String lockNameType;
+        private final String lockName;
+        private final String lockKey;
+        private final LockMode lockMode;
+        private final long ownerId;
+        private volatile long confirmedTime;
+        private int holdCount = 1;
+
+        Lease(String lockNameType, String lockName, String lockKey, LockMode lockMode, long ownerId, long confirmedTime) {
+            this.lockNameType = lockNameType;
+            this.lockName = lockName;
+            this.lockKey = lockKey;
+            this.lockMode = lockMode;
+            this.ownerId = ownerId;
+            this.confirmedTime = confirmedTime;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.tosan.tools.lockmanager.impl.redis;
+
+import com.tosan.tools.lockmanager.api.LockHandle;
+import com.tosan.tools.lockmanager.api.LockMode;
+import org.redisson.api.RLock;
+import org.redisson.api.RReadWriteLock;
+
+/**
+ * Redis lock owned by a synthetic owner id instead of a thread.
+ *
+ * @author mortezaei
+ * @since 10/18/2026
+ */
+public class RedisLockHandle implements LockHandle {
+    private final String lockNameType;
+    private final String lockName;
+    private final LockMode lockMode;
+    private final RReadWriteLock readWriteLock;
+    private final long ownerId;
+
+    RedisLockHandle(String lockNameType, String lockName, LockMode lockMode, RReadWriteLock readWriteLock, long ownerId) {
+        this.lockNameType = lockNameType;
+        this.lockName = lockName;
+        this.lockMode = lockMode;
+        this.readWriteLock = readWriteLock;
+        this.ownerId = ownerId;
+    }
+
+    @Override
+    public String getLockNameType() {
+        return lockNameType;
+    }
+
+    @Override
+    public String getLockName() {
+        return lockName;
+    }
+
+    @Override
+    public LockMode getLockMode() {
+        return lockMode;
+    }
+
+    RReadWriteLock getReadWriteLock() {
+        return readWriteLock;
+    }
+
+    RLock getLock() {
+        return lockMode == LockMode.READ ? readWriteLock.readLock() : readWriteLock.writeLock();
+    }
+
+    long getOwnerId() {
+        return ownerId;
+    }
+
+    RedisLockHandle withLockMode(LockMode lockMode) {
+        return new RedisLockHandle(lockNameType, lockName, lockMode, readWriteLock, ownerId);
+    }
+}
@@ -1,11 +1,16 @@
 package com.tosan.tools.lockmanager.impl.redis;
 
+import com.tosan.tools.lockmanager.api.CloseableLockHandle;
 import com.tosan.tools.lockmanager.api.LockManagementService;
+import com.tosan.tools.lockmanager.api.LockMode;
 import com.tosan.tools.lockmanager.exception.LockManagerTimeoutException;
 import com.tosan.tools.lockmanager.exception.LockManagerRunTimeException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Collection;
+import java.util.TreeSet;
+
 /**
  * @author R.Mehri
  * @since 29/09/2020
@@ -78,6 +83,50 @@ public class RedisLockManagementService implements LockManagementService {
         }
     }
 
+    @Override
+    public CloseableLockHandle acquireReadLock(String lockNameType, String lockName, Integer lockTimeout)
+            throws LockManagerTimeoutException {
+        try {
+            return redisLockService.acquireLock(lockNameType, lockName, LockMode.READ, lockTimeout);
+        } catch (LockManagerTimeoutException e) {
+            LOGGER.warn("Write lock '{}' held by another method: " + e.getMessage(), lockName);
+            throw e;
+        }
+    }
+
+    @Override
+    public CloseableLockHandle acquireWriteLock(String lockNameType, String lockName, Integer lockTimeout)
+            throws LockManagerTimeoutException {
+        try {
+            return redisLockService.acquireLock(lockNameType, lockName, LockMode.WRITE, lockTimeout);
+        } catch (LockManagerTimeoutException e) {
+            LOGGER.warn("Write or read lock '{}' held by another method: " + e.getMessage(), lockName);
+            throw e;
+        }
+    }
+
+    @Override
+    public void requestReadLocks(String lockNameType, Collection<String> lockNames, Integer lockTimeout)
+            throws LockManagerTimeoutException {
+        try {
+            redisLockService.requestLocks(lockNameType, new TreeSet<>(lockNames), LockMode.READ, lockTimeout);
+        } catch (LockManagerTimeoutException e) {
+            LOGGER.warn("Write lock of one of '{}' held by another method: " + e.getMessage(), lockNames);
+            throw e;
+        }
+    }
+
+    @Override
+    public void requestWriteLocks(String lockNameType, Collection<String> lockNames, Integer lockTimeout)
+            throws LockManagerTimeoutException {
+        try {
+            redisLockService.requestLocks(lockNameType, new TreeSet<>(lockNames), LockMode.WRITE, lockTimeout);
+        } catch (LockManagerTimeoutException e) {
+            LOGGER.warn("Write or read lock of one of '{}' held by another method: " + e.getMessage(), lockNames);
+            throw e;
+        }
+    }
+
     @Override
     public void unlock(String lockNameType) throws LockManagerTimeoutException {
         try {
@@ -96,6 +145,14 @@ public class RedisLockManagementService implements LockManagementService {
         }
     }
 
+    /**
+     * Releases the locks held by the current thread, as acquired by this service or its lock handles.
+     */
+    @Override
+    public void unlockAll() {
+        redisLockService.unLockAll();
+    }
+
     /**
      * Converts a lock from one mode to another mode according to parameters
      *
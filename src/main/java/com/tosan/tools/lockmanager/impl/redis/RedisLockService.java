@@ -1,14 +1,36 @@
 package com.tosan.tools.lockmanager.impl.redis;
 
+import com.tosan.tools.lockmanager.api.LockHandle;
+import com.tosan.tools.lockmanager.api.LockMode;
+import com.tosan.tools.lockmanager.exception.LockManagerRunTimeException;
 import com.tosan.tools.lockmanager.exception.LockManagerTimeoutException;
 import org.apache.commons.lang3.StringUtils;
+import org.redisson.RedissonObject;
+import org.redisson.api.RFuture;
 import org.redisson.api.RLock;
+import org.redisson.api.RLockReactive;
 import org.redisson.api.RReadWriteLock;
+import org.redisson.api.RReadWriteLockReactive;
+import org.redisson.api.RScript;
 import org.redisson.api.RedissonClient;
+import org.redisson.api.RedissonReactiveClient;
+import org.redisson.client.codec.LongCodec;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
 
+import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * @author R.Mehri
@@ -18,15 +40,97 @@ public class RedisLockService {
     private static final Logger LOGGER = LoggerFactory.getLogger(RedisLockService.class);
     private static final int DEFAULT_READ_LOCK_TIMEOUT = 60;
     private static final int DEFAULT_WRITE_LOCK_TIMEOUT = 7200;
+    /**
+     * Owner ids of asynchronous locks, negative so they never collide with thread ids.
+     */
+    private static final AtomicLong ASYNC_OWNER_IDS = new AtomicLong(Long.MIN_VALUE);
+    private static final long CONVERT_DONE = 1;
+    private static final long CONVERT_ALREADY_HELD = 0;
+    private static final long CONVERT_NOT_HELD = -1;
+    private static final long CONVERT_SHARED = 2;
+    private static final long READ_UNLOCK_MESSAGE = 1;
+    /**
+     * Turns one write hold of the owner into a read hold, keeping the entries as Redisson's read lock would: a hold
+     * counter field per owner and a lease key per hold. Once the owner holds no write lock, the lock is put in read
+     * mode and waiting readers are woken with the read unlock message of Redisson.
+     * KEYS: lock key, lock channel, read lease key prefix of the owner; ARGV: lease millis, read field, write field.
+     * <p>
+     * These scripts depend on the entry layout of {@code RedissonReadLock} and {@code RedissonWriteLock}, which is
+     * not a public API of Redisson; RedisLockServiceUTest checks them against the Redisson version built with.
+     */
+    private static final String DOWNGRADE_SCRIPT =
+            "if (redis.call('hget', KEYS[1], 'mode') ~= 'write') or (redis.call('hexists', KEYS[1], ARGV[3]) == 0) then " +
+            "  if redis.call('hexists', KEYS[1], ARGV[2]) == 1 then return 0; end; " +
+            "  return -1; " +
+            "end; " +
+            "local hold = redis.call('hincrby', KEYS[1], ARGV[2], 1); " +
+            "redis.call('set', KEYS[3] .. ':' .. hold, 1, 'px', ARGV[1]); " +
+            "if redis.call('hincrby', KEYS[1], ARGV[3], -1) <= 0 then " +
+            "  redis.call('hdel', KEYS[1], ARGV[3]); " +
+            "  redis.call('hset', KEYS[1], 'mode', 'read'); " +
+            "  redis.call('publish', KEYS[2], 1); " +
+            "end; " +
+            "redis.call('pexpire', KEYS[1], math.max(redis.call('pttl', KEYS[1]), tonumber(ARGV[1]))); " +
+            "return 1;";
+    /**
+     * Turns one read hold of the owner into a write hold if no other owner reads, returning 2 otherwise.
+     * Same KEYS and ARGV as {@link #DOWNGRADE_SCRIPT}.
+     */
+    private static final String UPGRADE_SCRIPT =
+            "local mode = redis.call('hget', KEYS[1], 'mode'); " +
+            "if (mode == 'write') and (redis.call('hexists', KEYS[1], ARGV[3]) == 1) then return 0; end; " +
+            "local holds = tonumber(redis.call('hget', KEYS[1], ARGV[2])); " +
+            "if (mode ~= 'read') or (holds == nil) then return -1; end; " +
+            "if redis.call('hlen', KEYS[1]) > 2 then return 2; end; " +
+            "if holds > 1 then redis.call('hincrby', KEYS[1], ARGV[2], -1); else redis.call('hdel', KEYS[1], ARGV[2]); end; " +
+            "redis.call('del', KEYS[3] .. ':' .. holds); " +
+            "redis.call('hset', KEYS[1], 'mode', 'write'); " +
+            "redis.call('hset', KEYS[1], ARGV[3], 1); " +
+            "redis.call('pexpire', KEYS[1], math.max(redis.call('pttl', KEYS[1]), tonumber(ARGV[1]))); " +
+            "return 1;";
     private RedissonClient redisClient;
+    private RedissonReactiveClient reactiveRedisClient;
     private int lockExpireSecond = 3600;
+    private boolean leaseRenewal = false;
+    private volatile RedisLeaseListener leaseListener;
+    private volatile RedisLeaseMonitor leaseMonitor;
+    /**
+     * Read and write hold counts, indexed by {@link LockMode#ordinal()}, of the locks owned by the current thread.
+     */
+    private final ThreadLocal<Map<String, int[]>> threadHolds = ThreadLocal.withInitial(HashMap::new);
 
     public void setLockExpireSecond(int lockExpireSecond) {
         this.lockExpireSecond = lockExpireSecond;
     }
 
+    /**
+     * If true, locks are granted with the lock watchdog timeout of the Redisson client as lease, 30 seconds by
+     * default, and renewed while held by the Redisson lock watchdog, one shared scheduler renewing up to
+     * {@code lockWatchdogBatchSize} locks per call. Locks of a stopped JVM then expire within the lease, and long
+     * jobs keep their locks as long as they run. {@code lockExpireSecond} is ignored then.
+     */
+    public void setLeaseRenewal(boolean leaseRenewal) {
+        this.leaseRenewal = leaseRenewal;
+    }
+
+    /**
+     * Sets the listener notified when a lock held by this JVM is lost before it is released, so its owner can abort.
+     * Held locks are then tracked and checked in one pipelined batch every third of the lock watchdog timeout of the
+     * Redisson client. Null stops tracking.
+     */
+    public void setLeaseListener(RedisLeaseListener leaseListener) {
+        synchronized (this) {
+            this.leaseListener = leaseListener;
+            if (leaseMonitor != null) {
+                leaseMonitor.shutdown();
+                leaseMonitor = null;
+            }
+        }
+    }
+
     public void setRedisClient(RedissonClient redisClient) {
         this.redisClient = redisClient;
+        this.reactiveRedisClient = redisClient.reactive();
     }
 
     public void requestReadLock(String lockNameType, String lockName, Integer lockTimeout, boolean releaseOnCommit)
@@ -40,10 +144,11 @@ public class RedisLockService {
         try {
             RReadWriteLock readWriteLock = redisClient.getReadWriteLock(lockHandle);
             RLock rLock = readWriteLock.readLock();
-            boolean granted = rLock.tryLock(timeout, lockExpireSecond, TimeUnit.SECONDS);
+            boolean granted = rLock.tryLock(timeout, getLeaseTime(), TimeUnit.SECONDS);
             if (!granted) {
                 throw new LockManagerTimeoutException("Timeout error occurred in 'REDIS_LOCK' request.");
             }
+            held(lockNameType, lockName, lockHandle, LockMode.READ, Thread.currentThread().getId());
             LOGGER.debug("Acquired read lock with handle {}.", lockHandle);
         } catch (InterruptedException e) {
             throw new LockManagerTimeoutException("Timeout error occurred in 'REDIS_LOCK' request.");
@@ -60,87 +165,523 @@ public class RedisLockService {
         try {
             RReadWriteLock readWriteLock = redisClient.getReadWriteLock(lockHandle);
             RLock rLock = readWriteLock.writeLock();
-            boolean granted = rLock.tryLock(timeout, lockExpireSecond, TimeUnit.SECONDS);
+            boolean granted = rLock.tryLock(timeout, getLeaseTime(), TimeUnit.SECONDS);
             if (!granted) {
                 throw new LockManagerTimeoutException("Timeout error occurred in 'REDIS_LOCK' request.");
             }
+            held(lockNameType, lockName, lockHandle, LockMode.WRITE, Thread.currentThread().getId());
             LOGGER.debug("Acquired write lock with handle {}.", lockHandle);
         } catch (InterruptedException e) {
             throw new LockManagerTimeoutException("Timeout error occurred in 'REDIS_LOCK' request.");
         }
     }
 
+    /**
+     * Acquires the locks of all the lock names, in the given order, through a Redisson multi lock, which releases the
+     * acquired locks when one of them cannot be granted.
+     */
+    public void requestLocks(String lockNameType, Collection<String> lockNames, LockMode lockMode, Integer lockTimeout) {
+        Integer timeout = lockTimeout;
+        if (timeout == null) {
+            timeout = lockMode == LockMode.READ ? DEFAULT_READ_LOCK_TIMEOUT : DEFAULT_WRITE_LOCK_TIMEOUT;
+        }
+        RLock[] locks = new RLock[lockNames.size()];
+        int i = 0;
+        for (String lockName : lockNames) {
+            RReadWriteLock readWriteLock = redisClient.getReadWriteLock(getLockHandle(lockNameType, lockName));
+            locks[i++] = lockMode == LockMode.READ ? readWriteLock.readLock() : readWriteLock.writeLock();
+        }
+        LOGGER.debug("Requesting {} {} locks of type {}", locks.length, lockMode, lockNameType);
+        try {
+            boolean granted = redisClient.getMultiLock(locks).tryLock(timeout, getLeaseTime(), TimeUnit.SECONDS);
+            if (!granted) {
+                throw new LockManagerTimeoutException("Timeout error occurred in 'REDIS_LOCK' request.");
+            }
+            for (String lockName : lockNames) {
+                held(lockNameType, lockName, getLockHandle(lockNameType, lockName), lockMode,
+                        Thread.currentThread().getId());
+            }
+            LOGGER.debug("Acquired {} {} locks of type {}.", locks.length, lockMode, lockNameType);
+        } catch (InterruptedException e) {
+            throw new LockManagerTimeoutException("Timeout error occurred in 'REDIS_LOCK' request.");
+        }
+    }
+
     public void convertToReadLock(String lockNameType, String lockName, Integer timeout) {
         String lockHandle = getLockHandle(lockNameType, lockName);
         LOGGER.debug("Requesting convert to read lock with handle {}", lockHandle);
-        RReadWriteLock readWriteLock = redisClient.getReadWriteLock(lockHandle);
-        RLock wLock = readWriteLock.writeLock();
-        RLock rLock = readWriteLock.readLock();
-        if (rLock.isLocked()) {
-            LOGGER.debug("Allready granted a read lock with handle {}", lockHandle);
+        if (convertLock(lockNameType, lockName, lockHandle, LockMode.READ, timeout)) {
+            LOGGER.debug("Converted to read lock with handle {}", lockHandle);
         } else {
-            RLock convertLock = redisClient.getLock(lockHandle);
-            try {
-                boolean convertLockGranted = convertLock.tryLock(0, TimeUnit.SECONDS);
-                if (convertLockGranted) {
-                    throw new LockManagerTimeoutException("Another thread is converting this lock!");
-                } else {
-                    wLock.unlock();
-                    requestReadLock(lockNameType, lockName, null, false);
-                    convertLock.unlock();
-                    LOGGER.debug("Converted to read lock with handle {}", lockHandle);
-                }
-            } catch (InterruptedException | IllegalMonitorStateException e) {
-                throw new LockManagerTimeoutException("Timeout error occurred in 'REDIS_LOCK' convert.");
-            }
+            LOGGER.debug("Already granted a read lock with handle {}", lockHandle);
         }
     }
 
     public void convertToWriteLock(String lockNameType, String lockName, Integer timeout) {
         String lockHandle = getLockHandle(lockNameType, lockName);
         LOGGER.debug("Requesting convert to write lock with handle {}", lockHandle);
-        RReadWriteLock readWriteLock = redisClient.getReadWriteLock(lockHandle);
-        RLock wLock = readWriteLock.writeLock();
-        RLock rLock = readWriteLock.readLock();
-        if (wLock.isLocked()) {
-            LOGGER.debug("Already granted a write lock with handle {}", lockHandle);
+        if (convertLock(lockNameType, lockName, lockHandle, LockMode.WRITE, timeout)) {
+            LOGGER.debug("Converted to write lock with handle {}", lockHandle);
         } else {
-            RLock convertLock = redisClient.getLock(lockHandle);
-            try {
-                boolean convertLockGranted = convertLock.tryLock(0, TimeUnit.SECONDS);
-                if (!convertLockGranted) {
-                    throw new LockManagerTimeoutException("Another thread is converting this lock!");
-                } else {
-                    rLock.unlock();
-                    requestWriteLock(lockNameType, lockName, null, false);
-                    convertLock.unlock();
-                    LOGGER.debug("Converted to write lock with handle {}", lockHandle);
-                }
-            } catch (InterruptedException | IllegalMonitorStateException e) {
-                throw new LockManagerTimeoutException("Timeout error occurred in 'REDIS_LOCK' convert.");
-            }
+            LOGGER.debug("Already granted a write lock with handle {}", lockHandle);
         }
     }
 
+    /**
+     * Releases one read and one write hold of the lock, each on its own, so that a read lock not owned by the current
+     * thread does not keep its write lock held.
+     */
     public void unLock(String lockNameType, String lockName) {
+        String lockHandle = getLockHandle(lockNameType, lockName);
+        LOGGER.debug("Requesting release lock with handle {}", lockHandle);
+        RReadWriteLock readWriteLock = redisClient.getReadWriteLock(lockHandle);
+        unLock(lockHandle, readWriteLock.readLock(), LockMode.READ);
+        unLock(lockHandle, readWriteLock.writeLock(), LockMode.WRITE);
+        LOGGER.debug("Released lock with handle {}", lockHandle);
+    }
+
+    /**
+     * Releases one hold of the current thread in the lock mode. A hold of a lock already lost, e.g. expired, is
+     * forgotten.
+     */
+    private void unLock(String lockHandle, RLock rLock, LockMode lockMode) {
+        int[] lockHolds = threadHolds.get().get(lockHandle);
+        if ((lockHolds == null || lockHolds[lockMode.ordinal()] == 0) && !rLock.isLocked()) {
+            return;
+        }
+        released(lockHandle, lockMode, Thread.currentThread().getId());
         try {
-            String lockHandle = getLockHandle(lockNameType, lockName);
-            LOGGER.debug("Requesting release lock with handle {}", lockHandle);
-            RReadWriteLock readWriteLock = redisClient.getReadWriteLock(lockHandle);
-            RLock rLock = readWriteLock.readLock();
-            RLock wLock = readWriteLock.writeLock();
-            if (rLock.isLocked()) {
-                rLock.unlock();
+            rLock.unlock();
+        } catch (IllegalMonitorStateException e) {
+            LOGGER.debug("Current thread is not owner of {} lock with handle {}", lockMode, lockHandle);
+        }
+    }
+
+    /**
+     * Releases every hold of the locks owned by the current thread, however acquired, sending all the releases at
+     * once and waiting for them together, so the whole release takes about one round trip.
+     */
+    public void unLockAll() {
+        Map<String, int[]> holds = threadHolds.get();
+        if (holds.isEmpty()) {
+            return;
+        }
+        long threadId = Thread.currentThread().getId();
+        LOGGER.debug("Requesting release of {} locks of current thread", holds.size());
+        List<RFuture<Void>> releases = new ArrayList<>();
+        for (Map.Entry<String, int[]> lockHolds : new ArrayList<>(holds.entrySet())) {
+            RReadWriteLock readWriteLock = redisClient.getReadWriteLock(lockHolds.getKey());
+            for (LockMode lockMode : LockMode.values()) {
+                RLock rLock = lockMode == LockMode.READ ? readWriteLock.readLock() : readWriteLock.writeLock();
+                for (int i = lockHolds.getValue()[lockMode.ordinal()]; i > 0; i--) {
+                    released(lockHolds.getKey(), lockMode, threadId);
+                    releases.add(rLock.unlockAsync(threadId));
+                }
             }
-            if (wLock.isLocked()) {
-                wLock.unlock();
+        }
+        holds.clear();
+        LockManagerRunTimeException exception = null;
+        for (RFuture<Void> release : releases) {
+            try {
+                release.toCompletableFuture().join();
+            } catch (CompletionException e) {
+                if (!(e.getCause() instanceof IllegalMonitorStateException)) {
+                    if (exception == null) {
+                        exception = new LockManagerRunTimeException("Error occurred in 'REDIS_LOCK' release.", e.getCause());
+                    } else {
+                        exception.addSuppressed(e.getCause());
+                    }
+                }
             }
-            LOGGER.debug("Released lock with handle {}", lockHandle);
+        }
+        if (exception != null) {
+            throw exception;
+        }
+        LOGGER.debug("Released {} lock holds of current thread", releases.size());
+    }
+
+    /**
+     * Acquires the lock and returns a handle keeping its {@link RReadWriteLock}, owned by the current thread.
+     */
+    public RedisThreadLockHandle acquireLock(String lockNameType, String lockName, LockMode lockMode, Integer lockTimeout) {
+        String lockHandle = getLockHandle(lockNameType, lockName);
+        LOGGER.debug("Requesting {} lock with handle {}", lockMode, lockHandle);
+        RReadWriteLock readWriteLock = redisClient.getReadWriteLock(lockHandle);
+        lock(lockMode == LockMode.READ ? readWriteLock.readLock() : readWriteLock.writeLock(), lockMode, lockTimeout);
+        held(lockNameType, lockName, lockHandle, lockMode, Thread.currentThread().getId());
+        LOGGER.debug("Acquired {} lock with handle {}.", lockMode, lockHandle);
+        return new RedisThreadLockHandle(this, lockNameType, lockName, lockMode, lockHandle, readWriteLock);
+    }
+
+    void convertLock(RedisThreadLockHandle lockHandle, LockMode lockMode, Integer lockTimeout) {
+        convertLock(lockHandle.getLockNameType(), lockHandle.getLockName(), lockHandle.getLockKey(), lockMode, lockTimeout);
+    }
+
+    void releaseLock(RedisThreadLockHandle lockHandle, LockMode lockMode) {
+        RReadWriteLock readWriteLock = lockHandle.getReadWriteLock();
+        RLock rLock = lockMode == LockMode.READ ? readWriteLock.readLock() : readWriteLock.writeLock();
+        released(lockHandle.getLockKey(), lockMode, Thread.currentThread().getId());
+        try {
+            rLock.unlock();
+            LOGGER.debug("Released {} lock with handle {}", lockMode, rLock.getName());
         } catch (IllegalMonitorStateException e) {
             LOGGER.debug("Current thread is not owner of lock");
         }
     }
 
+    /**
+     * Converts the lock held by the current thread on the {@link RReadWriteLock} entries of Redisson. A write lock
+     * is downgraded by {@link #DOWNGRADE_SCRIPT} in one step, and a read lock is upgraded by {@link #UPGRADE_SCRIPT}
+     * in one step if no other owner reads. Otherwise the read holds are released before the write lock is requested,
+     * and are lost if the write lock cannot be granted.
+     * <p>
+     * With lease renewal the scripts are not used, as locks must be taken through Redisson to be renewed; a write
+     * lock is then downgraded by taking the read lock before releasing the write lock, and waiting readers are woken
+     * explicitly, as Redisson wakes them only when the lock is deleted.
+     *
+     * @return false if the lock is already held in the lock mode
+     */
+    private boolean convertLock(String lockNameType, String lockName, String lockKey, LockMode lockMode, Integer lockTimeout) {
+        long ownerId = Thread.currentThread().getId();
+        RReadWriteLock readWriteLock = redisClient.getReadWriteLock(lockKey);
+        long result;
+        if (leaseRenewal) {
+            result = lockMode == LockMode.READ ? downgradeRenewedLock(readWriteLock, lockTimeout) :
+                    upgradeRenewedLock(readWriteLock);
+        } else {
+            String readLockName = redisClient.getId() + ":" + ownerId;
+            List<Object> keys = Arrays.asList(lockKey, RedissonObject.prefixName("redisson_rwlock", lockKey),
+                    RedissonObject.suffixName(lockKey, readLockName) + ":rwlock_timeout");
+            result = redisClient.getScript(LongCodec.INSTANCE).eval(lockKey, RScript.Mode.READ_WRITE,
+                    lockMode == LockMode.READ ? DOWNGRADE_SCRIPT : UPGRADE_SCRIPT, RScript.ReturnType.INTEGER, keys,
+                    getLeaseMillis(), readLockName, readLockName + ":write");
+        }
+        if (result == CONVERT_ALREADY_HELD) {
+            return false;
+        }
+        if (result == CONVERT_NOT_HELD) {
+            throw new LockManagerTimeoutException("Timeout error occurred in 'REDIS_LOCK' convert.");
+        }
+        LockMode heldLockMode = lockMode == LockMode.READ ? LockMode.WRITE : LockMode.READ;
+        released(lockKey, heldLockMode, ownerId);
+        if (result == CONVERT_SHARED) {
+            upgradeSharedLock(lockKey, readWriteLock, lockTimeout, ownerId);
+        }
+        held(lockNameType, lockName, lockKey, lockMode, ownerId);
+        return true;
+    }
+
+    /**
+     * Releases every read hold of the current thread, as a reentrant read hold left would keep the write lock from
+     * being granted to its own thread, then takes the write lock and takes back all the read holds but the converted
+     * one under it. If the write lock cannot be granted, all the read holds are lost.
+     */
+    private void upgradeSharedLock(String lockKey, RReadWriteLock readWriteLock, Integer lockTimeout, long ownerId) {
+        RLock readLock = readWriteLock.readLock();
+        int readHolds = readLock.getHoldCount();
+        for (int i = 0; i < readHolds; i++) {
+            readLock.unlock();
+        }
+        try {
+            lock(readWriteLock.writeLock(), LockMode.WRITE, lockTimeout);
+        } catch (LockManagerTimeoutException e) {
+            for (int i = 1; i < readHolds; i++) {
+                released(lockKey, LockMode.READ, ownerId);
+            }
+            throw e;
+        }
+        for (int i = 1; i < readHolds; i++) {
+            lock(readLock, LockMode.READ, lockTimeout);
+        }
+    }
+
+    private long downgradeRenewedLock(RReadWriteLock readWriteLock, Integer lockTimeout) {
+        if (!readWriteLock.writeLock().isHeldByCurrentThread()) {
+            return readWriteLock.readLock().isHeldByCurrentThread() ? CONVERT_ALREADY_HELD : CONVERT_NOT_HELD;
+        }
+        lock(readWriteLock.readLock(), LockMode.READ, lockTimeout);
+        readWriteLock.writeLock().unlock();
+        redisClient.getTopic(RedissonObject.prefixName("redisson_rwlock", readWriteLock.readLock().getName()),
+                LongCodec.INSTANCE).publish(READ_UNLOCK_MESSAGE);
+        return CONVERT_DONE;
+    }
+
+    private long upgradeRenewedLock(RReadWriteLock readWriteLock) {
+        if (readWriteLock.writeLock().isHeldByCurrentThread()) {
+            return CONVERT_ALREADY_HELD;
+        }
+        return readWriteLock.readLock().isHeldByCurrentThread() ? CONVERT_SHARED : CONVERT_NOT_HELD;
+    }
+
+    private void lock(RLock rLock, LockMode lockMode, Integer lockTimeout) {
+        Integer timeout = lockTimeout;
+        if (timeout == null) {
+            timeout = lockMode == LockMode.READ ? DEFAULT_READ_LOCK_TIMEOUT : DEFAULT_WRITE_LOCK_TIMEOUT;
+        }
+        try {
+            if (!rLock.tryLock(timeout, getLeaseTime(), TimeUnit.SECONDS)) {
+                throw new LockManagerTimeoutException("Timeout error occurred in 'REDIS_LOCK' request.");
+            }
+        } catch (InterruptedException e) {
+            throw new LockManagerTimeoutException("Timeout error occurred in 'REDIS_LOCK' request.");
+        }
+    }
+
+    public CompletionStage<LockHandle> requestReadLockAsync(String lockNameType, String lockName, Integer lockTimeout) {
+        Integer timeout = lockTimeout;
+        if (timeout == null) {
+            timeout = DEFAULT_READ_LOCK_TIMEOUT;
+        }
+        String lockHandle = getLockHandle(lockNameType, lockName);
+        LOGGER.debug("Requesting async read lock with handle {}", lockHandle);
+        return requestLockAsync(new RedisLockHandle(lockNameType, lockName, LockMode.READ,
+                redisClient.getReadWriteLock(lockHandle), ASYNC_OWNER_IDS.getAndIncrement()), timeout, new CompletableFuture<>());
+    }
+
+    public CompletionStage<LockHandle> requestWriteLockAsync(String lockNameType, String lockName, Integer lockTimeout) {
+        Integer timeout = lockTimeout;
+        if (timeout == null) {
+            timeout = DEFAULT_WRITE_LOCK_TIMEOUT;
+        }
+        String lockHandle = getLockHandle(lockNameType, lockName);
+        LOGGER.debug("Requesting async write lock with handle {}", lockHandle);
+        return requestLockAsync(new RedisLockHandle(lockNameType, lockName, LockMode.WRITE,
+                redisClient.getReadWriteLock(lockHandle), ASYNC_OWNER_IDS.getAndIncrement()), timeout, new CompletableFuture<>());
+    }
+
+    /**
+     * The write lock owner may take the read lock of the same {@link RReadWriteLock}, so the read lock is acquired
+     * before the write lock is released and exclusivity is never given up in between.
+     */
+    public CompletionStage<LockHandle> convertToReadLockAsync(LockHandle lockHandle, Integer lockTimeout) {
+        RedisLockHandle writeLock = getRedisLockHandle(lockHandle);
+        if (writeLock.getLockMode() == LockMode.READ) {
+            LOGGER.debug("Already granted a read lock with handle {}", getLockHandle(lockHandle.getLockNameType(), lockHandle.getLockName()));
+            return CompletableFuture.completedFuture(writeLock);
+        }
+        Integer timeout = lockTimeout;
+        if (timeout == null) {
+            timeout = DEFAULT_READ_LOCK_TIMEOUT;
+        }
+        return requestLockAsync(writeLock.withLockMode(LockMode.READ), timeout, new CompletableFuture<>())
+                .thenCompose(readLock -> unlockAsync(writeLock).thenApply(released -> readLock));
+    }
+
+    public CompletionStage<LockHandle> convertToWriteLockAsync(LockHandle lockHandle, Integer lockTimeout) {
+        RedisLockHandle readLock = getRedisLockHandle(lockHandle);
+        if (readLock.getLockMode() == LockMode.WRITE) {
+            LOGGER.debug("Already granted a write lock with handle {}", getLockHandle(lockHandle.getLockNameType(), lockHandle.getLockName()));
+            return CompletableFuture.completedFuture(readLock);
+        }
+        Integer timeout = lockTimeout;
+        if (timeout == null) {
+            timeout = DEFAULT_WRITE_LOCK_TIMEOUT;
+        }
+        int writeLockTimeout = timeout;
+        CompletableFuture<LockHandle> result = new CompletableFuture<>();
+        unlockAsync(readLock).whenComplete((released, e) -> {
+            if (e != null) {
+                result.completeExceptionally(e);
+            } else {
+                requestLockAsync(readLock.withLockMode(LockMode.WRITE), writeLockTimeout, result);
+            }
+        });
+        return result;
+    }
+
+    public CompletionStage<Void> unlockAsync(LockHandle lockHandle) {
+        RedisLockHandle redisLockHandle = getRedisLockHandle(lockHandle);
+        RLock rLock = redisLockHandle.getLock();
+        LOGGER.debug("Requesting async release lock with handle {}", rLock.getName());
+        released(rLock.getName(), redisLockHandle.getLockMode(), redisLockHandle.getOwnerId());
+        return rLock.unlockAsync(redisLockHandle.getOwnerId())
+                .exceptionally(e -> {
+                    if (!(e instanceof IllegalMonitorStateException || e.getCause() instanceof IllegalMonitorStateException)) {
+                        throw new LockManagerRunTimeException("Error occurred in 'REDIS_LOCK' release.", e);
+                    }
+                    LOGGER.debug("Lock with handle {} is not owned by this handle", rLock.getName());
+                    return null;
+                });
+    }
+
+    /**
+     * Owner ids are taken on subscription, so every subscription requests a lock of its own.
+     */
+    public Mono<LockHandle> requestReadLockReactive(String lockNameType, String lockName, Integer lockTimeout) {
+        int timeout = lockTimeout == null ? DEFAULT_READ_LOCK_TIMEOUT : lockTimeout;
+        String lockHandle = getLockHandle(lockNameType, lockName);
+        return Mono.defer(() -> {
+            LOGGER.debug("Requesting reactive read lock with handle {}", lockHandle);
+            return requestLockReactive(new RedisLockHandle(lockNameType, lockName, LockMode.READ,
+                    redisClient.getReadWriteLock(lockHandle), ASYNC_OWNER_IDS.getAndIncrement()), timeout);
+        });
+    }
+
+    public Mono<LockHandle> requestWriteLockReactive(String lockNameType, String lockName, Integer lockTimeout) {
+        int timeout = lockTimeout == null ? DEFAULT_WRITE_LOCK_TIMEOUT : lockTimeout;
+        String lockHandle = getLockHandle(lockNameType, lockName);
+        return Mono.defer(() -> {
+            LOGGER.debug("Requesting reactive write lock with handle {}", lockHandle);
+            return requestLockReactive(new RedisLockHandle(lockNameType, lockName, LockMode.WRITE,
+                    redisClient.getReadWriteLock(lockHandle), ASYNC_OWNER_IDS.getAndIncrement()), timeout);
+        });
+    }
+
+    /**
+     * As {@link #convertToReadLockAsync}, the read lock is acquired before the write lock is released.
+     */
+    public Mono<LockHandle> convertToReadLockReactive(LockHandle lockHandle, Integer lockTimeout) {
+        RedisLockHandle writeLock = getRedisLockHandle(lockHandle);
+        if (writeLock.getLockMode() == LockMode.READ) {
+            return Mono.just(writeLock);
+        }
+        int timeout = lockTimeout == null ? DEFAULT_READ_LOCK_TIMEOUT : lockTimeout;
+        return requestLockReactive(writeLock.withLockMode(LockMode.READ), timeout)
+                .flatMap(readLock -> unlockReactive(writeLock).thenReturn(readLock));
+    }
+
+    public Mono<LockHandle> convertToWriteLockReactive(LockHandle lockHandle, Integer lockTimeout) {
+        RedisLockHandle readLock = getRedisLockHandle(lockHandle);
+        if (readLock.getLockMode() == LockMode.WRITE) {
+            return Mono.just(readLock);
+        }
+        int timeout = lockTimeout == null ? DEFAULT_WRITE_LOCK_TIMEOUT : lockTimeout;
+        return unlockReactive(readLock).then(requestLockReactive(readLock.withLockMode(LockMode.WRITE), timeout));
+    }
+
+    public Mono<Void> unlockReactive(LockHandle lockHandle) {
+        RedisLockHandle redisLockHandle = getRedisLockHandle(lockHandle);
+        return Mono.defer(() -> {
+            RLockReactive rLock = getLockReactive(redisLockHandle);
+            LOGGER.debug("Requesting reactive release lock with handle {}", rLock.getName());
+            released(rLock.getName(), redisLockHandle.getLockMode(), redisLockHandle.getOwnerId());
+            return rLock.unlock(redisLockHandle.getOwnerId())
+                    .onErrorResume(e -> e instanceof IllegalMonitorStateException
+                            || e.getCause() instanceof IllegalMonitorStateException, e -> {
+                        LOGGER.debug("Lock with handle {} is not owned by this handle", rLock.getName());
+                        return Mono.empty();
+                    })
+                    .onErrorMap(e -> !(e instanceof LockManagerRunTimeException),
+                            e -> new LockManagerRunTimeException("Error occurred in 'REDIS_LOCK' release.", e));
+        });
+    }
+
+    /**
+     * Emits the lock acquired by {@link #requestLockAsync}. Cancelling the subscription before the lock is emitted
+     * abandons the request, so a lock granted meanwhile is released once its acquisition completes, never before;
+     * the emission and the cancellation claim the lock in turn, so a lock is either emitted or released.
+     */
+    private Mono<LockHandle> requestLockReactive(RedisLockHandle lockHandle, int timeout) {
+        return Mono.defer(() -> {
+            CompletableFuture<LockHandle> result = requestLockAsync(lockHandle, timeout, new CompletableFuture<>());
+            AtomicBoolean claimed = new AtomicBoolean();
+            return Mono.fromFuture(result, true)
+                    .filter(acquired -> claimed.compareAndSet(false, true))
+                    .doOnCancel(() -> {
+                        if (claimed.compareAndSet(false, true) && !result.cancel(false)) {
+                            result.thenAccept(acquired -> unlockAsync(acquired).whenComplete((released, e) -> {
+                                if (e != null) {
+                                    LOGGER.warn("Abandoned lock with handle {} not released", lockHandle.getLock().getName(), e);
+                                }
+                            }));
+                        }
+                    });
+        });
+    }
+
+    private RLockReactive getLockReactive(RedisLockHandle lockHandle) {
+        RReadWriteLockReactive readWriteLock = reactiveRedisClient.getReadWriteLock(
+                getLockHandle(lockHandle.getLockNameType(), lockHandle.getLockName()));
+        return lockHandle.getLockMode() == LockMode.READ ? readWriteLock.readLock() : readWriteLock.writeLock();
+    }
+
+    /**
+     * Completes {@code result} with the acquired lock. Cancelling {@code result} abandons the acquisition, and a lock
+     * granted after the cancellation is released once the acquisition completes. The acquisition itself is not
+     * cancelled, as Redisson does not release a lock granted by an attempt in flight when its future is cancelled.
+     */
+    private CompletableFuture<LockHandle> requestLockAsync(RedisLockHandle lockHandle, int timeout,
+                                                          CompletableFuture<LockHandle> result) {
+        if (result.isDone()) {
+            return result;
+        }
+        RLock rLock = lockHandle.getLock();
+        RFuture<Boolean> acquisition = rLock.tryLockAsync(timeout, getLeaseTime(), TimeUnit.SECONDS, lockHandle.getOwnerId());
+        acquisition.whenComplete((granted, e) -> {
+            if (e != null) {
+                result.completeExceptionally(new LockManagerRunTimeException("Error occurred in 'REDIS_LOCK' request.", e));
+            } else if (!granted) {
+                result.completeExceptionally(new LockManagerTimeoutException("Timeout error occurred in 'REDIS_LOCK' request."));
+            } else if (result.complete(lockHandle)) {
+                held(lockHandle.getLockNameType(), lockHandle.getLockName(), rLock.getName(), lockHandle.getLockMode(),
+                        lockHandle.getOwnerId());
+                LOGGER.debug("Acquired async {} lock with handle {}.", lockHandle.getLockMode(), rLock.getName());
+            } else {
+                rLock.unlockAsync(lockHandle.getOwnerId());
+            }
+        });
+        return result;
+    }
+
+    /**
+     * @return lease time in seconds, -1 to have the lock renewed by the Redisson lock watchdog
+     */
+    private long getLeaseTime() {
+        return leaseRenewal ? -1 : lockExpireSecond;
+    }
+
+    private long getLeaseMillis() {
+        return leaseRenewal ? redisClient.getConfig().getLockWatchdogTimeout() : TimeUnit.SECONDS.toMillis(lockExpireSecond);
+    }
+
+    private void held(String lockNameType, String lockName, String lockKey, LockMode lockMode, long ownerId) {
+        if (ownerId == Thread.currentThread().getId()) {
+            threadHolds.get().computeIfAbsent(lockKey, key -> new int[LockMode.values().length])[lockMode.ordinal()]++;
+        }
+        RedisLeaseListener listener = leaseListener;
+        if (listener == null) {
+            return;
+        }
+        RedisLeaseMonitor monitor = leaseMonitor;
+        if (monitor == null) {
+            synchronized (this) {
+                if (leaseListener == null) {
+                    return;
+                }
+                if (leaseMonitor == null) {
+                    leaseMonitor = new RedisLeaseMonitor(redisClient, leaseListener, this::getLeaseMillis,
+                            redisClient.getConfig().getLockWatchdogTimeout() / 3);
+                }
+                monitor = leaseMonitor;
+            }
+        }
+        monitor.held(lockNameType, lockName, lockKey, lockMode, ownerId);
+    }
+
+    private void released(String lockKey, LockMode lockMode, long ownerId) {
+        if (ownerId == Thread.currentThread().getId()) {
+            Map<String, int[]> holds = threadHolds.get();
+            int[] lockHolds = holds.get(lockKey);
+            if (lockHolds != null && lockHolds[lockMode.ordinal()] > 0) {
+                lockHolds[lockMode.ordinal()]--;
+                if (lockHolds[LockMode.READ.ordinal()] == 0 && lockHolds[LockMode.WRITE.ordinal()] == 0) {
+                    holds.remove(lockKey);
+                }
+            }
+        }
+        RedisLeaseMonitor monitor = leaseMonitor;
+        if (monitor != null) {
+            monitor.released(lockKey, lockMode, ownerId);
+        }
+    }
+
+    private RedisLockHandle getRedisLockHandle(LockHandle lockHandle) {
+        if (!(lockHandle instanceof RedisLockHandle)) {
+            throw new LockManagerRunTimeException("Lock handle is not acquired from 'REDIS_LOCK'.");
+        }
+        return (RedisLockHandle) lockHandle;
+    }
+
     private String getLockHandle(String lockNameType, String lockName) {
         LOGGER.debug("Requesting lock handle for lock with name '{}'.", lockName);
         return lockNameType + (StringUtils.isNotEmpty(lockName) ? "-" + lockName : "");
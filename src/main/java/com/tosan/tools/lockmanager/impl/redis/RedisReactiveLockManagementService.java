@@ -0,0 +1,56 @@
+package com.tosan.tools.lockmanager.impl.redis;
+
+import com.tosan.tools.lockmanager.api.LockHandle;
+import com.tosan.tools.lockmanager.api.ReactiveLockManagementService;
+import com.tosan.tools.lockmanager.exception.LockManagerTimeoutException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+
+/**
+ * Lock management on the Redisson reactive client, waiting for locks without parking a thread.
+ *
+ * @author mortezaei
+ * @since 10/18/2026
+ */
+public class RedisReactiveLockManagementService implements ReactiveLockManagementService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(RedisReactiveLockManagementService.class);
+    private final RedisLockService redisLockService;
+
+    public RedisReactiveLockManagementService(RedisLockService redisLockService) {
+        this.redisLockService = redisLockService;
+    }
+
+    @Override
+    public Mono<LockHandle> requestReadLock(String lockNameType, String lockName, Integer lockTimeout) {
+        return redisLockService.requestReadLockReactive(lockNameType, lockName, lockTimeout)
+                .doOnError(LockManagerTimeoutException.class, e ->
+                        LOGGER.warn("Write lock '{}' held by another method: " + e.getMessage(), lockName));
+    }
+
+    @Override
+    public Mono<LockHandle> requestWriteLock(String lockNameType, String lockName, Integer lockTimeout) {
+        return redisLockService.requestWriteLockReactive(lockNameType, lockName, lockTimeout)
+                .doOnError(LockManagerTimeoutException.class, e ->
+                        LOGGER.warn("Write or read lock '{}' held by another method: " + e.getMessage(), lockName));
+    }
+
+    @Override
+    public Mono<LockHandle> convertToReadLock(LockHandle lockHandle, Integer lockTimeout) {
+        return redisLockService.convertToReadLockReactive(lockHandle, lockTimeout)
+                .doOnError(LockManagerTimeoutException.class, e ->
+                        LOGGER.warn("Write lock '{}' held by another method: " + e.getMessage(), lockHandle.getLockName()));
+    }
+
+    @Override
+    public Mono<LockHandle> convertToWriteLock(LockHandle lockHandle, Integer lockTimeout) {
+        return redisLockService.convertToWriteLockReactive(lockHandle, lockTimeout)
+                .doOnError(LockManagerTimeoutException.class, e ->
+                        LOGGER.warn("Write or read lock '{}' held by another method: " + e.getMessage(), lockHandle.getLockName()));
+    }
+
+    @Override
+    public Mono<Void> unlock(LockHandle lockHandle) {
+        return redisLockService.unlockReactive(lockHandle);
+    }
+}
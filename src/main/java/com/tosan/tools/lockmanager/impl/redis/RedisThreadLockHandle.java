@@ -0,0 +1,50 @@
+package com.tosan.tools.lockmanager.impl.redis;
+
+import com.tosan.tools.lockmanager.api.AbstractCloseableLockHandle;
+import com.tosan.tools.lockmanager.api.LockMode;
+import org.redisson.api.RReadWriteLock;
+
+/**
+ * Redis lock owned by the thread that acquired it.
+ *
+ * @author mortezaei
+ * @since 10/18/2026
+ */
+public class RedisThreadLockHandle extends AbstractCloseableLockHandle {
+    private final RedisLockService redisLockService;
+    private final String lockKey;
+    private final RReadWriteLock readWriteLock;
+
+    RedisThreadLockHandle(RedisLockService redisLockService, String lockNameType, String lockName, LockMode lockMode,
+                          String lockKey, RReadWriteLock readWriteLock) {
+        super(lockNameType, lockName, lockMode);
+        this.redisLockService = redisLockService;
+        this.lockKey = lockKey;
+        this.readWriteLock = readWriteLock;
+    }
+
+    String getLockKey() {
+        return lockKey;
+    }
+
+    RReadWriteLock getReadWriteLock() {
+        return readWriteLock;
+    }
+
+    @Override
+    protected void release(LockMode lockMode) {
+        redisLockService.releaseLock(this, lockMode);
+    }
+
+    @Override
+    protected void convert(LockMode currentMode, LockMode lockMode, Integer lockTimeout) {
+        try {
+            redisLockService.convertLock(this, lockMode, lockTimeout);
+        } catch (RuntimeException e) {
+            if (lockMode == LockMode.WRITE) {
+                markReleased();
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.tosan.tools.lockmanager.impl.reentrant;
+
+import com.tosan.tools.lockmanager.api.LockManagementService;
+import com.tosan.tools.lockmanager.api.LockMode;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Resolves nested acquisitions of a lock by the thread holding it without calling the wrapped service.
+ * <p>
+ * Each thread keeps a hold count per lock: only the outermost request acquires the lock and only the matching
+ * outermost unlock releases it. A held write lock also satisfies nested read requests. A write request of a thread
+ * holding the read lock converts the lock to write mode, which is kept until the outermost unlock.
+ * Requests with {@code releaseOnCommit} are released by the transaction rather than by unlock, so they are
+ * always passed to the wrapped service and not counted.
+ *
+ * @author mortezaei
+ * @since 10/18/2026
+ */
+public class ReentrantLockManagementService implements LockManagementService {
+    private final LockManagementService lockManagementService;
+    private final ThreadLocal<Map<String, HeldLock>> heldLocks = ThreadLocal.withInitial(HashMap::new);
+
+    public ReentrantLockManagementService(LockManagementService lockManagementService) {
+        this.lockManagementService = lockManagementService;
+    }
+
+    @Override
+    public void requestReadLock(String lockNameType, boolean releaseOnCommit) {
+        if (releaseOnCommit || !reenter(lockNameType, null, LockMode.READ, null)) {
+            lockManagementService.requestReadLock(lockNameType, releaseOnCommit);
+            held(lockNameType, null, LockMode.READ, releaseOnCommit);
+        }
+    }
+
+    @Override
+    public void requestReadLock(String lockNameType, String lockName, boolean releaseOnCommit) {
+        if (releaseOnCommit || !reenter(lockNameType, lockName, LockMode.READ, null)) {
+            lockManagementService.requestReadLock(lockNameType, lockName, releaseOnCommit);
+            held(lockNameType, lockName, LockMode.READ, releaseOnCommit);
+        }
+    }
+
+    @Override
+    public void requestReadLock(String lockNameType, String lockName, Integer lockTimeout, boolean releaseOnCommit) {
+        if (releaseOnCommit || !reenter(lockNameType, lockName, LockMode.READ, lockTimeout)) {
+            lockManagementService.requestReadLock(lockNameType, lockName, lockTimeout, releaseOnCommit);
+            held(lockNameType, lockName, LockMode.READ, releaseOnCommit);
+        }
+    }
+
+    @Override
+    public void requestWriteLock(String lockNameType, boolean releaseOnCommit) {
+        if (releaseOnCommit || !reenter(lockNameType, null, LockMode.WRITE, null)) {
+            lockManagementService.requestWriteLock(lockNameType, releaseOnCommit);
+            held(lockNameType, null, LockMode.WRITE, releaseOnCommit);
+        }
+    }
+
+    @Override
+    public void requestWriteLock(String lockNameType, String lockName, boolean releaseOnCommit) {
+        if (releaseOnCommit || !reenter(lockNameType, lockName, LockMode.WRITE, null)) {
+            lockManagementService.requestWriteLock(lockNameType, lockName, releaseOnCommit);
+            held(lockNameType, lockName, LockMode.WRITE, releaseOnCommit);
+        }
+    }
+
+    @Override
+    public void requestWriteLock(String lockNameType, String lockName, Integer lockTimeout, boolean releaseOnCommit) {
+        if (releaseOnCommit || !reenter(lockNameType, lockName, LockMode.WRITE, lockTimeout)) {
+            lockManagementService.requestWriteLock(lockNameType, lockName, lockTimeout, releaseOnCommit);
+            held(lockNameType, lockName, LockMode.WRITE, releaseOnCommit);
+        }
+    }
+
+    @Override
+    public void unlock(String lockNameType) {
+        if (release(lockNameType, null)) {
+            lockManagementService.unlock(lockNameType);
+        }
+    }
+
+    @Override
+    public void unlock(String lockNameType, String lockName) {
+        if (release(lockNameType, lockName)) {
+            lockManagementService.unlock(lockNameType, lockName);
+        }
+    }
+
+    @Override
+    public void convertToReadLock(String lockNameType, String lockName, Integer lockTimeout) {
+        lockManagementService.convertToReadLock(lockNameType, lockName, lockTimeout);
+        converted(lockNameType, lockName, LockMode.READ);
+    }
+
+    @Override
+    public void convertToWriteLock(String lockNameType, String lockName, Integer lockTimeout) {
+        lockManagementService.convertToWriteLock(lockNameType, lockName, lockTimeout);
+        converted(lockNameType, lockName, LockMode.WRITE);
+    }
+
+    /**
+     * Forgets the hold counts of the current thread, as the wrapped service releases all its locks at once.
+     */
+    @Override
+    public void unlockAll() {
+        heldLocks.get().clear();
+        lockManagementService.unlockAll();
+    }
+
+    /**
+     * Returns the hold count of the lock by the current thread, zero if it does not hold the lock or holds it
+     * until commit only.
+     */
+    public int getHoldCount(String lockNameType, String lockName) {
+        HeldLock heldLock = heldLocks.get().get(getLockKey(lockNameType, lockName));
+        return heldLock == null ? 0 : heldLock.count;
+    }
+
+    /**
+     * @return true if the current thread holds the lock and the request is resolved locally
+     */
+    private boolean reenter(String lockNameType, String lockName, LockMode lockMode, Integer lockTimeout) {
+        HeldLock heldLock = heldLocks.get().get(getLockKey(lockNameType, lockName));
+        if (heldLock == null) {
+            return false;
+        }
+        if (lockMode == LockMode.WRITE && heldLock.lockMode == LockMode.READ) {
+            lockManagementService.convertToWriteLock(lockNameType, lockName, lockTimeout);
+            heldLock.lockMode = LockMode.WRITE;
+        }
+        heldLock.count++;
+        return true;
+    }
+
+    private void held(String lockNameType, String lockName, LockMode lockMode, boolean releaseOnCommit) {
+        if (!releaseOnCommit) {
+            heldLocks.get().put(getLockKey(lockNameType, lockName), new HeldLock(lockMode));
+        }
+    }
+
+    private void converted(String lockNameType, String lockName, LockMode lockMode) {
+        HeldLock heldLock = heldLocks.get().get(getLockKey(lockNameType, lockName));
+        if (heldLock != null) {
+            heldLock.lockMode = lockMode;
+        }
+    }
+
+    /**
+     * @return true if the lock is to be released by the wrapped service
+     */
+    private boolean release(String lockNameType, String lockName) {
+        Map<String, HeldLock> threadHeldLocks = heldLocks.get();
+        String lockKey = getLockKey(lockNameType, lockName);
+        HeldLock heldLock = threadHeldLocks.get(lockKey);
+        if (heldLock == null) {
+            return true;
+        }
+        if (--heldLock.count > 0) {
+            return false;
+        }
+        threadHeldLocks.remove(lockKey);
+        return true;
+    }
+
+    private static String getLockKey(String lockNameType, String lockName) {
+        return lockNameType + (StringUtils.isNotEmpty(lockName) ? "-" + lockName : "");
+    }
+
+    private static class HeldLock {
+        private LockMode lockMode;
+        private int count = 1;
+
+        HeldLock(LockMode lockMode) {
+            this.lockMode = lockMode;
+        }
+    }
+}
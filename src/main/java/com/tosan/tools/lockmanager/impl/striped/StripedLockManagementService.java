@@ -0,0 +1,218 @@
+package com.tosan.tools.lockmanager.impl.striped;
+
+import com.tosan.tools.lockmanager.api.CloseableLockHandle;
+import com.tosan.tools.lockmanager.api.LockManagementService;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * Maps the lock names of the configured lock name types onto a fixed number of stripes, so that the backend keeps
+ * state for at most that many locks per type however many lock names are used, e.g. no Redis hash, znode or
+ * allocated DBMS lock per customer. Lock names sharing a stripe exclude each other; lock name types not configured
+ * and requests without lock name are passed through unchanged.
+ * <p>
+ * A thread may hold several lock names of one stripe, so on backends whose locks are not reentrant the wrapped
+ * service is expected to be a {@link com.tosan.tools.lockmanager.impl.reentrant.ReentrantLockManagementService}.
+ * Handles returned by {@link #acquireReadLock} and {@link #acquireWriteLock} carry the stripe name as lock name.
+ * Stripes are stable across JVMs, as they depend only on {@link String#hashCode()} of the lock name.
+ *
+ * @author mortezaei
+ * @since 10/18/2026
+ */
+public class StripedLockManagementService implements LockManagementService {
+    private static final String STRIPE_NAME_PREFIX = "stripe-";
+    private final LockManagementService lockManagementService;
+    private Map<String, Integer> stripes = new HashMap<>();
+
+    public StripedLockManagementService(LockManagementService lockManagementService) {
+        this.lockManagementService = lockManagementService;
+    }
+
+    /**
+     * Sets the number of stripes per lock name type. All services of a lock name type must use the same number.
+     */
+    public void setStripes(Map<String, Integer> stripes) {
+        for (Map.Entry<String, Integer> typeStripes : stripes.entrySet()) {
+            if (typeStripes.getValue() < 1) {
+                throw new IllegalArgumentException("Stripes of '" + typeStripes.getKey() + "' must be positive.");
+            }
+        }
+        this.stripes = new HashMap<>(stripes);
+    }
+
+    /**
+     * Returns the lock name the lock is requested with at the wrapped service.
+     *
+     * @param lockNameType lock name type
+     * @param lockName     lock name
+     * @return stripe name of the lock name, or the lock name itself if its type is not striped
+     */
+    public String getStripeName(String lockNameType, String lockName) {
+        Integer typeStripes = stripes.get(lockNameType);
+        if (typeStripes == null || lockName == null) {
+            return lockName;
+        }
+        return STRIPE_NAME_PREFIX + Math.floorMod(spread(lockName.hashCode()), typeStripes);
+    }
+
+    @Override
+    public void requestReadLock(String lockNameType, boolean releaseOnCommit) {
+        lockManagementService.requestReadLock(lockNameType, releaseOnCommit);
+    }
+
+    @Override
+    public void requestReadLock(String lockNameType, String lockName, boolean releaseOnCommit) {
+        lockManagementService.requestReadLock(lockNameType, getStripeName(lockNameType, lockName), releaseOnCommit);
+    }
+
+    @Override
+    public void requestReadLock(String lockNameType, String lockName, Integer lockTimeout, boolean releaseOnCommit) {
+        lockManagementService.requestReadLock(lockNameType, getStripeName(lockNameType, lockName), lockTimeout,
+                releaseOnCommit);
+    }
+
+    @Override
+    public void requestWriteLock(String lockNameType, boolean releaseOnCommit) {
+        lockManagementService.requestWriteLock(lockNameType, releaseOnCommit);
+    }
+
+    @Override
+    public void requestWriteLock(String lockNameType, String lockName, boolean releaseOnCommit) {
+        lockManagementService.requestWriteLock(lockNameType, getStripeName(lockNameType, lockName), releaseOnCommit);
+    }
+
+    @Override
+    public void requestWriteLock(String lockNameType, String lockName, Integer lockTimeout, boolean releaseOnCommit) {
+        lockManagementService.requestWriteLock(lockNameType, getStripeName(lockNameType, lockName), lockTimeout,
+                releaseOnCommit);
+    }
+
+    @Override
+    public void unlock(String lockNameType) {
+        lockManagementService.unlock(lockNameType);
+    }
+
+    @Override
+    public void unlock(String lockNameType, String lockName) {
+        lockManagementService.unlock(lockNameType, getStripeName(lockNameType, lockName));
+    }
+
+    @Override
+    public void convertToReadLock(String lockNameType, String lockName, Integer lockTimeout) {
+        lockManagementService.convertToReadLock(lockNameType, getStripeName(lockNameType, lockName), lockTimeout);
+    }
+
+    @Override
+    public void convertToWriteLock(String lockNameType, String lockName, Integer lockTimeout) {
+        lockManagementService.convertToWriteLock(lockNameType, getStripeName(lockNameType, lockName), lockTimeout);
+    }
+
+    @Override
+    public CloseableLockHandle acquireReadLock(String lockNameType, String lockName, Integer lockTimeout) {
+        return lockManagementService.acquireReadLock(lockNameType, getStripeName(lockNameType, lockName), lockTimeout);
+    }
+
+    @Override
+    public CloseableLockHandle acquireWriteLock(String lockNameType, String lockName, Integer lockTimeout) {
+        return lockManagementService.acquireWriteLock(lockNameType, getStripeName(lockNameType, lockName), lockTimeout);
+    }
+
+    /**
+     * Requests the read locks of the stripes of the lock names, each stripe once, then one nested hold of its stripe
+     * per further lock name, so {@link #unlockAll(String, Collection)} releases one hold per lock name.
+     */
+    @Override
+    public void requestReadLocks(String lockNameType, Collection<String> lockNames, Integer lockTimeout) {
+        Map<String, Integer> stripeHolds = getStripeHolds(lockNameType, lockNames);
+        lockManagementService.requestReadLocks(lockNameType, stripeHolds.keySet(), lockTimeout);
+        requestNestedHolds(lockNameType, stripeHolds,
+                stripeName -> lockManagementService.requestReadLock(lockNameType, stripeName, lockTimeout, false));
+    }
+
+    /**
+     * Requests the write locks of the stripes of the lock names, each stripe once, then one nested hold of its stripe
+     * per further lock name, so {@link #unlockAll(String, Collection)} releases one hold per lock name.
+     */
+    @Override
+    public void requestWriteLocks(String lockNameType, Collection<String> lockNames, Integer lockTimeout) {
+        Map<String, Integer> stripeHolds = getStripeHolds(lockNameType, lockNames);
+        lockManagementService.requestWriteLocks(lockNameType, stripeHolds.keySet(), lockTimeout);
+        requestNestedHolds(lockNameType, stripeHolds,
+                stripeName -> lockManagementService.requestWriteLock(lockNameType, stripeName, lockTimeout, false));
+    }
+
+    /**
+     * Releases one hold of its stripe per lock name, as each lock name acquired one, whether separately or by
+     * {@link #requestReadLocks} or {@link #requestWriteLocks}.
+     */
+    @Override
+    public void unlockAll(String lockNameType, Collection<String> lockNames) {
+        List<String> stripeNames = new ArrayList<>();
+        for (Map.Entry<String, Integer> stripeHolds : getStripeHolds(lockNameType, lockNames).entrySet()) {
+            for (int i = 0; i < stripeHolds.getValue(); i++) {
+                stripeNames.add(stripeHolds.getKey());
+            }
+        }
+        lockManagementService.unlockAll(lockNameType, stripeNames);
+    }
+
+    @Override
+    public void unlockAll() {
+        lockManagementService.unlockAll();
+    }
+
+    /**
+     * @return number of distinct lock names per stripe name, in stripe name order
+     */
+    private Map<String, Integer> getStripeHolds(String lockNameType, Collection<String> lockNames) {
+        Map<String, Integer> stripeHolds = new TreeMap<>();
+        for (String lockName : new HashSet<>(lockNames)) {
+            stripeHolds.merge(getStripeName(lockNameType, lockName), 1, Integer::sum);
+        }
+        return stripeHolds;
+    }
+
+    /**
+     * Requests the further holds of the stripes held by the current thread; if one fails, the holds of the batch
+     * are released.
+     */
+    private void requestNestedHolds(String lockNameType, Map<String, Integer> stripeHolds,
+                                    Consumer<String> nestedRequest) {
+        List<String> acquired = new ArrayList<>(stripeHolds.keySet());
+        try {
+            for (Map.Entry<String, Integer> stripeHold : stripeHolds.entrySet()) {
+                for (int i = 1; i < stripeHold.getValue(); i++) {
+                    nestedRequest.accept(stripeHold.getKey());
+                    acquired.add(stripeHold.getKey());
+                }
+            }
+        } catch (RuntimeException e) {
+            Collections.reverse(acquired);
+            for (String stripeName : acquired) {
+                try {
+                    lockManagementService.unlock(lockNameType, stripeName);
+                } catch (RuntimeException unlockException) {
+                    e.addSuppressed(unlockException);
+                }
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Spreads the bits of the hash code, as the hash codes of similar lock names, e.g. numbers, differ in the low
+     * bits only.
+     */
+    private static int spread(int hashCode) {
+        int spread = hashCode * 0x9E3779B9;
+        return spread ^ (spread >>> 16);
+    }
+}
@@ -0,0 +1,172 @@
+package com.tosan.tools.lockmanager.impl.zookeeper;
+
+import com.tosan.tools.lockmanager.api.LockMode;
+import com.tosan.tools.lockmanager.exception.LockManagerRunTimeException;
+import com.tosan.tools.lockmanager.exception.LockManagerTimeoutException;
+import org.apache.curator.framework.CuratorFramework;
+import org.apache.curator.framework.api.CuratorEvent;
+import org.apache.curator.framework.api.CuratorWatcher;
+import org.apache.curator.utils.ZKPaths;
+import org.apache.zookeeper.CreateMode;
+import org.apache.zookeeper.KeeperException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One asynchronous read or write lock acquisition, driven entirely by Curator background callbacks and watchers.
+ * Lock nodes and grant rules are those of {@link org.apache.curator.framework.recipes.locks.InterProcessReadWriteLock},
+ * so asynchronous and blocking lockers of the same path exclude each other.
+ *
+ * @author mortezaei
+ * @since 10/18/2026
+ */
+class ZookeeperAsyncLock {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ZookeeperAsyncLock.class);
+    private static final String READ_LOCK_NAME = "__READ__";
+    private static final String WRITE_LOCK_NAME = "__WRIT__";
+
+    private final CuratorFramework client;
+    private final String basePath;
+    private final LockMode lockMode;
+    private final CompletableFuture<String> result = new CompletableFuture<>();
+    private volatile String nodePath;
+
+    ZookeeperAsyncLock(CuratorFramework client, String basePath, LockMode lockMode) {
+        this.client = client;
+        this.basePath = basePath;
+        this.lockMode = lockMode;
+    }
+
+    /**
+     * @param lockTimeout seconds to wait for the lock, forever if null
+     * @return stage completed with the path of the granted lock node
+     */
+    CompletableFuture<String> acquire(Integer lockTimeout) {
+        result.whenComplete((path, e) -> {
+            if (e != null) {
+                deleteNode();
+            }
+        });
+        if (lockTimeout != null) {
+            CompletableFuture.delayedExecutor(lockTimeout, TimeUnit.SECONDS).execute(() -> result.completeExceptionally(
+                    new LockManagerTimeoutException(lockMode == LockMode.READ ?
+                            "Read lock is held by another process." : "Write lock is held by another process.")));
+        }
+        try {
+            client.create().creatingParentContainersIfNeeded().withProtection().withMode(CreateMode.EPHEMERAL_SEQUENTIAL)
+                    .inBackground((curator, event) -> onCreated(event))
+                    .forPath(ZKPaths.makePath(basePath, lockMode == LockMode.READ ? READ_LOCK_NAME : WRITE_LOCK_NAME));
+        } catch (Exception e) {
+            fail(e);
+        }
+        return result;
+    }
+
+    static CompletableFuture<Void> release(CuratorFramework client, String nodePath) {
+        CompletableFuture<Void> released = new CompletableFuture<>();
+        try {
+            client.delete().guaranteed().inBackground((curator, event) -> {
+                if (event.getResultCode() == KeeperException.Code.OK.intValue()
+                        || event.getResultCode() == KeeperException.Code.NONODE.intValue()) {
+                    released.complete(null);
+                } else {
+                    released.completeExceptionally(new LockManagerRunTimeException("Error occurred in ZOOKEEPER_LOCK release.",
+                            KeeperException.create(KeeperException.Code.get(event.getResultCode()), nodePath)));
+                }
+            }).forPath(nodePath);
+        } catch (Exception e) {
+            released.completeExceptionally(new LockManagerRunTimeException("Error occurred in ZOOKEEPER_LOCK release.", e));
+        }
+        return released;
+    }
+
+    private void onCreated(CuratorEvent event) {
+        if (event.getResultCode() != KeeperException.Code.OK.intValue()) {
+            fail(KeeperException.create(KeeperException.Code.get(event.getResultCode()), event.getPath()));
+            return;
+        }
+        nodePath = event.getName();
+        if (result.isDone()) {
+            deleteNode();
+        } else {
+            checkChildren();
+        }
+    }
+
+    private void checkChildren() {
+        try {
+            client.getChildren().inBackground((curator, event) -> onChildren(event)).forPath(basePath);
+        } catch (Exception e) {
+            fail(e);
+        }
+    }
+
+    private void onChildren(CuratorEvent event) {
+        if (result.isDone()) {
+            return;
+        }
+        if (event.getResultCode() != KeeperException.Code.OK.intValue()) {
+            fail(KeeperException.create(KeeperException.Code.get(event.getResultCode()), event.getPath()));
+            return;
+        }
+        List<String> children = event.getChildren();
+        children.sort(Comparator.comparing(ZookeeperAsyncLock::sequence));
+        int ourIndex = children.indexOf(ZKPaths.getNodeFromPath(nodePath));
+        if (ourIndex < 0) {
+            fail(new KeeperException.NoNodeException(nodePath));
+            return;
+        }
+        String pathToWatch = null;
+        if (lockMode == LockMode.WRITE) {
+            if (ourIndex > 0) {
+                pathToWatch = children.get(ourIndex - 1);
+            }
+        } else {
+            for (int index = 0; index < ourIndex && pathToWatch == null; index++) {
+                if (children.get(index).contains(WRITE_LOCK_NAME)) {
+                    pathToWatch = children.get(index);
+                }
+            }
+        }
+        if (pathToWatch == null) {
+            if (result.complete(nodePath)) {
+                LOGGER.debug("{} lock granted for node {}", lockMode, nodePath);
+            }
+            return;
+        }
+        watch(ZKPaths.makePath(basePath, pathToWatch));
+    }
+
+    private void watch(String path) {
+        try {
+            client.checkExists().usingWatcher((CuratorWatcher) watchedEvent -> checkChildren())
+                    .inBackground((curator, event) -> {
+                        if (event.getStat() == null) {
+                            checkChildren();
+                        }
+                    }).forPath(path);
+        } catch (Exception e) {
+            fail(e);
+        }
+    }
+
+    private void fail(Exception e) {
+        result.completeExceptionally(new LockManagerRunTimeException("Error occurred in ZOOKEEPER_LOCK request.", e));
+    }
+
+    private void deleteNode() {
+        if (nodePath != null) {
+            release(client, nodePath);
+        }
+    }
+
+    private static String sequence(String node) {
+        int index = Math.max(node.lastIndexOf(READ_LOCK_NAME), node.lastIndexOf(WRITE_LOCK_NAME));
+        return index < 0 ? node : node.substring(index + READ_LOCK_NAME.length());
+    }
+}
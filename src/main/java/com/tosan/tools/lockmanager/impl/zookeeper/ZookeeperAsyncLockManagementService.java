@@ -0,0 +1,43 @@
+package com.tosan.tools.lockmanager.impl.zookeeper;
+
+import com.tosan.tools.lockmanager.api.AsyncLockManagementService;
+import com.tosan.tools.lockmanager.api.LockHandle;
+
+import java.util.concurrent.CompletionStage;
+
+/**
+ * @author mortezaei
+ * @since 10/18/2026
+ **/
+public class ZookeeperAsyncLockManagementService implements AsyncLockManagementService {
+    private final ZookeeperLockService zookeeperLockService;
+
+    public ZookeeperAsyncLockManagementService(ZookeeperLockService zookeeperLockService) {
+        this.zookeeperLockService = zookeeperLockService;
+    }
+
+    @Override
+    public CompletionStage<LockHandle> requestReadLock(String lockNameType, String lockName, Integer lockTimeout) {
+        return zookeeperLockService.requestReadLockAsync(lockNameType, lockName, lockTimeout);
+    }
+
+    @Override
+    public CompletionStage<LockHandle> requestWriteLock(String lockNameType, String lockName, Integer lockTimeout) {
+        return zookeeperLockService.requestWriteLockAsync(lockNameType, lockName, lockTimeout);
+    }
+
+    @Override
+    public CompletionStage<LockHandle> convertToReadLock(LockHandle lockHandle, Integer lockTimeout) {
+        return zookeeperLockService.convertToReadLockAsync(lockHandle, lockTimeout);
+    }
+
+    @Override
+    public CompletionStage<LockHandle> convertToWriteLock(LockHandle lockHandle, Integer lockTimeout) {
+        return zookeeperLockService.convertToWriteLockAsync(lockHandle, lockTimeout);
+    }
+
+    @Override
+    public CompletionStage<Void> unlock(LockHandle lockHandle) {
+        return zookeeperLockService.unlockAsync(lockHandle);
+    }
+}
@@ -0,0 +1,180 @@
+package com.tosan.tools.lockmanager.impl.zookeeper;
+
+import org.apache.curator.framework.CuratorFramework;
+import org.apache.curator.framework.recipes.locks.InterProcessReadWriteLock;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+/**
+ * Bounded cache of {@link InterProcessReadWriteLock} instances by lock path.
+ * <p>
+ * An instance is pinned while a lock operation runs on it and is never evicted while pinned or while its read or
+ * write lock is held in this process, so a thread always releases the instance it acquired. Other instances are
+ * evicted once idle for {@code idleSeconds}, and least recently used first when the cache grows beyond
+ * {@code maximumSize}, down to nine tenths of it so that the next eviction by size is some misses away. Eviction runs
+ * on cache misses; if pinned or held instances keep the cache beyond {@code maximumSize}, eviction by size waits until
+ * a tenth of {@code maximumSize} more instances are cached.
+ *
+ * @author mortezaei
+ * @since 10/18/2026
+ */
+public class ZookeeperLockCache {
+    private static final int DEFAULT_MAXIMUM_SIZE = 10000;
+    private static final long DEFAULT_IDLE_SECONDS = 600;
+
+    private final CuratorFramework client;
+    private final LongSupplier ticker;
+    private final Map<String, CachedLock> locks = new ConcurrentHashMap<>();
+    private final AtomicBoolean cleaningUp = new AtomicBoolean();
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+    private volatile int maximumSize = DEFAULT_MAXIMUM_SIZE;
+    private volatile int cleanUpSize = DEFAULT_MAXIMUM_SIZE;
+    private volatile long idleNanos = TimeUnit.SECONDS.toNanos(DEFAULT_IDLE_SECONDS);
+    private volatile long lastCleanUp;
+
+    public ZookeeperLockCache(CuratorFramework client) {
+        this(client, System::nanoTime);
+    }
+
+    ZookeeperLockCache(CuratorFramework client, LongSupplier ticker) {
+        this.client = client;
+        this.ticker = ticker;
+        this.lastCleanUp = ticker.getAsLong();
+    }
+
+    public void setMaximumSize(int maximumSize) {
+        this.maximumSize = maximumSize;
+        this.cleanUpSize = maximumSize;
+    }
+
+    public void setIdleSeconds(long idleSeconds) {
+        this.idleNanos = TimeUnit.SECONDS.toNanos(idleSeconds);
+    }
+
+    /**
+     * Returns the lock instance of the path, creating it if absent, pinned until {@link #unpin(String)}.
+     */
+    InterProcessReadWriteLock pin(String lockPath) {
+        long now = ticker.getAsLong();
+        CachedLock cachedLock = locks.computeIfPresent(lockPath, (path, current) -> current.pin(now));
+        if (cachedLock != null) {
+            hitCount.increment();
+            return cachedLock.readWriteLock;
+        }
+        missCount.increment();
+        cachedLock = locks.compute(lockPath, (path, current) ->
+                (current != null ? current : new CachedLock(new InterProcessReadWriteLock(client, path))).pin(now));
+        if (locks.size() > cleanUpSize || now - lastCleanUp >= idleNanos) {
+            cleanUp();
+        }
+        return cachedLock.readWriteLock;
+    }
+
+    void unpin(String lockPath) {
+        long now = ticker.getAsLong();
+        locks.computeIfPresent(lockPath, (path, current) -> current.unpin(now));
+    }
+
+    /**
+     * Evicts idle instances, then the least recently used ones down to nine tenths of the maximum size if the cache
+     * is larger than its maximum size. Only one thread cleans up at a time, others skip.
+     */
+    public void cleanUp() {
+        if (!cleaningUp.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long now = ticker.getAsLong();
+            lastCleanUp = now;
+            for (String lockPath : locks.keySet()) {
+                evict(lockPath, cachedLock -> now - cachedLock.lastAccess >= idleNanos);
+            }
+            int size = maximumSize;
+            if (locks.size() > size) {
+                List<Map.Entry<String, CachedLock>> entries = new ArrayList<>();
+                for (Map.Entry<String, CachedLock> entry : locks.entrySet()) {
+                    if (!entry.getValue().isHeld()) {
+                        entries.add(entry);
+                    }
+                }
+                entries.sort(Comparator.comparingLong(entry -> entry.getValue().lastAccess));
+                int targetSize = size - size / 10;
+                for (Map.Entry<String, CachedLock> entry : entries) {
+                    if (locks.size() <= targetSize) {
+                        break;
+                    }
+                    evict(entry.getKey(), cachedLock -> true);
+                }
+            }
+            cleanUpSize = locks.size() > size ? locks.size() + Math.max(1, size / 10) : size;
+        } finally {
+            cleaningUp.set(false);
+        }
+    }
+
+    private void evict(String lockPath, Predicate<CachedLock> evictable) {
+        locks.computeIfPresent(lockPath, (path, cachedLock) -> {
+            if (cachedLock.pins == 0 && !cachedLock.isHeld() && evictable.test(cachedLock)) {
+                evictionCount.increment();
+                return null;
+            }
+            return cachedLock;
+        });
+    }
+
+    public int size() {
+        return locks.size();
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    /**
+     * Pin count is only read and written inside map compute functions, under the lock of the entry.
+     */
+    private static class CachedLock {
+        private final InterProcessReadWriteLock readWriteLock;
+        private int pins;
+        private volatile long lastAccess;
+
+        CachedLock(InterProcessReadWriteLock readWriteLock) {
+            this.readWriteLock = readWriteLock;
+        }
+
+        CachedLock pin(long now) {
+            pins++;
+            lastAccess = now;
+            return this;
+        }
+
+        CachedLock unpin(long now) {
+            pins--;
+            lastAccess = now;
+            return this;
+        }
+
+        boolean isHeld() {
+            return readWriteLock.writeLock().isAcquiredInThisProcess() || readWriteLock.readLock().isAcquiredInThisProcess();
+        }
+    }
+}
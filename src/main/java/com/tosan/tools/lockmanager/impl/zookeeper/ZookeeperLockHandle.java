@@ -0,0 +1,43 @@
+package com.tosan.tools.lockmanager.impl.zookeeper;
+
+import com.tosan.tools.lockmanager.api.LockHandle;
+import com.tosan.tools.lockmanager.api.LockMode;
+
+/**
+ * Zookeeper lock owned by its ephemeral lock node instead of a thread.
+ *
+ * @author mortezaei
+ * @since 10/18/2026
+ */
+public class ZookeeperLockHandle implements LockHandle {
+    private final String lockNameType;
+    private final String lockName;
+    private final LockMode lockMode;
+    private final String nodePath;
+
+    ZookeeperLockHandle(String lockNameType, String lockName, LockMode lockMode, String nodePath) {
+        this.lockNameType = lockNameType;
+        this.lockName = lockName;
+        this.lockMode = lockMode;
+        this.nodePath = nodePath;
+    }
+
+    @Override
+    public String getLockNameType() {
+        return lockNameType;
+    }
+
+    @Override
+    public String getLockName() {
+        return lockName;
+    }
+
+    @Override
+    public LockMode getLockMode() {
+        return lockMode;
+    }
+
+    String getNodePath() {
+        return nodePath;
+    }
+}
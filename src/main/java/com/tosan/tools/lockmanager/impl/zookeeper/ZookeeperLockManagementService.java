@@ -1,6 +1,8 @@
 package com.tosan.tools.lockmanager.impl.zookeeper;
 
+import com.tosan.tools.lockmanager.api.CloseableLockHandle;
 import com.tosan.tools.lockmanager.api.LockManagementService;
+import com.tosan.tools.lockmanager.api.LockMode;
 import com.tosan.tools.lockmanager.exception.LockManagerTimeoutException;
 
 /**
@@ -44,6 +46,18 @@ public class ZookeeperLockManagementService implements LockManagementService {
         zookeeperLockService.requestWriteLock(lockNameType, lockName, lockTimeout);
     }
 
+    @Override
+    public CloseableLockHandle acquireReadLock(String lockNameType, String lockName, Integer lockTimeout)
+            throws LockManagerTimeoutException {
+        return zookeeperLockService.acquireLock(lockNameType, lockName, LockMode.READ, lockTimeout);
+    }
+
+    @Override
+    public CloseableLockHandle acquireWriteLock(String lockNameType, String lockName, Integer lockTimeout)
+            throws LockManagerTimeoutException {
+        return zookeeperLockService.acquireLock(lockNameType, lockName, LockMode.WRITE, lockTimeout);
+    }
+
     @Override
     public void unlock(String lockNameType) {
         zookeeperLockService.unlock(lockNameType, null);
@@ -54,6 +68,11 @@ public class ZookeeperLockManagementService implements LockManagementService {
         zookeeperLockService.unlock(lockNameType, lockName);
     }
 
+    @Override
+    public void unlockAll() {
+        zookeeperLockService.unlockAll();
+    }
+
     @Override
     public void convertToReadLock(String lockNameType, String lockName, Integer lockTimeout) throws LockManagerTimeoutException {
         zookeeperLockService.convertToReadLock(lockNameType, lockName, lockTimeout);
@@ -1,14 +1,22 @@
 package com.tosan.tools.lockmanager.impl.zookeeper;
 
+import com.tosan.tools.lockmanager.api.LockHandle;
+import com.tosan.tools.lockmanager.api.LockMode;
+import com.tosan.tools.lockmanager.exception.LockManagerRunTimeException;
 import com.tosan.tools.lockmanager.exception.LockManagerTimeoutException;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.curator.framework.CuratorFramework;
+import org.apache.curator.framework.recipes.locks.InterProcessMutex;
 import org.apache.curator.framework.recipes.locks.InterProcessReadWriteLock;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -20,14 +28,29 @@ public class ZookeeperLockService {
     private static final Logger LOGGER = LoggerFactory.getLogger(ZookeeperLockService.class);
 
     private final CuratorFramework client;
-    private final Map<String, InterProcessReadWriteLock> interProcessReadWriteLockMapByName = new HashMap<>();
+    private final ZookeeperLockCache lockCache;
+    private final ThreadLocal<Set<String>> threadLockPaths = ThreadLocal.withInitial(HashSet::new);
 
     public ZookeeperLockService(CuratorFramework client) {
         this.client = client;
+        this.lockCache = new ZookeeperLockCache(client);
+    }
+
+    public void setLockCacheMaximumSize(int lockCacheMaximumSize) {
+        lockCache.setMaximumSize(lockCacheMaximumSize);
+    }
+
+    public void setLockCacheIdleSeconds(long lockCacheIdleSeconds) {
+        lockCache.setIdleSeconds(lockCacheIdleSeconds);
+    }
+
+    public ZookeeperLockCache getLockCache() {
+        return lockCache;
     }
 
     public void requestReadLock(String lockNameType, String lockName, Integer lockTimeout) throws LockManagerTimeoutException {
-        InterProcessReadWriteLock readWriteLock = getReadWriteLockInstance(lockNameType, lockName);
+        String lockPath = getLockPath(lockNameType, lockName);
+        InterProcessReadWriteLock readWriteLock = lockCache.pin(lockPath);
         boolean granted;
         try {
             granted = lockTimeout != null ?
@@ -35,18 +58,21 @@ public class ZookeeperLockService {
                     readWriteLock.readLock().acquire(-1, null);
         } catch (Exception exception) {
             throw new LockManagerTimeoutException("Timeout occurred in ZOOKEEPER_LOCK request.");
+        } finally {
+            lockCache.unpin(lockPath);
         }
         if (!granted) {
             throw new LockManagerTimeoutException("Read lock is held by another process.");
         }
-        LOGGER.debug("Read lock granted for path {}", getLockPath(lockNameType, lockName));
+        threadLockPaths.get().add(lockPath);
+        LOGGER.debug("Read lock granted for path {}", lockPath);
 
     }
 
 
     public void requestWriteLock(String lockNameType, String lockName, Integer lockTimeout) {
-        System.out.print(Thread.currentThread().getName() + "enter into write lock.");
-        InterProcessReadWriteLock readWriteLock = getReadWriteLockInstance(lockNameType, lockName);
+        String lockPath = getLockPath(lockNameType, lockName);
+        InterProcessReadWriteLock readWriteLock = lockCache.pin(lockPath);
         boolean granted;
         try {
             granted = lockTimeout != null ?
@@ -54,52 +80,255 @@ public class ZookeeperLockService {
                     readWriteLock.writeLock().acquire(-1, null);
         } catch (Exception exception) {
             throw new LockManagerTimeoutException("Timeout occurred in ZOOKEEPER_LOCK request.");
+        } finally {
+            lockCache.unpin(lockPath);
         }
         if (!granted) {
             throw new LockManagerTimeoutException("Write lock is held by another process.");
         }
-        LOGGER.debug("Write lock granted for path {}", getLockPath(lockNameType, lockName));
+        threadLockPaths.get().add(lockPath);
+        LOGGER.debug("Write lock granted for path {}", lockPath);
 
     }
 
     public void unlock(String lockNameType, String lockName) throws LockManagerTimeoutException {
-        InterProcessReadWriteLock readWriteLock = getReadWriteLockInstance(lockNameType, lockName);
+        String lockPath = getLockPath(lockNameType, lockName);
+        InterProcessReadWriteLock readWriteLock = lockCache.pin(lockPath);
         try {
-            if (readWriteLock != null && readWriteLock.readLock().isOwnedByCurrentThread()) {
+            if (readWriteLock.readLock().isOwnedByCurrentThread()) {
                 readWriteLock.readLock().release();
-            } else if (readWriteLock != null && readWriteLock.writeLock().isOwnedByCurrentThread()) {
+            } else if (readWriteLock.writeLock().isOwnedByCurrentThread()) {
                 readWriteLock.writeLock().release();
             }
+            untrackIfReleased(lockPath, readWriteLock);
         } catch (Exception exception) {
-            LOGGER.info("Current thread does not own the lock for path {}", getLockPath(lockNameType, lockName));
+            LOGGER.info("Current thread does not own the lock for path {}", lockPath);
+        } finally {
+            lockCache.unpin(lockPath);
+        }
+    }
+
+    /**
+     * Releases every hold of the locks acquired by the current thread, by lock name or through handles. All the
+     * locks are released even if some releases fail, the first failure being thrown. Handles of released locks are
+     * left to be closed, which then only unpins their lock instance.
+     */
+    public void unlockAll() {
+        Set<String> lockPathSet = threadLockPaths.get();
+        if (lockPathSet.isEmpty()) {
+            return;
+        }
+        List<String> lockPaths = new ArrayList<>(lockPathSet);
+        lockPathSet.clear();
+        LOGGER.debug("Requesting release of locks with paths {}", lockPaths);
+        RuntimeException exception = null;
+        for (String lockPath : lockPaths) {
+            InterProcessReadWriteLock readWriteLock = lockCache.pin(lockPath);
+            try {
+                while (readWriteLock.readLock().isOwnedByCurrentThread()) {
+                    release(readWriteLock.readLock());
+                }
+                while (readWriteLock.writeLock().isOwnedByCurrentThread()) {
+                    release(readWriteLock.writeLock());
+                }
+            } catch (RuntimeException e) {
+                if (exception == null) {
+                    exception = e;
+                } else {
+                    exception.addSuppressed(e);
+                }
+            } finally {
+                lockCache.unpin(lockPath);
+            }
+        }
+        if (exception != null) {
+            throw exception;
         }
     }
 
 
     public void convertToReadLock(String lockNameType, String lockName, Integer lockTimeout) {
-        InterProcessReadWriteLock readWriteLock = getReadWriteLockInstance(lockNameType, lockName);
-        if (readWriteLock.writeLock().isOwnedByCurrentThread()) {
-            unlock(lockNameType, lockName);
-            requestReadLock(lockNameType, lockName, lockTimeout);
-        } else {
-            throw new LockManagerTimeoutException("Thread does not own write lock to convert.");
+        String lockPath = getLockPath(lockNameType, lockName);
+        InterProcessReadWriteLock readWriteLock = lockCache.pin(lockPath);
+        try {
+            if (readWriteLock.writeLock().isOwnedByCurrentThread()) {
+                unlock(lockNameType, lockName);
+                requestReadLock(lockNameType, lockName, lockTimeout);
+            } else {
+                throw new LockManagerTimeoutException("Thread does not own write lock to convert.");
+            }
+        } finally {
+            lockCache.unpin(lockPath);
         }
     }
 
     public void convertToWriteLock(String lockNameType, String lockName, Integer lockTimeout) {
-        InterProcessReadWriteLock readWriteLock = getReadWriteLockInstance(lockNameType, lockName);
-        if (readWriteLock != null && readWriteLock.readLock().isOwnedByCurrentThread()) {
-            unlock(lockNameType, lockName);
-            requestWriteLock(lockNameType, lockName, lockTimeout);
+        String lockPath = getLockPath(lockNameType, lockName);
+        InterProcessReadWriteLock readWriteLock = lockCache.pin(lockPath);
+        try {
+            if (readWriteLock.readLock().isOwnedByCurrentThread()) {
+                unlock(lockNameType, lockName);
+                requestWriteLock(lockNameType, lockName, lockTimeout);
+            } else {
+                throw new LockManagerTimeoutException("Thread does not own any read lock to convert.");
+            }
+        } finally {
+            lockCache.unpin(lockPath);
+        }
+    }
+
+    /**
+     * Acquires the lock and returns a handle keeping its {@link InterProcessReadWriteLock}, owned by the current
+     * thread. The lock instance stays pinned in the lock cache until the handle is released.
+     */
+    public ZookeeperThreadLockHandle acquireLock(String lockNameType, String lockName, LockMode lockMode, Integer lockTimeout) {
+        String lockPath = getLockPath(lockNameType, lockName);
+        InterProcessReadWriteLock readWriteLock = lockCache.pin(lockPath);
+        try {
+            acquire(getMutex(readWriteLock, lockMode), lockMode, lockTimeout);
+        } catch (RuntimeException e) {
+            lockCache.unpin(lockPath);
+            throw e;
+        }
+        threadLockPaths.get().add(lockPath);
+        LOGGER.debug("{} lock granted for path {}", lockMode, lockPath);
+        return new ZookeeperThreadLockHandle(this, lockNameType, lockName, lockMode, lockPath, readWriteLock);
+    }
+
+    /**
+     * The write lock owner may acquire the read lock of the same {@link InterProcessReadWriteLock}, so a write lock is
+     * converted by acquiring the read lock before releasing the write lock. A read lock is released before the write
+     * lock is requested, and is lost if the write lock cannot be granted.
+     */
+    void convertLock(InterProcessReadWriteLock readWriteLock, LockMode lockMode, Integer lockTimeout) {
+        if (lockMode == LockMode.READ) {
+            acquire(readWriteLock.readLock(), lockMode, lockTimeout);
+            release(readWriteLock.writeLock());
         } else {
-            throw new LockManagerTimeoutException("Thread does not own any read lock to convert.");
+            release(readWriteLock.readLock());
+            acquire(readWriteLock.writeLock(), lockMode, lockTimeout);
+        }
+    }
+
+    /**
+     * Releases the lock of a handle unless {@link #unlockAll()} already released it, and unpins its lock instance.
+     */
+    void releaseLock(String lockPath, InterProcessReadWriteLock readWriteLock, LockMode lockMode) {
+        try {
+            InterProcessMutex mutex = getMutex(readWriteLock, lockMode);
+            if (mutex.isOwnedByCurrentThread()) {
+                release(mutex);
+            }
+            untrackIfReleased(lockPath, readWriteLock);
+        } finally {
+            lockCache.unpin(lockPath);
         }
     }
 
-    private InterProcessReadWriteLock getReadWriteLockInstance(String lockNameType, String lockName) {
-        interProcessReadWriteLockMapByName.putIfAbsent(getLockPath(lockNameType, lockName),
-                new InterProcessReadWriteLock(client, getLockPath(lockNameType, lockName)));
-        return interProcessReadWriteLockMapByName.get(getLockPath(lockNameType, lockName));
+    void unpin(String lockPath) {
+        lockCache.unpin(lockPath);
+    }
+
+    private void untrackIfReleased(String lockPath, InterProcessReadWriteLock readWriteLock) {
+        if (!readWriteLock.readLock().isOwnedByCurrentThread() && !readWriteLock.writeLock().isOwnedByCurrentThread()) {
+            threadLockPaths.get().remove(lockPath);
+        }
+    }
+
+    private static InterProcessMutex getMutex(InterProcessReadWriteLock readWriteLock, LockMode lockMode) {
+        return lockMode == LockMode.READ ? readWriteLock.readLock() : readWriteLock.writeLock();
+    }
+
+    private static void acquire(InterProcessMutex mutex, LockMode lockMode, Integer lockTimeout) {
+        boolean granted;
+        try {
+            granted = lockTimeout != null ? mutex.acquire(lockTimeout, TimeUnit.SECONDS) : mutex.acquire(-1, null);
+        } catch (Exception exception) {
+            throw new LockManagerTimeoutException("Timeout occurred in ZOOKEEPER_LOCK request.");
+        }
+        if (!granted) {
+            throw new LockManagerTimeoutException(
+                    (lockMode == LockMode.READ ? "Read" : "Write") + " lock is held by another process.");
+        }
+    }
+
+    private static void release(InterProcessMutex mutex) {
+        try {
+            mutex.release();
+        } catch (Exception exception) {
+            throw new LockManagerRunTimeException("Error occurred in ZOOKEEPER_LOCK release.", exception);
+        }
+    }
+
+    public CompletionStage<LockHandle> requestReadLockAsync(String lockNameType, String lockName, Integer lockTimeout) {
+        return requestLockAsync(lockNameType, lockName, LockMode.READ, lockTimeout, new CompletableFuture<>());
+    }
+
+    public CompletionStage<LockHandle> requestWriteLockAsync(String lockNameType, String lockName, Integer lockTimeout) {
+        return requestLockAsync(lockNameType, lockName, LockMode.WRITE, lockTimeout, new CompletableFuture<>());
+    }
+
+    public CompletionStage<Void> unlockAsync(LockHandle lockHandle) {
+        return ZookeeperAsyncLock.release(client, getZookeeperLockHandle(lockHandle).getNodePath());
+    }
+
+    public CompletionStage<LockHandle> convertToReadLockAsync(LockHandle lockHandle, Integer lockTimeout) {
+        if (getZookeeperLockHandle(lockHandle).getLockMode() != LockMode.WRITE) {
+            return CompletableFuture.failedFuture(new LockManagerTimeoutException("Handle does not own write lock to convert."));
+        }
+        return convertLockAsync(lockHandle, LockMode.READ, lockTimeout);
+    }
+
+    public CompletionStage<LockHandle> convertToWriteLockAsync(LockHandle lockHandle, Integer lockTimeout) {
+        if (getZookeeperLockHandle(lockHandle).getLockMode() != LockMode.READ) {
+            return CompletableFuture.failedFuture(new LockManagerTimeoutException("Handle does not own any read lock to convert."));
+        }
+        return convertLockAsync(lockHandle, LockMode.WRITE, lockTimeout);
+    }
+
+    private CompletionStage<LockHandle> convertLockAsync(LockHandle lockHandle, LockMode lockMode, Integer lockTimeout) {
+        CompletableFuture<LockHandle> result = new CompletableFuture<>();
+        unlockAsync(lockHandle).whenComplete((released, e) -> {
+            if (e != null) {
+                result.completeExceptionally(e);
+            } else {
+                requestLockAsync(lockHandle.getLockNameType(), lockHandle.getLockName(), lockMode, lockTimeout, result);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Completes {@code result} with the acquired lock. Cancelling {@code result} abandons the acquisition and
+     * deletes its lock node.
+     */
+    private CompletionStage<LockHandle> requestLockAsync(String lockNameType, String lockName, LockMode lockMode,
+                                                         Integer lockTimeout, CompletableFuture<LockHandle> result) {
+        if (result.isDone()) {
+            return result;
+        }
+        CompletableFuture<String> acquisition = new ZookeeperAsyncLock(client, getLockPath(lockNameType, lockName), lockMode)
+                .acquire(lockTimeout);
+        acquisition.whenComplete((nodePath, e) -> {
+            if (e != null) {
+                result.completeExceptionally(e);
+            } else if (!result.complete(new ZookeeperLockHandle(lockNameType, lockName, lockMode, nodePath))) {
+                ZookeeperAsyncLock.release(client, nodePath);
+            }
+        });
+        result.whenComplete((lockHandle, e) -> {
+            if (result.isCancelled()) {
+                acquisition.cancel(false);
+            }
+        });
+        return result;
+    }
+
+    private ZookeeperLockHandle getZookeeperLockHandle(LockHandle lockHandle) {
+        if (!(lockHandle instanceof ZookeeperLockHandle)) {
+            throw new LockManagerRunTimeException("Lock handle is not acquired from ZOOKEEPER_LOCK.");
+        }
+        return (ZookeeperLockHandle) lockHandle;
     }
 
     private String getLockPath(String lockNameType, String lockName) {
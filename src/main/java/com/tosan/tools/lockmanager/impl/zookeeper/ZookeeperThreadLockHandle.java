@@ -0,0 +1,43 @@
+package com.tosan.tools.lockmanager.impl.zookeeper;
+
+import com.tosan.tools.lockmanager.api.AbstractCloseableLockHandle;
+import com.tosan.tools.lockmanager.api.LockMode;
+import org.apache.curator.framework.recipes.locks.InterProcessReadWriteLock;
+
+/**
+ * Zookeeper lock owned by the thread that acquired it, keeping its lock instance pinned until released.
+ *
+ * @author mortezaei
+ * @since 10/18/2026
+ */
+public class ZookeeperThreadLockHandle extends AbstractCloseableLockHandle {
+    private final ZookeeperLockService zookeeperLockService;
+    private final String lockPath;
+    private final InterProcessReadWriteLock readWriteLock;
+
+    ZookeeperThreadLockHandle(ZookeeperLockService zookeeperLockService, String lockNameType, String lockName,
+                              LockMode lockMode, String lockPath, InterProcessReadWriteLock readWriteLock) {
+        super(lockNameType, lockName, lockMode);
+        this.zookeeperLockService = zookeeperLockService;
+        this.lockPath = lockPath;
+        this.readWriteLock = readWriteLock;
+    }
+
+    @Override
+    protected void release(LockMode lockMode) {
+        zookeeperLockService.releaseLock(lockPath, readWriteLock, lockMode);
+    }
+
+    @Override
+    protected void convert(LockMode currentMode, LockMode lockMode, Integer lockTimeout) {
+        try {
+            zookeeperLockService.convertLock(readWriteLock, lockMode, lockTimeout);
+        } catch (RuntimeException e) {
+            if (lockMode == LockMode.WRITE) {
+                markReleased();
+                zookeeperLockService.unpin(lockPath);
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+-- Lock functions of the DB2 lock dao (Db2DbmsLockDao), following DBMS_LOCK by lock name instead of lock handle.
+-- Run in the schema the lock manager connects with, using @ as statement terminator:
+--     db2 -td@ -vf lock-functions.sql
+-- Requires DB2 for LUW 9.7 or later (autonomous procedures, MON_GET_* table functions and the DBMS_PIPE module).
+--
+-- Holders are rows of LOCK_MANAGER_HOLDER keyed by the application handle of their connection, written by
+-- autonomous procedures so that they are visible to other connections before the requester commits. A holder whose
+-- connection is gone, or whose unit of work has ended for a lock requested with release_on_commit, is removed by the
+-- next request of the lock. Lock modes are 4 shared and 6 exclusive, timeouts are in seconds and statuses are
+-- 0 success, 1 timeout, 3 parameter error and 4 already own (request) or don't own (convert, release).
+--
+-- Installations still on REQUEST_WRITE_LOCK keep working without these functions, with write locks only.
+
+CREATE TABLE LOCK_MANAGER_LOCK (
+    LOCK_NAME VARCHAR(512) NOT NULL PRIMARY KEY
+)@
+
+CREATE TABLE LOCK_MANAGER_HOLDER (
+    LOCK_NAME VARCHAR(512) NOT NULL,
+    APPLICATION_HANDLE BIGINT NOT NULL,
+    UOW_ID INTEGER,
+    LOCK_MODE SMALLINT NOT NULL,
+    PRIMARY KEY (LOCK_NAME, APPLICATION_HANDLE)
+)@
+
+-- One attempt to take or convert a lock, serialized per lock name by the row lock on LOCK_MANAGER_LOCK.
+-- Sets status 1 when another holder conflicts, for the caller to retry.
+CREATE PROCEDURE LOCK_MANAGER_TRY_LOCK(IN P_LOCK_NAME VARCHAR(512), IN P_APPLICATION_HANDLE BIGINT,
+                                       IN P_UOW_ID INTEGER, IN P_LOCK_MODE INTEGER, IN P_CONVERTING INTEGER,
+                                       OUT P_STATUS INTEGER)
+    LANGUAGE SQL
+    MODIFIES SQL DATA
+    AUTONOMOUS
+BEGIN
+    DECLARE V_OWN_MODE SMALLINT;
+    DECLARE V_CONFLICTS INTEGER;
+    DECLARE CONTINUE HANDLER FOR SQLSTATE '23505' BEGIN END;
+
+    INSERT INTO LOCK_MANAGER_LOCK (LOCK_NAME)
+        SELECT P_LOCK_NAME FROM SYSIBM.SYSDUMMY1
+        WHERE NOT EXISTS (SELECT 1 FROM LOCK_MANAGER_LOCK WHERE LOCK_NAME = P_LOCK_NAME);
+    UPDATE LOCK_MANAGER_LOCK SET LOCK_NAME = LOCK_NAME WHERE LOCK_NAME = P_LOCK_NAME;
+
+    DELETE FROM LOCK_MANAGER_HOLDER H
+    WHERE H.LOCK_NAME = P_LOCK_NAME
+      AND (NOT EXISTS (SELECT 1 FROM TABLE(MON_GET_CONNECTION(H.APPLICATION_HANDLE, -2)) C)
+        OR (H.UOW_ID IS NOT NULL
+            AND NOT EXISTS (SELECT 1 FROM TABLE(MON_GET_UNIT_OF_WORK(H.APPLICATION_HANDLE, -2)) U
+                            WHERE U.UOW_ID = H.UOW_ID AND U.UOW_STOP_TIME IS NULL)));
+
+    SET V_OWN_MODE = (SELECT LOCK_MODE FROM LOCK_MANAGER_HOLDER
+                      WHERE LOCK_NAME = P_LOCK_NAME AND APPLICATION_HANDLE = P_APPLICATION_HANDLE);
+    IF (P_CONVERTING = 0 AND V_OWN_MODE IS NOT NULL) OR (P_CONVERTING = 1 AND V_OWN_MODE IS NULL) THEN
+        SET P_STATUS = 4;
+        RETURN;
+    END IF;
+
+    SET V_CONFLICTS = (SELECT COUNT(*) FROM LOCK_MANAGER_HOLDER
+                       WHERE LOCK_NAME = P_LOCK_NAME AND APPLICATION_HANDLE <> P_APPLICATION_HANDLE
+                         AND (P_LOCK_MODE = 6 OR LOCK_MODE = 6));
+    IF V_CONFLICTS > 0 THEN
+        SET P_STATUS = 1;
+        RETURN;
+    END IF;
+
+    IF V_OWN_MODE IS NULL THEN
+        INSERT INTO LOCK_MANAGER_HOLDER (LOCK_NAME, APPLICATION_HANDLE, UOW_ID, LOCK_MODE)
+            VALUES (P_LOCK_NAME, P_APPLICATION_HANDLE, P_UOW_ID, P_LOCK_MODE);
+    ELSE
+        UPDATE LOCK_MANAGER_HOLDER SET LOCK_MODE = P_LOCK_MODE
+            WHERE LOCK_NAME = P_LOCK_NAME AND APPLICATION_HANDLE = P_APPLICATION_HANDLE;
+    END IF;
+    SET P_STATUS = 0;
+END@
+
+CREATE PROCEDURE LOCK_MANAGER_UNLOCK(IN P_LOCK_NAME VARCHAR(512), IN P_APPLICATION_HANDLE BIGINT,
+                                     OUT P_STATUS INTEGER)
+    LANGUAGE SQL
+    MODIFIES SQL DATA
+    AUTONOMOUS
+BEGIN
+    DECLARE V_DELETED INTEGER;
+
+    DELETE FROM LOCK_MANAGER_HOLDER WHERE LOCK_NAME = P_LOCK_NAME AND APPLICATION_HANDLE = P_APPLICATION_HANDLE;
+    GET DIAGNOSTICS V_DELETED = ROW_COUNT;
+    SET P_STATUS = CASE WHEN V_DELETED > 0 THEN 0 ELSE 4 END;
+END@
+
+-- Retries an attempt once a second until the timeout, as CURRENT TIMESTAMP does not advance within a statement.
+CREATE FUNCTION LOCK_MANAGER_AWAIT_LOCK(P_LOCK_NAME VARCHAR(512), P_LOCK_MODE INTEGER, P_TIMEOUT INTEGER,
+                                        P_UOW_ID INTEGER, P_CONVERTING INTEGER)
+    RETURNS INTEGER
+    LANGUAGE SQL
+    READS SQL DATA
+    NOT DETERMINISTIC
+    EXTERNAL ACTION
+BEGIN
+    DECLARE V_APPLICATION_HANDLE BIGINT;
+    DECLARE V_STATUS INTEGER;
+    DECLARE V_REMAINING INTEGER;
+    DECLARE V_PIPE_STATUS INTEGER;
+
+    SET V_APPLICATION_HANDLE = MON_GET_APPLICATION_HANDLE();
+    SET V_REMAINING = P_TIMEOUT;
+    LOOP
+        CALL LOCK_MANAGER_TRY_LOCK(P_LOCK_NAME, V_APPLICATION_HANDLE, P_UOW_ID, P_LOCK_MODE, P_CONVERTING, V_STATUS);
+        IF V_STATUS <> 1 OR V_REMAINING <= 0 THEN
+            RETURN V_STATUS;
+        END IF;
+        SET V_PIPE_STATUS = DBMS_PIPE.RECEIVE_MESSAGE('LOCK_MANAGER_WAIT', 1);
+        SET V_REMAINING = V_REMAINING - 1;
+    END LOOP;
+END@
+
+CREATE FUNCTION REQUEST_LOCK(P_LOCK_NAME VARCHAR(512), P_LOCK_MODE INTEGER, P_TIMEOUT INTEGER,
+                             P_RELEASE_ON_COMMIT INTEGER)
+    RETURNS INTEGER
+    LANGUAGE SQL
+    READS SQL DATA
+    NOT DETERMINISTIC
+    EXTERNAL ACTION
+BEGIN
+    DECLARE V_UOW_ID INTEGER;
+
+    IF P_LOCK_NAME IS NULL OR P_LOCK_MODE NOT IN (4, 6) OR P_TIMEOUT < 0 OR P_RELEASE_ON_COMMIT NOT IN (0, 1) THEN
+        RETURN 3;
+    END IF;
+    IF P_RELEASE_ON_COMMIT = 1 THEN
+        SET V_UOW_ID = (SELECT UOW_ID FROM TABLE(MON_GET_UNIT_OF_WORK(MON_GET_APPLICATION_HANDLE(), -1)) U);
+    END IF;
+    RETURN LOCK_MANAGER_AWAIT_LOCK(P_LOCK_NAME, P_LOCK_MODE, P_TIMEOUT, V_UOW_ID, 0);
+END@
+
+CREATE FUNCTION CONVERT_LOCK(P_LOCK_NAME VARCHAR(512), P_LOCK_MODE INTEGER, P_TIMEOUT INTEGER)
+    RETURNS INTEGER
+    LANGUAGE SQL
+    READS SQL DATA
+    NOT DETERMINISTIC
+    EXTERNAL ACTION
+BEGIN
+    DECLARE V_UOW_ID INTEGER;
+
+    IF P_LOCK_NAME IS NULL OR P_LOCK_MODE NOT IN (4, 6) OR P_TIMEOUT < 0 THEN
+        RETURN 3;
+    END IF;
+    SET V_UOW_ID = (SELECT UOW_ID FROM LOCK_MANAGER_HOLDER
+                    WHERE LOCK_NAME = P_LOCK_NAME AND APPLICATION_HANDLE = MON_GET_APPLICATION_HANDLE());
+    RETURN LOCK_MANAGER_AWAIT_LOCK(P_LOCK_NAME, P_LOCK_MODE, P_TIMEOUT, V_UOW_ID, 1);
+END@
+
+CREATE FUNCTION RELEASE_LOCK(P_LOCK_NAME VARCHAR(512))
+    RETURNS INTEGER
+    LANGUAGE SQL
+    READS SQL DATA
+    NOT DETERMINISTIC
+    EXTERNAL ACTION
+BEGIN
+    DECLARE V_STATUS INTEGER;
+
+    IF P_LOCK_NAME IS NULL THEN
+        RETURN 3;
+    END IF;
+    CALL LOCK_MANAGER_UNLOCK(P_LOCK_NAME, MON_GET_APPLICATION_HANDLE(), V_STATUS);
+    RETURN V_STATUS;
+END@
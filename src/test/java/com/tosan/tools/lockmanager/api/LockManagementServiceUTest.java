@@ -0,0 +1,61 @@
+package com.tosan.tools.lockmanager.api;
+
+import com.tosan.tools.lockmanager.exception.LockManagerRunTimeException;
+import com.tosan.tools.lockmanager.exception.LockManagerTimeoutException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author mortezaei
+ * @since 10/18/2026
+ */
+public class LockManagementServiceUTest {
+    private final List<String> calls = new ArrayList<>();
+
+    @Test
+    public void locksAreRequestedInNaturalOrderOnce() {
+        newLockManagementService(null).requestWriteLocks("NAME", List.of("3", "1", "2", "1"), 10);
+
+        Assertions.assertEquals(List.of("write NAME-1", "write NAME-2", "write NAME-3"), calls);
+    }
+
+    @Test
+    public void acquiredLocksAreReleasedOnFailure() {
+        LockManagementService lockManagementService = newLockManagementService("3");
+        Assertions.assertThrows(LockManagerTimeoutException.class,
+                () -> lockManagementService.requestReadLocks("NAME", List.of("3", "2", "1"), 10));
+
+        Assertions.assertEquals(List.of("read NAME-1", "read NAME-2", "read NAME-3",
+                "unlock NAME-2", "unlock NAME-1"), calls);
+    }
+
+    @Test
+    public void closedHandleIsReleasedOnce() {
+        try (CloseableLockHandle lockHandle = newLockManagementService(null).acquireReadLock("NAME", "1", 10)) {
+            lockHandle.convertToWriteLock(10);
+            lockHandle.convertToWriteLock(10);
+            Assertions.assertEquals(LockMode.WRITE, lockHandle.getLockMode());
+            lockHandle.unlock();
+        }
+
+        Assertions.assertEquals(List.of("read NAME-1", "convertToWrite NAME-1", "unlock NAME-1"), calls);
+    }
+
+    @Test
+    public void releasedHandleCannotBeConverted() {
+        CloseableLockHandle lockHandle = newLockManagementService(null).acquireWriteLock("NAME", "1", 10);
+        lockHandle.close();
+
+        Assertions.assertTrue(lockHandle.isReleased());
+        Assertions.assertThrows(LockManagerRunTimeException.class, () -> lockHandle.convertToReadLock(10));
+    }
+
+    private LockManagementService newLockManagementService(String timingOutLockName) {
+        RecordingLockManagementService lockManagementService = new RecordingLockManagementService(calls);
+        lockManagementService.setTimingOutLockName(timingOutLockName);
+        return lockManagementService;
+    }
+}
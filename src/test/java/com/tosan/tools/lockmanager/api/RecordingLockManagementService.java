@@ -0,0 +1,122 @@
+package com.tosan.tools.lockmanager.api;
+
+import com.tosan.tools.lockmanager.exception.LockManagerTimeoutException;
+
+import java.util.List;
+
+/**
+ * Test double recording its calls as {@code "[name ]call[ lockNameType[-lockName]][ lockTimeout]"}, e.g.
+ * {@code "write NAME-1"}.
+ *
+ * @author mortezaei
+ * @since 10/18/2026
+ */
+public class RecordingLockManagementService implements LockManagementService {
+    private final List<String> calls;
+    private String name;
+    private boolean recordingTimeouts;
+    private String timingOutLockName;
+
+    /**
+     * @param calls list the calls are added to, guarded by itself
+     */
+    public RecordingLockManagementService(List<String> calls) {
+        this.calls = calls;
+    }
+
+    /**
+     * Sets the name prefixed to the calls, to tell several services apart.
+     */
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Sets whether the timeouts of requests and converts are recorded.
+     */
+    public void setRecordingTimeouts(boolean recordingTimeouts) {
+        this.recordingTimeouts = recordingTimeouts;
+    }
+
+    /**
+     * Sets the lock name whose requests and converts time out after being recorded.
+     */
+    public void setTimingOutLockName(String timingOutLockName) {
+        this.timingOutLockName = timingOutLockName;
+    }
+
+    private void record(String call, String lockNameType, String lockName) {
+        synchronized (calls) {
+            calls.add(describe(call, lockNameType, lockName));
+        }
+    }
+
+    private void record(String call, String lockNameType, String lockName, Integer lockTimeout) {
+        synchronized (calls) {
+            calls.add(describe(call, lockNameType, lockName) + (recordingTimeouts ? " " + lockTimeout : ""));
+        }
+        if (lockName != null && lockName.equals(timingOutLockName)) {
+            throw new LockManagerTimeoutException("timeout");
+        }
+    }
+
+    private String describe(String call, String lockNameType, String lockName) {
+        return (name == null ? "" : name + " ") + call + (lockNameType == null ? "" : " " + lockNameType)
+                + (lockName == null ? "" : "-" + lockName);
+    }
+
+    @Override
+    public void requestReadLock(String lockNameType, boolean releaseOnCommit) {
+        record("read", lockNameType, null, null);
+    }
+
+    @Override
+    public void requestReadLock(String lockNameType, String lockName, boolean releaseOnCommit) {
+        record("read", lockNameType, lockName, null);
+    }
+
+    @Override
+    public void requestReadLock(String lockNameType, String lockName, Integer lockTimeout, boolean releaseOnCommit) {
+        record("read", lockNameType, lockName, lockTimeout);
+    }
+
+    @Override
+    public void requestWriteLock(String lockNameType, boolean releaseOnCommit) {
+        record("write", lockNameType, null, null);
+    }
+
+    @Override
+    public void requestWriteLock(String lockNameType, String lockName, boolean releaseOnCommit) {
+        record("write", lockNameType, lockName, null);
+    }
+
+    @Override
+    public void requestWriteLock(String lockNameType, String lockName, Integer lockTimeout, boolean releaseOnCommit) {
+        record("write", lockNameType, lockName, lockTimeout);
+    }
+
+    @Override
+    public void unlock(String lockNameType) {
+        record("unlock", lockNameType, null);
+    }
+
+    @Override
+    public void unlock(String lockNameType, String lockName) {
+        record("unlock", lockNameType, lockName);
+    }
+
+    @Override
+    public void unlockAll() {
+        record("unlockAll", null, null);
+    }
+
+    @Override
+    public void convertToReadLock(String lockNameType, String lockName, Integer lockTimeout) {
+        record("convertToRead", lockNameType, lockName, lockTimeout);
+    }
+
+    @Override
+    public void convertToWriteLock(String lockNameType, String lockName, Integer lockTimeout) {
+        record("convertToWrite", lockNameType, lockName, lockTimeout);
+    }
+}
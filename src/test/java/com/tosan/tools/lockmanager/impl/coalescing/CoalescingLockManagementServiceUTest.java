@@ -0,0 +1,213 @@
+package com.tosan.tools.lockmanager.impl.coalescing;
+
+import com.tosan.tools.lockmanager.api.AsyncLockManagementService;
+import com.tosan.tools.lockmanager.api.LockHandle;
+import com.tosan.tools.lockmanager.api.LockMode;
+import com.tosan.tools.lockmanager.exception.LockManagerTimeoutException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author mortezaei
+ * @since 10/18/2026
+ */
+public class CoalescingLockManagementServiceUTest {
+    private final List<String> calls = new ArrayList<>();
+    private volatile boolean timingOut;
+    private CoalescingLockManagementService lockManagementService;
+
+    @BeforeEach
+    public void setup() {
+        lockManagementService = new CoalescingLockManagementService(new RecordingAsyncLockManagementService());
+    }
+
+    @Test
+    public void writeLockIsHandedOffToQueuedThreads() throws Exception {
+        lockManagementService.requestWriteLock("NAME", "1", 10, false);
+        List<Thread> waiters = startWriters(2);
+        lockManagementService.unlock("NAME", "1");
+        for (Thread waiter : waiters) {
+            waiter.join();
+        }
+
+        Assertions.assertEquals(List.of("write NAME-1", "unlock NAME-1"), calls);
+    }
+
+    @Test
+    public void writeLockIsReleasedWithoutHandOff() throws Exception {
+        lockManagementService.setHandOffLimit(0);
+        lockManagementService.requestWriteLock("NAME", "1", 10, false);
+        List<Thread> waiters = startWriters(2);
+        lockManagementService.unlock("NAME", "1");
+        for (Thread waiter : waiters) {
+            waiter.join();
+        }
+
+        Assertions.assertEquals(List.of("write NAME-1", "unlock NAME-1", "write NAME-1", "unlock NAME-1",
+                "write NAME-1", "unlock NAME-1"), calls);
+    }
+
+    @Test
+    public void readersShareBackendReadLock() throws Exception {
+        lockManagementService.requestReadLock("NAME", "1", 10, false);
+        CountDownLatch read = new CountDownLatch(1);
+        CountDownLatch released = new CountDownLatch(1);
+        Thread reader = new Thread(() -> {
+            lockManagementService.requestReadLock("NAME", "1", 10, false);
+            read.countDown();
+            await(released);
+            lockManagementService.unlock("NAME", "1");
+        });
+        reader.start();
+        Assertions.assertTrue(read.await(10, TimeUnit.SECONDS));
+        lockManagementService.unlock("NAME", "1");
+        Assertions.assertEquals(List.of("read NAME-1"), calls);
+        released.countDown();
+        reader.join();
+
+        Assertions.assertEquals(List.of("read NAME-1", "unlock NAME-1"), calls);
+    }
+
+    @Test
+    public void backendTimeoutLeavesLocalQueue() {
+        timingOut = true;
+        Assertions.assertThrows(LockManagerTimeoutException.class,
+                () -> lockManagementService.requestWriteLock("NAME", "1", 10, false));
+        timingOut = false;
+        lockManagementService.requestWriteLock("NAME", "1", 10, false);
+        lockManagementService.unlock("NAME", "1");
+
+        Assertions.assertEquals(List.of("write NAME-1", "write NAME-1", "unlock NAME-1"), calls);
+    }
+
+    /**
+     * Interrupts the waiter, which gives up the local queue as on a timeout, while the write lock is handed off to it.
+     */
+    @Test
+    public void writeLockIsReleasedWhenWaiterGivesUpDuringHandOff() throws Exception {
+        for (int i = 0; i < 500; i++) {
+            lockManagementService.requestWriteLock("NAME", "1", 10, false);
+            Thread waiter = new Thread(() -> {
+                try {
+                    lockManagementService.requestWriteLock("NAME", "1", 10, false);
+                    lockManagementService.unlock("NAME", "1");
+                } catch (LockManagerTimeoutException ignored) {
+                }
+            });
+            waiter.start();
+            while (lockManagementService.getQueueLength("NAME", "1") < 1) {
+                Thread.onSpinWait();
+            }
+            CountDownLatch handingOff = new CountDownLatch(1);
+            Thread interrupter = new Thread(() -> {
+                await(handingOff);
+                waiter.interrupt();
+            });
+            interrupter.start();
+            handingOff.countDown();
+            lockManagementService.unlock("NAME", "1");
+            interrupter.join();
+            waiter.join();
+
+            Assertions.assertEquals("unlock NAME-1", calls.get(calls.size() - 1));
+        }
+    }
+
+    private List<Thread> startWriters(int count) throws InterruptedException {
+        List<Thread> writers = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Thread writer = new Thread(() -> {
+                lockManagementService.requestWriteLock("NAME", "1", 10, false);
+                lockManagementService.unlock("NAME", "1");
+            });
+            writer.start();
+            writers.add(writer);
+            while (lockManagementService.getQueueLength("NAME", "1") < i + 1) {
+                Thread.sleep(1);
+            }
+        }
+        return writers;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private class RecordingAsyncLockManagementService implements AsyncLockManagementService {
+
+        private CompletionStage<LockHandle> record(String call, String lockNameType, String lockName, LockMode lockMode) {
+            synchronized (calls) {
+                calls.add(call + " " + lockNameType + (lockName == null ? "" : "-" + lockName));
+            }
+            if (timingOut) {
+                return CompletableFuture.failedFuture(new LockManagerTimeoutException("timeout"));
+            }
+            return CompletableFuture.completedFuture(new StubLockHandle(lockNameType, lockName, lockMode));
+        }
+
+        @Override
+        public CompletionStage<LockHandle> requestReadLock(String lockNameType, String lockName, Integer lockTimeout) {
+            return record("read", lockNameType, lockName, LockMode.READ);
+        }
+
+        @Override
+        public CompletionStage<LockHandle> requestWriteLock(String lockNameType, String lockName, Integer lockTimeout) {
+            return record("write", lockNameType, lockName, LockMode.WRITE);
+        }
+
+        @Override
+        public CompletionStage<LockHandle> convertToReadLock(LockHandle lockHandle, Integer lockTimeout) {
+            return record("convertToRead", lockHandle.getLockNameType(), lockHandle.getLockName(), LockMode.READ);
+        }
+
+        @Override
+        public CompletionStage<LockHandle> convertToWriteLock(LockHandle lockHandle, Integer lockTimeout) {
+            return record("convertToWrite", lockHandle.getLockNameType(), lockHandle.getLockName(), LockMode.WRITE);
+        }
+
+        @Override
+        public CompletionStage<Void> unlock(LockHandle lockHandle) {
+            return record("unlock", lockHandle.getLockNameType(), lockHandle.getLockName(), lockHandle.getLockMode())
+                    .thenApply(unlocked -> null);
+        }
+    }
+
+    private static class StubLockHandle implements LockHandle {
+        private final String lockNameType;
+        private final String lockName;
+        private final LockMode lockMode;
+
+        StubLockHandle(String lockNameType, String lockName, LockMode lockMode) {
+            this.lockNameType = lockNameType;
+            this.lockName = lockName;
+            this.lockMode = lockMode;
+        }
+
+        @Override
+        public String getLockNameType() {
+            return lockNameType;
+        }
+
+        @Override
+        public String getLockName() {
+            return lockName;
+        }
+
+        @Override
+        public LockMode getLockMode() {
+            return lockMode;
+        }
+    }
+}
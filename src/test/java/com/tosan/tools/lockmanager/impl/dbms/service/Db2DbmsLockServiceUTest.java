@@ -0,0 +1,128 @@
+package com.tosan.tools.lockmanager.impl.dbms.service;
+
+import com.tosan.tools.lockmanager.exception.LockManagerTimeoutException;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs against in-memory H2 databases in DB2 mode with the lock functions stood in by {@link Db2LockFunctions},
+ * every service holding its own connection.
+ *
+ * @author mortezaei
+ * @since 10/18/2026
+ */
+public class Db2DbmsLockServiceUTest {
+    private static final String URL = "jdbc:h2:mem:db2-lock-service-utest;MODE=DB2;DB_CLOSE_DELAY=-1";
+    private static final String LEGACY_URL = "jdbc:h2:mem:db2-legacy-lock-service-utest;MODE=DB2;DB_CLOSE_DELAY=-1";
+    private static SessionFactory sessionFactory;
+    private static SessionFactory legacySessionFactory;
+    private final List<EntityManager> entityManagers = new ArrayList<>();
+
+    @BeforeAll
+    public static void setup() throws SQLException {
+        sessionFactory = newSessionFactory(URL, true);
+        legacySessionFactory = newSessionFactory(LEGACY_URL, false);
+    }
+
+    private static SessionFactory newSessionFactory(String url, boolean lockFunctions) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url)) {
+            Db2LockFunctions.install(connection, lockFunctions);
+        }
+        return new Configuration()
+                .setProperty("hibernate.connection.url", url)
+                .setProperty("hibernate.connection.handling_mode", "DELAYED_ACQUISITION_AND_HOLD")
+                .setProperty("hibernate.dialect", "org.hibernate.dialect.DB2Dialect")
+                .setProperty("hibernate.boot.allow_jdbc_metadata_access", "false")
+                .buildSessionFactory();
+    }
+
+    @AfterAll
+    public static void shutdown() {
+        sessionFactory.close();
+        legacySessionFactory.close();
+    }
+
+    @AfterEach
+    public void closeEntityManagers() {
+        entityManagers.forEach(EntityManager::close);
+    }
+
+    private Db2DbmsLockService newLockService(SessionFactory sessionFactory) {
+        EntityManager entityManager = sessionFactory.createEntityManager();
+        entityManagers.add(entityManager);
+        return new Db2DbmsLockService(entityManager);
+    }
+
+    @Test
+    public void readLocksAreSharedAndExcludeWriteLocks() {
+        Db2DbmsLockService first = newLockService(sessionFactory);
+        Db2DbmsLockService second = newLockService(sessionFactory);
+
+        first.requestReadLock("NAME", "1", 0, false);
+        second.requestReadLock("NAME", "1", 0, false);
+
+        Assertions.assertThrows(LockManagerTimeoutException.class,
+                () -> newLockService(sessionFactory).requestWriteLock("NAME", "1", 0, false));
+        first.unLock("NAME", "1");
+        second.unLock("NAME", "1");
+        newLockService(sessionFactory).requestWriteLock("NAME", "1", 0, false);
+    }
+
+    @Test
+    public void convertToWriteLockWaitsForOtherReadLocks() {
+        Db2DbmsLockService first = newLockService(sessionFactory);
+        Db2DbmsLockService second = newLockService(sessionFactory);
+        first.requestReadLock("NAME", "2", 0, false);
+        second.requestReadLock("NAME", "2", 0, false);
+
+        Assertions.assertThrows(LockManagerTimeoutException.class, () -> first.convertToWriteLock("NAME", "2", 0));
+        second.unLock("NAME", "2");
+        first.convertToWriteLock("NAME", "2", 0);
+
+        Assertions.assertThrows(LockManagerTimeoutException.class,
+                () -> second.requestReadLock("NAME", "2", 0, false));
+        first.convertToReadLock("NAME", "2", 0);
+        second.requestReadLock("NAME", "2", 0, false);
+    }
+
+    @Test
+    public void unLockAllReleasesLocksNotReleasedOnCommit() {
+        Db2DbmsLockService first = newLockService(sessionFactory);
+        Db2DbmsLockService second = newLockService(sessionFactory);
+        first.requestWriteLock("NAME", "3", 0, false);
+        first.requestWriteLock("NAME", "4", 0, false);
+        first.requestReadLock("NAME", "5", 0, false);
+
+        first.unLockAll();
+
+        second.requestWriteLock("NAME", "3", 0, false);
+        second.requestWriteLock("NAME", "4", 0, false);
+        second.requestWriteLock("NAME", "5", 0, false);
+    }
+
+    @Test
+    public void writeLocksAreRequestedThroughRequestWriteLockWithoutLockFunctions() {
+        Db2DbmsLockService lockService = newLockService(legacySessionFactory);
+        int writeLockRequests = Db2LockFunctions.getWriteLockRequests();
+
+        lockService.requestReadLock("NAME", "1", 0, false);
+        lockService.requestWriteLock("NAME", "1", 0, false);
+        lockService.convertToReadLock("NAME", "1", 0);
+        lockService.unLock("NAME", "1");
+        lockService.unLockAll();
+
+        Assertions.assertEquals(writeLockRequests + 1, Db2LockFunctions.getWriteLockRequests());
+    }
+}
@@ -0,0 +1,139 @@
+package com.tosan.tools.lockmanager.impl.dbms.service;
+
+import org.h2.jdbc.JdbcConnection;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Stand-in of the DB2 lock functions of {@code db2/lock-functions.sql} for H2, registered as Java function aliases.
+ * Lock owners are H2 sessions and locks requested with {@code release_on_commit} are kept until explicitly released.
+ *
+ * @author mortezaei
+ * @since 10/18/2026
+ */
+public final class Db2LockFunctions {
+    private static final int EXCLUSIVE_MODE = 6;
+    private static final Map<String, Map<String, Lock>> LOCKS = new ConcurrentHashMap<>();
+    private static final AtomicInteger WRITE_LOCK_REQUESTS = new AtomicInteger();
+
+    private Db2LockFunctions() {
+    }
+
+    /**
+     * Installs the lock functions in the current schema, listing {@code REQUEST_LOCK} in a {@code syscat.routines}
+     * stand-in, or else only the former {@code REQUEST_WRITE_LOCK} function.
+     */
+    public static void install(Connection connection, boolean lockFunctions) throws SQLException {
+        String className = Db2LockFunctions.class.getName();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE SCHEMA IF NOT EXISTS syscat");
+            statement.execute("CREATE TABLE IF NOT EXISTS syscat.routines (routineschema VARCHAR(128), routinename VARCHAR(128))");
+            if (lockFunctions) {
+                statement.execute("INSERT INTO syscat.routines SELECT current_schema, 'REQUEST_LOCK' FROM sysibm.sysdummy1");
+                statement.execute("CREATE ALIAS IF NOT EXISTS REQUEST_LOCK FOR '" + className + ".request'");
+                statement.execute("CREATE ALIAS IF NOT EXISTS CONVERT_LOCK FOR '" + className + ".convert'");
+                statement.execute("CREATE ALIAS IF NOT EXISTS RELEASE_LOCK FOR '" + className + ".release'");
+            } else {
+                statement.execute("CREATE ALIAS IF NOT EXISTS REQUEST_WRITE_LOCK FOR '" + className + ".requestWriteLock'");
+            }
+        }
+    }
+
+    /**
+     * @return the calls of {@code REQUEST_WRITE_LOCK} so far
+     */
+    public static int getWriteLockRequests() {
+        return WRITE_LOCK_REQUESTS.get();
+    }
+
+    public static int request(Connection connection, String lockName, int lockMode, int timeout, int releaseOnCommit)
+            throws SQLException, InterruptedException {
+        return lock(connection, lockName).request(owner(connection), lockMode == EXCLUSIVE_MODE, timeout);
+    }
+
+    public static int convert(Connection connection, String lockName, int lockMode, int timeout)
+            throws SQLException, InterruptedException {
+        return lock(connection, lockName).convert(owner(connection), lockMode == EXCLUSIVE_MODE, timeout);
+    }
+
+    public static int release(Connection connection, String lockName) throws SQLException {
+        return lock(connection, lockName).release(owner(connection));
+    }
+
+    public static int requestWriteLock(String lockName) {
+        WRITE_LOCK_REQUESTS.incrementAndGet();
+        return 0;
+    }
+
+    private static Lock lock(Connection connection, String lockName) throws SQLException {
+        return LOCKS.computeIfAbsent(connection.getMetaData().getURL(), url -> new ConcurrentHashMap<>())
+                .computeIfAbsent(lockName, name -> new Lock());
+    }
+
+    private static Object owner(Connection connection) throws SQLException {
+        return connection.unwrap(JdbcConnection.class).getSession();
+    }
+
+    private static final class Lock {
+        private final Map<Object, Boolean> owners = new HashMap<>();
+
+        synchronized int request(Object owner, boolean exclusive, int timeout) throws InterruptedException {
+            if (owners.containsKey(owner)) {
+                return 4;
+            }
+            if (!await(owner, exclusive, timeout)) {
+                return 1;
+            }
+            owners.put(owner, exclusive);
+            return 0;
+        }
+
+        synchronized int convert(Object owner, boolean exclusive, int timeout) throws InterruptedException {
+            if (!owners.containsKey(owner)) {
+                return 4;
+            }
+            if (exclusive && !await(owner, true, timeout)) {
+                return 1;
+            }
+            owners.put(owner, exclusive);
+            notifyAll();
+            return 0;
+        }
+
+        synchronized int release(Object owner) {
+            if (owners.remove(owner) == null) {
+                return 4;
+            }
+            notifyAll();
+            return 0;
+        }
+
+        private boolean await(Object owner, boolean exclusive, int timeout) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeout);
+            while (!compatible(owner, exclusive)) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(this, remaining);
+            }
+            return true;
+        }
+
+        private boolean compatible(Object owner, boolean exclusive) {
+            for (Map.Entry<Object, Boolean> entry : owners.entrySet()) {
+                if (!entry.getKey().equals(owner) && (exclusive || entry.getValue())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
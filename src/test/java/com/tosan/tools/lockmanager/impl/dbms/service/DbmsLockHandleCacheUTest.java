@@ -0,0 +1,148 @@
+package com.tosan.tools.lockmanager.impl.dbms.service;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @author mortezaei
+ * @since 10/18/2026
+ */
+public class DbmsLockHandleCacheUTest {
+    private final AtomicLong ticker = new AtomicLong();
+    private final AtomicInteger allocations = new AtomicInteger();
+    private final List<Thread> allocatingThreads = new ArrayList<>();
+
+    private DbmsLockHandleCache newLockHandleCache() {
+        return new DbmsLockHandleCache(lockName -> {
+            allocatingThreads.add(Thread.currentThread());
+            return lockName + "#" + allocations.incrementAndGet();
+        }, 100, ticker::get);
+    }
+
+    @Test
+    public void allocatesOnceForConcurrentMisses() throws Exception {
+        CountDownLatch allocating = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        DbmsLockHandleCache lockHandleCache = new DbmsLockHandleCache(lockName -> {
+            allocations.incrementAndGet();
+            allocating.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "HANDLE";
+        }, 100, ticker::get);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<String>> handles = new ArrayList<>();
+            handles.add(executor.submit(() -> lockHandleCache.getLockHandle("NAME")));
+            Assertions.assertTrue(allocating.await(5, TimeUnit.SECONDS));
+            for (int i = 0; i < 3; i++) {
+                handles.add(executor.submit(() -> lockHandleCache.getLockHandle("NAME")));
+            }
+            release.countDown();
+            for (Future<String> handle : handles) {
+                Assertions.assertEquals("HANDLE", handle.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        Assertions.assertEquals(1, allocations.get());
+    }
+
+    @Test
+    public void refreshesAheadOnCallingThreadAndReallocatesExpiredHandles() {
+        DbmsLockHandleCache lockHandleCache = newLockHandleCache();
+        Assertions.assertEquals("NAME#1", lockHandleCache.getLockHandle("NAME"));
+
+        ticker.set(TimeUnit.SECONDS.toNanos(60));
+        Assertions.assertEquals("NAME#1", lockHandleCache.getLockHandle("NAME"));
+        Assertions.assertEquals("NAME#2", lockHandleCache.getLockHandle("NAME"));
+        Assertions.assertEquals(1, lockHandleCache.getRefreshCount());
+        Assertions.assertEquals(List.of(Thread.currentThread(), Thread.currentThread()), allocatingThreads);
+
+        ticker.set(TimeUnit.SECONDS.toNanos(200));
+        Assertions.assertEquals("NAME#3", lockHandleCache.getLockHandle("NAME"));
+        Assertions.assertEquals(2, lockHandleCache.getMissCount());
+    }
+
+    @Test
+    public void keepsServingCachedHandleWhenRefreshFails() {
+        AtomicInteger failures = new AtomicInteger();
+        DbmsLockHandleCache lockHandleCache = new DbmsLockHandleCache(lockName -> {
+            if (allocations.incrementAndGet() > 1 && failures.getAndIncrement() == 0) {
+                throw new IllegalStateException("refresh");
+            }
+            return lockName + "#" + allocations.get();
+        }, 100, ticker::get);
+        Assertions.assertEquals("NAME#1", lockHandleCache.getLockHandle("NAME"));
+
+        ticker.set(TimeUnit.SECONDS.toNanos(60));
+        Assertions.assertEquals("NAME#1", lockHandleCache.getLockHandle("NAME"));
+        Assertions.assertEquals("NAME#1", lockHandleCache.getLockHandle("NAME"));
+        Assertions.assertEquals("NAME#3", lockHandleCache.getLockHandle("NAME"));
+        Assertions.assertEquals(1, lockHandleCache.getRefreshCount());
+    }
+
+    @Test
+    public void getsCachedHandlesWithoutAllocating() {
+        DbmsLockHandleCache lockHandleCache = newLockHandleCache();
+        Assertions.assertNull(lockHandleCache.getCachedLockHandle("NAME"));
+        lockHandleCache.putAll(Map.of("NAME", "HANDLE"));
+        Assertions.assertEquals("HANDLE", lockHandleCache.getCachedLockHandle("NAME"));
+
+        ticker.set(TimeUnit.SECONDS.toNanos(200));
+        Assertions.assertNull(lockHandleCache.getCachedLockHandle("NAME"));
+        Assertions.assertEquals(0, allocations.get());
+        Assertions.assertEquals(2, lockHandleCache.getMissCount());
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsedHandlesBeyondMaximumSize() {
+        DbmsLockHandleCache lockHandleCache = newLockHandleCache();
+        lockHandleCache.setMaximumSize(2);
+        lockHandleCache.putAll(Map.of("NAME-1", "HANDLE-1", "NAME-2", "HANDLE-2"));
+        ticker.incrementAndGet();
+        Assertions.assertEquals("HANDLE-1", lockHandleCache.getLockHandle("NAME-1"));
+        ticker.incrementAndGet();
+        lockHandleCache.getLockHandle("NAME-3");
+
+        Assertions.assertEquals(2, lockHandleCache.size());
+        Assertions.assertEquals(1, lockHandleCache.getEvictionCount());
+        Assertions.assertEquals("HANDLE-1", lockHandleCache.getLockHandle("NAME-1"));
+        Assertions.assertEquals("NAME-2#2", lockHandleCache.getLockHandle("NAME-2"));
+    }
+
+    @Test
+    public void evictsDownToNineTenthsOfMaximumSize() {
+        DbmsLockHandleCache lockHandleCache = newLockHandleCache();
+        lockHandleCache.setMaximumSize(10);
+        for (int i = 0; i < 10; i++) {
+            ticker.incrementAndGet();
+            lockHandleCache.getLockHandle("NAME-" + i);
+        }
+        Assertions.assertEquals(0, lockHandleCache.getEvictionCount());
+
+        ticker.incrementAndGet();
+        lockHandleCache.getLockHandle("NAME-10");
+        ticker.incrementAndGet();
+        lockHandleCache.getLockHandle("NAME-11");
+
+        Assertions.assertEquals(10, lockHandleCache.size());
+        Assertions.assertEquals(2, lockHandleCache.getEvictionCount());
+        Assertions.assertNull(lockHandleCache.getCachedLockHandle("NAME-0"));
+        Assertions.assertNull(lockHandleCache.getCachedLockHandle("NAME-1"));
+    }
+}
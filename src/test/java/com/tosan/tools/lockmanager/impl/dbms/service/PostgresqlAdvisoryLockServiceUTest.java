@@ -0,0 +1,177 @@
+package com.tosan.tools.lockmanager.impl.dbms.service;
+
+import com.tosan.tools.lockmanager.exception.LockManagerTimeoutException;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs against an embedded PostgreSQL server, every service holding its own session.
+ *
+ * @author mortezaei
+ * @since 10/18/2026
+ */
+public class PostgresqlAdvisoryLockServiceUTest {
+    private static EmbeddedPostgres embeddedPostgres;
+    private static SessionFactory sessionFactory;
+    private final List<EntityManager> entityManagers = new ArrayList<>();
+
+    @BeforeAll
+    public static void setup() throws IOException {
+        embeddedPostgres = EmbeddedPostgres.start();
+        sessionFactory = new Configuration()
+                .setProperty("hibernate.connection.url", embeddedPostgres.getJdbcUrl("postgres", "postgres"))
+                .setProperty("hibernate.connection.handling_mode", "DELAYED_ACQUISITION_AND_HOLD")
+                .setProperty("hibernate.dialect", "org.hibernate.dialect.PostgreSQLDialect")
+                .setProperty("hibernate.boot.allow_jdbc_metadata_access", "false")
+                .buildSessionFactory();
+    }
+
+    @AfterAll
+    public static void shutdown() throws IOException {
+        sessionFactory.close();
+        embeddedPostgres.close();
+    }
+
+    @AfterEach
+    public void closeEntityManagers() {
+        entityManagers.forEach(EntityManager::close);
+    }
+
+    private EntityManager newEntityManager() {
+        EntityManager entityManager = sessionFactory.createEntityManager();
+        entityManagers.add(entityManager);
+        return entityManager;
+    }
+
+    private PostgresqlAdvisoryLockService newLockService() {
+        return new PostgresqlAdvisoryLockService(newEntityManager());
+    }
+
+    private static void execute(EntityManager entityManager, String sql) {
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(sql);
+            }
+        });
+    }
+
+    private static Object query(EntityManager entityManager, String sql) {
+        return entityManager.createNativeQuery(sql).getSingleResult();
+    }
+
+    @Test
+    public void lockKeyIsFnvHashOfUniqueLockName() {
+        Assertions.assertEquals(0x929861a8360277f4L,
+                PostgresqlAdvisoryLockService.getLockKey("PUBLIC", "ACCOUNT", "1"));
+    }
+
+    @Test
+    public void emptyLockNameMapsToLockNameTypeKey() {
+        Assertions.assertEquals(PostgresqlAdvisoryLockService.getLockKey("PUBLIC", "ACCOUNT", null),
+                PostgresqlAdvisoryLockService.getLockKey("PUBLIC", "ACCOUNT", ""));
+        Assertions.assertNotEquals(PostgresqlAdvisoryLockService.getLockKey("PUBLIC", "ACCOUNT", null),
+                PostgresqlAdvisoryLockService.getLockKey("OTHER", "ACCOUNT", null));
+    }
+
+    @Test
+    public void sharedLocksAreSharedAndExcludeExclusiveLocks() {
+        PostgresqlAdvisoryLockService first = newLockService();
+        PostgresqlAdvisoryLockService second = newLockService();
+
+        first.requestReadLock("NAME", "1", 0, false);
+        second.requestReadLock("NAME", "1", 1, false);
+
+        Assertions.assertThrows(LockManagerTimeoutException.class,
+                () -> newLockService().requestWriteLock("NAME", "1", 0, false));
+        first.unLock("NAME", "1");
+        second.unLock("NAME", "1");
+        newLockService().requestWriteLock("NAME", "1", 0, false);
+    }
+
+    @Test
+    public void exclusiveLockExcludesSharedLocksUntilReleased() {
+        PostgresqlAdvisoryLockService first = newLockService();
+        first.requestWriteLock("NAME", "2", 0, false);
+        first.requestWriteLock("NAME", "2", 0, false);
+
+        Assertions.assertThrows(LockManagerTimeoutException.class,
+                () -> newLockService().requestReadLock("NAME", "2", 1, false));
+        first.unLock("NAME", "2");
+        newLockService().requestReadLock("NAME", "2", 0, false);
+    }
+
+    @Test
+    public void lockTimeoutIsSetForLockStatementOnly() {
+        EntityManager entityManager = newEntityManager();
+        PostgresqlAdvisoryLockService lockService = new PostgresqlAdvisoryLockService(entityManager);
+        newLockService().requestWriteLock("NAME", "3", 0, false);
+        execute(entityManager, "SET lock_timeout = '7s'");
+
+        long start = System.nanoTime();
+        Assertions.assertThrows(LockManagerTimeoutException.class,
+                () -> lockService.requestWriteLock("NAME", "3", 1, false));
+        Assertions.assertTrue(System.nanoTime() - start < 5_000_000_000L);
+        Assertions.assertEquals("7s", query(entityManager, "SELECT current_setting('lock_timeout')"));
+        lockService.requestWriteLock("NAME", "4", 1, false);
+        Assertions.assertEquals("7s", query(entityManager, "SELECT current_setting('lock_timeout')"));
+    }
+
+    @Test
+    public void timedOutRequestIsRolledBackToSavepointKeepingTransaction() {
+        EntityManager entityManager = newEntityManager();
+        PostgresqlAdvisoryLockService lockService = new PostgresqlAdvisoryLockService(entityManager);
+        newLockService().requestWriteLock("NAME", "5", 0, false);
+        entityManager.getTransaction().begin();
+        execute(entityManager, "CREATE TEMPORARY TABLE lock_utest (id int)");
+        execute(entityManager, "INSERT INTO lock_utest VALUES (1)");
+
+        Assertions.assertThrows(LockManagerTimeoutException.class,
+                () -> lockService.requestWriteLock("NAME", "5", 1, true));
+        Assertions.assertEquals(1L, ((Number) query(entityManager, "SELECT count(*) FROM lock_utest")).longValue());
+        entityManager.getTransaction().commit();
+    }
+
+    @Test
+    public void lockReleasedOnCommitIsHeldUntilCommit() {
+        EntityManager entityManager = newEntityManager();
+        PostgresqlAdvisoryLockService lockService = new PostgresqlAdvisoryLockService(entityManager);
+        entityManager.getTransaction().begin();
+        lockService.requestWriteLock("NAME", "6", 1, true);
+
+        lockService.unLock("NAME", "6");
+        Assertions.assertThrows(LockManagerTimeoutException.class,
+                () -> newLockService().requestReadLock("NAME", "6", 0, false));
+        entityManager.getTransaction().commit();
+        newLockService().requestWriteLock("NAME", "6", 0, false);
+    }
+
+    @Test
+    public void convertedLockChangesMode() {
+        PostgresqlAdvisoryLockService first = newLockService();
+        PostgresqlAdvisoryLockService second = newLockService();
+        first.requestWriteLock("NAME", "7", 0, false);
+
+        first.convertToReadLock("NAME", "7", 0);
+        second.requestReadLock("NAME", "7", 0, false);
+        Assertions.assertThrows(LockManagerTimeoutException.class, () -> first.convertToWriteLock("NAME", "7", 0));
+        second.unLock("NAME", "7");
+        first.convertToWriteLock("NAME", "7", 1);
+        Assertions.assertThrows(LockManagerTimeoutException.class,
+                () -> second.requestReadLock("NAME", "7", 0, false));
+        first.unLockAll();
+        second.requestWriteLock("NAME", "7", 0, false);
+    }
+}
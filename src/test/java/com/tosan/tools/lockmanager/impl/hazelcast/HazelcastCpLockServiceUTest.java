@@ -0,0 +1,168 @@
+package com.tosan.tools.lockmanager.impl.hazelcast;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.tosan.tools.lockmanager.exception.LockManagerTimeoutException;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Runs on a single member with the CP subsystem in unsafe mode, which needs Hazelcast 5.4 without an Enterprise
+ * license: {@code mvn -P hazelcast-cp test}. Skipped on later versions.
+ *
+ * @author mortezaei
+ * @since 10/18/2026
+ */
+public class HazelcastCpLockServiceUTest {
+    private static HazelcastInstance hazelcastInstance;
+    private static HazelcastCpLockService hazelcastCpLockService;
+
+    @BeforeAll
+    public static void setup() {
+        Config config = new Config();
+        config.setClusterName("hazelcast-cp-lock-service-utest");
+        config.setProperty("hazelcast.logging.type", "slf4j");
+        config.setProperty("hazelcast.phone.home.enabled", "false");
+        config.getNetworkConfig().getJoin().getMulticastConfig().setEnabled(false);
+        config.getNetworkConfig().getJoin().getAutoDetectionConfig().setEnabled(false);
+        hazelcastInstance = Hazelcast.newHazelcastInstance(config);
+        boolean cpAvailable = true;
+        try {
+            hazelcastInstance.getCPSubsystem().getLock("probe");
+        } catch (UnsupportedOperationException e) {
+            cpAvailable = false;
+        }
+        Assumptions.assumeTrue(cpAvailable, "CP subsystem needs an Enterprise license on this Hazelcast version");
+        hazelcastCpLockService = new HazelcastCpLockService();
+        hazelcastCpLockService.setMaxReaders(4);
+        hazelcastCpLockService.setHazelcastInstance(hazelcastInstance);
+    }
+
+    @AfterAll
+    public static void shutdown() {
+        hazelcastInstance.shutdown();
+    }
+
+    private static void runInOtherThread(Runnable runnable) throws Exception {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        new Thread(() -> {
+            try {
+                runnable.run();
+                result.complete(null);
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        }).start();
+        try {
+            result.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception) {
+                throw (Exception) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static void assertReadable(String lockName) throws Exception {
+        runInOtherThread(() -> {
+            hazelcastCpLockService.requestReadLock("NAME", lockName, 0);
+            hazelcastCpLockService.unLock("NAME", lockName);
+        });
+    }
+
+    private static void assertWritable(String lockName) throws Exception {
+        runInOtherThread(() -> {
+            hazelcastCpLockService.requestWriteLock("NAME", lockName, 0);
+            hazelcastCpLockService.unLock("NAME", lockName);
+        });
+    }
+
+    private static void assertNotReadable(String lockName) {
+        Assertions.assertThrows(LockManagerTimeoutException.class,
+                () -> runInOtherThread(() -> hazelcastCpLockService.requestReadLock("NAME", lockName, 0)));
+    }
+
+    private static void assertNotWritable(String lockName) {
+        Assertions.assertThrows(LockManagerTimeoutException.class,
+                () -> runInOtherThread(() -> hazelcastCpLockService.requestWriteLock("NAME", lockName, 0)));
+    }
+
+    @Test
+    public void readLockIsSharedWithReadersOnly() throws Exception {
+        hazelcastCpLockService.requestReadLock("NAME", "1", 0);
+
+        assertReadable("1");
+        assertNotWritable("1");
+        hazelcastCpLockService.unLock("NAME", "1");
+        assertWritable("1");
+    }
+
+    @Test
+    public void writeLockExcludesOtherThreads() throws Exception {
+        long fence = hazelcastCpLockService.requestWriteLock("NAME", "2", 0);
+
+        Assertions.assertEquals(fence, hazelcastCpLockService.requestWriteLock("NAME", "2", 0));
+        assertNotReadable("2");
+        hazelcastCpLockService.unLock("NAME", "2");
+        assertNotWritable("2");
+        hazelcastCpLockService.unLock("NAME", "2");
+        assertWritable("2");
+    }
+
+    @Test
+    public void writeLockHolderTakesReadLock() throws Exception {
+        long fence = hazelcastCpLockService.requestWriteLock("NAME", "3", 0);
+
+        Assertions.assertEquals(fence, hazelcastCpLockService.requestReadLock("NAME", "3", 0));
+        hazelcastCpLockService.unLock("NAME", "3");
+        assertReadable("3");
+        assertNotWritable("3");
+        hazelcastCpLockService.unLock("NAME", "3");
+        assertWritable("3");
+    }
+
+    @Test
+    public void convertedLocksChangeMode() throws Exception {
+        long fence = hazelcastCpLockService.requestWriteLock("NAME", "4", 0);
+        hazelcastCpLockService.convertToReadLock("NAME", "4");
+
+        assertReadable("4");
+        assertNotWritable("4");
+        Assertions.assertTrue(hazelcastCpLockService.convertToWriteLock("NAME", "4", 0) > fence);
+        assertNotReadable("4");
+        hazelcastCpLockService.unLock("NAME", "4");
+        assertWritable("4");
+    }
+
+    @Test
+    public void reentrantReadLockIsUpgraded() throws Exception {
+        hazelcastCpLockService.requestReadLock("NAME", "5", 0);
+        hazelcastCpLockService.requestReadLock("NAME", "5", 0);
+
+        hazelcastCpLockService.convertToWriteLock("NAME", "5", 0);
+        assertNotReadable("5");
+        hazelcastCpLockService.unLock("NAME", "5");
+        assertReadable("5");
+        assertNotWritable("5");
+        hazelcastCpLockService.unLock("NAME", "5");
+        assertWritable("5");
+    }
+
+    @Test
+    public void unLockAllReleasesWriteLockAndReadLockUnderIt() throws Exception {
+        hazelcastCpLockService.requestWriteLock("NAME", "6", 0);
+        hazelcastCpLockService.requestReadLock("NAME", "6", 0);
+        hazelcastCpLockService.requestReadLock("NAME", "7", 0);
+
+        hazelcastCpLockService.unLockAll();
+        assertWritable("6");
+        assertWritable("7");
+    }
+}
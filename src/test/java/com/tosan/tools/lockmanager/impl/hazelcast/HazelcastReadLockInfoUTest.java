@@ -0,0 +1,44 @@
+package com.tosan.tools.lockmanager.impl.hazelcast;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * @author mortezaei
+ * @since 10/18/2026
+ */
+public class HazelcastReadLockInfoUTest {
+    private final UUID firstMember = UUID.randomUUID();
+    private final UUID secondMember = UUID.randomUUID();
+
+    @Test
+    public void removesOneShareOfMember() {
+        HazelcastReadLockInfo readLockInfo = new HazelcastReadLockInfo(Long.MAX_VALUE);
+        readLockInfo.addMember(firstMember);
+        readLockInfo.addMember(secondMember);
+        readLockInfo.addMember(firstMember);
+
+        Assertions.assertTrue(readLockInfo.removeMember(firstMember));
+        Assertions.assertEquals(2, readLockInfo.getSize());
+        Assertions.assertTrue(readLockInfo.removeMember(firstMember));
+        Assertions.assertFalse(readLockInfo.removeMember(firstMember));
+        Assertions.assertArrayEquals(new long[]{secondMember.getMostSignificantBits(),
+                secondMember.getLeastSignificantBits()}, readLockInfo.getMembers());
+    }
+
+    @Test
+    public void removesAllSharesOfDownMembers() {
+        HazelcastReadLockInfo readLockInfo = new HazelcastReadLockInfo(Long.MAX_VALUE);
+        readLockInfo.addMember(firstMember);
+        readLockInfo.addMember(secondMember);
+        readLockInfo.addMember(firstMember);
+
+        readLockInfo.removeMembers(List.of(firstMember));
+
+        Assertions.assertEquals(1, readLockInfo.getSize());
+        Assertions.assertTrue(readLockInfo.removeMember(secondMember));
+    }
+}
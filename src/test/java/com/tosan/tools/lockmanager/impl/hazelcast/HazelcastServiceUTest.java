@@ -0,0 +1,140 @@
+package com.tosan.tools.lockmanager.impl.hazelcast;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.tosan.tools.lockmanager.api.LockHandle;
+import com.tosan.tools.lockmanager.exception.LockManagerTimeoutException;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author mortezaei
+ * @since 10/18/2026
+ */
+public class HazelcastServiceUTest {
+    private static final int LOCK_EXPIRE_SECS = 2;
+    private static HazelcastInstance hazelcastInstance;
+    private static HazelcastService hazelcastService;
+
+    @BeforeAll
+    public static void setup() {
+        Config config = new Config();
+        config.setClusterName("hazelcast-service-utest");
+        config.setProperty("hazelcast.logging.type", "slf4j");
+        config.setProperty("hazelcast.phone.home.enabled", "false");
+        config.getNetworkConfig().getJoin().getMulticastConfig().setEnabled(false);
+        config.getNetworkConfig().getJoin().getAutoDetectionConfig().setEnabled(false);
+        hazelcastInstance = Hazelcast.newHazelcastInstance(config);
+        hazelcastService = new HazelcastService();
+        hazelcastService.setLockExpireSecs(String.valueOf(LOCK_EXPIRE_SECS));
+        hazelcastService.setLockClusterDownMembersSetName("lockClusterDownMembers");
+        hazelcastService.setHazelcastInstance(hazelcastInstance);
+    }
+
+    @AfterAll
+    public static void shutdown() {
+        hazelcastInstance.shutdown();
+    }
+
+    private static void runInOtherThread(Runnable runnable) throws Exception {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        new Thread(() -> {
+            try {
+                runnable.run();
+                result.complete(null);
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        }).start();
+        try {
+            result.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception) {
+                throw (Exception) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    @Test
+    public void writeLockClaimedAfterWaitingLongerThanExpiryLivesForExpiry() throws Exception {
+        hazelcastService.requestWriteLock("NAME", "1", 0, false);
+        runInOtherThread(() -> hazelcastService.requestWriteLock("NAME", "1", 3 * LOCK_EXPIRE_SECS + 5, false));
+
+        Assertions.assertThrows(LockManagerTimeoutException.class,
+                () -> hazelcastService.requestWriteLock("NAME", "1", 0, false));
+    }
+
+    @Test
+    public void writeLocksClaimedAfterWaitingLongerThanExpiryLiveForExpiry() throws Exception {
+        hazelcastService.requestWriteLocks("NAME", List.of("2", "3"), 0);
+        runInOtherThread(() -> hazelcastService.requestWriteLocks("NAME", List.of("2", "3"), 3 * LOCK_EXPIRE_SECS + 5));
+
+        Assertions.assertThrows(LockManagerTimeoutException.class,
+                () -> hazelcastService.requestWriteLock("NAME", "3", 0, false));
+    }
+
+    @Test
+    public void otherThreadCannotReleaseWriteLock() throws Exception {
+        hazelcastService.requestWriteLock("NAME", "5", 0, false);
+        runInOtherThread(() -> hazelcastService.unLock("NAME", "5"));
+
+        Assertions.assertThrows(LockManagerTimeoutException.class,
+                () -> runInOtherThread(() -> hazelcastService.requestWriteLock("NAME", "5", 0, false)));
+        hazelcastService.unLock("NAME", "5");
+        runInOtherThread(() -> {
+            hazelcastService.requestWriteLock("NAME", "5", 0, false);
+            hazelcastService.unLock("NAME", "5");
+        });
+    }
+
+    @Test
+    public void sameThreadReentersWriteLock() throws Exception {
+        hazelcastService.requestWriteLock("NAME", "6", 0, false);
+        hazelcastService.requestWriteLock("NAME", "6", 0, false);
+
+        hazelcastService.unLock("NAME", "6");
+        Assertions.assertThrows(LockManagerTimeoutException.class,
+                () -> runInOtherThread(() -> hazelcastService.requestWriteLock("NAME", "6", 0, false)));
+        hazelcastService.unLock("NAME", "6");
+        runInOtherThread(() -> {
+            hazelcastService.requestWriteLock("NAME", "6", 0, false);
+            hazelcastService.unLock("NAME", "6");
+        });
+    }
+
+    @Test
+    public void unLockOfExpiredWriteLockKeepsReadLockOfOtherThread() throws Exception {
+        hazelcastService.requestWriteLock("NAME", "7", 0, false);
+        Thread.sleep(LOCK_EXPIRE_SECS * 1000L + 500);
+        runInOtherThread(() -> hazelcastService.requestReadLock("NAME", "7", 0, false));
+
+        hazelcastService.unLock("NAME", "7");
+        hazelcastService.unLockAll();
+
+        Assertions.assertThrows(LockManagerTimeoutException.class,
+                () -> runInOtherThread(() -> hazelcastService.requestWriteLock("NAME", "7", 0, false)));
+    }
+
+    @Test
+    public void asyncRequestWaitsOnWaiterThreadsUntilLockIsReleased() throws Exception {
+        hazelcastService.requestWriteLock("NAME", "4", 0, false);
+        CompletableFuture<LockHandle> request =
+                hazelcastService.requestWriteLockAsync("NAME", "4", 10).toCompletableFuture();
+        Thread.sleep(200);
+
+        Assertions.assertFalse(request.isDone());
+        Assertions.assertTrue(Thread.getAllStackTraces().keySet().stream()
+                .anyMatch(thread -> thread.getName().equals("hazelcast-lock-waiter")));
+        hazelcastService.unLock("NAME", "4");
+        Assertions.assertEquals("4", request.get(LOCK_EXPIRE_SECS - 1, TimeUnit.SECONDS).getLockName());
+    }
+}
@@ -0,0 +1,169 @@
+package com.tosan.tools.lockmanager.impl.metrics;
+
+import com.tosan.tools.lockmanager.api.LockManagementService;
+import com.tosan.tools.lockmanager.exception.LockManagerRunTimeException;
+import com.tosan.tools.lockmanager.exception.LockManagerTimeoutException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author mortezaei
+ * @since 10/18/2026
+ */
+public class MetricsLockManagementServiceUTest {
+    private MeterRegistry meterRegistry;
+    private StubLockManagementService delegate;
+    private LockManagementService lockManagementService;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        delegate = new StubLockManagementService();
+        lockManagementService = new MetricsLockManagementService(delegate, meterRegistry, "stub");
+    }
+
+    @Test
+    public void recordsWaitAndHoldOfGrantedLocks() {
+        lockManagementService.requestWriteLock("NAME", "1", 10, false);
+        Assertions.assertEquals(1, held("write"));
+        lockManagementService.unlock("NAME", "1");
+
+        Assertions.assertEquals(1, meterRegistry.get(LockTypeMeters.WAIT_TIMER).tags(tags("write")).timer().count());
+        Assertions.assertEquals(1, meterRegistry.get(LockTypeMeters.HOLD_TIMER).tags(tags("write")).timer().count());
+        Assertions.assertEquals(1, counter(LockTypeMeters.ACQUISITIONS_COUNTER, "write"));
+        Assertions.assertEquals(0, held("write"));
+    }
+
+    @Test
+    public void countsTimeoutsAndErrors() {
+        delegate.failure = new LockManagerTimeoutException("timeout");
+        Assertions.assertThrows(LockManagerTimeoutException.class,
+                () -> lockManagementService.requestReadLock("NAME", "1", 10, false));
+        delegate.failure = new LockManagerRunTimeException("error");
+        Assertions.assertThrows(LockManagerRunTimeException.class,
+                () -> lockManagementService.convertToWriteLock("NAME", "1", 10));
+
+        Assertions.assertEquals(1, counter(LockTypeMeters.TIMEOUTS_COUNTER, "read"));
+        Assertions.assertEquals(1, counter(LockTypeMeters.ERRORS_COUNTER, "convert"));
+        Assertions.assertEquals(0, counter(LockTypeMeters.ACQUISITIONS_COUNTER, "read"));
+        Assertions.assertEquals(0, meterRegistry.get(LockTypeMeters.WAIT_TIMER).tags(tags("read")).timer().count());
+        Assertions.assertEquals(0, held("read"));
+    }
+
+    @Test
+    public void tracksHeldModeAcrossConvertAndReentrantRequests() {
+        lockManagementService.requestReadLock("NAME", "1", 10, false);
+        lockManagementService.requestReadLock("NAME", "1", 10, false);
+        lockManagementService.requestReadLock("NAME", "2", 10, false);
+        Assertions.assertEquals(2, held("read"));
+
+        lockManagementService.convertToWriteLock("NAME", "1", 10);
+        Assertions.assertEquals(1, held("read"));
+        Assertions.assertEquals(1, held("write"));
+        Assertions.assertEquals(1, counter(LockTypeMeters.ACQUISITIONS_COUNTER, "convert"));
+
+        lockManagementService.unlock("NAME", "1");
+        Assertions.assertEquals(1, held("write"));
+        lockManagementService.unlock("NAME", "1");
+        lockManagementService.unlock("NAME", "2");
+        Assertions.assertEquals(0, held("read"));
+        Assertions.assertEquals(0, held("write"));
+        Assertions.assertEquals(1, meterRegistry.get(LockTypeMeters.HOLD_TIMER).tags(tags("write")).timer().count());
+        Assertions.assertEquals(1, meterRegistry.get(LockTypeMeters.HOLD_TIMER).tags(tags("read")).timer().count());
+    }
+
+    @Test
+    public void doesNotHoldLocksReleasedOnCommit() {
+        lockManagementService.requestWriteLock("NAME", "1", 10, true);
+        lockManagementService.requestReadLock("NAME", "2", true);
+
+        Assertions.assertEquals(1, counter(LockTypeMeters.ACQUISITIONS_COUNTER, "write"));
+        Assertions.assertEquals(1, counter(LockTypeMeters.ACQUISITIONS_COUNTER, "read"));
+        Assertions.assertEquals(0, held("write"));
+        Assertions.assertEquals(0, held("read"));
+        lockManagementService.unlockAll();
+        Assertions.assertEquals(0, meterRegistry.get(LockTypeMeters.HOLD_TIMER).tags(tags("write")).timer().count());
+    }
+
+    private double counter(String name, String mode) {
+        return meterRegistry.get(name).tags(tags(mode)).counter().count();
+    }
+
+    private double held(String mode) {
+        return meterRegistry.get(LockTypeMeters.HELD_GAUGE).tags(tags(mode)).gauge().value();
+    }
+
+    private static Tags tags(String mode) {
+        return Tags.of(LockTypeMeters.BACKEND_TAG, "stub", LockTypeMeters.MODE_TAG, mode,
+                LockTypeMeters.LOCK_NAME_TYPE_TAG, "NAME");
+    }
+
+    private static class StubLockManagementService implements LockManagementService {
+        private RuntimeException failure;
+
+        private void call() {
+            if (failure != null) {
+                throw failure;
+            }
+        }
+
+        @Override
+        public void requestReadLock(String lockNameType, boolean releaseOnCommit) {
+            call();
+        }
+
+        @Override
+        public void requestReadLock(String lockNameType, String lockName, boolean releaseOnCommit) {
+            call();
+        }
+
+        @Override
+        public void requestReadLock(String lockNameType, String lockName, Integer lockTimeout, boolean releaseOnCommit) {
+            call();
+        }
+
+        @Override
+        public void requestWriteLock(String lockNameType, boolean releaseOnCommit) {
+            call();
+        }
+
+        @Override
+        public void requestWriteLock(String lockNameType, String lockName, boolean releaseOnCommit) {
+            call();
+        }
+
+        @Override
+        public void requestWriteLock(String lockNameType, String lockName, Integer lockTimeout, boolean releaseOnCommit) {
+            call();
+        }
+
+        @Override
+        public void unlock(String lockNameType) {
+            call();
+        }
+
+        @Override
+        public void unlock(String lockNameType, String lockName) {
+            call();
+        }
+
+        @Override
+        public void unlockAll() {
+            call();
+        }
+
+        @Override
+        public void convertToReadLock(String lockNameType, String lockName, Integer lockTimeout) {
+            call();
+        }
+
+        @Override
+        public void convertToWriteLock(String lockNameType, String lockName, Integer lockTimeout) {
+            call();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.tosan.tools.lockmanager.impl.policy;
+
+import com.tosan.tools.lockmanager.api.LockManagementService;
+import com.tosan.tools.lockmanager.api.RecordingLockManagementService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author mortezaei
+ * @since 10/18/2026
+ */
+public class PolicyLockManagementServiceUTest {
+    private final List<String> calls = new ArrayList<>();
+    private PolicyLockManagementService lockManagementService;
+
+    @BeforeEach
+    public void setup() {
+        lockManagementService = new PolicyLockManagementService(newLockManagementService("default"));
+        LockPolicy hotPolicy = new LockPolicy();
+        hotPolicy.setLockManagementService(newLockManagementService("hot"));
+        hotPolicy.setWriteLockTimeout(5);
+        LockPolicy slowPolicy = new LockPolicy();
+        slowPolicy.setReadLockTimeout(600);
+        lockManagementService.setPolicies(Map.of("HOT", hotPolicy, "SLOW", slowPolicy));
+    }
+
+    @Test
+    public void routesLockNameTypesToTheServiceOfTheirPolicy() {
+        lockManagementService.requestWriteLock("HOT", "1", false);
+        lockManagementService.unlock("HOT", "1");
+        lockManagementService.requestWriteLock("OTHER", "1", false);
+        lockManagementService.unlock("OTHER", "1");
+
+        Assertions.assertEquals(List.of("hot write HOT-1 5", "hot unlock HOT-1", "default write OTHER-1 null",
+                "default unlock OTHER-1"), calls);
+    }
+
+    @Test
+    public void policyTimeoutsApplyToRequestsWithoutTimeout() {
+        lockManagementService.requestReadLock("SLOW", "1", null, false);
+        lockManagementService.requestReadLock("SLOW", "1", 10, false);
+        lockManagementService.requestWriteLock("SLOW", "1", null, false);
+        lockManagementService.convertToReadLock("SLOW", "1", null);
+        lockManagementService.requestReadLock("SLOW", false);
+
+        Assertions.assertEquals(List.of("default read SLOW-1 600", "default read SLOW-1 10",
+                "default write SLOW-1 null", "default convertToRead SLOW-1 600", "default read SLOW 600"), calls);
+    }
+
+    @Test
+    public void unlockAllReleasesAtEachService() {
+        lockManagementService.unlockAll();
+
+        Assertions.assertEquals(2, calls.size());
+        Assertions.assertTrue(calls.containsAll(List.of("default unlockAll", "hot unlockAll")));
+    }
+
+    @Test
+    public void rejectsNegativeTimeouts() {
+        LockPolicy policy = new LockPolicy();
+        policy.setReadLockTimeout(-1);
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> lockManagementService.setPolicies(Map.of("NAME", policy)));
+    }
+
+    private LockManagementService newLockManagementService(String name) {
+        RecordingLockManagementService lockManagementService = new RecordingLockManagementService(calls);
+        lockManagementService.setName(name);
+        lockManagementService.setRecordingTimeouts(true);
+        return lockManagementService;
+    }
+}
@@ -0,0 +1,284 @@
+package com.tosan.tools.lockmanager.impl.redis;
+
+import com.tosan.tools.lockmanager.api.LockHandle;
+import com.tosan.tools.lockmanager.exception.LockManagerTimeoutException;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.redisson.Redisson;
+import org.redisson.api.RedissonClient;
+import org.redisson.config.Config;
+import reactor.core.Disposable;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs against an embedded redis-server process on a free local port.
+ *
+ * @author mortezaei
+ * @since 10/18/2026
+ */
+public class RedisLockServiceUTest {
+    private static final int LOCK_EXPIRE_SECOND = 1;
+    private static RedisServer redisServer;
+    private static RedissonClient redissonClient;
+    private static RedisLockService redisLockService;
+    private static RedisLockService expiringLockService;
+    private static RedisLockService renewingLockService;
+
+    @BeforeAll
+    public static void setup() throws IOException {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        redisServer = new RedisServer(port);
+        redisServer.start();
+        Config config = new Config();
+        config.useSingleServer().setAddress("redis://127.0.0.1:" + port);
+        redissonClient = Redisson.create(config);
+        redisLockService = new RedisLockService();
+        redisLockService.setRedisClient(redissonClient);
+        expiringLockService = new RedisLockService();
+        expiringLockService.setLockExpireSecond(LOCK_EXPIRE_SECOND);
+        expiringLockService.setRedisClient(redissonClient);
+        renewingLockService = new RedisLockService();
+        renewingLockService.setLeaseRenewal(true);
+        renewingLockService.setRedisClient(redissonClient);
+    }
+
+    @AfterAll
+    public static void shutdown() throws IOException {
+        redissonClient.shutdown();
+        redisServer.stop();
+    }
+
+    private static void runInOtherThread(Runnable runnable) throws Exception {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        new Thread(() -> {
+            try {
+                runnable.run();
+                result.complete(null);
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        }).start();
+        try {
+            result.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception) {
+                throw (Exception) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    @Test
+    public void unLockAllForgetsExpiredLocks() throws Exception {
+        expiringLockService.requestWriteLock("EXPIRY", "1", 0, false);
+        expiringLockService.requestReadLock("EXPIRY", "2", 0, false);
+        Thread.sleep(LOCK_EXPIRE_SECOND * 1500L);
+        runInOtherThread(() -> expiringLockService.requestWriteLock("EXPIRY", "1", 0, false));
+
+        expiringLockService.unLockAll();
+
+        Assertions.assertThrows(LockManagerTimeoutException.class,
+                () -> runInOtherThread(() -> expiringLockService.requestWriteLock("EXPIRY", "1", 0, false)));
+        expiringLockService.requestWriteLock("EXPIRY", "2", 0, false);
+        expiringLockService.unLockAll();
+        runInOtherThread(() -> {
+            expiringLockService.requestWriteLock("EXPIRY", "2", 0, false);
+            expiringLockService.unLockAll();
+        });
+    }
+
+    @Test
+    public void unLockForgetsExpiredLock() throws Exception {
+        expiringLockService.requestWriteLock("EXPIRY", "3", 0, false);
+        Thread.sleep(LOCK_EXPIRE_SECOND * 1500L);
+        runInOtherThread(() -> expiringLockService.requestReadLock("EXPIRY", "3", 0, false));
+
+        expiringLockService.unLock("EXPIRY", "3");
+        expiringLockService.unLockAll();
+
+        Assertions.assertThrows(LockManagerTimeoutException.class,
+                () -> runInOtherThread(() -> expiringLockService.requestWriteLock("EXPIRY", "3", 0, false)));
+    }
+
+    @Test
+    public void downgradedLockIsSharedWithOtherThreads() throws Exception {
+        redisLockService.requestWriteLock("CONVERT", "1", 0, false);
+        redisLockService.convertToReadLock("CONVERT", "1", 0);
+
+        runInOtherThread(() -> {
+            redisLockService.requestReadLock("CONVERT", "1", 0, false);
+            redisLockService.unLock("CONVERT", "1");
+        });
+        Assertions.assertThrows(LockManagerTimeoutException.class,
+                () -> runInOtherThread(() -> redisLockService.requestWriteLock("CONVERT", "1", 0, false)));
+        redisLockService.unLock("CONVERT", "1");
+        runInOtherThread(() -> {
+            redisLockService.requestWriteLock("CONVERT", "1", 0, false);
+            redisLockService.unLock("CONVERT", "1");
+        });
+    }
+
+    @Test
+    public void upgradedLockExcludesOtherThreads() throws Exception {
+        redisLockService.requestReadLock("CONVERT", "2", 0, false);
+        redisLockService.convertToWriteLock("CONVERT", "2", 0);
+
+        Assertions.assertThrows(LockManagerTimeoutException.class,
+                () -> runInOtherThread(() -> redisLockService.requestReadLock("CONVERT", "2", 0, false)));
+        redisLockService.unLock("CONVERT", "2");
+        runInOtherThread(() -> {
+            redisLockService.requestWriteLock("CONVERT", "2", 0, false);
+            redisLockService.unLock("CONVERT", "2");
+        });
+    }
+
+    @Test
+    public void reentrantReadLockSharedWithOtherThreadIsUpgraded() throws Exception {
+        redisLockService.requestReadLock("CONVERT", "3", 0, false);
+        redisLockService.requestReadLock("CONVERT", "3", 0, false);
+        readBriefly(redisLockService, "3");
+
+        redisLockService.convertToWriteLock("CONVERT", "3", 5);
+
+        Assertions.assertThrows(LockManagerTimeoutException.class,
+                () -> runInOtherThread(() -> redisLockService.requestReadLock("CONVERT", "3", 0, false)));
+        redisLockService.unLock("CONVERT", "3");
+        runInOtherThread(() -> {
+            redisLockService.requestWriteLock("CONVERT", "3", 0, false);
+            redisLockService.unLock("CONVERT", "3");
+        });
+    }
+
+    @Test
+    public void reentrantReadLockIsUpgradedWithLeaseRenewal() throws Exception {
+        renewingLockService.requestReadLock("CONVERT", "4", 0, false);
+        renewingLockService.requestReadLock("CONVERT", "4", 0, false);
+        readBriefly(renewingLockService, "4");
+
+        renewingLockService.convertToWriteLock("CONVERT", "4", 5);
+
+        Assertions.assertThrows(LockManagerTimeoutException.class,
+                () -> runInOtherThread(() -> renewingLockService.requestReadLock("CONVERT", "4", 0, false)));
+        renewingLockService.unLock("CONVERT", "4");
+        runInOtherThread(() -> {
+            renewingLockService.requestWriteLock("CONVERT", "4", 0, false);
+            renewingLockService.unLock("CONVERT", "4");
+        });
+    }
+
+    @Test
+    public void asyncRequestIsGrantedWhenLockIsReleased() throws Exception {
+        redisLockService.requestWriteLock("ASYNC", "1", 0, false);
+        CompletableFuture<LockHandle> request =
+                redisLockService.requestWriteLockAsync("ASYNC", "1", 5).toCompletableFuture();
+        Thread.sleep(200);
+
+        Assertions.assertFalse(request.isDone());
+        redisLockService.unLock("ASYNC", "1");
+        LockHandle lockHandle = request.get(5, TimeUnit.SECONDS);
+        Assertions.assertThrows(LockManagerTimeoutException.class,
+                () -> redisLockService.requestWriteLock("ASYNC", "1", 0, false));
+        redisLockService.unlockAsync(lockHandle).toCompletableFuture().get(5, TimeUnit.SECONDS);
+        redisLockService.requestWriteLock("ASYNC", "1", 0, false);
+        redisLockService.unLock("ASYNC", "1");
+    }
+
+    @Test
+    public void cancelledAsyncRequestDoesNotKeepLock() throws Exception {
+        redisLockService.requestWriteLock("ASYNC", "2", 0, false);
+        CompletableFuture<LockHandle> request =
+                redisLockService.requestWriteLockAsync("ASYNC", "2", 5).toCompletableFuture();
+        Thread.sleep(200);
+
+        request.cancel(false);
+        redisLockService.unLock("ASYNC", "2");
+        runInOtherThread(() -> {
+            redisLockService.requestWriteLock("ASYNC", "2", 2, false);
+            redisLockService.unLock("ASYNC", "2");
+        });
+    }
+
+    @Test
+    public void asyncRequestCancelledBeforeGrantDoesNotKeepLock() throws Exception {
+        for (int i = 0; i < 200; i++) {
+            CompletableFuture<LockHandle> request =
+                    redisLockService.requestWriteLockAsync("ASYNC", "3", 5).toCompletableFuture();
+            if (!request.cancel(false)) {
+                redisLockService.unlockAsync(request.join());
+            }
+
+            awaitUnlocked("ASYNC-3");
+        }
+        Thread.sleep(200);
+        redisLockService.requestWriteLock("ASYNC", "3", 0, false);
+        redisLockService.unLock("ASYNC", "3");
+    }
+
+    @Test
+    public void reactiveRequestEmitsLock() {
+        LockHandle lockHandle = redisLockService.requestReadLockReactive("REACTIVE", "1", 0).block();
+
+        Assertions.assertEquals("1", lockHandle.getLockName());
+        Assertions.assertThrows(LockManagerTimeoutException.class,
+                () -> redisLockService.requestWriteLock("REACTIVE", "1", 0, false));
+        redisLockService.unlockReactive(lockHandle).block();
+        redisLockService.requestWriteLock("REACTIVE", "1", 0, false);
+        redisLockService.unLock("REACTIVE", "1");
+    }
+
+    @Test
+    public void reactiveRequestCancelledBeforeGrantDoesNotKeepLock() throws Exception {
+        for (int i = 0; i < 200; i++) {
+            Disposable request = redisLockService.requestWriteLockReactive("REACTIVE", "2", 5)
+                    .doOnNext(lockHandle -> redisLockService.unlockReactive(lockHandle).subscribe())
+                    .subscribe();
+            request.dispose();
+
+            awaitUnlocked("REACTIVE-2");
+        }
+        Thread.sleep(200);
+        redisLockService.requestWriteLock("REACTIVE", "2", 0, false);
+        redisLockService.unLock("REACTIVE", "2");
+    }
+
+    /**
+     * Waits for a lock abandoned by a cancelled request to be released, once the request has completed.
+     */
+    private static void awaitUnlocked(String lockKey) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 2000;
+        while (redissonClient.getReadWriteLock(lockKey).writeLock().isLocked()) {
+            Assertions.assertTrue(System.currentTimeMillis() < deadline, "Abandoned lock " + lockKey + " not released");
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * Takes the read lock in another thread, which releases it after a moment.
+     */
+    private static void readBriefly(RedisLockService lockService, String lockName) throws InterruptedException {
+        CountDownLatch acquired = new CountDownLatch(1);
+        new Thread(() -> {
+            lockService.requestReadLock("CONVERT", lockName, 0, false);
+            acquired.countDown();
+            try {
+                Thread.sleep(300);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            lockService.unLock("CONVERT", lockName);
+        }).start();
+        acquired.await();
+    }
+}
@@ -0,0 +1,82 @@
+package com.tosan.tools.lockmanager.impl.reentrant;
+
+import com.tosan.tools.lockmanager.api.RecordingLockManagementService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author mortezaei
+ * @since 10/18/2026
+ */
+public class ReentrantLockManagementServiceUTest {
+    private final List<String> calls = new ArrayList<>();
+    private ReentrantLockManagementService lockManagementService;
+
+    @BeforeEach
+    public void setup() {
+        lockManagementService = new ReentrantLockManagementService(new RecordingLockManagementService(calls));
+    }
+
+    @Test
+    public void nestedAcquisitionsReachServiceOnce() {
+        lockManagementService.requestWriteLock("NAME", "1", 10, false);
+        lockManagementService.requestWriteLock("NAME", "1", 10, false);
+        lockManagementService.requestReadLock("NAME", "1", 10, false);
+        Assertions.assertEquals(3, lockManagementService.getHoldCount("NAME", "1"));
+
+        lockManagementService.unlock("NAME", "1");
+        lockManagementService.unlock("NAME", "1");
+        Assertions.assertEquals(List.of("write NAME-1"), calls);
+        lockManagementService.unlock("NAME", "1");
+        Assertions.assertEquals(List.of("write NAME-1", "unlock NAME-1"), calls);
+        Assertions.assertEquals(0, lockManagementService.getHoldCount("NAME", "1"));
+    }
+
+    @Test
+    public void nestedWriteRequestConvertsHeldReadLock() {
+        lockManagementService.requestReadLock("NAME", false);
+        lockManagementService.requestWriteLock("NAME", false);
+        lockManagementService.requestWriteLock("NAME", false);
+        lockManagementService.unlock("NAME");
+        lockManagementService.unlock("NAME");
+        lockManagementService.unlock("NAME");
+
+        Assertions.assertEquals(List.of("read NAME", "convertToWrite NAME", "unlock NAME"), calls);
+    }
+
+    @Test
+    public void releaseOnCommitRequestsAreNotCounted() {
+        lockManagementService.requestWriteLock("NAME", "1", true);
+        lockManagementService.requestWriteLock("NAME", "1", true);
+        Assertions.assertEquals(0, lockManagementService.getHoldCount("NAME", "1"));
+        lockManagementService.unlock("NAME", "1");
+
+        Assertions.assertEquals(List.of("write NAME-1", "write NAME-1", "unlock NAME-1"), calls);
+    }
+
+    @Test
+    public void unlockAllForgetsHoldCounts() {
+        lockManagementService.requestWriteLock("NAME", "1", 10, false);
+        lockManagementService.requestWriteLock("NAME", "1", 10, false);
+        lockManagementService.requestReadLock("NAME", "2", 10, false);
+        lockManagementService.unlockAll();
+        Assertions.assertEquals(0, lockManagementService.getHoldCount("NAME", "1"));
+        lockManagementService.requestWriteLock("NAME", "1", 10, false);
+
+        Assertions.assertEquals(List.of("write NAME-1", "read NAME-2", "unlockAll", "write NAME-1"), calls);
+    }
+
+    @Test
+    public void otherThreadsAcquireFromService() throws Exception {
+        lockManagementService.requestWriteLock("NAME", "1", 10, false);
+        Thread thread = new Thread(() -> lockManagementService.requestWriteLock("NAME", "1", 10, false));
+        thread.start();
+        thread.join();
+
+        Assertions.assertEquals(List.of("write NAME-1", "write NAME-1"), calls);
+    }
+}
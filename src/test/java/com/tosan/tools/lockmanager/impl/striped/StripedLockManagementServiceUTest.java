@@ -0,0 +1,84 @@
+package com.tosan.tools.lockmanager.impl.striped;
+
+import com.tosan.tools.lockmanager.api.RecordingLockManagementService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * @author mortezaei
+ * @since 10/18/2026
+ */
+public class StripedLockManagementServiceUTest {
+    private final List<String> calls = new ArrayList<>();
+    private StripedLockManagementService lockManagementService;
+
+    @BeforeEach
+    public void setup() {
+        lockManagementService = new StripedLockManagementService(new RecordingLockManagementService(calls));
+        lockManagementService.setStripes(Map.of("CUSTOMER", 16));
+    }
+
+    @Test
+    public void lockNamesMapOntoConfiguredStripes() {
+        Set<String> stripeNames = new HashSet<>();
+        for (int customer = 0; customer < 10_000; customer++) {
+            stripeNames.add(lockManagementService.getStripeName("CUSTOMER", String.valueOf(customer)));
+        }
+
+        Assertions.assertEquals(16, stripeNames.size());
+        Assertions.assertEquals(lockManagementService.getStripeName("CUSTOMER", "42"),
+                lockManagementService.getStripeName("CUSTOMER", "42"));
+        Assertions.assertEquals("42", lockManagementService.getStripeName("ACCOUNT", "42"));
+        Assertions.assertNull(lockManagementService.getStripeName("CUSTOMER", null));
+    }
+
+    @Test
+    public void requestsUseStripeNames() {
+        String stripeName = lockManagementService.getStripeName("CUSTOMER", "42");
+        lockManagementService.requestWriteLock("CUSTOMER", "42", 10, false);
+        lockManagementService.unlock("CUSTOMER", "42");
+        lockManagementService.requestWriteLock("ACCOUNT", "42", 10, false);
+
+        Assertions.assertEquals(List.of("write CUSTOMER-" + stripeName, "unlock CUSTOMER-" + stripeName,
+                "write ACCOUNT-42"), calls);
+    }
+
+    @Test
+    public void batchRequestsEachStripeOnceThenNestsFurtherLockNames() {
+        List<String> lockNames = new ArrayList<>();
+        for (int customer = 0; customer < 1000; customer++) {
+            lockNames.add(String.valueOf(customer));
+        }
+        lockManagementService.requestWriteLocks("CUSTOMER", lockNames, 10);
+
+        Assertions.assertEquals(1000, calls.size());
+        Assertions.assertEquals(16, new HashSet<>(calls.subList(0, 16)).size());
+        Assertions.assertEquals(16, new HashSet<>(calls).size());
+    }
+
+    @Test
+    public void unlockAllReleasesOneHoldPerLockName() {
+        String first = "1";
+        String second = null;
+        for (int customer = 2; second == null; customer++) {
+            if (lockManagementService.getStripeName("CUSTOMER", first)
+                    .equals(lockManagementService.getStripeName("CUSTOMER", String.valueOf(customer)))) {
+                second = String.valueOf(customer);
+            }
+        }
+        String stripeName = lockManagementService.getStripeName("CUSTOMER", first);
+        lockManagementService.requestWriteLock("CUSTOMER", first, 10, false);
+        lockManagementService.requestWriteLock("CUSTOMER", second, 10, false);
+        lockManagementService.unlockAll("CUSTOMER", List.of(first, second));
+
+        Assertions.assertEquals(List.of("write CUSTOMER-" + stripeName, "write CUSTOMER-" + stripeName,
+                "unlock CUSTOMER-" + stripeName, "unlock CUSTOMER-" + stripeName), calls);
+    }
+}
@@ -0,0 +1,123 @@
+package com.tosan.tools.lockmanager.impl.zookeeper;
+
+import org.apache.curator.framework.CuratorFramework;
+import org.apache.curator.framework.CuratorFrameworkFactory;
+import org.apache.curator.framework.recipes.locks.InterProcessReadWriteLock;
+import org.apache.curator.retry.RetryNTimes;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @author mortezaei
+ * @since 10/18/2026
+ */
+public class ZookeeperLockCacheUTest {
+    private final AtomicLong ticker = new AtomicLong();
+    private CuratorFramework client;
+    private ZookeeperLockCache lockCache;
+
+    @BeforeEach
+    public void setup() {
+        client = CuratorFrameworkFactory.newClient("localhost:2181", new RetryNTimes(0, 0));
+        lockCache = new ZookeeperLockCache(client, ticker::get);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        client.close();
+    }
+
+    @Test
+    public void returnsSameInstanceAndCountsHitsAndMisses() {
+        InterProcessReadWriteLock first = lockCache.pin("/NAME-1");
+        lockCache.unpin("/NAME-1");
+        InterProcessReadWriteLock second = lockCache.pin("/NAME-1");
+        lockCache.unpin("/NAME-1");
+        Assertions.assertSame(first, second);
+        Assertions.assertEquals(1, lockCache.getMissCount());
+        Assertions.assertEquals(1, lockCache.getHitCount());
+    }
+
+    @Test
+    public void evictsIdleInstances() {
+        lockCache.setIdleSeconds(60);
+        lockCache.pin("/NAME-1");
+        lockCache.unpin("/NAME-1");
+        ticker.addAndGet(TimeUnit.SECONDS.toNanos(30));
+        lockCache.cleanUp();
+        Assertions.assertEquals(1, lockCache.size());
+        ticker.addAndGet(TimeUnit.SECONDS.toNanos(30));
+        lockCache.cleanUp();
+        Assertions.assertEquals(0, lockCache.size());
+        Assertions.assertEquals(1, lockCache.getEvictionCount());
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsedBeyondMaximumSize() {
+        lockCache.setMaximumSize(2);
+        for (String lockPath : new String[]{"/NAME-1", "/NAME-2", "/NAME-3"}) {
+            ticker.incrementAndGet();
+            lockCache.pin(lockPath);
+            lockCache.unpin(lockPath);
+        }
+        Assertions.assertEquals(2, lockCache.size());
+        Assertions.assertEquals(1, lockCache.getEvictionCount());
+        lockCache.pin("/NAME-3");
+        lockCache.unpin("/NAME-3");
+        Assertions.assertEquals(1, lockCache.getHitCount());
+        lockCache.pin("/NAME-1");
+        lockCache.unpin("/NAME-1");
+        Assertions.assertEquals(4, lockCache.getMissCount());
+    }
+
+    @Test
+    public void neverEvictsPinnedInstances() {
+        lockCache.setMaximumSize(0);
+        lockCache.setIdleSeconds(0);
+        InterProcessReadWriteLock pinned = lockCache.pin("/NAME-1");
+        ticker.addAndGet(TimeUnit.HOURS.toNanos(1));
+        lockCache.cleanUp();
+        Assertions.assertEquals(1, lockCache.size());
+        Assertions.assertSame(pinned, lockCache.pin("/NAME-1"));
+        lockCache.unpin("/NAME-1");
+        lockCache.unpin("/NAME-1");
+        lockCache.cleanUp();
+        Assertions.assertEquals(0, lockCache.size());
+    }
+
+    @Test
+    public void evictsDownToNineTenthsOfMaximumSize() {
+        lockCache.setMaximumSize(20);
+        for (int i = 0; i < 21; i++) {
+            ticker.incrementAndGet();
+            lockCache.pin("/NAME-" + i);
+            lockCache.unpin("/NAME-" + i);
+        }
+        Assertions.assertEquals(18, lockCache.size());
+        Assertions.assertEquals(3, lockCache.getEvictionCount());
+    }
+
+    @Test
+    public void defersEvictionWhilePinnedInstancesExceedMaximumSize() {
+        lockCache.setMaximumSize(2);
+        for (String lockPath : new String[]{"/NAME-1", "/NAME-2", "/NAME-3"}) {
+            ticker.incrementAndGet();
+            lockCache.pin(lockPath);
+        }
+        Assertions.assertEquals(3, lockCache.size());
+        for (String lockPath : new String[]{"/NAME-1", "/NAME-2", "/NAME-3"}) {
+            lockCache.unpin(lockPath);
+        }
+        lockCache.pin("/NAME-4");
+        lockCache.unpin("/NAME-4");
+        Assertions.assertEquals(4, lockCache.size());
+        lockCache.pin("/NAME-5");
+        lockCache.unpin("/NAME-5");
+        Assertions.assertEquals(2, lockCache.size());
+    }
+}
@@ -0,0 +1,105 @@
+package com.tosan.tools.lockmanager.impl.zookeeper;
+
+import com.tosan.tools.lockmanager.api.LockHandle;
+import com.tosan.tools.lockmanager.api.LockMode;
+import com.tosan.tools.lockmanager.exception.LockManagerTimeoutException;
+import org.apache.curator.framework.CuratorFramework;
+import org.apache.curator.framework.CuratorFrameworkFactory;
+import org.apache.curator.retry.RetryNTimes;
+import org.apache.curator.test.TestingServer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author mortezaei
+ * @since 10/18/2026
+ **/
+public class ZookeeperAsyncLockManagementServiceITest {
+    private static final String LOCK_NAME_TYPE = "ASYNC";
+    private static final int ZOOKEEPER_PORT = 2183;
+    private static final String ZOOKEEPER_HOST = "localhost";
+
+    private static ZookeeperAsyncLockManagementService asyncLockManagementService;
+    private static ZookeeperLockManagementService lockManagementService;
+
+    @BeforeAll
+    public static void setup() throws Exception {
+        new TestingServer(ZOOKEEPER_PORT, true);
+        CuratorFramework curatorFramework = CuratorFrameworkFactory.newClient(
+                ZOOKEEPER_HOST + ":" + ZOOKEEPER_PORT, new RetryNTimes(10, 500));
+        curatorFramework.start();
+        ZookeeperLockService zookeeperLockService = new ZookeeperLockService(curatorFramework);
+        asyncLockManagementService = new ZookeeperAsyncLockManagementService(zookeeperLockService);
+        lockManagementService = new ZookeeperLockManagementService(zookeeperLockService);
+    }
+
+    @Test
+    public void requestReadLocksConcurrently() {
+        LockHandle first = join(asyncLockManagementService.requestReadLock(LOCK_NAME_TYPE, "READ", 5));
+        LockHandle second = join(asyncLockManagementService.requestReadLock(LOCK_NAME_TYPE, "READ", 5));
+        join(asyncLockManagementService.unlock(first));
+        join(asyncLockManagementService.unlock(second));
+    }
+
+    @Test
+    public void waitingWriteLockIsGrantedOnRelease() {
+        LockHandle writeLock = join(asyncLockManagementService.requestWriteLock(LOCK_NAME_TYPE, "WAIT", 5));
+        CompletableFuture<LockHandle> waiting = asyncLockManagementService.requestWriteLock(LOCK_NAME_TYPE, "WAIT", 5)
+                .toCompletableFuture();
+        Assertions.assertFalse(waiting.isDone());
+        join(asyncLockManagementService.unlock(writeLock));
+        join(asyncLockManagementService.unlock(join(waiting)));
+    }
+
+    @Test
+    public void writeLockTimesOut() {
+        LockHandle writeLock = join(asyncLockManagementService.requestWriteLock(LOCK_NAME_TYPE, "TIMEOUT", 5));
+        CompletionException exception = Assertions.assertThrows(CompletionException.class,
+                () -> join(asyncLockManagementService.requestReadLock(LOCK_NAME_TYPE, "TIMEOUT", 1)));
+        Assertions.assertInstanceOf(LockManagerTimeoutException.class, exception.getCause());
+        join(asyncLockManagementService.unlock(writeLock));
+    }
+
+    @Test
+    public void cancelledRequestDoesNotHoldTheLock() {
+        LockHandle writeLock = join(asyncLockManagementService.requestWriteLock(LOCK_NAME_TYPE, "CANCEL", 5));
+        asyncLockManagementService.requestWriteLock(LOCK_NAME_TYPE, "CANCEL", 60).toCompletableFuture().cancel(true);
+        join(asyncLockManagementService.unlock(writeLock));
+        join(asyncLockManagementService.unlock(join(asyncLockManagementService.requestWriteLock(LOCK_NAME_TYPE, "CANCEL", 5))));
+    }
+
+    @Test
+    public void convertWriteLockToReadLockAndBack() {
+        LockHandle writeLock = join(asyncLockManagementService.requestWriteLock(LOCK_NAME_TYPE, "CONVERT", 5));
+        LockHandle readLock = join(asyncLockManagementService.convertToReadLock(writeLock, 5));
+        Assertions.assertEquals(LockMode.READ, readLock.getLockMode());
+        LockHandle convertedWriteLock = join(asyncLockManagementService.convertToWriteLock(readLock, 5));
+        Assertions.assertEquals(LockMode.WRITE, convertedWriteLock.getLockMode());
+        join(asyncLockManagementService.unlock(convertedWriteLock));
+    }
+
+    @Test
+    public void asyncWriteLockExcludesBlockingWriteLock() {
+        LockHandle writeLock = join(asyncLockManagementService.requestWriteLock(LOCK_NAME_TYPE, "MIXED", 5));
+        Assertions.assertThrows(LockManagerTimeoutException.class,
+                () -> lockManagementService.requestWriteLock(LOCK_NAME_TYPE, "MIXED", 1, true));
+        join(asyncLockManagementService.unlock(writeLock));
+    }
+
+    private static <T> T join(CompletionStage<T> stage) {
+        try {
+            return stage.toCompletableFuture().get(10, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            throw new CompletionException(e.getCause());
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}